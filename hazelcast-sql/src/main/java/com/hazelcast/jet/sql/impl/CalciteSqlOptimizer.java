@@ -22,8 +22,10 @@ import com.hazelcast.dataconnection.impl.InternalDataConnectionService;
 import com.hazelcast.jet.core.DAG;
 import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.AlterJobPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.AnalyzePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateJobPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateMappingPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateMaterializedViewPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateSnapshotPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateTypePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateViewPlan;
@@ -31,6 +33,7 @@ import com.hazelcast.jet.sql.impl.SqlPlanImpl.DmlPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropDataConnectionPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropJobPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropMappingPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropMaterializedViewPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropSnapshotPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropTypePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropViewPlan;
@@ -42,11 +45,16 @@ import com.hazelcast.jet.sql.impl.SqlPlanImpl.IMapUpdatePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.SelectPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.ShowStatementPlan;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorCache;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.jet.sql.impl.connector.map.MaterializedView;
+import com.hazelcast.jet.sql.impl.connector.map.MaterializedViewAggregation;
 import com.hazelcast.jet.sql.impl.connector.map.MetadataResolver;
 import com.hazelcast.jet.sql.impl.connector.virtual.ViewTable;
 import com.hazelcast.jet.sql.impl.opt.Conventions;
 import com.hazelcast.jet.sql.impl.opt.OptUtils;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
+import com.hazelcast.jet.sql.impl.opt.logical.AggregateLogicalRel;
+import com.hazelcast.jet.sql.impl.opt.logical.CalcLogicalRel;
 import com.hazelcast.jet.sql.impl.opt.logical.FullScanLogicalRel;
 import com.hazelcast.jet.sql.impl.opt.logical.LogicalRel;
 import com.hazelcast.jet.sql.impl.opt.logical.LogicalRules;
@@ -73,10 +81,12 @@ import com.hazelcast.jet.sql.impl.opt.physical.visitor.RexToExpressionVisitor;
 import com.hazelcast.jet.sql.impl.parse.QueryConvertResult;
 import com.hazelcast.jet.sql.impl.parse.QueryParseResult;
 import com.hazelcast.jet.sql.impl.parse.SqlAlterJob;
+import com.hazelcast.jet.sql.impl.parse.SqlAnalyzeStatement;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateDataConnection;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateIndex;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateJob;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateMapping;
+import com.hazelcast.jet.sql.impl.parse.SqlCreateMaterializedView;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateSnapshot;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateType;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateView;
@@ -84,6 +94,7 @@ import com.hazelcast.jet.sql.impl.parse.SqlDropDataConnection;
 import com.hazelcast.jet.sql.impl.parse.SqlDropIndex;
 import com.hazelcast.jet.sql.impl.parse.SqlDropJob;
 import com.hazelcast.jet.sql.impl.parse.SqlDropMapping;
+import com.hazelcast.jet.sql.impl.parse.SqlDropMaterializedView;
 import com.hazelcast.jet.sql.impl.parse.SqlDropSnapshot;
 import com.hazelcast.jet.sql.impl.parse.SqlDropType;
 import com.hazelcast.jet.sql.impl.parse.SqlDropView;
@@ -111,6 +122,7 @@ import com.hazelcast.sql.impl.optimizer.PlanKey;
 import com.hazelcast.sql.impl.optimizer.PlanObjectKey;
 import com.hazelcast.sql.impl.optimizer.SqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.SqlPlan;
+import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.schema.IMapResolver;
 import com.hazelcast.sql.impl.schema.Mapping;
 import com.hazelcast.sql.impl.schema.MappingField;
@@ -120,6 +132,7 @@ import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.state.QueryResultRegistry;
 import com.hazelcast.sql.impl.type.QueryDataType;
+
 import org.apache.calcite.plan.Contexts;
 import org.apache.calcite.plan.Convention;
 import org.apache.calcite.plan.RelOptCostImpl;
@@ -132,13 +145,18 @@ import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelShuttleImpl;
 import org.apache.calcite.rel.RelVisitor;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.core.TableModify;
 import org.apache.calcite.rel.core.TableModify.Operation;
 import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+import org.apache.calcite.rex.RexVisitor;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.dialect.PostgresqlSqlDialect;
 import org.apache.calcite.sql.util.SqlString;
@@ -146,6 +164,7 @@ import org.apache.calcite.tools.RuleSets;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+
 import java.security.Permission;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -157,6 +176,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.hazelcast.internal.cluster.Versions.V5_3;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
@@ -165,6 +185,7 @@ import static com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateIndexPlan;
 import static com.hazelcast.jet.sql.impl.SqlPlanImpl.DropIndexPlan;
 import static com.hazelcast.jet.sql.impl.SqlPlanImpl.ExplainStatementPlan;
 import static com.hazelcast.jet.sql.impl.opt.OptUtils.schema;
+import static com.hazelcast.jet.sql.impl.opt.physical.JoinMergePhysicalRel.MERGE_JOIN_ENABLED_PROPERTY;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -317,6 +338,7 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
                 task.getArguments(),
                 iMapResolver,
                 task.getSecurityContext());
+        context.setMergeJoinEnabled(nodeEngine.getProperties().getBoolean(MERGE_JOIN_ENABLED_PROPERTY));
 
         try {
             OptimizerContext.setThreadContext(context);
@@ -367,6 +389,10 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
             return toCreateViewPlan(planKey, context, (SqlCreateView) node);
         } else if (node instanceof SqlDropView) {
             return toDropViewPlan(planKey, (SqlDropView) node);
+        } else if (node instanceof SqlCreateMaterializedView) {
+            return toCreateMaterializedViewPlan(planKey, parseResult, context);
+        } else if (node instanceof SqlDropMaterializedView) {
+            return toDropMaterializedViewPlan(planKey, (SqlDropMaterializedView) node);
         } else if (node instanceof SqlDropType) {
             return toDropTypePlan(planKey, (SqlDropType) node);
         } else if (node instanceof SqlShowStatement) {
@@ -375,6 +401,8 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
             return toExplainStatementPlan(planKey, context, parseResult);
         } else if (node instanceof SqlCreateType) {
             return toCreateTypePlan(planKey, (SqlCreateType) node);
+        } else if (node instanceof SqlAnalyzeStatement) {
+            return toAnalyzePlan(planKey, (SqlAnalyzeStatement) node);
         } else {
             QueryConvertResult convertResult = context.convert(parseResult.getNode());
             return toPlan(
@@ -512,6 +540,11 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
         return new CreateSnapshotPlan(planKey, sqlNode.getSnapshotName(), sqlNode.getJobName(), planExecutor);
     }
 
+    private SqlPlan toAnalyzePlan(PlanKey planKey, SqlAnalyzeStatement sqlNode) {
+        return new AnalyzePlan(planKey, sqlNode.nameWithoutSchema(), sqlNode.sampleSize(), sqlNode.histogramBuckets(),
+                planExecutor);
+    }
+
     private SqlPlan toDropSnapshotPlan(PlanKey planKey, SqlDropSnapshot sqlNode) {
         return new DropSnapshotPlan(planKey, sqlNode.getSnapshotName(), sqlNode.isIfExists(), planExecutor);
     }
@@ -537,6 +570,130 @@ public class CalciteSqlOptimizer implements SqlOptimizer {
         return new DropViewPlan(planKey, sqlNode.viewName(), sqlNode.ifExists(), planExecutor);
     }
 
+    /**
+     * Creates the plan of a materialized view. The query must be a grouped
+     * aggregation of a single IMap, selecting all the grouping columns and
+     * only COUNT, SUM and AVG aggregations, which can be maintained
+     * incrementally.
+     */
+    private SqlPlan toCreateMaterializedViewPlan(
+            PlanKey planKey,
+            QueryParseResult parseResult,
+            OptimizerContext context
+    ) {
+        SqlCreateMaterializedView sqlNode = (SqlCreateMaterializedView) parseResult.getNode();
+        QueryParameterMetadata parameterMetadata = parseResult.getParameterMetadata();
+        if (parameterMetadata.getParameterCount() > 0) {
+            throw QueryException.error("Dynamic parameters are not supported in CREATE MATERIALIZED VIEW");
+        }
+        QueryConvertResult convertResult = context.convert(sqlNode.getQuery());
+        context.setParameterMetadata(parameterMetadata);
+        RelNode rel = optimizeLogical(context, convertResult.getRel());
+        List<QueryDataType> columnTypes = schema(rel.getRowType()).getTypes();
+
+        int[] columnIndices;
+        if (rel instanceof CalcLogicalRel) {
+            RexProgram program = ((CalcLogicalRel) rel).getProgram();
+            if (program.getCondition() != null) {
+                throw QueryException.error("HAVING is not supported in a materialized view");
+            }
+            List<RexNode> projects = program.expandList(program.getProjectList());
+            columnIndices = new int[projects.size()];
+            for (int i = 0; i < projects.size(); i++) {
+                if (!(projects.get(i) instanceof RexInputRef)) {
+                    throw QueryException.error("A materialized view can select only the grouping columns"
+                            + " and the aggregate functions");
+                }
+                columnIndices[i] = ((RexInputRef) projects.get(i)).getIndex();
+            }
+            rel = rel.getInput(0);
+        } else {
+            columnIndices = IntStream.range(0, columnTypes.size()).toArray();
+        }
+        if (!(rel instanceof AggregateLogicalRel) || !(rel.getInput(0) instanceof FullScanLogicalRel)) {
+            throw QueryException.error("A materialized view must be a grouped aggregation of a single IMap");
+        }
+        AggregateLogicalRel aggregate = (AggregateLogicalRel) rel;
+        HazelcastTable table = rel.getInput(0).getTable().unwrap(HazelcastTable.class);
+        if (!(table.getTarget() instanceof PartitionedMapTable)) {
+            throw QueryException.error("A materialized view must be a grouped aggregation of a single IMap");
+        }
+        if (aggregate.getGroupType() != Aggregate.Group.SIMPLE || aggregate.getGroupCount() == 0) {
+            throw QueryException.error("A materialized view requires GROUP BY");
+        }
+        int[] groupIndices = aggregate.getGroupSet().toArray();
+        boolean[] selected = new boolean[groupIndices.length + aggregate.getAggCallList().size()];
+        for (int index : columnIndices) {
+            selected[index] = true;
+        }
+        for (int i = 0; i < groupIndices.length; i++) {
+            if (!selected[i]) {
+                throw QueryException.error("A materialized view must select all the grouping columns");
+            }
+        }
+        if (Arrays.stream(columnIndices).noneMatch(index -> index >= groupIndices.length)) {
+            throw QueryException.error("A materialized view must select at least one aggregate function");
+        }
+
+        PlanNodeSchema inputSchema = schema(aggregate.getInput().getRowType());
+        PlanNodeSchema outputSchema = schema(aggregate.getRowType());
+        List<MaterializedViewAggregation> aggregations = new ArrayList<>();
+        for (AggregateCall call : aggregate.getAggCallList()) {
+            MaterializedViewAggregation.Kind kind;
+            switch (call.getAggregation().getKind()) {
+                case COUNT:
+                    kind = MaterializedViewAggregation.Kind.COUNT;
+                    break;
+                case SUM:
+                    kind = MaterializedViewAggregation.Kind.SUM;
+                    break;
+                case AVG:
+                    kind = MaterializedViewAggregation.Kind.AVG;
+                    break;
+                default:
+                    throw QueryException.error("Aggregate function not supported in a materialized view: "
+                            + call.getAggregation().getName() + ", only COUNT, SUM and AVG are supported");
+            }
+            if (call.isDistinct() || call.filterArg >= 0) {
+                throw QueryException.error("DISTINCT and FILTER are not supported in a materialized view");
+            }
+            int argIndex = call.getArgList().isEmpty() ? -1 : call.getArgList().get(0);
+            boolean exact = argIndex < 0 || !inputSchema.getType(argIndex).getTypeFamily().isNumericApproximate();
+            QueryDataType resultType = outputSchema.getType(groupIndices.length + aggregations.size());
+            aggregations.add(new MaterializedViewAggregation(kind, argIndex, exact, resultType));
+        }
+
+        PartitionedMapTable target = table.getTarget();
+        RexVisitor<Expression<?>> visitor = OptUtils.createRexToExpressionVisitor(schema(target), parameterMetadata);
+        @SuppressWarnings("unchecked")
+        Expression<Boolean> filter = table.getFilter() == null ? null : (Expression<Boolean>) table.getFilter().accept(visitor);
+        List<Expression<?>> projections = table.getProjects().stream().map(node -> node.accept(visitor)).collect(toList());
+        KvRowProjector.Supplier projectorSupplier = KvRowProjector.supplier(
+                target.paths(),
+                target.types(),
+                target.getKeyDescriptor(),
+                target.getValueDescriptor(),
+                filter,
+                projections
+        );
+
+        MaterializedView view = new MaterializedView(
+                sqlNode.name(),
+                target.getMapName(),
+                projectorSupplier,
+                groupIndices,
+                aggregations,
+                convertResult.getFieldNames(),
+                columnTypes,
+                columnIndices
+        );
+        return new CreateMaterializedViewPlan(planKey, view, sqlNode.ifNotExists(), planExecutor);
+    }
+
+    private SqlPlan toDropMaterializedViewPlan(PlanKey planKey, SqlDropMaterializedView sqlNode) {
+        return new DropMaterializedViewPlan(planKey, sqlNode.viewName(), sqlNode.ifExists(), planExecutor);
+    }
+
     private SqlPlan toDropTypePlan(PlanKey planKey, SqlDropType sqlNode) {
         return new DropTypePlan(planKey, sqlNode.typeName(), sqlNode.ifExists(), planExecutor);
     }
@@ -22,6 +22,7 @@ import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
 import com.hazelcast.jet.sql.impl.connector.map.LazyDefiningSpecificMemberPms;
+import com.hazelcast.jet.sql.impl.connector.map.MapScanAggregator;
 import com.hazelcast.jet.sql.impl.connector.map.RowProjectorProcessorSupplier;
 import com.hazelcast.jet.sql.impl.expression.UdtObjectToJsonFunction;
 import com.hazelcast.jet.sql.impl.expression.json.JsonArrayFunction;
@@ -95,8 +96,10 @@ import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
 import com.hazelcast.sql.impl.schema.Mapping;
 import com.hazelcast.sql.impl.schema.MappingField;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
 import com.hazelcast.sql.impl.schema.dataconnection.DataConnectionCatalogEntry;
 import com.hazelcast.sql.impl.schema.type.Type;
 import com.hazelcast.sql.impl.schema.view.View;
@@ -220,7 +223,14 @@ public class JetSqlSerializerHook implements DataSerializerHook {
 
     public static final int LAZY_SPECIFIC_MEMBER_PROCESSOR_META_SUPPLIER = 91;
 
-    public static final int LEN = LAZY_SPECIFIC_MEMBER_PROCESSOR_META_SUPPLIER + 1;
+    public static final int COLUMN_STATISTICS = 92;
+    public static final int MAPPING_STATISTICS = 93;
+
+    public static final int MAP_SCAN_AGGREGATOR = 94;
+
+    public static final int AGGREGATE_APPROX_PERCENTILE_SUPPLIER = 95;
+
+    public static final int LEN = AGGREGATE_APPROX_PERCENTILE_SUPPLIER + 1;
 
     @Override
     public int getFactoryId() {
@@ -260,6 +270,8 @@ public class JetSqlSerializerHook implements DataSerializerHook {
         constructors[ROW_IDENTITY_FN] = arg -> new AggregateAbstractPhysicalRule.RowIdentityFn();
         constructors[AGGREGATE_EXPORT_FUNCTION] = arg -> AggregateAbstractPhysicalRule.AggregateExportFunction.INSTANCE;
         constructors[AGGREGATE_JSON_OBJECT_AGG_SUPPLIER] = arg -> new AggregateAbstractPhysicalRule.AggregateObjectAggSupplier();
+        constructors[AGGREGATE_APPROX_PERCENTILE_SUPPLIER] =
+                arg -> new AggregateAbstractPhysicalRule.AggregateApproxPercentileSupplier();
         constructors[UDT_OBJECT_TO_JSON] = arg -> new UdtObjectToJsonFunction();
         constructors[UPDATE_DATA_CONNECTION_OPERATION] = arg -> new UpdateDataConnectionOperation();
 
@@ -340,6 +352,10 @@ public class JetSqlSerializerHook implements DataSerializerHook {
 
         constructors[LAZY_SPECIFIC_MEMBER_PROCESSOR_META_SUPPLIER] = arg -> new LazyDefiningSpecificMemberPms();
 
+        constructors[COLUMN_STATISTICS] = arg -> new ColumnStatistics();
+        constructors[MAPPING_STATISTICS] = arg -> new MappingStatistics();
+        constructors[MAP_SCAN_AGGREGATOR] = arg -> new MapScanAggregator();
+
         return new ArrayDataSerializableFactory(constructors);
     }
 
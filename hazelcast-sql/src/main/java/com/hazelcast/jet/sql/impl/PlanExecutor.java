@@ -39,9 +39,11 @@ import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.util.ReflectionUtils;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.AlterJobPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.AnalyzePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateIndexPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateJobPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateMappingPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateMaterializedViewPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateSnapshotPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateTypePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.CreateViewPlan;
@@ -49,6 +51,7 @@ import com.hazelcast.jet.sql.impl.SqlPlanImpl.DmlPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropDataConnectionPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropJobPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropMappingPlan;
+import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropMaterializedViewPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropSnapshotPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropTypePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.DropViewPlan;
@@ -61,6 +64,8 @@ import com.hazelcast.jet.sql.impl.SqlPlanImpl.IMapUpdatePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.SelectPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.ShowStatementPlan;
 import com.hazelcast.jet.sql.impl.connector.SqlConnector;
+import com.hazelcast.jet.sql.impl.connector.map.MapStatisticsCollector;
+import com.hazelcast.jet.sql.impl.connector.map.MaterializedView;
 import com.hazelcast.jet.sql.impl.parse.SqlShowStatement.ShowStatementTarget;
 import com.hazelcast.jet.sql.impl.schema.DataConnectionResolver;
 import com.hazelcast.jet.sql.impl.schema.TableResolverImpl;
@@ -79,6 +84,7 @@ import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.partition.strategy.AttributePartitioningStrategy;
 import com.hazelcast.partition.strategy.DefaultPartitioningStrategy;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.security.permission.MapPermission;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.impl.InvocationFuture;
 import com.hazelcast.spi.properties.ClusterProperty;
@@ -96,7 +102,11 @@ import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContextImpl;
 import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.schema.BadTable;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
+import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.dataconnection.DataConnectionCatalogEntry;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.schema.type.Type;
 import com.hazelcast.sql.impl.schema.type.TypeKind;
 import com.hazelcast.sql.impl.schema.view.View;
@@ -142,12 +152,14 @@ import static com.hazelcast.jet.sql.impl.parse.SqlCreateIndex.UNIQUE_KEY;
 import static com.hazelcast.jet.sql.impl.parse.SqlCreateIndex.UNIQUE_KEY_TRANSFORMATION;
 import static com.hazelcast.jet.sql.impl.validate.types.HazelcastTypeUtils.toHazelcastType;
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
 import static com.hazelcast.spi.properties.ClusterProperty.SQL_CUSTOM_TYPES_ENABLED;
 import static com.hazelcast.sql.SqlColumnType.JSON;
 import static com.hazelcast.sql.SqlColumnType.VARCHAR;
 import static com.hazelcast.sql.impl.QueryUtils.quoteCompoundIdentifier;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
@@ -193,6 +205,28 @@ public class PlanExecutor {
         return UpdateSqlResultImpl.createUpdateCountResult(0);
     }
 
+    SqlResult execute(AnalyzePlan plan, SqlSecurityContext ssc) {
+        Table table = catalog.getMappingTable(plan.name());
+        if (table == null) {
+            throw QueryException.error("Mapping does not exist: " + plan.name());
+        }
+        if (!(table instanceof PartitionedMapTable)) {
+            if (table instanceof BadTable) {
+                // throws the error of the invalid mapping
+                table.getFields();
+            }
+            throw QueryException.error("ANALYZE is supported only for IMap mappings, '" + plan.name()
+                    + "' is of type " + table.getObjectType());
+        }
+        PartitionedMapTable mapTable = (PartitionedMapTable) table;
+        ssc.checkPermission(new MapPermission(mapTable.getMapName(), ACTION_READ));
+
+        MappingStatistics statistics =
+                MapStatisticsCollector.collect(nodeEngine, mapTable, plan.sampleSize(), plan.histogramBuckets());
+        catalog.putStatistics(statistics);
+        return UpdateSqlResultImpl.createUpdateCountResult(0);
+    }
+
     SqlResult execute(CreateDataConnectionPlan plan) {
         InternalDataConnectionService dlService = nodeEngine.getDataConnectionService();
         assert !plan.ifNotExists() || !plan.isReplace();
@@ -402,6 +436,54 @@ public class PlanExecutor {
         return UpdateSqlResultImpl.createUpdateCountResult(0);
     }
 
+    SqlResult execute(CreateMaterializedViewPlan plan) {
+        MaterializedView view = plan.view();
+        if (plan.isIfNotExists() && catalog.getMappingTable(view.name()) != null) {
+            return UpdateSqlResultImpl.createUpdateCountResult(0);
+        }
+        if (!nodeEngine.getConfig().findMapConfig(view.sourceMapName()).getEventJournalConfig().isEnabled()) {
+            throw QueryException.error("The event journal of the map '" + view.sourceMapName()
+                    + "' must be enabled to create a materialized view");
+        }
+
+        catalog.createMapping(view.toMapping(), false, false);
+        try {
+            PartitionedMapTable viewTable = (PartitionedMapTable) catalog.getMappingTable(view.name());
+            JobConfig jobConfig = new JobConfig()
+                    .setName(view.jobName())
+                    .setSuspendOnFailure(true)
+                    .setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList())
+                    .setArgument(KEY_SQL_UNBOUNDED, true);
+            hazelcastInstance.getJet().newJob(view.toDag(viewTable), jobConfig);
+        } catch (Throwable e) {
+            catalog.removeMapping(view.name(), true);
+            throw e;
+        }
+        return UpdateSqlResultImpl.createUpdateCountResult(0);
+    }
+
+    SqlResult execute(DropMaterializedViewPlan plan) {
+        Job job = hazelcastInstance.getJet().getJob(MaterializedView.jobName(plan.viewName()));
+        boolean jobActive = job != null && !job.getStatus().isTerminal();
+        // the job might have failed or been cancelled, leaving the mapping and the map behind
+        if (!jobActive && !MaterializedView.isViewMapping(catalog.getMapping(plan.viewName()))) {
+            if (plan.isIfExists()) {
+                return UpdateSqlResultImpl.createUpdateCountResult(0);
+            }
+            throw QueryException.error("Materialized view does not exist: " + plan.viewName());
+        }
+        if (jobActive) {
+            job.cancel();
+            try {
+                job.join();
+            } catch (CancellationException ignored) {
+            }
+        }
+        catalog.removeMapping(plan.viewName(), true);
+        hazelcastInstance.getMap(plan.viewName()).destroy();
+        return UpdateSqlResultImpl.createUpdateCountResult(0);
+    }
+
     SqlResult execute(DropTypePlan plan) {
         catalog.removeType(plan.typeName(), plan.isIfExists());
         return UpdateSqlResultImpl.createUpdateCountResult(0);
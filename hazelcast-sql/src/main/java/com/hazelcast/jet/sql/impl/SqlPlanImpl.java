@@ -23,6 +23,7 @@ import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.DAG;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.jet.sql.impl.connector.map.MaterializedView;
 import com.hazelcast.jet.sql.impl.connector.map.UpdatingEntryProcessor;
 import com.hazelcast.jet.sql.impl.opt.physical.PhysicalRel;
 import com.hazelcast.jet.sql.impl.parse.SqlAlterJob.AlterJobOperation;
@@ -205,6 +206,63 @@ abstract class SqlPlanImpl extends SqlPlan {
         }
     }
 
+    static class AnalyzePlan extends SqlPlanImpl {
+        private final String name;
+        private final int sampleSize;
+        private final int histogramBuckets;
+        private final PlanExecutor planExecutor;
+
+        AnalyzePlan(
+                PlanKey planKey,
+                String name,
+                int sampleSize,
+                int histogramBuckets,
+                PlanExecutor planExecutor
+        ) {
+            super(planKey);
+
+            this.name = name;
+            this.sampleSize = sampleSize;
+            this.histogramBuckets = histogramBuckets;
+            this.planExecutor = planExecutor;
+        }
+
+        String name() {
+            return name;
+        }
+
+        int sampleSize() {
+            return sampleSize;
+        }
+
+        int histogramBuckets() {
+            return histogramBuckets;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+
+        @Override
+        public void checkPermissions(SqlSecurityContext context) {
+            // the statistics are stored as a part of the mapping definition
+            context.checkPermission(new SqlPermission(name, ACTION_CREATE));
+        }
+
+        @Override
+        public boolean producesRows() {
+            return false;
+        }
+
+        @Override
+        public SqlResult execute(QueryId queryId, List<Object> arguments, long timeout, SqlSecurityContext ssc) {
+            SqlPlanImpl.ensureNoArguments("ANALYZE", arguments);
+            SqlPlanImpl.ensureNoTimeout("ANALYZE", timeout);
+            return planExecutor.execute(this, ssc);
+        }
+    }
+
     static class CreateDataConnectionPlan extends SqlPlanImpl {
         private final boolean replace;
         private final boolean ifNotExists;
@@ -839,6 +897,7 @@ abstract class SqlPlanImpl extends SqlPlan {
         @Override
         public void checkPermissions(SqlSecurityContext context) {
             context.checkPermission(new SqlPermission(viewName, ACTION_DROP_VIEW));
+            context.checkPermission(new SqlPermission(viewName, ACTION_DESTROY));
         }
 
         @Override
@@ -849,6 +908,110 @@ abstract class SqlPlanImpl extends SqlPlan {
         }
     }
 
+    static class CreateMaterializedViewPlan extends SqlPlanImpl {
+        private final MaterializedView view;
+        private final boolean ifNotExists;
+        private final PlanExecutor planExecutor;
+
+        CreateMaterializedViewPlan(
+                PlanKey planKey,
+                MaterializedView view,
+                boolean ifNotExists,
+                PlanExecutor planExecutor
+        ) {
+            super(planKey);
+
+            this.view = view;
+            this.ifNotExists = ifNotExists;
+            this.planExecutor = planExecutor;
+        }
+
+        MaterializedView view() {
+            return view;
+        }
+
+        boolean isIfNotExists() {
+            return ifNotExists;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+
+        @Override
+        public boolean producesRows() {
+            return false;
+        }
+
+        @Override
+        public void checkPermissions(SqlSecurityContext context) {
+            context.checkPermission(new SqlPermission(view.name(), ACTION_CREATE_VIEW));
+            // the view is stored in a mapping created along with it
+            context.checkPermission(new SqlPermission(view.name(), ACTION_CREATE));
+            context.checkPermission(new MapPermission(view.sourceMapName(), ACTION_CREATE, ACTION_READ));
+            context.checkPermission(new MapPermission(view.name(), ACTION_CREATE, ACTION_PUT, ACTION_REMOVE));
+        }
+
+        @Override
+        public SqlResult execute(QueryId queryId, List<Object> arguments, long timeout, SqlSecurityContext ssc) {
+            SqlPlanImpl.ensureNoArguments("CREATE MATERIALIZED VIEW", arguments);
+            SqlPlanImpl.ensureNoTimeout("CREATE MATERIALIZED VIEW", timeout);
+            return planExecutor.execute(this);
+        }
+    }
+
+    static class DropMaterializedViewPlan extends SqlPlanImpl {
+        private final String viewName;
+        private final boolean ifExists;
+        private final PlanExecutor planExecutor;
+
+        DropMaterializedViewPlan(
+                PlanKey planKey,
+                String viewName,
+                boolean ifExists,
+                PlanExecutor planExecutor
+        ) {
+            super(planKey);
+
+            this.viewName = viewName;
+            this.ifExists = ifExists;
+            this.planExecutor = planExecutor;
+        }
+
+        String viewName() {
+            return viewName;
+        }
+
+        boolean isIfExists() {
+            return ifExists;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+
+        @Override
+        public boolean producesRows() {
+            return false;
+        }
+
+        @Override
+        public void checkPermissions(SqlSecurityContext context) {
+            context.checkPermission(new SqlPermission(viewName, ACTION_DROP_VIEW));
+            context.checkPermission(new SqlPermission(viewName, ACTION_DESTROY));
+            context.checkPermission(new MapPermission(viewName, ACTION_DESTROY));
+        }
+
+        @Override
+        public SqlResult execute(QueryId queryId, List<Object> arguments, long timeout, SqlSecurityContext ssc) {
+            SqlPlanImpl.ensureNoArguments("DROP MATERIALIZED VIEW", arguments);
+            SqlPlanImpl.ensureNoTimeout("DROP MATERIALIZED VIEW", timeout);
+            return planExecutor.execute(this);
+        }
+    }
+
     static class CreateTypePlan extends SqlPlanImpl {
         private final String name;
         private final boolean replace;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.aggregate;
+
+import com.hazelcast.aggregation.impl.ApproximateDistinctCountAggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+
+/**
+ * Estimates the number of distinct non-null values using a HyperLogLog
+ * sketch. Unlike the exact {@code COUNT(DISTINCT ...)}, the memory use and
+ * the size of the partial results sent to the combining member don't
+ * depend on the number of distinct values.
+ */
+@NotThreadSafe
+public class ApproxCountDistinctSqlAggregation implements SqlAggregation {
+
+    private HyperLogLog hyperLogLog = new HyperLogLogImpl();
+
+    @Override
+    public void accumulate(Object value) {
+        if (value == null) {
+            return;
+        }
+
+        hyperLogLog.add(ApproximateDistinctCountAggregator.hash64(value));
+    }
+
+    @Override
+    public void combine(SqlAggregation other0) {
+        ApproxCountDistinctSqlAggregation other = (ApproxCountDistinctSqlAggregation) other0;
+
+        hyperLogLog.merge(other.hyperLogLog);
+    }
+
+    @Override
+    public Object collect() {
+        return hyperLogLog.estimate();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(hyperLogLog);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        hyperLogLog = in.readObject();
+    }
+}
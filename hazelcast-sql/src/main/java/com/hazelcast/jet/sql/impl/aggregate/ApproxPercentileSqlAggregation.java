@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.aggregate;
+
+import com.hazelcast.aggregation.impl.QuantileSketch;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+
+/**
+ * Estimates the value at the given percentile of the non-null values using
+ * a {@link QuantileSketch}. Accumulates whole rows, the percentile is read
+ * from the column holding the percentile literal.
+ */
+@NotThreadSafe
+public class ApproxPercentileSqlAggregation implements SqlAggregation {
+
+    private int valueIndex;
+    private int percentileIndex;
+    private QuantileSketch sketch = new QuantileSketch();
+    private double percentile = Double.NaN;
+
+    @SuppressWarnings("unused") // for deserialization
+    public ApproxPercentileSqlAggregation() {
+    }
+
+    public ApproxPercentileSqlAggregation(int valueIndex, int percentileIndex) {
+        this.valueIndex = valueIndex;
+        this.percentileIndex = percentileIndex;
+    }
+
+    @Override
+    public void accumulate(Object value) {
+        JetSqlRow row = (JetSqlRow) value;
+        if (Double.isNaN(percentile)) {
+            percentile = ((Number) row.get(percentileIndex)).doubleValue();
+        }
+        Object number = row.get(valueIndex);
+        if (number != null) {
+            sketch.add(((Number) number).doubleValue());
+        }
+    }
+
+    @Override
+    public void combine(SqlAggregation other0) {
+        ApproxPercentileSqlAggregation other = (ApproxPercentileSqlAggregation) other0;
+
+        sketch.merge(other.sketch);
+        if (Double.isNaN(percentile)) {
+            percentile = other.percentile;
+        }
+    }
+
+    @Override
+    public Object collect() {
+        return sketch.count() == 0 ? null : sketch.quantile(percentile);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(valueIndex);
+        out.writeInt(percentileIndex);
+        out.writeDouble(percentile);
+        out.writeObject(sketch);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        valueIndex = in.readInt();
+        percentileIndex = in.readInt();
+        percentile = in.readDouble();
+        sketch = in.readObject();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.aggregate.function;
+
+import com.hazelcast.jet.sql.impl.validate.HazelcastCallBinding;
+import com.hazelcast.jet.sql.impl.validate.literal.Literal;
+import com.hazelcast.jet.sql.impl.validate.literal.LiteralUtils;
+import com.hazelcast.jet.sql.impl.validate.operators.common.HazelcastAggFunction;
+import com.hazelcast.jet.sql.impl.validate.operators.typeinference.ReplaceUnknownOperandTypeInference;
+import com.hazelcast.jet.sql.impl.validate.types.HazelcastTypeUtils;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlOperandCountRange;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlOperandCountRanges;
+import org.apache.calcite.util.Optionality;
+
+import static com.hazelcast.jet.sql.impl.validate.ValidatorResource.RESOURCE;
+import static org.apache.calcite.sql.type.SqlTypeName.DOUBLE;
+
+/**
+ * {@code APPROX_PERCENTILE(value, percentile)}, the estimated value at the
+ * given percentile of the non-null numeric values, computed using a {@link
+ * com.hazelcast.aggregation.impl.QuantileSketch}. The percentile must be a
+ * numeric literal from 0 to 1.
+ */
+public class HazelcastApproxPercentileAggFunction extends HazelcastAggFunction {
+
+    public HazelcastApproxPercentileAggFunction() {
+        super(
+                "APPROX_PERCENTILE",
+                SqlKind.OTHER_FUNCTION,
+                ReturnTypes.cascade(ReturnTypes.explicit(DOUBLE), (binding, type) ->
+                        binding.getTypeFactory().createTypeWithNullability(type, true)),
+                new ReplaceUnknownOperandTypeInference(DOUBLE),
+                null,
+                SqlFunctionCategory.NUMERIC,
+                false,
+                false,
+                Optionality.FORBIDDEN);
+    }
+
+    @Override
+    public SqlOperandCountRange getOperandCountRange() {
+        return SqlOperandCountRanges.of(2);
+    }
+
+    @Override
+    protected boolean checkOperandTypes(HazelcastCallBinding binding, boolean throwOnFailure) {
+        if (!HazelcastTypeUtils.isNumericType(binding.getOperandType(0))) {
+            if (throwOnFailure) {
+                throw binding.newValidationSignatureError();
+            } else {
+                return false;
+            }
+        }
+
+        Literal percentile = LiteralUtils.literal(binding.operand(1));
+        Object value = percentile == null ? null : percentile.getValue();
+        if (!(value instanceof Number) || !isPercentile(((Number) value).doubleValue())) {
+            if (throwOnFailure) {
+                throw binding.getValidator().newValidationError(binding.operand(1),
+                        RESOURCE.error("The percentile of APPROX_PERCENTILE must be a numeric literal from 0 to 1"));
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPercentile(double value) {
+        return value >= 0 && value <= 1;
+    }
+}
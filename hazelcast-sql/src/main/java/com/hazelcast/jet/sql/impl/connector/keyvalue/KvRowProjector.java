@@ -17,8 +17,11 @@
 package com.hazelcast.jet.sql.impl.connector.keyvalue;
 
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.compact.CompactColumnReader;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.jet.sql.impl.expression.vector.ColumnBatch;
+import com.hazelcast.jet.sql.impl.expression.vector.VectorizedFilter;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -26,6 +29,7 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.extract.GenericQueryTarget;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTarget;
@@ -45,6 +49,12 @@ import static com.hazelcast.internal.util.Preconditions.checkTrue;
  * convenience, it also contains a {@link #predicate} - it is applied
  * before projecting.
  * <p>
+ * When projecting a batch of entries, the vectorizable part of the predicate
+ * is evaluated on the columns of the whole batch first, only the entries
+ * passing it are projected. If the columns are top-level primitive fields of
+ * Compact values, they are read from the whole batch of serialized values at
+ * once with a {@link CompactColumnReader}.
+ * <p>
  * {@link KvProjector} does the reverse.
  */
 public class KvRowProjector implements Row {
@@ -57,6 +67,11 @@ public class KvRowProjector implements Row {
     private final List<Expression<?>> projections;
     private final ExpressionEvalContext evalContext;
 
+    private final VectorizedFilter vectorizedFilter;
+    private final CompactColumnReader compactReader;
+    private ColumnBatch batch;
+    private int[] selection;
+
     @SuppressWarnings("unchecked")
     KvRowProjector(
             QueryPath[] paths,
@@ -76,6 +91,10 @@ public class KvRowProjector implements Row {
                 : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
         this.projections = projections;
         this.evalContext = evalContext;
+        this.vectorizedFilter = VectorizedFilter.create(predicate);
+        this.compactReader = vectorizedFilter != null && valueTarget instanceof GenericQueryTarget
+                ? vectorizedFilter.newCompactReader(paths, types, evalContext.getSerializationService())
+                : null;
     }
 
     private static QueryExtractor[] createExtractors(
@@ -104,13 +123,53 @@ public class KvRowProjector implements Row {
         return project(null, key, null, value);
     }
 
-    private JetSqlRow project(Object key, Data keyData, Object value, Data valueData) {
+    public JetSqlRow project(Object key, Data keyData, Object value, Data valueData) {
         keyTarget.setTarget(key, keyData);
         valueTarget.setTarget(value, valueData);
 
         return ExpressionUtil.projection(predicate, projections, this, evalContext);
     }
 
+    /**
+     * Projects the first {@code count} entries of the given arrays and adds
+     * the rows passing the predicate to the {@code output}.
+     */
+    public void project(Data[] keys, Data[] values, int count, List<JetSqlRow> output) {
+        if (vectorizedFilter == null) {
+            for (int i = 0; i < count; i++) {
+                JetSqlRow row = project(null, keys[i], null, values[i]);
+                if (row != null) {
+                    output.add(row);
+                }
+            }
+            return;
+        }
+
+        if (batch == null || batch.capacity() < count) {
+            batch = vectorizedFilter.newBatch(count);
+            selection = new int[count];
+        }
+        batch.clear();
+        if (compactReader == null || !batch.load(compactReader, values, count)) {
+            for (int i = 0; i < count; i++) {
+                keyTarget.setTarget(null, keys[i]);
+                valueTarget.setTarget(null, values[i]);
+                batch.add(this);
+            }
+        }
+        int selected = vectorizedFilter.filter(batch, evalContext, selection);
+        Expression<Boolean> residual = vectorizedFilter.getResidual();
+        for (int i = 0; i < selected; i++) {
+            int position = selection[i];
+            keyTarget.setTarget(null, keys[position]);
+            valueTarget.setTarget(null, values[position]);
+            JetSqlRow row = ExpressionUtil.projection(residual, projections, this, evalContext);
+            if (row != null) {
+                output.add(row);
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(int index) {
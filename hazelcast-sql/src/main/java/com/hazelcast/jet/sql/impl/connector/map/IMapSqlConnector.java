@@ -27,6 +27,7 @@ import com.hazelcast.function.ComparatorEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.StringUtil;
+import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.core.DefaultPartitionStrategy;
 import com.hazelcast.jet.core.Edge;
 import com.hazelcast.jet.core.EventTimePolicy;
@@ -83,6 +84,7 @@ import static com.hazelcast.jet.core.processor.SinkProcessors.writeMapP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.impl.JobRepository.INTERNAL_JET_OBJECTS_PREFIX;
+import static com.hazelcast.jet.sql.impl.connector.map.MapAggregateScanP.mapAggregateScanSupplier;
 import static com.hazelcast.jet.sql.impl.connector.map.MapIndexScanP.readMapIndexSupplier;
 import static com.hazelcast.jet.sql.impl.connector.map.RowProjectorProcessorSupplier.rowProjector;
 import static com.hazelcast.jet.sql.impl.connector.map.SpecificPartitionsImapReaderPms.mapReader;
@@ -288,6 +290,40 @@ public class IMapSqlConnector implements SqlConnector {
         return vEnd;
     }
 
+    /**
+     * Creates a vertex reading the map and accumulating the rows, replacing
+     * the full scan vertex followed by the accumulate vertex. The vertex
+     * emits the same items as the accumulate vertex would. See {@link
+     * MapAggregateScanP}.
+     */
+    @Nonnull
+    public Vertex accumulatingFullScanReader(
+            @Nonnull DagBuildContext context,
+            @Nullable HazelcastRexNode filter,
+            @Nonnull List<HazelcastRexNode> projection,
+            @Nonnull AggregateOperation<?, JetSqlRow> aggrOp,
+            @Nullable FunctionEx<JetSqlRow, ?> groupKeyFn
+    ) {
+        PartitionedMapTable table = context.getTable();
+        KvRowProjector.Supplier projectorSupplier = KvRowProjector.supplier(
+                table.paths(),
+                table.types(),
+                table.getKeyDescriptor(),
+                table.getValueDescriptor(),
+                context.convertFilter(filter),
+                context.convertProjection(projection)
+        );
+
+        Vertex vertex = context.getDag().newUniqueVertex(
+                "AccumulateScan(" + toString(table) + ")",
+                mapAggregateScanSupplier(table.getMapName(), projectorSupplier, aggrOp, groupKeyFn)
+        );
+        // LP must be 1 - the query engine already uses multiple threads to
+        // scan the partitions, one aggregation query per member is enough
+        vertex.localParallelism(1);
+        return vertex;
+    }
+
     @Nonnull
     @SuppressWarnings("checkstyle:ParameterNumber")
     public Vertex indexScanReader(
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.ProbeUnit;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static com.hazelcast.internal.util.MapUtil.HASHMAP_DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A processor joining the rows to the IMap entries having the same values
+ * of the equi-join keys.
+ * <p>
+ * The rows are processed in batches of up to {@link #LOOKUP_BATCH_SIZE}
+ * rows. The matching entries for all the distinct keys of a batch are
+ * looked up with a single query, which uses the index on the join key, if
+ * there's one. Optionally, the matching entries of the recently looked-up
+ * keys are cached, see {@link #LOOKUP_CACHE_SIZE}.
+ */
+final class JoinByEquiJoinP extends AbstractProcessor {
+
+    /**
+     * The maximum number of rows for which the matching entries are looked
+     * up with a single query.
+     */
+    static final HazelcastProperty LOOKUP_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.sql.join.lookup.batch.size", 1024);
+
+    /**
+     * The maximum number of join keys, for which each processor caches the
+     * matching entries. The cached entries might not reflect the recent
+     * updates of the map, therefore the cache is disabled by default.
+     */
+    static final HazelcastProperty LOOKUP_CACHE_SIZE
+            = new HazelcastProperty("hazelcast.sql.join.lookup.cache.size", 0);
+
+    /**
+     * The time for which the cached matching entries are used.
+     */
+    static final HazelcastProperty LOOKUP_CACHE_TTL_MILLIS
+            = new HazelcastProperty("hazelcast.sql.join.lookup.cache.ttl.millis", 1000);
+
+    @Probe(name = "lookupCount")
+    private final Counter lookupCount = SwCounter.newSwCounter();
+    @Probe(name = "lookupKeyCount")
+    private final Counter lookupKeyCount = SwCounter.newSwCounter();
+    @Probe(name = "lookupTime", unit = ProbeUnit.NS)
+    private final Counter lookupTime = SwCounter.newSwCounter();
+    @Probe(name = "lookupCacheHits")
+    private final Counter lookupCacheHits = SwCounter.newSwCounter();
+
+    private final JetJoinInfo joinInfo;
+    private final MapProxyImpl<Object, Object> map;
+    private final PartitionIdSet partitions;
+    private final QueryPath[] rightPaths;
+    private final KvRowProjector rightRowProjector;
+    private final ExpressionEvalContext evalContext;
+
+    private int batchSize;
+    private LookupCache cache;
+    private Traverser<JetSqlRow> pendingOutput;
+
+    JoinByEquiJoinP(
+            JetJoinInfo joinInfo,
+            MapProxyImpl<Object, Object> map,
+            PartitionIdSet partitions,
+            QueryPath[] rightPaths,
+            KvRowProjector rightRowProjector,
+            ExpressionEvalContext evalContext
+    ) {
+        this.joinInfo = joinInfo;
+        this.map = map;
+        this.partitions = partitions;
+        this.rightPaths = rightPaths;
+        this.rightRowProjector = rightRowProjector;
+        this.evalContext = evalContext;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        HazelcastProperties properties = getNodeEngine(context.hazelcastInstance()).getProperties();
+        batchSize = Math.max(1, properties.getInteger(LOOKUP_BATCH_SIZE));
+        int cacheSize = properties.getInteger(LOOKUP_CACHE_SIZE);
+        if (cacheSize > 0) {
+            cache = new LookupCache(cacheSize, properties.getMillis(LOOKUP_CACHE_TTL_MILLIS));
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        while (emitPendingOutput() && !inbox.isEmpty()) {
+            List<JetSqlRow> batch = new ArrayList<>(Math.min(batchSize, inbox.size()));
+            for (Object row; batch.size() < batchSize && (row = inbox.poll()) != null; ) {
+                batch.add((JetSqlRow) row);
+            }
+            pendingOutput = traverseIterable(join(batch));
+        }
+    }
+
+    @Override
+    public boolean tryProcess() {
+        return emitPendingOutput();
+    }
+
+    @Override
+    public boolean complete() {
+        return emitPendingOutput();
+    }
+
+    private boolean emitPendingOutput() {
+        if (pendingOutput == null) {
+            return true;
+        }
+        if (!emitFromTraverser(pendingOutput)) {
+            return false;
+        }
+        pendingOutput = null;
+        return true;
+    }
+
+    private List<JetSqlRow> join(List<JetSqlRow> batch) {
+        Map<Object, List<JetSqlRow>> matches = lookup(batch);
+        List<JetSqlRow> output = new ArrayList<>();
+        for (JetSqlRow left : batch) {
+            Object key = leftKey(left);
+            List<JetSqlRow> rights = key == null ? emptyList() : matches.get(key);
+            int joinedCount = 0;
+            for (JetSqlRow right : rights) {
+                JetSqlRow joined = ExpressionUtil.join(left, right, joinInfo.nonEquiCondition(), evalContext);
+                if (joined != null) {
+                    output.add(joined);
+                    joinedCount++;
+                }
+            }
+            if (joinedCount == 0 && joinInfo.isLeftOuter()) {
+                output.add(left.extendedRow(rightRowProjector.getColumnCount()));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns the projected matching entries for each distinct non-null key
+     * of the batch. The keys not found in the cache are looked up with a
+     * single query.
+     */
+    private Map<Object, List<JetSqlRow>> lookup(List<JetSqlRow> batch) {
+        Map<Object, List<JetSqlRow>> matches = new HashMap<>();
+        Map<Object, JetSqlRow> missingKeys = new LinkedHashMap<>();
+        for (JetSqlRow left : batch) {
+            Object key = leftKey(left);
+            if (key == null || matches.containsKey(key) || missingKeys.containsKey(key)) {
+                continue;
+            }
+            List<JetSqlRow> cached = cache == null ? null : cache.get(key);
+            if (cached != null) {
+                lookupCacheHits.inc();
+                matches.put(key, cached);
+            } else {
+                missingKeys.put(key, left);
+            }
+        }
+        if (missingKeys.isEmpty()) {
+            return matches;
+        }
+
+        long start = System.nanoTime();
+        Predicate<Object, Object> predicate = QueryUtil.toPredicate(
+                new ArrayList<>(missingKeys.values()),
+                joinInfo.leftEquiJoinIndices(),
+                joinInfo.rightEquiJoinIndices(),
+                rightPaths
+        );
+        Set<Entry<Object, Object>> entries = joinInfo.isInner()
+                ? map.entrySet(predicate, partitions.copy())
+                : map.entrySet(predicate);
+        lookupTime.inc(System.nanoTime() - start);
+        lookupCount.inc();
+        lookupKeyCount.inc(missingKeys.size());
+
+        for (Object key : missingKeys.keySet()) {
+            matches.put(key, new ArrayList<>());
+        }
+        for (Entry<Object, Object> entry : entries) {
+            JetSqlRow right = rightRowProjector.project(entry.getKey(), entry.getValue());
+            if (right == null) {
+                continue;
+            }
+            // the projector still points to the entry, the key is extracted from its fields
+            List<JetSqlRow> keyMatches = matches.get(key(rightRowProjector::get, joinInfo.rightEquiJoinIndices()));
+            if (keyMatches != null) {
+                keyMatches.add(right);
+            }
+        }
+        if (cache != null) {
+            for (Object key : missingKeys.keySet()) {
+                cache.put(key, matches.get(key));
+            }
+        }
+        return matches;
+    }
+
+    private Object leftKey(JetSqlRow left) {
+        return key(left::get, joinInfo.leftEquiJoinIndices());
+    }
+
+    /**
+     * Returns the join key of a row, comparable with {@link Object#equals}
+     * to the keys of the other side, or {@code null}, if any of the values
+     * is {@code null}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Object key(IntFunction<Object> row, int[] indices) {
+        Object[] values = new Object[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            Object value = row.apply(indices[i]);
+            if (value == null) {
+                return null;
+            }
+            // the numbers of different types are equal, if the query engine considers them equal
+            values[i] = value instanceof Comparable ? Comparables.canonicalizeForHashLookup((Comparable) value) : value;
+        }
+        return values.length == 1 ? values[0] : Arrays.asList(values);
+    }
+
+    /**
+     * A cache of the matching entries of the recently looked-up keys,
+     * evicting the least recently used keys.
+     */
+    private static final class LookupCache {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Map<Object, CachedMatches> entries;
+        private final long ttlNanos;
+
+        LookupCache(int maxSize, long ttlMillis) {
+            this.entries = new LinkedHashMap<Object, CachedMatches>(INITIAL_CAPACITY, HASHMAP_DEFAULT_LOAD_FACTOR, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, CachedMatches> eldest) {
+                    return size() > maxSize;
+                }
+            };
+            this.ttlNanos = MILLISECONDS.toNanos(ttlMillis);
+        }
+
+        List<JetSqlRow> get(Object key) {
+            CachedMatches cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.timestamp > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return cached.rows;
+        }
+
+        void put(Object key, List<JetSqlRow> rows) {
+            entries.put(key, new CachedMatches(rows, System.nanoTime()));
+        }
+    }
+
+    private static final class CachedMatches {
+        private final List<JetSqlRow> rows;
+        private final long timestamp;
+
+        private CachedMatches(List<JetSqlRow> rows, long timestamp) {
+            this.rows = rows;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -17,27 +17,20 @@
 package com.hazelcast.jet.sql.impl.connector.map;
 
 import com.hazelcast.cluster.Address;
-import com.hazelcast.function.FunctionEx;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
-import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
-import com.hazelcast.jet.impl.processor.TransformP;
-import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
-import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.security.permission.MapPermission;
-import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.extract.QueryPath;
-import com.hazelcast.sql.impl.row.JetSqlRow;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
@@ -48,13 +41,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.function.Function;
 
-import static com.hazelcast.jet.Traversers.empty;
-import static com.hazelcast.jet.Traversers.singleton;
-import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.security.permission.ActionConstants.ACTION_CREATE;
 import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
 import static java.util.Collections.singletonList;
@@ -112,72 +100,12 @@ final class JoinByEquiJoinProcessorSupplier implements ProcessorSupplier, DataSe
                     : new PartitionIdSet(partitionCount, this.partitions);
             QueryPath[] rightPaths = rightRowProjectorSupplier.paths();
             KvRowProjector rightProjector = rightRowProjectorSupplier.get(evalContext, extractors);
-            Processor processor = new TransformP<JetSqlRow, JetSqlRow>(
-                    joinFn(joinInfo, map, partitions, rightPaths, rightProjector, evalContext)
-            ) {
-                @Override
-                public boolean isCooperative() {
-                    return false;
-                }
-            };
+            Processor processor = new JoinByEquiJoinP(joinInfo, map, partitions, rightPaths, rightProjector, evalContext);
             processors.add(processor);
         }
         return processors;
     }
 
-    private static FunctionEx<JetSqlRow, Traverser<JetSqlRow>> joinFn(
-            JetJoinInfo joinInfo,
-            MapProxyImpl<Object, Object> map,
-            PartitionIdSet partitions,
-            QueryPath[] rightPaths,
-            KvRowProjector rightRowProjector,
-            ExpressionEvalContext evalContext
-    ) {
-        return left -> {
-            Predicate<Object, Object> predicate = QueryUtil.toPredicate(
-                    left,
-                    joinInfo.leftEquiJoinIndices(),
-                    joinInfo.rightEquiJoinIndices(),
-                    rightPaths
-            );
-            if (predicate == null) {
-                return joinInfo.isInner()
-                        ? empty()
-                        : singleton(left.extendedRow(rightRowProjector.getColumnCount()));
-            }
-
-            Set<Entry<Object, Object>> matchingRows = joinInfo.isInner()
-                    ? map.entrySet(predicate, partitions.copy())
-                    : map.entrySet(predicate);
-            List<JetSqlRow> joined = join(left, matchingRows, rightRowProjector, joinInfo.nonEquiCondition(), evalContext);
-            return joined.isEmpty() && joinInfo.isLeftOuter()
-                    ? singleton(left.extendedRow(rightRowProjector.getColumnCount()))
-                    : traverseIterable(joined);
-        };
-    }
-
-    private static List<JetSqlRow> join(
-            JetSqlRow left,
-            Set<Entry<Object, Object>> entries,
-            KvRowProjector rightRowProjector,
-            Expression<Boolean> condition,
-            ExpressionEvalContext evalContext
-    ) {
-        List<JetSqlRow> rows = new ArrayList<>();
-        for (Entry<Object, Object> entry : entries) {
-            JetSqlRow right = rightRowProjector.project(entry.getKey(), entry.getValue());
-            if (right == null) {
-                continue;
-            }
-
-            JetSqlRow joined = ExpressionUtil.join(left, right, condition, evalContext);
-            if (joined != null) {
-                rows.add(joined);
-            }
-        }
-        return rows;
-    }
-
     @Override
     public List<Permission> permissions() {
         return singletonList(new MapPermission(mapName, ACTION_CREATE, ACTION_READ));
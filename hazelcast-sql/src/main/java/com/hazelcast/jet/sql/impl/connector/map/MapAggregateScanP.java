@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.Query;
+import com.hazelcast.map.impl.query.QueryEngine;
+import com.hazelcast.map.impl.query.Target;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.security.Permission;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_CREATE;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A processor computing the partial results of a SQL aggregation over an
+ * IMap, replacing the full scan and the accumulate vertex. The aggregation
+ * is executed by the IMap query engine with a {@link MapScanAggregator} on
+ * the members owning the partitions assigned to the processor, only the
+ * accumulators are emitted, in the same form as the accumulate vertex emits
+ * them: a single accumulator, or an entry for each group key.
+ * <p>
+ * The query engine runs the aggregation on the current owners of the
+ * partitions, so a migration during the query doesn't cause entries to be
+ * missed or counted twice.
+ */
+public final class MapAggregateScanP extends AbstractProcessor {
+
+    /**
+     * Whether the aggregations over IMap scans are executed by the IMap
+     * query engine on the partition owners, instead of scanning the map and
+     * accumulating the rows in Jet.
+     */
+    public static final String AGGREGATION_PUSHDOWN_ENABLED_PROPERTY_NAME = "hazelcast.sql.aggregation.pushdown.enabled";
+    public static final HazelcastProperty AGGREGATION_PUSHDOWN_ENABLED_PROPERTY
+            = new HazelcastProperty(AGGREGATION_PUSHDOWN_ENABLED_PROPERTY_NAME, true);
+
+    private final String mapName;
+    private final KvRowProjector.Supplier projectorSupplier;
+    private final AggregateOperation<?, JetSqlRow> aggrOp;
+    private final FunctionEx<JetSqlRow, ?> groupKeyFn;
+
+    private NodeEngine nodeEngine;
+    private ExpressionEvalContext evalContext;
+    private PartitionIdSet partitions;
+    private Traverser<?> traverser;
+
+    private MapAggregateScanP(
+            String mapName,
+            KvRowProjector.Supplier projectorSupplier,
+            AggregateOperation<?, JetSqlRow> aggrOp,
+            @Nullable FunctionEx<JetSqlRow, ?> groupKeyFn
+    ) {
+        this.mapName = mapName;
+        this.projectorSupplier = projectorSupplier;
+        this.aggrOp = aggrOp;
+        this.groupKeyFn = groupKeyFn;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        nodeEngine = getNodeEngine(context.hazelcastInstance());
+        evalContext = ExpressionEvalContext.from(context);
+        partitions = new PartitionIdSet(nodeEngine.getPartitionService().getPartitionCount(),
+                context.processorPartitions());
+    }
+
+    @Override
+    public boolean isCooperative() {
+        // the aggregation is executed by a blocking call
+        return false;
+    }
+
+    @Override
+    public boolean complete() {
+        if (traverser == null) {
+            traverser = aggregate();
+        }
+        return emitFromTraverser(traverser);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Traverser<?> aggregate() {
+        Object result;
+        if (partitions.isEmpty()) {
+            result = new MapScanAggregator(projectorSupplier, aggrOp, groupKeyFn, evalContext.getArguments()).aggregate();
+        } else {
+            Query query = Query.of()
+                    .mapName(mapName)
+                    .predicate(Predicates.alwaysTrue())
+                    .iterationType(IterationType.ENTRY)
+                    .aggregator(new MapScanAggregator(projectorSupplier, aggrOp, groupKeyFn, evalContext.getArguments()))
+                    .build();
+            MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+            QueryEngine queryEngine = mapService.getMapServiceContext().getQueryEngine(mapName);
+            AggregationResult aggregationResult = queryEngine.execute(query, Target.createPartitionTarget(partitions));
+            result = aggregationResult.getAggregator().aggregate();
+        }
+
+        if (groupKeyFn == null) {
+            return Traversers.singleton(result);
+        }
+        return Traversers.traverseIterable(((Map<Object, Object>) result).entrySet())
+                .map(e -> entry(e.getKey(), e.getValue()));
+    }
+
+    public static ProcessorSupplier mapAggregateScanSupplier(
+            String mapName,
+            KvRowProjector.Supplier projectorSupplier,
+            AggregateOperation<?, JetSqlRow> aggrOp,
+            @Nullable FunctionEx<JetSqlRow, ?> groupKeyFn
+    ) {
+        return new MapAggregateScanProcessorSupplier(mapName, projectorSupplier, aggrOp, groupKeyFn);
+    }
+
+    private static final class MapAggregateScanProcessorSupplier implements ProcessorSupplier, DataSerializable {
+
+        private String mapName;
+        private KvRowProjector.Supplier projectorSupplier;
+        private AggregateOperation<?, JetSqlRow> aggrOp;
+        private FunctionEx<JetSqlRow, ?> groupKeyFn;
+
+        @SuppressWarnings("unused")
+        private MapAggregateScanProcessorSupplier() {
+        }
+
+        private MapAggregateScanProcessorSupplier(
+                String mapName,
+                KvRowProjector.Supplier projectorSupplier,
+                AggregateOperation<?, JetSqlRow> aggrOp,
+                FunctionEx<JetSqlRow, ?> groupKeyFn
+        ) {
+            this.mapName = mapName;
+            this.projectorSupplier = projectorSupplier;
+            this.aggrOp = aggrOp;
+            this.groupKeyFn = groupKeyFn;
+        }
+
+        @Override
+        @Nonnull
+        public List<Processor> get(int count) {
+            return IntStream.range(0, count)
+                    .mapToObj(i -> new MapAggregateScanP(mapName, projectorSupplier, aggrOp, groupKeyFn))
+                    .collect(toList());
+        }
+
+        @Override
+        public List<Permission> permissions() {
+            return singletonList(new MapPermission(mapName, ACTION_CREATE, ACTION_READ));
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeString(mapName);
+            out.writeObject(projectorSupplier);
+            out.writeObject(aggrOp);
+            out.writeObject(groupKeyFn);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            mapName = in.readString();
+            projectorSupplier = in.readObject();
+            aggrOp = in.readObject();
+            groupKeyFn = in.readObject();
+        }
+    }
+}
@@ -30,6 +30,8 @@ import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.impl.connector.AbstractIndexReader;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.expression.vector.ColumnBatch;
+import com.hazelcast.jet.sql.impl.expression.vector.VectorizedFilter;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.operation.MapFetchIndexOperation;
 import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MapFetchIndexOperationResult;
@@ -50,6 +52,7 @@ import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.sql.impl.QueryUtils;
 import com.hazelcast.sql.impl.exec.scan.MapIndexScanMetadata;
 import com.hazelcast.sql.impl.exec.scan.MapScanRow;
+import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 
@@ -110,6 +113,10 @@ public final class MapIndexScanP extends AbstractProcessor {
 
     private final ArrayList<Split> splits = new ArrayList<>();
     private MapScanRow row;
+    private VectorizedFilter vectorizedFilter;
+    private Expression<Boolean> remainingFilter;
+    private ColumnBatch batch;
+    private int[] selection;
     private JetSqlRow pendingItem;
     private boolean isIndexSorted;
 
@@ -146,6 +153,8 @@ public final class MapIndexScanP extends AbstractProcessor {
                         .build(),
                 evalContext.getSerializationService()
         );
+        vectorizedFilter = VectorizedFilter.create(metadata.getRemainingFilter());
+        remainingFilter = vectorizedFilter != null ? vectorizedFilter.getResidual() : metadata.getRemainingFilter();
         isIndexSorted = metadata.getComparator() != null;
     }
 
@@ -291,6 +300,38 @@ public final class MapIndexScanP extends AbstractProcessor {
         return res;
     }
 
+    /**
+     * Evaluates the vectorizable part of the remaining filter for the whole
+     * fetched batch and returns the entries passing it. The rest of the
+     * filter is evaluated for each entry when it's projected.
+     */
+    private List<QueryableEntry<?, ?>> filterBatch(List<QueryableEntry<?, ?>> entries) {
+        if (vectorizedFilter == null || entries.isEmpty()) {
+            return entries;
+        }
+        if (batch == null || batch.capacity() < entries.size()) {
+            batch = vectorizedFilter.newBatch(entries.size());
+            selection = new int[entries.size()];
+        }
+        batch.clear();
+        for (QueryableEntry<?, ?> entry : entries) {
+            row.setKeyValue(
+                    entry.getKeyIfPresent(), entry.getKeyDataIfPresent(),
+                    entry.getValueIfPresent(), entry.getValueDataIfPresent()
+            );
+            batch.add(row);
+        }
+        int selected = vectorizedFilter.filter(batch, evalContext, selection);
+        if (selected == entries.size()) {
+            return entries;
+        }
+        List<QueryableEntry<?, ?>> result = new ArrayList<>(selected);
+        for (int i = 0; i < selected; i++) {
+            result.add(entries.get(selection[i]));
+        }
+        return result;
+    }
+
     /**
      * Basic unit of index scan execution bounded to concrete member and partitions set.
      * Can be split into smaller splits after migration is detected.
@@ -351,7 +392,7 @@ public final class MapIndexScanP extends AbstractProcessor {
                 } catch (InterruptedException e) {
                     throw new RuntimeException(e);
                 }
-                currentBatch = reader.toRecordSet(result);
+                currentBatch = filterBatch(reader.toRecordSet(result));
                 currentBatchPosition = 0;
                 pointers = result.getPointers();
                 future = null;
@@ -395,7 +436,7 @@ public final class MapIndexScanP extends AbstractProcessor {
                     entry.getKeyIfPresent(), entry.getKeyDataIfPresent(),
                     entry.getValueIfPresent(), entry.getValueDataIfPresent()
             );
-            return ExpressionUtil.projection(metadata.getRemainingFilter(), metadata.getProjection(), row, evalContext);
+            return ExpressionUtil.projection(remainingFilter, metadata.getProjection(), row, evalContext);
         }
 
         private void remove() {
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContextImpl;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+
+/**
+ * An IMap {@link Aggregator} computing the partial results of a SQL
+ * aggregation on the members owning the partitions. Each entry is projected
+ * to a row, the rows rejected by the scan filter are skipped, the others are
+ * accumulated using the accumulate function of the SQL {@link
+ * AggregateOperation}.
+ * <p>
+ * The result is the accumulator if the aggregation isn't grouped, or a map
+ * from the group key to the accumulator otherwise. The accumulators are
+ * combined by the Jet combine vertex, as if they were produced by the Jet
+ * accumulate vertex.
+ */
+public class MapScanAggregator implements Aggregator<Entry<?, ?>, Object>, IdentifiedDataSerializable,
+        HazelcastInstanceAware {
+
+    private KvRowProjector.Supplier projectorSupplier;
+    private AggregateOperation<Object, ?> aggrOp;
+    private FunctionEx<JetSqlRow, ?> groupKeyFn;
+    private List<Object> arguments;
+
+    private Object accumulator;
+    private Map<Object, Object> accumulators;
+
+    private transient NodeEngine nodeEngine;
+    private transient KvRowProjector projector;
+
+    @SuppressWarnings("unused")
+    public MapScanAggregator() {
+    }
+
+    @SuppressWarnings("unchecked")
+    MapScanAggregator(
+            KvRowProjector.Supplier projectorSupplier,
+            AggregateOperation<?, JetSqlRow> aggrOp,
+            @Nullable FunctionEx<JetSqlRow, ?> groupKeyFn,
+            List<Object> arguments
+    ) {
+        this.projectorSupplier = projectorSupplier;
+        this.aggrOp = (AggregateOperation<Object, ?>) aggrOp;
+        this.groupKeyFn = groupKeyFn;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.nodeEngine = getNodeEngine(hazelcastInstance);
+    }
+
+    @Override
+    public void accumulate(Entry<?, ?> input) {
+        QueryableEntry<?, ?> entry = (QueryableEntry<?, ?>) input;
+        JetSqlRow row = projector().project(
+                entry.getKeyIfPresent(), entry.getKeyDataIfPresent(),
+                entry.getValueIfPresent(), entry.getValueDataIfPresent()
+        );
+        if (row == null) {
+            return;
+        }
+        aggrOp.accumulateFn(0).accept(accumulator(row), row);
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        MapScanAggregator other = (MapScanAggregator) aggregator;
+        if (other.accumulator != null) {
+            if (accumulator == null) {
+                accumulator = other.accumulator;
+            } else {
+                aggrOp.combineFn().accept(accumulator, other.accumulator);
+            }
+        }
+        if (other.accumulators != null) {
+            if (accumulators == null) {
+                accumulators = new HashMap<>();
+            }
+            for (Entry<Object, Object> entry : other.accumulators.entrySet()) {
+                accumulators.merge(entry.getKey(), entry.getValue(), (left, right) -> {
+                    aggrOp.combineFn().accept(left, right);
+                    return left;
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns the accumulator, or the map of the accumulators by the group
+     * key, if the aggregation is grouped.
+     */
+    @Override
+    public Object aggregate() {
+        if (groupKeyFn != null) {
+            return accumulators != null ? accumulators : new HashMap<>();
+        }
+        return accumulator != null ? accumulator : aggrOp.createFn().get();
+    }
+
+    private Object accumulator(JetSqlRow row) {
+        if (groupKeyFn == null) {
+            if (accumulator == null) {
+                accumulator = aggrOp.createFn().get();
+            }
+            return accumulator;
+        }
+        if (accumulators == null) {
+            accumulators = new HashMap<>();
+        }
+        return accumulators.computeIfAbsent(groupKeyFn.apply(row), key -> aggrOp.createFn().get());
+    }
+
+    private KvRowProjector projector() {
+        if (projector == null) {
+            InternalSerializationService serializationService =
+                    (InternalSerializationService) nodeEngine.getSerializationService();
+            projector = projectorSupplier.get(
+                    new ExpressionEvalContextImpl(arguments, serializationService, nodeEngine),
+                    Extractors.newBuilder(serializationService).build()
+            );
+        }
+        return projector;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(projectorSupplier);
+        out.writeObject(aggrOp);
+        out.writeObject(groupKeyFn);
+        SerializationUtil.writeList(arguments, out);
+        out.writeObject(accumulator);
+        SerializationUtil.writeNullableMap(accumulators, out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        projectorSupplier = in.readObject();
+        aggrOp = in.readObject();
+        groupKeyFn = in.readObject();
+        arguments = SerializationUtil.readList(in);
+        accumulator = in.readObject();
+        accumulators = SerializationUtil.readNullableMap(in);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return JetSqlSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return JetSqlSerializerHook.MAP_SCAN_AGGREGATOR;
+    }
+}
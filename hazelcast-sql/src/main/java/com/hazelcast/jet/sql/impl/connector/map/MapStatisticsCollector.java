@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContextImpl;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.util.Collections.emptyList;
+
+/**
+ * Collects the statistics of an IMap mapping for the {@code ANALYZE}
+ * statement.
+ * <p>
+ * The collector reads the same number of entries from each partition, up to
+ * the requested sample size in total. The entries are assigned to the
+ * partitions by the hash of the key, so the first entries of the partitions
+ * are a fair sample of the map. The number of distinct values in the whole
+ * map is extrapolated from the sample using the Duj1 estimator by Haas and
+ * Stokes, which is exact if the sample contains all rows.
+ */
+public final class MapStatisticsCollector {
+
+    private static final int FETCH_SIZE = 256;
+
+    private MapStatisticsCollector() {
+    }
+
+    @Nonnull
+    public static MappingStatistics collect(
+            @Nonnull NodeEngine nodeEngine,
+            @Nonnull PartitionedMapTable table,
+            int sampleSize,
+            int histogramBuckets
+    ) {
+        checkPositive("sampleSize", sampleSize);
+        checkPositive("histogramBuckets", histogramBuckets);
+
+        MapProxyImpl<Object, Object> map =
+                (MapProxyImpl<Object, Object>) nodeEngine.getHazelcastInstance().getMap(table.getMapName());
+        long rowCount = map.size();
+        List<JetSqlRow> sample = sample(nodeEngine, table, map, sampleSize);
+
+        Map<String, ColumnStatistics> columns = new LinkedHashMap<>();
+        for (int i = 0; i < table.getFieldCount(); i++) {
+            TableField field = table.getField(i);
+            List<Object> values = new ArrayList<>(sample.size());
+            for (JetSqlRow row : sample) {
+                values.add(row.get(i));
+            }
+            columns.put(field.getName(), columnStatistics(values, Math.max(rowCount, sample.size()), histogramBuckets));
+        }
+        return new MappingStatistics(table.getSqlName(), System.currentTimeMillis(), rowCount, sample.size(), columns);
+    }
+
+    private static List<JetSqlRow> sample(
+            NodeEngine nodeEngine,
+            PartitionedMapTable table,
+            MapProxyImpl<Object, Object> map,
+            int sampleSize
+    ) {
+        ExpressionEvalContext evalContext = new ExpressionEvalContextImpl(
+                emptyList(),
+                (InternalSerializationService) nodeEngine.getSerializationService(),
+                nodeEngine);
+        List<Expression<?>> projections = new ArrayList<>(table.getFieldCount());
+        for (int i = 0; i < table.getFieldCount(); i++) {
+            projections.add(ColumnExpression.create(i, table.getField(i).getType()));
+        }
+        KvRowProjector projector = KvRowProjector.supplier(
+                table.paths(),
+                table.types(),
+                table.getKeyDescriptor(),
+                table.getValueDescriptor(),
+                null,
+                projections
+        ).get(evalContext, Extractors.newBuilder(evalContext.getSerializationService()).build());
+
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        int perPartition = Math.max(1, (sampleSize + partitionCount - 1) / partitionCount);
+        List<JetSqlRow> sample = new ArrayList<>(sampleSize);
+        for (int partitionId = 0; partitionId < partitionCount && sample.size() < sampleSize; partitionId++) {
+            Iterator<Entry<Object, Object>> iterator =
+                    map.iterator(Math.min(FETCH_SIZE, perPartition), partitionId, true);
+            for (int i = 0; i < perPartition && sample.size() < sampleSize && iterator.hasNext(); i++) {
+                Entry<Object, Object> entry = iterator.next();
+                JetSqlRow row = projector.project(entry.getKey(), entry.getValue());
+                if (row != null) {
+                    sample.add(row);
+                }
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * Computes the statistics of a column from the values in the sample.
+     *
+     * @param values the values of the column in the sample, including nulls
+     * @param rowCount the total number of rows
+     */
+    static ColumnStatistics columnStatistics(List<Object> values, long rowCount, int histogramBuckets) {
+        List<Object> nonNull = new ArrayList<>(values.size());
+        Map<Object, Integer> frequencies = new HashMap<>();
+        boolean comparable = true;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            comparable &= nonNull.isEmpty() || ColumnStatistics.isComparable(value, nonNull.get(0));
+            nonNull.add(value);
+            frequencies.merge(value, 1, Integer::sum);
+        }
+        if (values.isEmpty()) {
+            return new ColumnStatistics(0d, 0d, null, null, null);
+        }
+        double nullFraction = (double) (values.size() - nonNull.size()) / values.size();
+        double distinctCount = estimateDistinctCount(nonNull.size(), frequencies,
+                Math.round(rowCount * (1 - nullFraction)));
+        if (nonNull.isEmpty() || !comparable) {
+            return new ColumnStatistics(nullFraction, distinctCount, null, null, null);
+        }
+
+        nonNull.sort(ColumnStatistics::compare);
+        int bucketCount = Math.min(histogramBuckets, nonNull.size() - 1);
+        Object[] histogram = null;
+        if (bucketCount > 0) {
+            histogram = new Object[bucketCount + 1];
+            for (int i = 0; i <= bucketCount; i++) {
+                histogram[i] = nonNull.get((int) ((long) i * (nonNull.size() - 1) / bucketCount));
+            }
+        }
+        return new ColumnStatistics(nullFraction, distinctCount, nonNull.get(0), nonNull.get(nonNull.size() - 1),
+                histogram);
+    }
+
+    /**
+     * Estimates the number of distinct values in the whole column using the
+     * Duj1 estimator: {@code n * d / (n - f1 + f1 * n / N)}, where {@code n}
+     * is the sample size, {@code d} is the number of distinct values in the
+     * sample, {@code f1} is the number of values occurring exactly once in the
+     * sample and {@code N} is the number of values in the column.
+     */
+    static double estimateDistinctCount(int sampleSize, Map<Object, Integer> frequencies, long totalCount) {
+        int distinct = frequencies.size();
+        if (sampleSize == 0 || sampleSize >= totalCount) {
+            return distinct;
+        }
+        long singletons = frequencies.values().stream().filter(count -> count == 1).count();
+        double estimate = (double) sampleSize * distinct
+                / (sampleSize - singletons + (double) singletons * sampleSize / totalCount);
+        return Math.max(distinct, Math.min(estimate, totalCount));
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.Edge;
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvProjector;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.jet.sql.impl.inject.UpsertTargetDescriptor;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.Mapping;
+import com.hazelcast.sql.impl.schema.MappingField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.function.Functions.entryKey;
+import static com.hazelcast.function.PredicateEx.alwaysTrue;
+import static com.hazelcast.jet.Util.mapEventToEntry;
+import static com.hazelcast.jet.core.EventTimePolicy.noEventTime;
+import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
+import static com.hazelcast.jet.core.processor.SourceProcessors.streamMapP;
+import static com.hazelcast.jet.pipeline.JournalInitialPosition.START_FROM_OLDEST;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.COMPACT_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.JAVA_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_CLASS;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_COMPACT_TYPE_NAME;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_KEY_FORMAT;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_COMPACT_TYPE_NAME;
+import static com.hazelcast.jet.sql.impl.connector.SqlConnector.OPTION_VALUE_FORMAT;
+
+/**
+ * A materialized view over an IMap: the result of a grouped aggregation
+ * of the map entries, stored in a map having the same name as the view.
+ * The grouping columns form the key of the map, so that the rows of the
+ * view can be looked up by the key.
+ * <p>
+ * The view is maintained by a job, which reads the current entries of
+ * the source map and then its event journal. The aggregated rows are
+ * updated incrementally, see {@link MaterializedViewEntryP} and {@link
+ * MaterializedViewAggregateP}. The job keeps the last projected row of
+ * each source entry and the accumulated values of each group in memory.
+ * When the job restarts, the view is rebuilt.
+ */
+public final class MaterializedView {
+
+    /**
+     * The option marking the mapping of a view, its value is the name of the
+     * source map.
+     */
+    public static final String OPTION_SOURCE_MAP = "materializedViewSource";
+
+    private static final String JOB_NAME_PREFIX = "__sql.materializedView.";
+
+    private final String name;
+    private final String sourceMapName;
+    private final KvRowProjector.Supplier sourceProjectorSupplier;
+    private final int[] groupIndices;
+    private final List<MaterializedViewAggregation> aggregations;
+    private final List<String> columnNames;
+    private final List<QueryDataType> columnTypes;
+    private final int[] columnIndices;
+
+    /**
+     * @param name                    the name of the view and its map
+     * @param sourceMapName           the name of the aggregated map
+     * @param sourceProjectorSupplier projects and filters the entries of the
+     *                                source map
+     * @param groupIndices            the indices of the grouping columns in
+     *                                the projected rows
+     * @param aggregations            the aggregations of the projected rows
+     * @param columnNames             the names of the view columns
+     * @param columnTypes             the types of the view columns
+     * @param columnIndices           for each view column, the index of the
+     *                                grouping column, or the number of the
+     *                                grouping columns plus the index of the
+     *                                aggregation
+     */
+    public MaterializedView(
+            String name,
+            String sourceMapName,
+            KvRowProjector.Supplier sourceProjectorSupplier,
+            int[] groupIndices,
+            List<MaterializedViewAggregation> aggregations,
+            List<String> columnNames,
+            List<QueryDataType> columnTypes,
+            int[] columnIndices
+    ) {
+        this.name = name;
+        this.sourceMapName = sourceMapName;
+        this.sourceProjectorSupplier = sourceProjectorSupplier;
+        this.groupIndices = groupIndices;
+        this.aggregations = aggregations;
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.columnIndices = columnIndices;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String sourceMapName() {
+        return sourceMapName;
+    }
+
+    public String jobName() {
+        return jobName(name);
+    }
+
+    public static String jobName(String viewName) {
+        return JOB_NAME_PREFIX + viewName;
+    }
+
+    /**
+     * Returns the mapping of the map backing the view. A single grouping
+     * column is the key of the map, it's stored also in the value, so that
+     * the column can be used in the queries without renaming {@code __key}.
+     * Multiple grouping columns are stored in a Compact key. The aggregated
+     * columns are stored in a Compact value.
+     */
+    public Mapping toMapping() {
+        List<MappingField> fields = new ArrayList<>(columnNames.size());
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            String columnName = columnNames.get(i);
+            String externalName = isKeyColumn(i) && groupIndices.length > 1
+                    ? QueryPath.KEY_PREFIX + columnName
+                    : QueryPath.VALUE_PREFIX + columnName;
+            fields.add(new MappingField(columnName, columnTypes.get(i), externalName));
+        }
+        if (groupIndices.length == 1) {
+            options.put(OPTION_KEY_FORMAT, JAVA_FORMAT);
+            options.put(OPTION_KEY_CLASS, columnTypes.get(keyColumn()).getConverter().getValueClass().getName());
+        } else {
+            options.put(OPTION_KEY_FORMAT, COMPACT_FORMAT);
+            options.put(OPTION_KEY_COMPACT_TYPE_NAME, name + "_key");
+        }
+        options.put(OPTION_VALUE_FORMAT, COMPACT_FORMAT);
+        options.put(OPTION_VALUE_COMPACT_TYPE_NAME, name + "_value");
+        options.put(OPTION_SOURCE_MAP, sourceMapName);
+        return new Mapping(name, name, null, IMapSqlConnector.TYPE_NAME, null, fields, options);
+    }
+
+    /**
+     * Returns {@code true} if the mapping was created by {@link #toMapping}.
+     */
+    public static boolean isViewMapping(@Nullable Mapping mapping) {
+        return mapping != null && mapping.options().containsKey(OPTION_SOURCE_MAP);
+    }
+
+    /**
+     * Returns the DAG of the job maintaining the view.
+     *
+     * @param viewTable the table of the mapping created by {@link #toMapping}
+     */
+    public DAG toDag(PartitionedMapTable viewTable) {
+        DAG dag = new DAG();
+        Vertex scan = dag.newVertex("Scan(" + sourceMapName + ")", readMapP(sourceMapName));
+        Vertex journal = dag.newVertex("StreamJournal(" + sourceMapName + ")",
+                streamMapP(sourceMapName, alwaysTrue(), mapEventToEntry(), START_FROM_OLDEST, noEventTime()));
+        Vertex entries = dag.newVertex("ProjectEntries", MaterializedViewEntryP.supplier(sourceProjectorSupplier, groupIndices));
+        Vertex aggregate = dag.newVertex("Aggregate(" + name + ")", MaterializedViewAggregateP.metaSupplier(
+                name, groupIndices, aggregations, projectedIndices(), viewProjectorSupplier(viewTable)));
+
+        // the current entries are processed before the changes from the journal
+        dag.edge(Edge.from(scan).to(entries, 0).distributed().partitioned(entryKey()).priority(-1));
+        dag.edge(Edge.from(journal).to(entries, 1).distributed().partitioned(entryKey()));
+        dag.edge(Edge.between(entries, aggregate).distributed().partitioned(ObjectArrayKey.projectFn(groupIndices)));
+        return dag;
+    }
+
+    /**
+     * Returns the indices of the values written to the view map, the view
+     * columns followed by the key, if it's a single grouping column.
+     */
+    private int[] projectedIndices() {
+        if (groupIndices.length > 1) {
+            return columnIndices;
+        }
+        int[] indices = Arrays.copyOf(columnIndices, columnIndices.length + 1);
+        indices[columnIndices.length] = 0;
+        return indices;
+    }
+
+    private KvProjector.Supplier viewProjectorSupplier(PartitionedMapTable viewTable) {
+        int count = groupIndices.length > 1 ? columnNames.size() : columnNames.size() + 1;
+        QueryPath[] paths = new QueryPath[count];
+        QueryDataType[] types = new QueryDataType[count];
+        for (int i = 0; i < columnNames.size(); i++) {
+            MapTableField field = viewTable.getField(viewTable.getFieldIndex(columnNames.get(i)));
+            paths[i] = field.getPath();
+            types[i] = field.getType();
+        }
+        if (groupIndices.length == 1) {
+            paths[count - 1] = QueryPath.KEY_PATH;
+            types[count - 1] = columnTypes.get(keyColumn());
+        }
+        return KvProjector.supplier(
+                paths,
+                types,
+                (UpsertTargetDescriptor) viewTable.getKeyJetMetadata(),
+                (UpsertTargetDescriptor) viewTable.getValueJetMetadata(),
+                true
+        );
+    }
+
+    private boolean isKeyColumn(int column) {
+        return columnIndices[column] < groupIndices.length;
+    }
+
+    private int keyColumn() {
+        for (int i = 0; i < columnIndices.length; i++) {
+            if (columnIndices[i] == 0) {
+                return i;
+            }
+        }
+        throw new AssertionError("the grouping column isn't selected");
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcSupplierCtx;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvProjector;
+import com.hazelcast.jet.sql.impl.connector.map.MaterializedViewAggregation.Accumulator;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Maintains the aggregated rows of a materialized view and writes the
+ * changed rows to the map backing the view. Receives the changes emitted
+ * by {@link MaterializedViewEntryP}, partitioned by the grouping columns.
+ * <p>
+ * The changes of one inbox are applied at once, each changed group is
+ * written once per inbox. The groups without any rows are removed from
+ * the map.
+ */
+final class MaterializedViewAggregateP extends AbstractProcessor {
+
+    private final String viewMapName;
+    private final int[] groupIndices;
+    private final List<MaterializedViewAggregation> aggregations;
+    private final int[] columnIndices;
+    private final KvProjector projector;
+    private final Map<ObjectArrayKey, Group> groups = new HashMap<>();
+    private final Set<ObjectArrayKey> changedGroups = new LinkedHashSet<>();
+
+    private IMap<Object, Object> viewMap;
+    private int signIndex = -1;
+
+    private MaterializedViewAggregateP(
+            String viewMapName,
+            int[] groupIndices,
+            List<MaterializedViewAggregation> aggregations,
+            int[] columnIndices,
+            KvProjector projector
+    ) {
+        this.viewMapName = viewMapName;
+        this.groupIndices = groupIndices;
+        this.aggregations = aggregations;
+        this.columnIndices = columnIndices;
+        this.projector = projector;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        viewMap = context.hazelcastInstance().getMap(viewMapName);
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        for (Object item; (item = inbox.poll()) != null; ) {
+            JetSqlRow change = (JetSqlRow) item;
+            if (signIndex < 0) {
+                signIndex = change.getFieldCount() - 1;
+            }
+            ObjectArrayKey groupKey = ObjectArrayKey.project(change, groupIndices);
+            groups.computeIfAbsent(groupKey, key -> new Group(change))
+                  .accumulate(change, (int) change.get(signIndex));
+            changedGroups.add(groupKey);
+        }
+        writeChangedGroups();
+    }
+
+    private void writeChangedGroups() {
+        Map<Object, Object> updated = new HashMap<>();
+        List<Object> removed = new ArrayList<>();
+        for (ObjectArrayKey groupKey : changedGroups) {
+            Group group = groups.get(groupKey);
+            Entry<Object, Object> entry = projector.project(group.toRow());
+            if (group.rowCount == 0) {
+                groups.remove(groupKey);
+                removed.add(entry.getKey());
+            } else {
+                updated.put(entry.getKey(), entry.getValue());
+            }
+        }
+        changedGroups.clear();
+        if (!updated.isEmpty()) {
+            viewMap.setAll(updated);
+        }
+        for (Object key : removed) {
+            viewMap.delete(key);
+        }
+    }
+
+    /**
+     * The accumulated values of the rows having the same grouping values.
+     */
+    private final class Group {
+        private final JetSqlRow firstRow;
+        private final Accumulator[] accumulators;
+        private long rowCount;
+
+        Group(JetSqlRow firstRow) {
+            this.firstRow = firstRow;
+            this.accumulators = new Accumulator[aggregations.size()];
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = aggregations.get(i).createAccumulator();
+            }
+        }
+
+        void accumulate(JetSqlRow row, int sign) {
+            rowCount += sign;
+            for (int i = 0; i < accumulators.length; i++) {
+                aggregations.get(i).accumulate(accumulators[i], row, sign);
+            }
+        }
+
+        /**
+         * Returns the row of the view, the grouping values followed by the
+         * results of the aggregations, ordered as the view columns.
+         */
+        JetSqlRow toRow() {
+            Object[] values = new Object[groupIndices.length + accumulators.length];
+            for (int i = 0; i < groupIndices.length; i++) {
+                values[i] = firstRow.get(groupIndices[i]);
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                values[groupIndices.length + i] = aggregations.get(i).result(accumulators[i]);
+            }
+            Object[] columns = new Object[columnIndices.length];
+            for (int i = 0; i < columnIndices.length; i++) {
+                columns[i] = values[columnIndices[i]];
+            }
+            return new JetSqlRow(firstRow.getSerializationService(), columns);
+        }
+    }
+
+    /**
+     * Returns the supplier of the processors maintaining the view. The
+     * view map is cleared before each execution of the job, the view is
+     * then rebuilt from the current entries of the source map.
+     */
+    static ProcessorMetaSupplier metaSupplier(
+            String viewMapName,
+            int[] groupIndices,
+            List<MaterializedViewAggregation> aggregations,
+            int[] columnIndices,
+            KvProjector.Supplier projectorSupplier
+    ) {
+        return new MetaSupplier(new Supplier(viewMapName, groupIndices, aggregations, columnIndices, projectorSupplier));
+    }
+
+    @SuppressFBWarnings(
+            value = {"SE_BAD_FIELD", "SE_NO_SERIALVERSIONID"},
+            justification = "the class is never java-serialized"
+    )
+    private static final class MetaSupplier implements ProcessorMetaSupplier, DataSerializable {
+
+        private Supplier supplier;
+
+        @SuppressWarnings("unused") // for deserialization
+        private MetaSupplier() {
+        }
+
+        private MetaSupplier(Supplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            context.hazelcastInstance().getMap(supplier.viewMapName).clear();
+        }
+
+        @Nonnull
+        @Override
+        public Function<? super Address, ? extends ProcessorSupplier> get(@Nonnull List<Address> addresses) {
+            return address -> supplier;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(supplier);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            supplier = in.readObject();
+        }
+    }
+
+    private static final class Supplier implements ProcessorSupplier, DataSerializable {
+
+        private String viewMapName;
+        private int[] groupIndices;
+        private List<MaterializedViewAggregation> aggregations;
+        private int[] columnIndices;
+        private KvProjector.Supplier projectorSupplier;
+
+        private transient InternalSerializationService serializationService;
+
+        @SuppressWarnings("unused") // for deserialization
+        private Supplier() {
+        }
+
+        private Supplier(
+                String viewMapName,
+                int[] groupIndices,
+                List<MaterializedViewAggregation> aggregations,
+                int[] columnIndices,
+                KvProjector.Supplier projectorSupplier
+        ) {
+            this.viewMapName = viewMapName;
+            this.groupIndices = groupIndices;
+            this.aggregations = aggregations;
+            this.columnIndices = columnIndices;
+            this.projectorSupplier = projectorSupplier;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            serializationService = ((ProcSupplierCtx) context).serializationService();
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<Processor> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new MaterializedViewAggregateP(
+                        viewMapName,
+                        groupIndices,
+                        aggregations,
+                        columnIndices,
+                        projectorSupplier.get(serializationService)
+                ));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeString(viewMapName);
+            out.writeIntArray(groupIndices);
+            out.writeObject(aggregations);
+            out.writeIntArray(columnIndices);
+            out.writeObject(projectorSupplier);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            viewMapName = in.readString();
+            groupIndices = in.readIntArray();
+            aggregations = in.readObject();
+            columnIndices = in.readIntArray();
+            projectorSupplier = in.readObject();
+        }
+    }
+}
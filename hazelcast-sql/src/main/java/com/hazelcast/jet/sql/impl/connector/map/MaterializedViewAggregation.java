@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.type.QueryDataTypeUtils.DECIMAL_MATH_CONTEXT;
+
+/**
+ * An aggregate function of a materialized view. Unlike the aggregations of
+ * the queries, the accumulated values can also be removed, which is needed
+ * to maintain the result when the source entries are updated or removed.
+ * Only COUNT, SUM and AVG can be maintained this way.
+ */
+public final class MaterializedViewAggregation implements DataSerializable {
+
+    /**
+     * The supported aggregate functions.
+     */
+    public enum Kind {
+        COUNT, SUM, AVG
+    }
+
+    private Kind kind;
+    private int argIndex;
+    private boolean exact;
+    private QueryDataType resultType;
+
+    @SuppressWarnings("unused") // for deserialization
+    private MaterializedViewAggregation() {
+    }
+
+    /**
+     * @param kind       the aggregate function
+     * @param argIndex   the index of the argument in the input row, or -1
+     *                   for {@code COUNT(*)}
+     * @param exact      whether the argument is an exact numeric type, the
+     *                   sum is then accumulated as {@link BigDecimal}
+     * @param resultType the type of the result
+     */
+    public MaterializedViewAggregation(Kind kind, int argIndex, boolean exact, QueryDataType resultType) {
+        this.kind = kind;
+        this.argIndex = argIndex;
+        this.exact = exact;
+        this.resultType = resultType;
+    }
+
+    public QueryDataType resultType() {
+        return resultType;
+    }
+
+    Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Adds the argument of the row to the accumulator, if {@code sign} is
+     * positive, or removes it, if it's negative.
+     */
+    void accumulate(Accumulator acc, JetSqlRow row, int sign) {
+        Object value = argIndex < 0 ? null : row.get(argIndex);
+        if (argIndex >= 0 && value == null) {
+            return;
+        }
+        acc.count += sign;
+        if (acc.count == 0) {
+            // no rounding errors are carried over to the next values
+            acc.exactSum = BigDecimal.ZERO;
+            acc.approximateSum = 0;
+        } else if (kind != Kind.COUNT && exact) {
+            BigDecimal decimalValue = value instanceof BigDecimal
+                    ? (BigDecimal) value
+                    : BigDecimal.valueOf(((Number) value).longValue());
+            acc.exactSum = sign > 0
+                    ? acc.exactSum.add(decimalValue, DECIMAL_MATH_CONTEXT)
+                    : acc.exactSum.subtract(decimalValue, DECIMAL_MATH_CONTEXT);
+        } else if (kind != Kind.COUNT) {
+            acc.approximateSum += sign * ((Number) value).doubleValue();
+        }
+    }
+
+    Object result(Accumulator acc) {
+        switch (kind) {
+            case COUNT:
+                return acc.count;
+            case SUM:
+                if (acc.count == 0) {
+                    return null;
+                }
+                return resultType.convert(exact ? acc.exactSum : acc.approximateSum);
+            case AVG:
+                if (acc.count == 0) {
+                    return null;
+                }
+                return resultType.convert(exact
+                        ? acc.exactSum.divide(BigDecimal.valueOf(acc.count), DECIMAL_MATH_CONTEXT)
+                        : acc.approximateSum / acc.count);
+            default:
+                throw QueryException.error("Unsupported aggregation: " + kind);
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(kind.ordinal());
+        out.writeInt(argIndex);
+        out.writeBoolean(exact);
+        out.writeObject(resultType);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        kind = Kind.values()[in.readInt()];
+        argIndex = in.readInt();
+        exact = in.readBoolean();
+        resultType = in.readObject();
+    }
+
+    /**
+     * The accumulated values of one group.
+     */
+    static final class Accumulator {
+        private long count;
+        private BigDecimal exactSum = BigDecimal.ZERO;
+        private double approximateSum;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.Traversers.traverseIterable;
+
+/**
+ * Converts the entries of the source map of a materialized view to the
+ * changes of the aggregated rows. The current entries are received on
+ * ordinal 0, the changes from the event journal on ordinal 1; an entry
+ * with a {@code null} value is a removed entry.
+ * <p>
+ * The processor keeps the last projected row of each entry. For each
+ * entry it emits the removal of the previous row, if any, followed by the
+ * addition of the new row, if the entry passes the filter. The rows are
+ * extended with the sign of the change, -1 or 1. The rows with a {@code
+ * null} grouping value are ignored, the view can't store them.
+ * <p>
+ * Since only the last row of each entry matters, the journal can be read
+ * from the oldest event, the changes already reflected by the current
+ * entries are applied again without changing the result.
+ */
+final class MaterializedViewEntryP extends AbstractProcessor {
+
+    private final KvRowProjector projector;
+    private final int[] groupIndices;
+    private final Map<Data, JetSqlRow> rows = new HashMap<>();
+
+    private final InternalSerializationService serializationService;
+
+    private Traverser<JetSqlRow> pendingOutput;
+
+    private MaterializedViewEntryP(
+            KvRowProjector projector,
+            int[] groupIndices,
+            InternalSerializationService serializationService
+    ) {
+        this.projector = projector;
+        this.groupIndices = groupIndices;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return projector.isCooperative();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        if (pendingOutput == null) {
+            Data key;
+            JetSqlRow row;
+            if (item instanceof LazyMapEntry) {
+                LazyMapEntry<Object, Object> entry = (LazyMapEntry<Object, Object>) item;
+                key = entry.getKeyData();
+                row = project(entry.getKeyData(), entry.getValueData());
+            } else {
+                Entry<Object, Object> entry = (Entry<Object, Object>) item;
+                key = serializationService.toData(entry.getKey());
+                row = entry.getValue() == null ? null : project(entry.getKey(), entry.getValue());
+            }
+            pendingOutput = traverseIterable(changes(key, row));
+        }
+        if (!emitFromTraverser(pendingOutput)) {
+            return false;
+        }
+        pendingOutput = null;
+        return true;
+    }
+
+    private JetSqlRow project(Object key, Object value) {
+        JetSqlRow row = key instanceof Data
+                ? projector.project((Data) key, (Data) value)
+                : projector.project(key, value);
+        if (row == null) {
+            return null;
+        }
+        for (int index : groupIndices) {
+            if (row.get(index) == null) {
+                return null;
+            }
+        }
+        return row;
+    }
+
+    private List<JetSqlRow> changes(Data key, JetSqlRow row) {
+        JetSqlRow previous = row == null ? rows.remove(key) : rows.put(key, row);
+        List<JetSqlRow> changes = new ArrayList<>(2);
+        if (previous != null && previous.equals(row)) {
+            // the entry changed, but not the columns used by the view
+            return changes;
+        }
+        if (previous != null) {
+            changes.add(withSign(previous, -1));
+        }
+        if (row != null) {
+            changes.add(withSign(row, 1));
+        }
+        return changes;
+    }
+
+    private static JetSqlRow withSign(JetSqlRow row, int sign) {
+        JetSqlRow extended = row.extendedRow(1);
+        extended.getValues()[row.getFieldCount()] = sign;
+        return extended;
+    }
+
+    static ProcessorSupplier supplier(KvRowProjector.Supplier projectorSupplier, int[] groupIndices) {
+        return new Supplier(projectorSupplier, groupIndices);
+    }
+
+    private static final class Supplier implements ProcessorSupplier, DataSerializable {
+
+        private KvRowProjector.Supplier projectorSupplier;
+        private int[] groupIndices;
+
+        private transient ExpressionEvalContext evalContext;
+        private transient Extractors extractors;
+
+        @SuppressWarnings("unused") // for deserialization
+        private Supplier() {
+        }
+
+        private Supplier(KvRowProjector.Supplier projectorSupplier, int[] groupIndices) {
+            this.projectorSupplier = projectorSupplier;
+            this.groupIndices = groupIndices;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            evalContext = ExpressionEvalContext.from(context);
+            extractors = Extractors.newBuilder(evalContext.getSerializationService()).build();
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<Processor> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new MaterializedViewEntryP(
+                        projectorSupplier.get(evalContext, extractors),
+                        groupIndices,
+                        evalContext.getSerializationService()
+                ));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(projectorSupplier);
+            out.writeIntArray(groupIndices);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            projectorSupplier = in.readObject();
+            groupIndices = in.readIntArray();
+        }
+    }
+}
@@ -49,6 +49,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 
 public final class QueryUtil {
@@ -93,6 +95,47 @@ public final class QueryUtil {
         return builder;
     }
 
+    /**
+     * Returns a predicate matching the entries joined to any of the given
+     * rows, to look up the matches of all the rows with a single query. The
+     * rows with a {@code null} join key must not be passed, they don't match
+     * any entry.
+     */
+    @SuppressWarnings("unchecked")
+    static Predicate<Object, Object> toPredicate(
+            List<JetSqlRow> lefts,
+            int[] leftEquiJoinIndices,
+            int[] rightEquiJoinIndices,
+            QueryPath[] rightPaths
+    ) {
+        if (lefts.size() == 1) {
+            return toPredicate(lefts.get(0), leftEquiJoinIndices, rightEquiJoinIndices, rightPaths);
+        }
+        if (leftEquiJoinIndices.length == 1) {
+            // IN uses the index, if there is one, for all the values at once
+            Comparable<?>[] values = new Comparable[lefts.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = asComparable(lefts.get(i).get(leftEquiJoinIndices[0]));
+            }
+            return Predicates.in(attributeName(rightPaths[rightEquiJoinIndices[0]]), values);
+        }
+        Predicate<Object, Object>[] predicates = new Predicate[lefts.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = toPredicate(lefts.get(i), leftEquiJoinIndices, rightEquiJoinIndices, rightPaths);
+        }
+        return Predicates.or(predicates);
+    }
+
+    private static String attributeName(QueryPath path) {
+        if (path.isKey()) {
+            return path.isTop()
+                    ? KEY_ATTRIBUTE_NAME.value()
+                    : KEY_ATTRIBUTE_NAME.value() + "." + path.getPath();
+        } else {
+            return path.isTop() ? THIS_ATTRIBUTE_NAME.value() : path.getPath();
+        }
+    }
+
     private static Comparable<?> asComparable(Object value) {
         if (value == null) {
             return null;
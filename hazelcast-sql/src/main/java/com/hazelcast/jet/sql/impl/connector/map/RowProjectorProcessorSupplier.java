@@ -16,10 +16,12 @@
 
 package com.hazelcast.jet.sql.impl.connector.map;
 
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
-import com.hazelcast.jet.core.ResettableSingletonTraverser;
-import com.hazelcast.jet.impl.processor.TransformP;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
 import com.hazelcast.map.impl.LazyMapEntry;
@@ -37,11 +39,17 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
 public final class RowProjectorProcessorSupplier implements ProcessorSupplier, IdentifiedDataSerializable {
 
+    /**
+     * The maximum number of entries projected as a single batch.
+     */
+    static final int BATCH_SIZE = 1024;
+
     private KvRowProjector.Supplier projectorSupplier;
 
     private transient ExpressionEvalContext evalContext;
@@ -66,14 +74,7 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, I
     public Collection<? extends Processor> get(int count) {
         List<Processor> processors = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            ResettableSingletonTraverser<JetSqlRow> traverser = new ResettableSingletonTraverser<>();
-            KvRowProjector projector = projectorSupplier.get(evalContext, extractors);
-            TransformP<LazyMapEntry<Object, Object>, JetSqlRow> processor = new TransformP<>(entry -> {
-                traverser.accept(projector.project(entry.getKeyData(), entry.getValueData()));
-                return traverser;
-            });
-            processor.setCooperative(projector.isCooperative());
-            processors.add(processor);
+            processors.add(new RowProjectorP(projectorSupplier.get(evalContext, extractors)));
         }
         return processors;
     }
@@ -109,4 +110,54 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, I
         return new RowProjectorProcessorSupplier(
                 KvRowProjector.supplier(paths, types, keyDescriptor, valueDescriptor, predicate, projection));
     }
+
+    /**
+     * Projects the entries from the inbox in batches, so that the predicate
+     * can be evaluated for the whole batch at a time.
+     */
+    private static final class RowProjectorP extends AbstractProcessor {
+
+        private final KvRowProjector projector;
+        private final Data[] keys = new Data[BATCH_SIZE];
+        private final Data[] values = new Data[BATCH_SIZE];
+        private final List<JetSqlRow> rows = new ArrayList<>();
+        private final Traverser<JetSqlRow> traverser;
+        private int emitted;
+
+        private RowProjectorP(KvRowProjector projector) {
+            this.projector = projector;
+            this.traverser = () -> emitted < rows.size() ? rows.get(emitted++) : null;
+        }
+
+        @Override
+        public boolean isCooperative() {
+            return projector.isCooperative();
+        }
+
+        @Override
+        public void process(int ordinal, @Nonnull Inbox inbox) {
+            if (!emitFromTraverser(traverser)) {
+                return;
+            }
+            rows.clear();
+            emitted = 0;
+
+            int count = 0;
+            for (Object item; count < BATCH_SIZE && (item = inbox.poll()) != null; count++) {
+                LazyMapEntry<?, ?> entry = (LazyMapEntry<?, ?>) item;
+                keys[count] = entry.getKeyData();
+                values[count] = entry.getValueData();
+            }
+            projector.project(keys, values, count, rows);
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(values, 0, count, null);
+
+            emitFromTraverser(traverser);
+        }
+
+        @Override
+        public boolean tryProcess() {
+            return emitFromTraverser(traverser);
+        }
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.compiler;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The filter and the projections of a calc, evaluated either by the code
+ * compiled by the {@link ExpressionCompiler}, or by the interpreter.
+ * <p>
+ * The expressions are compiled when the plan is created, so that the
+ * compiled code is cached together with the plan. The compiled code isn't
+ * serialized, on other members the expressions are compiled again on the
+ * first use, the generated classes are cached on each member.
+ */
+public final class CalcEvaluator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Expression<Boolean> filter;
+    private final List<Expression<?>> projection;
+    private final boolean compile;
+
+    private transient volatile CompiledCalc compiled;
+    private transient volatile boolean compiledInitialized;
+
+    private CalcEvaluator(
+            @Nullable Expression<Boolean> filter,
+            @Nonnull List<Expression<?>> projection,
+            boolean compile
+    ) {
+        this.filter = filter;
+        this.projection = projection;
+        this.compile = compile;
+    }
+
+    /**
+     * @param filter     the filter, or {@code null} for a projection only
+     * @param projection the projected expressions
+     * @param compile    whether to compile the expressions
+     */
+    public static CalcEvaluator create(
+            @Nullable Expression<Boolean> filter,
+            @Nonnull List<Expression<?>> projection,
+            boolean compile
+    ) {
+        CalcEvaluator evaluator = new CalcEvaluator(filter, projection, compile);
+        evaluator.compiled();
+        return evaluator;
+    }
+
+    /**
+     * Returns whether the expressions are evaluated by the compiled code.
+     */
+    public boolean isCompiled() {
+        return compiled() != null;
+    }
+
+    /**
+     * Returns the function evaluating the filter and the projections for a
+     * row. The function returns {@code null} if the row is rejected by the
+     * filter.
+     */
+    public FunctionEx<JetSqlRow, JetSqlRow> toFunction(@Nonnull ExpressionEvalContext context) {
+        CompiledCalc calc = compiled();
+        if (calc != null) {
+            return row -> calc.apply(row, context);
+        }
+        return filter != null
+                ? ExpressionUtil.calcFn(projection, filter, context)
+                : ExpressionUtil.projectionFn(projection, context);
+    }
+
+    @Nullable
+    private CompiledCalc compiled() {
+        if (!compile) {
+            return null;
+        }
+        if (!compiledInitialized) {
+            synchronized (this) {
+                if (!compiledInitialized) {
+                    compiled = ExpressionCompiler.compile(filter, projection);
+                    compiledInitialized = true;
+                }
+            }
+        }
+        return compiled;
+    }
+}
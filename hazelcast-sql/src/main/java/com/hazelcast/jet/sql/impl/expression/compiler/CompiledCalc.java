@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.compiler;
+
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The base class of the classes generated by {@link ExpressionCompiler} for
+ * the filter and the projections of a calc.
+ * <p>
+ * The generated classes are stateless, apart from the {@link #refs}, so a
+ * single instance can be used by multiple processors concurrently.
+ */
+public abstract class CompiledCalc {
+
+    /**
+     * The objects referenced from the generated code: the sub-expressions
+     * evaluated by the interpreter, the converters used by casts and the
+     * non-primitive constants.
+     */
+    protected final Object[] refs;
+
+    private final int projectionCount;
+
+    protected CompiledCalc(Object[] refs, int projectionCount) {
+        this.refs = refs;
+        this.projectionCount = projectionCount;
+    }
+
+    /**
+     * Evaluates the filter and the projections for a single row. Returns
+     * {@code null} if the row is rejected by the filter.
+     */
+    @Nullable
+    public JetSqlRow apply(@Nonnull JetSqlRow values, @Nonnull ExpressionEvalContext context) {
+        Row row = values.getRow();
+        if (!test(row, context)) {
+            return null;
+        }
+        Object[] result = new Object[projectionCount];
+        project(row, context, result);
+        return new JetSqlRow(context.getSerializationService(), result);
+    }
+
+    /**
+     * Returns {@code true} if the filter evaluates to TRUE for the row, or if
+     * there's no filter.
+     */
+    public abstract boolean test(Row row, ExpressionEvalContext context);
+
+    /**
+     * Evaluates the projections as top-level expressions into the given
+     * array.
+     */
+    public abstract void project(Row row, ExpressionEvalContext context, Object[] result);
+
+    // The helpers below are called from the generated code, they must produce
+    // the same results and errors as the interpreted expressions.
+
+    public static long plusExact(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long minusExact(long left, long right) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '-' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long multiplyExact(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '*' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long negateExact(long value) {
+        try {
+            return Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in unary '-' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static int compare(Object left, Object right) {
+        return Comparables.compare((Comparable) left, (Comparable) right);
+    }
+}
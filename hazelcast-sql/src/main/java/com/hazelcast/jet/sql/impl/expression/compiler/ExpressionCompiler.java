@@ -0,0 +1,640 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.compiler;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.sql.impl.client.ReadOptimizedLruCache;
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.CaseExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.math.UnaryMinusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.codehaus.janino.SimpleCompiler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compiles the filter and the projections of a calc into a subclass of
+ * {@link CompiledCalc}.
+ * <p>
+ * The generated code keeps the intermediate values of the numeric and
+ * boolean expressions in primitive local variables, each with a separate
+ * null flag, and evaluates the operands in the same order and with the same
+ * short-circuiting as the interpreted expressions do, so that the results
+ * and the errors are the same. Arithmetic, comparisons, logical operators,
+ * CASE and CAST are compiled, any other expression is evaluated by the
+ * interpreter from the generated code.
+ * <p>
+ * The generated classes are cached by their source code in a bounded LRU
+ * cache. The constants and the interpreted sub-expressions are passed to
+ * the constructor, so that queries differing only in their arguments share
+ * the class.
+ */
+public final class ExpressionCompiler {
+
+    /**
+     * Whether the filters and projections of SQL queries are compiled to
+     * bytecode. If disabled, or if the compilation fails, the expressions are
+     * interpreted.
+     */
+    public static final HazelcastProperty SQL_EXPRESSION_COMPILATION_ENABLED =
+            new HazelcastProperty("hazelcast.sql.expression.compilation.enabled", true);
+
+    private static final ILogger LOGGER = Logger.getLogger(ExpressionCompiler.class);
+
+    private static final String CLASS_NAME = "GeneratedCalc";
+    private static final int CACHE_CAPACITY = 256;
+    private static final int CACHE_CLEANUP_THRESHOLD = 320;
+
+    private static final ReadOptimizedLruCache<String, Optional<Constructor<?>>> CLASS_CACHE =
+            new ReadOptimizedLruCache<>(CACHE_CAPACITY, CACHE_CLEANUP_THRESHOLD);
+
+    private final StringBuilder code = new StringBuilder();
+    private final StringBuilder constantFields = new StringBuilder();
+    private final StringBuilder constantInits = new StringBuilder();
+    private final List<Object> refs = new ArrayList<>();
+    private int nextVariable;
+    private int nextConstant;
+    private int compiledOperators;
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compiles the filter and the projections. Returns {@code null} if
+     * there's nothing to gain by the compilation, because the expressions
+     * consist only of column references and expressions that can't be
+     * compiled, or if the compilation failed.
+     */
+    @Nullable
+    public static CompiledCalc compile(@Nullable Expression<Boolean> filter, @Nonnull List<Expression<?>> projections) {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        String source = compiler.generate(filter, projections);
+        if (compiler.compiledOperators == 0) {
+            return null;
+        }
+        Optional<Constructor<?>> constructor = CLASS_CACHE.get(source);
+        if (constructor == null) {
+            // concurrent compilations of the same source are rare and harmless
+            constructor = compileClass(source);
+            CLASS_CACHE.put(source, constructor);
+        }
+        if (!constructor.isPresent()) {
+            return null;
+        }
+        try {
+            return (CompiledCalc) constructor.get().newInstance((Object) compiler.refs.toArray());
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warning("Failed to instantiate the compiled SQL expressions, falling back to the interpreter", e);
+            return null;
+        }
+    }
+
+    private static Optional<Constructor<?>> compileClass(String source) {
+        try {
+            SimpleCompiler compiler = new SimpleCompiler();
+            compiler.setParentClassLoader(CompiledCalc.class.getClassLoader());
+            compiler.cook(source);
+            Class<?> clazz = compiler.getClassLoader().loadClass(CLASS_NAME);
+            return Optional.of(clazz.getConstructor(Object[].class));
+        } catch (Exception | LinkageError e) {
+            // e.g. the generated method is too large
+            LOGGER.fine("Failed to compile SQL expressions, falling back to the interpreter", e);
+            return Optional.empty();
+        }
+    }
+
+    // region code generation
+
+    String generate(@Nullable Expression<Boolean> filter, List<Expression<?>> projections) {
+        StringBuilder source = new StringBuilder();
+        source.append("public boolean test(Row row, ExpressionEvalContext context) {\n");
+        if (filter == null) {
+            source.append("return true;\n");
+        } else {
+            Value value = generate(filter);
+            source.append(flush())
+                    .append("return !").append(value.isNull).append(" && ").append(value.value).append(";\n");
+        }
+        source.append("}\n");
+
+        source.append("public void project(Row row, ExpressionEvalContext context, Object[] result) {\n");
+        for (int i = 0; i < projections.size(); i++) {
+            source.append("result[").append(i).append("] = p").append(i).append("(row, context);\n");
+        }
+        source.append("}\n");
+
+        // a method per projection to keep the methods small for the JIT
+        for (int i = 0; i < projections.size(); i++) {
+            String result = generateTop(projections.get(i));
+            source.append("private Object p").append(i).append("(Row row, ExpressionEvalContext context) {\n")
+                    .append(flush())
+                    .append("return ").append(result).append(";\n")
+                    .append("}\n");
+        }
+        return new StringBuilder()
+                .append("import com.hazelcast.sql.impl.expression.Expression;\n")
+                .append("import com.hazelcast.sql.impl.expression.ExpressionEvalContext;\n")
+                .append("import com.hazelcast.sql.impl.row.Row;\n")
+                .append("import com.hazelcast.sql.impl.type.converter.Converter;\n")
+                .append("public final class ").append(CLASS_NAME)
+                .append(" extends ").append(CompiledCalc.class.getName()).append(" {\n")
+                .append(constantFields)
+                .append("public ").append(CLASS_NAME).append("(Object[] refs) {\n")
+                .append("super(refs, ").append(projections.size()).append(");\n")
+                .append(constantInits)
+                .append("}\n")
+                .append(source)
+                .append("}\n")
+                .toString();
+    }
+
+    private String flush() {
+        String result = code.toString();
+        code.setLength(0);
+        return result;
+    }
+
+    /**
+     * Generates the code of a top-level expression and returns the Java
+     * expression of its boxed result.
+     */
+    private String generateTop(Expression<?> expression) {
+        if (expression instanceof ColumnExpression && !isObject(expression)) {
+            return "row.get(" + ((ColumnExpression<?>) expression).getIndex() + ", false)";
+        }
+        if (!isCompilable(expression)) {
+            return "((Expression) " + ref(expression) + ").evalTop(row, context)";
+        }
+        Value value = generate(expression);
+        return value.isNull + " ? null : " + value.type.box(value.value);
+    }
+
+    /**
+     * Generates the code of an expression and returns the variables holding
+     * its result. The type of the result is always the Java type of the SQL
+     * type of the expression.
+     */
+    private Value generate(Expression<?> expression) {
+        if (expression instanceof ColumnExpression && !isObject(expression)) {
+            int index = ((ColumnExpression<?>) expression).getIndex();
+            return fromObject(JavaType.of(expression.getType()), "row.get(" + index + ", false)");
+        } else if (expression instanceof ConstantExpression) {
+            return generateConstant((ConstantExpression<?>) expression);
+        } else if (expression instanceof ParameterExpression) {
+            int index = ((ParameterExpression<?>) expression).getIndex();
+            return fromObject(JavaType.of(expression.getType()), "context.getArgument(" + index + ")");
+        } else if (!isCompilable(expression)) {
+            return fromObject(JavaType.of(expression.getType()),
+                    "((Expression) " + ref(expression) + ").eval(row, context)");
+        }
+        compiledOperators++;
+        return generateOperator(expression);
+    }
+
+    private Value generateOperator(Expression<?> expression) {
+        if (expression instanceof PlusFunction || expression instanceof MinusFunction
+                || expression instanceof MultiplyFunction) {
+            return generateArithmetic((BiExpression<?>) expression);
+        } else if (expression instanceof UnaryMinusFunction) {
+            return generateNegate((UnaryMinusFunction<?>) expression);
+        } else if (expression instanceof ComparisonPredicate) {
+            return generateComparison((ComparisonPredicate) expression);
+        } else if (expression instanceof AndPredicate || expression instanceof OrPredicate) {
+            return generateLogical((VariExpression<?>) expression, expression instanceof AndPredicate);
+        } else if (expression instanceof CaseExpression) {
+            return generateCase((CaseExpression<?>) expression);
+        } else if (expression instanceof CastExpression) {
+            return generateCast((CastExpression<?>) expression);
+        } else {
+            return generateUnaryPredicate((UniExpression<?>) expression);
+        }
+    }
+
+    /**
+     * Returns whether the expression itself can be compiled, its operands can
+     * still be interpreted.
+     */
+    private static boolean isCompilable(Expression<?> expression) {
+        if (expression instanceof PlusFunction || expression instanceof MinusFunction
+                || expression instanceof MultiplyFunction || expression instanceof UnaryMinusFunction) {
+            return JavaType.of(expression.getType()).isNumeric();
+        }
+        if (expression instanceof ComparisonPredicate) {
+            return !isObject(((ComparisonPredicate) expression).getOperand1());
+        }
+        if (expression instanceof CaseExpression) {
+            // the interpreted CASE returns the value of the branch as is
+            CaseExpression<?> caseExpression = (CaseExpression<?>) expression;
+            JavaType type = JavaType.of(caseExpression.getType());
+            for (Expression<?> then : caseExpression.getThenExpressions()) {
+                if (JavaType.of(then.getType()) != type) {
+                    return false;
+                }
+            }
+            return areBoolean(caseExpression.getWhenExpressions());
+        }
+        if (expression instanceof AndPredicate || expression instanceof OrPredicate) {
+            return areBoolean(((VariExpression<?>) expression).operands());
+        }
+        if (expression instanceof NotPredicate || expression instanceof IsTruePredicate
+                || expression instanceof IsNotTruePredicate || expression instanceof IsFalsePredicate
+                || expression instanceof IsNotFalsePredicate) {
+            return areBoolean(((UniExpression<?>) expression).getOperand());
+        }
+        return expression instanceof CastExpression
+                || expression instanceof IsNullPredicate || expression instanceof IsNotNullPredicate;
+    }
+
+    private static boolean areBoolean(Expression<?>... expressions) {
+        for (Expression<?> expression : expressions) {
+            if (JavaType.of(expression.getType()) != JavaType.BOOLEAN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Value generateConstant(ConstantExpression<?> expression) {
+        JavaType type = JavaType.of(expression.getType());
+        Object value = expression.getValue();
+        if (value == null) {
+            return declare(type);
+        }
+        if (type == JavaType.OBJECT || !(type == JavaType.BOOLEAN ? value instanceof Boolean : value instanceof Number)) {
+            return fromObject(type, ref(value));
+        }
+        Value result = declare(type);
+        assign(result, constant(type, value));
+        return result;
+    }
+
+    /**
+     * Passes the value through the {@code refs} array and unboxes it to a
+     * final field in the constructor, so that the source code doesn't depend
+     * on the value.
+     */
+    private String constant(JavaType type, Object value) {
+        String field = "c" + nextConstant++;
+        constantFields.append("private final ").append(type.name).append(' ').append(field).append(";\n");
+        constantInits.append(field).append(" = ").append(type.unbox(ref(value))).append(";\n");
+        return field;
+    }
+
+    private Value generateArithmetic(BiExpression<?> expression) {
+        JavaType type = JavaType.of(expression.getType());
+        Value result = declare(type);
+        Value left = generate(expression.getOperand1());
+        line("if (!" + left.isNull + ") {");
+        Value right = generate(expression.getOperand2());
+        line("if (!" + right.isNull + ") {");
+        String leftValue = left.as(type);
+        String rightValue = right.as(type);
+        String value;
+        if (type == JavaType.LONG) {
+            String method = expression instanceof PlusFunction ? "plusExact"
+                    : expression instanceof MinusFunction ? "minusExact" : "multiplyExact";
+            value = method + "(" + leftValue + ", " + rightValue + ")";
+        } else {
+            String operator = expression instanceof PlusFunction ? " + "
+                    : expression instanceof MinusFunction ? " - " : " * ";
+            value = type.cast("(" + leftValue + operator + rightValue + ")");
+        }
+        assign(result, value);
+        line("}");
+        line("}");
+        return result;
+    }
+
+    private Value generateNegate(UnaryMinusFunction<?> expression) {
+        JavaType type = JavaType.of(expression.getType());
+        Value result = declare(type);
+        Value operand = generate(expression.getOperand());
+        line("if (!" + operand.isNull + ") {");
+        assign(result, type == JavaType.LONG
+                ? "negateExact(" + operand.as(type) + ")"
+                : type.cast("(-" + operand.as(type) + ")"));
+        line("}");
+        return result;
+    }
+
+    private Value generateComparison(ComparisonPredicate expression) {
+        Value result = declare(JavaType.BOOLEAN);
+        Value left = generate(expression.getOperand1());
+        line("if (!" + left.isNull + ") {");
+        Value right = generate(expression.getOperand2());
+        line("if (!" + right.isNull + ") {");
+        String order;
+        switch (expression.getOperand1().getType().getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                order = "Long.compare(" + left.as(JavaType.LONG) + ", " + right.as(JavaType.LONG) + ")";
+                break;
+            case REAL:
+                order = "Float.compare(" + left.as(JavaType.FLOAT) + ", " + right.as(JavaType.FLOAT) + ")";
+                break;
+            case DOUBLE:
+                order = "Double.compare(" + left.as(JavaType.DOUBLE) + ", " + right.as(JavaType.DOUBLE) + ")";
+                break;
+            default:
+                order = "compare(" + left.type.box(left.value) + ", " + right.type.box(right.value) + ")";
+                break;
+        }
+        assign(result, order + comparisonOperator(expression));
+        line("}");
+        line("}");
+        return result;
+    }
+
+    private static String comparisonOperator(ComparisonPredicate expression) {
+        switch (expression.getMode()) {
+            case EQUALS:
+                return " == 0";
+            case NOT_EQUALS:
+                return " != 0";
+            case GREATER_THAN:
+                return " > 0";
+            case GREATER_THAN_OR_EQUAL:
+                return " >= 0";
+            case LESS_THAN:
+                return " < 0";
+            case LESS_THAN_OR_EQUAL:
+                return " <= 0";
+            default:
+                throw new IllegalStateException("unexpected comparison mode: " + expression.getMode());
+        }
+    }
+
+    /**
+     * Generates AND or OR with the short-circuiting of {@link
+     * com.hazelcast.sql.impl.expression.predicate.TernaryLogic}.
+     */
+    private Value generateLogical(VariExpression<?> expression, boolean and) {
+        Value result = declare(JavaType.BOOLEAN);
+        String unknown = "u" + nextVariable;
+        String label = "b" + nextVariable++;
+        line("boolean " + unknown + " = false;");
+        line(label + ": {");
+        for (Expression<?> operand : expression.operands()) {
+            Value value = generate(operand);
+            line("if (!" + value.isNull + " && " + (and ? "!" : "") + value.value + ") {");
+            assign(result, String.valueOf(!and));
+            line("break " + label + ";");
+            line("}");
+            line("if (" + value.isNull + ") {");
+            line(unknown + " = true;");
+            line("}");
+        }
+        line("if (!" + unknown + ") {");
+        assign(result, String.valueOf(and));
+        line("}");
+        line("}");
+        return result;
+    }
+
+    private Value generateUnaryPredicate(UniExpression<?> expression) {
+        Value result = declare(JavaType.BOOLEAN);
+        Value operand = generate(expression.getOperand());
+        if (expression instanceof NotPredicate) {
+            line("if (!" + operand.isNull + ") {");
+            assign(result, "!" + operand.value);
+            line("}");
+        } else if (expression instanceof IsNullPredicate) {
+            assign(result, operand.isNull);
+        } else if (expression instanceof IsNotNullPredicate) {
+            assign(result, "!" + operand.isNull);
+        } else if (expression instanceof IsTruePredicate) {
+            assign(result, "!" + operand.isNull + " && " + operand.value);
+        } else if (expression instanceof IsNotTruePredicate) {
+            assign(result, operand.isNull + " || !" + operand.value);
+        } else if (expression instanceof IsFalsePredicate) {
+            assign(result, "!" + operand.isNull + " && !" + operand.value);
+        } else {
+            assert expression instanceof IsNotFalsePredicate : expression;
+            assign(result, operand.isNull + " || " + operand.value);
+        }
+        return result;
+    }
+
+    private Value generateCase(CaseExpression<?> expression) {
+        Value result = declare(JavaType.of(expression.getType()));
+        String label = "b" + nextVariable++;
+        line(label + ": {");
+        Expression<Boolean>[] whens = expression.getWhenExpressions();
+        for (int i = 0; i < whens.length; i++) {
+            Value condition = generate(whens[i]);
+            line("if (!" + condition.isNull + " && " + condition.value + ") {");
+            copy(generate(expression.getThenExpressions()[i]), result);
+            line("break " + label + ";");
+            line("}");
+        }
+        copy(generate(expression.getElseExpression()), result);
+        line("}");
+        return result;
+    }
+
+    private Value generateCast(CastExpression<?> expression) {
+        Expression<?> operand = expression.getOperand();
+        JavaType type = JavaType.of(expression.getType());
+        JavaType operandType = JavaType.of(operand.getType());
+        Value value = generate(operand);
+        if (operandType.isNumeric() && type.isNumeric() && operandType.ordinal() <= type.ordinal()) {
+            // widening primitive conversions are the same as those of the converters
+            Value result = declare(type);
+            line("if (!" + value.isNull + ") {");
+            assign(result, value.as(type));
+            line("}");
+            return result;
+        }
+        Value result = declare(type);
+        line("if (!" + value.isNull + ") {");
+        String converted = "((Converter) " + ref(expression.getType().getConverter()) + ").convertToSelf("
+                + "(Converter) " + ref(operand.getType().getConverter()) + ", " + value.type.box(value.value) + ")";
+        copy(fromObject(type, converted), result);
+        line("}");
+        return result;
+    }
+
+    private Value fromObject(JavaType type, String object) {
+        Value result = declare(type);
+        if (type == JavaType.OBJECT) {
+            line(result.value + " = " + object + ";");
+            line(result.isNull + " = " + result.value + " == null;");
+        } else {
+            String variable = "o" + nextVariable++;
+            line("Object " + variable + " = " + object + ";");
+            line("if (" + variable + " != null) {");
+            assign(result, type.unbox(variable));
+            line("}");
+        }
+        return result;
+    }
+
+    private Value declare(JavaType type) {
+        int id = nextVariable++;
+        Value value = new Value(type, "n" + id, "v" + id);
+        line("boolean " + value.isNull + " = true;");
+        line(type.name + " " + value.value + " = " + type.defaultValue + ";");
+        return value;
+    }
+
+    private void assign(Value target, String value) {
+        line(target.isNull + " = false;");
+        line(target.value + " = " + value + ";");
+    }
+
+    private void copy(Value source, Value target) {
+        assert source.type == target.type;
+        line(target.isNull + " = " + source.isNull + ";");
+        line(target.value + " = " + source.value + ";");
+    }
+
+    private String ref(Object object) {
+        refs.add(object);
+        return "refs[" + (refs.size() - 1) + "]";
+    }
+
+    private void line(String line) {
+        code.append(line).append('\n');
+    }
+
+    private static boolean isObject(Expression<?> expression) {
+        return expression.getType().getTypeFamily() == QueryDataTypeFamily.OBJECT;
+    }
+
+    // endregion
+
+    /**
+     * The result of a generated expression: the name of the null flag and
+     * the name of the variable with the value, which is valid only if the
+     * flag is false.
+     */
+    private static final class Value {
+        private final JavaType type;
+        private final String isNull;
+        private final String value;
+
+        private Value(JavaType type, String isNull, String value) {
+            this.type = type;
+            this.isNull = isNull;
+            this.value = value;
+        }
+
+        /**
+         * Returns the value converted to the given numeric type, the same way
+         * as {@link Number#longValue()} etc. do.
+         */
+        String as(JavaType target) {
+            if (type == target) {
+                return value;
+            }
+            return type == JavaType.OBJECT ? target.unbox(value) : "((" + target.name + ") " + value + ")";
+        }
+    }
+
+    private enum JavaType {
+        BOOLEAN("boolean", "false", "Boolean"),
+        BYTE("byte", "(byte) 0", "Byte"),
+        SHORT("short", "(short) 0", "Short"),
+        INT("int", "0", "Integer"),
+        LONG("long", "0L", "Long"),
+        FLOAT("float", "0f", "Float"),
+        DOUBLE("double", "0d", "Double"),
+        OBJECT("Object", "null", null);
+
+        private final String name;
+        private final String defaultValue;
+        private final String boxedName;
+
+        JavaType(String name, String defaultValue, String boxedName) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.boxedName = boxedName;
+        }
+
+        static JavaType of(QueryDataType type) {
+            switch (type.getTypeFamily()) {
+                case BOOLEAN:
+                    return BOOLEAN;
+                case TINYINT:
+                    return BYTE;
+                case SMALLINT:
+                    return SHORT;
+                case INTEGER:
+                    return INT;
+                case BIGINT:
+                    return LONG;
+                case REAL:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                default:
+                    return OBJECT;
+            }
+        }
+
+        boolean isNumeric() {
+            return this != BOOLEAN && this != OBJECT;
+        }
+
+        String box(String value) {
+            return this == OBJECT ? value : boxedName + ".valueOf(" + value + ")";
+        }
+
+        String unbox(String object) {
+            return this == BOOLEAN
+                    ? "((Boolean) " + object + ").booleanValue()"
+                    : "((Number) " + object + ")." + name + "Value()";
+        }
+
+        /**
+         * Casts the result of int arithmetic back to byte or short.
+         */
+        String cast(String value) {
+            return this == BYTE || this == SHORT ? "((" + name + ") " + value + ")" : value;
+        }
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.hazelcast.jet.sql.impl.expression.json;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.jr.ob.JSON;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
@@ -30,12 +33,16 @@ import org.jsfr.json.ValueBox;
 import org.jsfr.json.compiler.JsonPathCompiler;
 import org.jsfr.json.exception.JsonPathCompilerException;
 import org.jsfr.json.exception.JsonSurfingException;
+import org.jsfr.json.path.ArrayIndex;
+import org.jsfr.json.path.ChildNode;
 import org.jsfr.json.path.JsonPath;
+import org.jsfr.json.path.PathOperator;
 import org.jsfr.json.provider.JacksonJrProvider;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public final class JsonPathUtil {
@@ -54,6 +61,7 @@ public final class JsonPathUtil {
     };
     private static final JsonSurfer SURFER =
             new JsonSurfer(new JacksonJrParser(), JacksonJrProvider.INSTANCE, ERROR_HANDLING_STRATEGY);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private JsonPathUtil() { }
 
@@ -80,6 +88,131 @@ public final class JsonPathUtil {
         return box.get();
     }
 
+    /**
+     * Returns {@code true}, if the path contains only object member names and
+     * single array indexes, such as {@code $.a.b[0]}. Such paths can be read
+     * with {@link #readSimple}. The root path {@code $} isn't simple, because
+     * the surfer doesn't match a scalar document with it.
+     */
+    public static boolean isSimple(JsonPath path) {
+        if (path.pathDepth() < 2) {
+            return false;
+        }
+        for (int i = 1; i < path.pathDepth(); i++) {
+            PathOperator operator = path.get(i);
+            if (operator.getClass() == ArrayIndex.class) {
+                ArrayIndex arrayIndex = (ArrayIndex) operator;
+                if (arrayIndex.getJsonPathFilter() != null || arrayIndex.getArrayIndex() < 0) {
+                    return false;
+                }
+            } else if (operator.getClass() != ChildNode.class) {
+                return false;
+            }
+        }
+        return path.get(0).getType() == PathOperator.Type.ROOT;
+    }
+
+    /**
+     * Reads the values selected by a {@linkplain #isSimple simple} path.
+     * Returns the same result as {@link #read}, but the document is parsed
+     * directly, without matching each token against the path, and the members
+     * and elements off the path are skipped without being materialized.
+     */
+    public static Collection<Object> readSimple(String json, JsonPath path) {
+        assert isSimple(path) : path;
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            List<Object> result = new ArrayList<>(1);
+            if (parser.nextToken() != null) {
+                collect(parser, path, 1, result);
+            }
+            // the rest of the document is only validated
+            while (parser.nextToken() != null) {
+                parser.skipChildren();
+            }
+            return result;
+        } catch (IOException e) {
+            // see ERROR_HANDLING_STRATEGY for why the cause isn't in the message
+            throw new JsonSurfingException("Failed to parse JSON document", e);
+        }
+    }
+
+    /**
+     * Collects the values matching the path operators from the given depth.
+     * The parser must be at the first token of a value, it's left at the last
+     * token of that value.
+     */
+    private static void collect(JsonParser parser, JsonPath path, int depth, List<Object> result) throws IOException {
+        if (depth == path.pathDepth()) {
+            result.add(readValue(parser));
+            return;
+        }
+        ChildNode operator = (ChildNode) path.get(depth);
+        if (operator.getKey() == null) {
+            collectElement(parser, path, depth, result);
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean matches = operator.getKey().equals(parser.getCurrentName());
+            parser.nextToken();
+            if (!matches) {
+                parser.skipChildren();
+            } else if (operator instanceof ArrayIndex) {
+                collectElement(parser, path, depth, result);
+            } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+                // in the lax mode, an array member is unwrapped
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    collect(parser, path, depth + 1, result);
+                }
+            } else {
+                collect(parser, path, depth + 1, result);
+            }
+        }
+    }
+
+    private static void collectElement(JsonParser parser, JsonPath path, int depth, List<Object> result)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        int index = ((ArrayIndex) path.get(depth)).getArrayIndex();
+        for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+            if (i == index) {
+                collect(parser, path, depth + 1, result);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads the current value, using the same types as the {@link #SURFER}.
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? parser.getBigIntegerValue()
+                        : (Object) parser.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            case VALUE_NULL:
+                return null;
+            default:
+                return JSON.std.anyFrom(parser);
+        }
+    }
+
     public static boolean isArray(Object value) {
         return value instanceof ArrayList;
     }
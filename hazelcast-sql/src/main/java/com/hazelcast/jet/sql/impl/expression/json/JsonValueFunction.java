@@ -112,7 +112,9 @@ public class JsonValueFunction<T> extends VariExpressionWithType<T> {
 
         Collection<Object> resultColl;
         try {
-            resultColl = JsonPathUtil.read(json, jsonPath);
+            resultColl = JsonPathUtil.isSimple(jsonPath)
+                    ? JsonPathUtil.readSimple(json, jsonPath)
+                    : JsonPathUtil.read(json, jsonPath);
         } catch (Exception e) {
             return onErrorResponse(e, row, context);
         }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.vector;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.compact.CompactColumnReader;
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * A batch of rows stored column by column. Only the columns needed by a
+ * {@link VectorizedFilter} are stored, the integral and boolean columns in
+ * {@code long} vectors and the floating-point columns in {@code double}
+ * vectors. Each column has a separate null mask, for other columns only the
+ * null mask is stored.
+ * <p>
+ * The batch is reused for subsequent batches of rows, call {@link #clear()}
+ * before loading the next batch.
+ */
+public final class ColumnBatch {
+
+    private final int[] rowIndexes;
+    private final VectorKind[] kinds;
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final boolean[][] nulls;
+    private final int capacity;
+    private int size;
+
+    ColumnBatch(int[] rowIndexes, VectorKind[] kinds, int capacity) {
+        this.rowIndexes = rowIndexes;
+        this.kinds = kinds;
+        this.longs = new long[kinds.length][];
+        this.doubles = new double[kinds.length][];
+        this.nulls = new boolean[kinds.length][capacity];
+        this.capacity = capacity;
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LONG:
+                    longs[i] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    doubles[i] = new double[capacity];
+                    break;
+                default:
+                    // only the null mask
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends the values of the needed columns of the given row to the batch.
+     */
+    public void add(Row row) {
+        int position = size++;
+        for (int i = 0; i < kinds.length; i++) {
+            Object value = row.get(rowIndexes[i]);
+            nulls[i][position] = value == null;
+            if (value == null) {
+                continue;
+            }
+            switch (kinds[i]) {
+                case LONG:
+                    longs[i][position] = toLong(value);
+                    break;
+                case DOUBLE:
+                    doubles[i][position] = ((Number) value).doubleValue();
+                    break;
+                default:
+                    // only the null mask
+            }
+        }
+    }
+
+    /**
+     * Loads the needed columns of the first {@code count} values directly
+     * from their serialized Compact form, replacing the rows in the batch.
+     * The reader must be {@linkplain VectorizedFilter#newCompactReader
+     * created} by the filter which created this batch.
+     *
+     * @return {@code true}, if the values were loaded, {@code false}, if
+     * they can't be read by the reader, the batch is empty then
+     */
+    public boolean load(CompactColumnReader reader, Data[] values, int count) {
+        assert count <= capacity;
+        if (!reader.read(values, count, longs, doubles, nulls)) {
+            size = 0;
+            return false;
+        }
+        size = count;
+        return true;
+    }
+
+    boolean[] nulls(int column) {
+        return nulls[column];
+    }
+
+    long[] longs(int column) {
+        return longs[column];
+    }
+
+    double[] doubles(int column) {
+        return doubles[column];
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * The representation of a column in a batch.
+     */
+    enum VectorKind {
+        LONG,
+        DOUBLE,
+        OBJECT
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.vector;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.CompactColumnReader;
+import com.hazelcast.jet.sql.impl.expression.vector.ColumnBatch.VectorKind;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.row.EmptyRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A filter evaluated for a whole {@link ColumnBatch} at a time, using tight
+ * loops over the primitive column vectors and a selection vector with the
+ * positions of the rows that passed so far.
+ * <p>
+ * Comparisons of integral, floating-point and boolean columns with other
+ * columns, constants or parameters, IS [NOT] NULL of columns, boolean
+ * columns and their conjunctions and disjunctions are vectorized. If the
+ * filter is a conjunction, the operands that can't be vectorized are
+ * returned as the {@linkplain #getResidual() residual filter}, which must
+ * be evaluated row by row for the rows selected by this filter.
+ * <p>
+ * A row is selected if the vectorized part of the filter evaluates to
+ * TRUE, the same as in the interpreted evaluation, rows for which it
+ * evaluates to FALSE or UNKNOWN are rejected.
+ */
+public final class VectorizedFilter {
+
+    private final Kernel kernel;
+    private final Expression<Boolean> residual;
+    private final int[] rowIndexes;
+    private final VectorKind[] kinds;
+
+    private VectorizedFilter(Kernel kernel, Expression<Boolean> residual, int[] rowIndexes, VectorKind[] kinds) {
+        this.kernel = kernel;
+        this.residual = residual;
+        this.rowIndexes = rowIndexes;
+        this.kinds = kinds;
+    }
+
+    /**
+     * Creates a vectorized filter for the given filter. Returns {@code null}
+     * if no part of the filter can be vectorized.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static VectorizedFilter create(@Nullable Expression<Boolean> filter) {
+        if (filter == null) {
+            return null;
+        }
+        Expression<?>[] conjuncts = filter instanceof AndPredicate
+                ? ((AndPredicate) filter).operands()
+                : new Expression<?>[]{filter};
+
+        Builder builder = new Builder();
+        List<Kernel> kernels = new ArrayList<>();
+        List<Expression<?>> residuals = new ArrayList<>();
+        for (Expression<?> conjunct : conjuncts) {
+            if (isVectorizable(conjunct)) {
+                kernels.add(builder.kernel(conjunct));
+            } else {
+                residuals.add(conjunct);
+            }
+        }
+        if (kernels.isEmpty()) {
+            return null;
+        }
+
+        Kernel kernel = kernels.size() == 1 ? kernels.get(0) : new AndKernel(kernels.toArray(new Kernel[0]));
+        Expression<Boolean> residual;
+        if (residuals.isEmpty()) {
+            residual = null;
+        } else if (residuals.size() == 1) {
+            residual = (Expression<Boolean>) residuals.get(0);
+        } else {
+            residual = AndPredicate.create(residuals.toArray(new Expression<?>[0]));
+        }
+        return new VectorizedFilter(kernel, residual, builder.rowIndexes(), builder.kinds());
+    }
+
+    /**
+     * Returns the part of the filter that isn't vectorized, or {@code null}
+     * if the whole filter is vectorized.
+     */
+    @Nullable
+    public Expression<Boolean> getResidual() {
+        return residual;
+    }
+
+    /**
+     * Creates a batch with the columns needed by this filter.
+     */
+    public ColumnBatch newBatch(int capacity) {
+        return new ColumnBatch(rowIndexes, kinds, capacity);
+    }
+
+    /**
+     * Creates a reader of the columns needed by this filter from the
+     * serialized Compact values of the entries. Returns {@code null}, if
+     * some of the columns isn't a top-level field of the value of a boolean,
+     * integral or floating-point type.
+     *
+     * @param paths the paths of the row columns
+     * @param types the types of the row columns
+     */
+    @Nullable
+    public CompactColumnReader newCompactReader(
+            @Nonnull QueryPath[] paths,
+            @Nonnull QueryDataType[] types,
+            @Nonnull InternalSerializationService serializationService
+    ) {
+        String[] fieldNames = new String[rowIndexes.length];
+        FieldKind[] fieldKinds = new FieldKind[rowIndexes.length];
+        for (int i = 0; i < rowIndexes.length; i++) {
+            QueryPath path = paths[rowIndexes[i]];
+            if (path.isKey() || path.isTop() || path.getPath().indexOf('.') >= 0 || path.getPath().indexOf('[') >= 0) {
+                return null;
+            }
+            fieldNames[i] = path.getPath();
+            fieldKinds[i] = compactKind(types[rowIndexes[i]]);
+            if (fieldKinds[i] == null || kind(types[rowIndexes[i]]) != kinds[i]) {
+                return null;
+            }
+        }
+        return new CompactColumnReader(serializationService, fieldNames, fieldKinds);
+    }
+
+    /**
+     * Evaluates the filter for the rows in the batch. Stores the positions
+     * of the selected rows in ascending order to the {@code selection} array
+     * and returns their count.
+     */
+    public int filter(
+            @Nonnull ColumnBatch batch,
+            @Nonnull ExpressionEvalContext context,
+            @Nonnull int[] selection
+    ) {
+        int count = batch.size();
+        for (int i = 0; i < count; i++) {
+            selection[i] = i;
+        }
+        return kernel.apply(batch, context, selection, count);
+    }
+
+    private static boolean isVectorizable(Expression<?> expression) {
+        if (expression instanceof AndPredicate || expression instanceof OrPredicate) {
+            for (Expression<?> operand : ((VariExpression<?>) expression).operands()) {
+                if (!isVectorizable(operand)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expression instanceof IsNullPredicate || expression instanceof IsNotNullPredicate) {
+            return ((UniExpression<?>) expression).getOperand() instanceof ColumnExpression;
+        }
+        if (expression instanceof ComparisonPredicate) {
+            ComparisonPredicate comparison = (ComparisonPredicate) expression;
+            Expression<?> left = comparison.getOperand1();
+            Expression<?> right = comparison.getOperand2();
+            if (kind(left.getType()) == VectorKind.OBJECT
+                    || left.getType().getTypeFamily() != right.getType().getTypeFamily()) {
+                return false;
+            }
+            return left instanceof ColumnExpression && isColumnOrScalar(right)
+                    || right instanceof ColumnExpression && isScalar(left);
+        }
+        return expression instanceof ColumnExpression
+                && expression.getType().getTypeFamily() == QueryDataType.BOOLEAN.getTypeFamily();
+    }
+
+    private static boolean isColumnOrScalar(Expression<?> expression) {
+        return expression instanceof ColumnExpression || isScalar(expression);
+    }
+
+    private static boolean isScalar(Expression<?> expression) {
+        return expression instanceof ConstantExpression || expression instanceof ParameterExpression;
+    }
+
+    static VectorKind kind(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return VectorKind.LONG;
+            case REAL:
+            case DOUBLE:
+                return VectorKind.DOUBLE;
+            default:
+                return VectorKind.OBJECT;
+        }
+    }
+
+    /**
+     * Returns the Compact field kind read as the given type without a
+     * conversion, or {@code null}, if there's none.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static FieldKind compactKind(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case BOOLEAN:
+                return FieldKind.BOOLEAN;
+            case TINYINT:
+                return FieldKind.INT8;
+            case SMALLINT:
+                return FieldKind.INT16;
+            case INTEGER:
+                return FieldKind.INT32;
+            case BIGINT:
+                return FieldKind.INT64;
+            case REAL:
+                return FieldKind.FLOAT32;
+            case DOUBLE:
+                return FieldKind.FLOAT64;
+            default:
+                return null;
+        }
+    }
+
+    private static ComparisonMode inverse(ComparisonMode mode) {
+        switch (mode) {
+            case GREATER_THAN:
+                return ComparisonMode.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL:
+                return ComparisonMode.LESS_THAN_OR_EQUAL;
+            case LESS_THAN:
+                return ComparisonMode.GREATER_THAN;
+            case LESS_THAN_OR_EQUAL:
+                return ComparisonMode.GREATER_THAN_OR_EQUAL;
+            default:
+                return mode;
+        }
+    }
+
+    private static boolean matches(ComparisonMode mode, int comparison) {
+        switch (mode) {
+            case EQUALS:
+                return comparison == 0;
+            case NOT_EQUALS:
+                return comparison != 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparison >= 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparison <= 0;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    /**
+     * Collects the columns needed by the kernels and creates the kernels.
+     */
+    private static final class Builder {
+
+        private final Map<Integer, Integer> columns = new LinkedHashMap<>();
+        private final List<VectorKind> kinds = new ArrayList<>();
+
+        private Kernel kernel(Expression<?> expression) {
+            if (expression instanceof AndPredicate || expression instanceof OrPredicate) {
+                Expression<?>[] operands = ((VariExpression<?>) expression).operands();
+                Kernel[] kernels = new Kernel[operands.length];
+                for (int i = 0; i < operands.length; i++) {
+                    kernels[i] = kernel(operands[i]);
+                }
+                return expression instanceof AndPredicate ? new AndKernel(kernels) : new OrKernel(kernels);
+            }
+            if (expression instanceof IsNullPredicate || expression instanceof IsNotNullPredicate) {
+                int column = column(((UniExpression<?>) expression).getOperand());
+                return new NullKernel(column, expression instanceof IsNullPredicate);
+            }
+            if (expression instanceof ComparisonPredicate) {
+                ComparisonPredicate comparison = (ComparisonPredicate) expression;
+                Expression<?> left = comparison.getOperand1();
+                Expression<?> right = comparison.getOperand2();
+                ComparisonMode mode = comparison.getMode();
+                if (!(left instanceof ColumnExpression)) {
+                    Expression<?> tmp = left;
+                    left = right;
+                    right = tmp;
+                    mode = inverse(mode);
+                }
+                VectorKind kind = kind(left.getType());
+                return right instanceof ColumnExpression
+                        ? new CompareColumnsKernel(kind, mode, column(left), column(right))
+                        : new CompareScalarKernel(kind, mode, column(left), right);
+            }
+            return new BooleanColumnKernel(column(expression));
+        }
+
+        private int column(Expression<?> expression) {
+            int rowIndex = ((ColumnExpression<?>) expression).getIndex();
+            return columns.computeIfAbsent(rowIndex, index -> {
+                kinds.add(kind(expression.getType()));
+                return kinds.size() - 1;
+            });
+        }
+
+        private int[] rowIndexes() {
+            return columns.keySet().stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private VectorKind[] kinds() {
+            return kinds.toArray(new VectorKind[0]);
+        }
+    }
+
+    /**
+     * Narrows the selection to the rows for which an expression is TRUE.
+     */
+    private interface Kernel {
+
+        /**
+         * Compacts the positions of the selected rows to the beginning of the
+         * {@code selection} array, keeping their order, and returns their
+         * count.
+         */
+        int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count);
+    }
+
+    private static final class AndKernel implements Kernel {
+
+        private final Kernel[] kernels;
+
+        private AndKernel(Kernel[] kernels) {
+            this.kernels = kernels;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            for (int i = 0; i < kernels.length && count > 0; i++) {
+                count = kernels[i].apply(batch, context, selection, count);
+            }
+            return count;
+        }
+    }
+
+    private static final class OrKernel implements Kernel {
+
+        private final Kernel[] kernels;
+
+        private OrKernel(Kernel[] kernels) {
+            this.kernels = kernels;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            boolean[] selected = new boolean[batch.size()];
+            // the rows not yet selected by any operand
+            int[] remaining = Arrays.copyOf(selection, count);
+            int remainingCount = count;
+            int[] operandSelection = new int[count];
+            for (int i = 0; i < kernels.length && remainingCount > 0; i++) {
+                System.arraycopy(remaining, 0, operandSelection, 0, remainingCount);
+                int selectedCount = kernels[i].apply(batch, context, operandSelection, remainingCount);
+                for (int j = 0; j < selectedCount; j++) {
+                    selected[operandSelection[j]] = true;
+                }
+                int newRemainingCount = 0;
+                for (int j = 0; j < remainingCount; j++) {
+                    if (!selected[remaining[j]]) {
+                        remaining[newRemainingCount++] = remaining[j];
+                    }
+                }
+                remainingCount = newRemainingCount;
+            }
+            int result = 0;
+            for (int i = 0; i < count; i++) {
+                if (selected[selection[i]]) {
+                    selection[result++] = selection[i];
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class NullKernel implements Kernel {
+
+        private final int column;
+        private final boolean isNull;
+
+        private NullKernel(int column, boolean isNull) {
+            this.column = column;
+            this.isNull = isNull;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            boolean[] nulls = batch.nulls(column);
+            int result = 0;
+            for (int i = 0; i < count; i++) {
+                int position = selection[i];
+                if (nulls[position] == isNull) {
+                    selection[result++] = position;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class BooleanColumnKernel implements Kernel {
+
+        private final int column;
+
+        private BooleanColumnKernel(int column) {
+            this.column = column;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            boolean[] nulls = batch.nulls(column);
+            long[] values = batch.longs(column);
+            int result = 0;
+            for (int i = 0; i < count; i++) {
+                int position = selection[i];
+                if (!nulls[position] && values[position] != 0) {
+                    selection[result++] = position;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class CompareScalarKernel implements Kernel {
+
+        private final VectorKind kind;
+        private final ComparisonMode mode;
+        private final int column;
+        private final Expression<?> scalar;
+
+        private CompareScalarKernel(VectorKind kind, ComparisonMode mode, int column, Expression<?> scalar) {
+            this.kind = kind;
+            this.mode = mode;
+            this.column = column;
+            this.scalar = scalar;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            Object value = scalar.eval(EmptyRow.INSTANCE, context);
+            if (value == null) {
+                // the comparison is UNKNOWN for all rows
+                return 0;
+            }
+            boolean[] nulls = batch.nulls(column);
+            int result = 0;
+            if (kind == VectorKind.LONG) {
+                long[] values = batch.longs(column);
+                long right = ColumnBatch.toLong(value);
+                for (int i = 0; i < count; i++) {
+                    int position = selection[i];
+                    if (!nulls[position] && matches(mode, Long.compare(values[position], right))) {
+                        selection[result++] = position;
+                    }
+                }
+            } else {
+                double[] values = batch.doubles(column);
+                double right = ((Number) value).doubleValue();
+                for (int i = 0; i < count; i++) {
+                    int position = selection[i];
+                    if (!nulls[position] && matches(mode, Double.compare(values[position], right))) {
+                        selection[result++] = position;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class CompareColumnsKernel implements Kernel {
+
+        private final VectorKind kind;
+        private final ComparisonMode mode;
+        private final int left;
+        private final int right;
+
+        private CompareColumnsKernel(VectorKind kind, ComparisonMode mode, int left, int right) {
+            this.kind = kind;
+            this.mode = mode;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int apply(ColumnBatch batch, ExpressionEvalContext context, int[] selection, int count) {
+            boolean[] leftNulls = batch.nulls(left);
+            boolean[] rightNulls = batch.nulls(right);
+            int result = 0;
+            if (kind == VectorKind.LONG) {
+                long[] leftValues = batch.longs(left);
+                long[] rightValues = batch.longs(right);
+                for (int i = 0; i < count; i++) {
+                    int position = selection[i];
+                    if (!leftNulls[position] && !rightNulls[position]
+                            && matches(mode, Long.compare(leftValues[position], rightValues[position]))) {
+                        selection[result++] = position;
+                    }
+                }
+            } else {
+                double[] leftValues = batch.doubles(left);
+                double[] rightValues = batch.doubles(right);
+                for (int i = 0; i < count; i++) {
+                    int position = selection[i];
+                    if (!leftNulls[position] && !rightNulls[position]
+                            && matches(mode, Double.compare(leftValues[position], rightValues[position]))) {
+                        selection[result++] = position;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.cost;
+
+import com.hazelcast.jet.sql.impl.HazelcastRexBuilder;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the selectivity of a filter on a table using the column
+ * statistics collected by the {@code ANALYZE} statement.
+ * <p>
+ * The filter must reference the fields of the table by their original
+ * index, as does the filter of the {@link
+ * com.hazelcast.jet.sql.impl.schema.HazelcastTable}. Comparisons of a
+ * column with a literal use the histogram of the column, comparisons with a
+ * dynamic parameter assume a uniform distribution. Range conditions on the
+ * same column in a conjunction are combined into a single range, other
+ * conditions are assumed to be independent. Conditions that can't be
+ * estimated from the statistics use the fixed guesses of {@link
+ * RelMdUtil#guessSelectivity}.
+ */
+public final class SelectivityEstimator {
+
+    /** Selectivity of a range condition with an unknown bound. */
+    private static final double UNKNOWN_RANGE_SELECTIVITY = 1d / 3;
+
+    private SelectivityEstimator() {
+    }
+
+    /**
+     * Returns the selectivity of the filter on a table with the given
+     * statistics.
+     */
+    public static double estimate(@Nullable RexNode filter, TableStatistics statistics) {
+        if (filter == null) {
+            return 1d;
+        }
+        if (statistics.getAnalyzedAt() == 0) {
+            return RelMdUtil.guessSelectivity(filter);
+        }
+        RexNode expanded = RexUtil.expandSearch(HazelcastRexBuilder.INSTANCE, null, filter);
+        double selectivity = selectivity(expanded, statistics);
+        // expect at least one row, as the statistics are only a sample
+        double minSelectivity = 1d / Math.max(1d, statistics.getRowCount());
+        return Math.min(1d, Math.max(minSelectivity, selectivity));
+    }
+
+    private static double selectivity(RexNode node, TableStatistics statistics) {
+        switch (node.getKind()) {
+            case AND:
+                return conjunction(((RexCall) node).getOperands(), statistics);
+
+            case OR:
+                double result = 0d;
+                for (RexNode operand : ((RexCall) node).getOperands()) {
+                    double selectivity = selectivity(operand, statistics);
+                    result = result + selectivity - result * selectivity;
+                }
+                return result;
+
+            case NOT:
+                return 1d - selectivity(((RexCall) node).getOperands().get(0), statistics);
+
+            case IS_NULL:
+            case IS_NOT_NULL:
+                ColumnStatistics column = column(((RexCall) node).getOperands().get(0), statistics);
+                if (column == null) {
+                    return RelMdUtil.guessSelectivity(node);
+                }
+                return node.getKind() == SqlKind.IS_NULL ? column.getNullFraction() : 1d - column.getNullFraction();
+
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                Comparison comparison = Comparison.of((RexCall) node, statistics);
+                return comparison != null ? comparison.selectivity() : RelMdUtil.guessSelectivity(node);
+
+            default:
+                return RelMdUtil.guessSelectivity(node);
+        }
+    }
+
+    /**
+     * Returns the selectivity of a conjunction. The lower and upper bounds on
+     * the same column are combined, so that {@code a > 10 AND a < 20} is
+     * estimated as a single range and not as two independent conditions.
+     */
+    private static double conjunction(List<RexNode> operands, TableStatistics statistics) {
+        double result = 1d;
+        Map<Integer, double[]> ranges = new HashMap<>();
+        for (RexNode operand : operands) {
+            Comparison comparison = operand instanceof RexCall ? Comparison.of((RexCall) operand, statistics) : null;
+            if (comparison == null || !comparison.isRange()) {
+                result *= selectivity(operand, statistics);
+                continue;
+            }
+            // [0] - the fraction of rows below the lower bound, [1] - the fraction of rows below the upper bound
+            double[] range = ranges.computeIfAbsent(comparison.fieldIndex,
+                    i -> new double[]{0d, 1d - comparison.column.getNullFraction()});
+            if (comparison.kind == SqlKind.GREATER_THAN || comparison.kind == SqlKind.GREATER_THAN_OR_EQUAL) {
+                range[0] = Math.max(range[0], 1d - comparison.column.getNullFraction() - comparison.selectivity());
+            } else {
+                range[1] = Math.min(range[1], comparison.selectivity());
+            }
+        }
+        for (double[] range : ranges.values()) {
+            result *= Math.max(0d, range[1] - range[0]);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static ColumnStatistics column(RexNode node, TableStatistics statistics) {
+        RexNode operand = RexUtil.removeCast(node);
+        return operand instanceof RexInputRef
+                ? statistics.getColumnStatistics(((RexInputRef) operand).getIndex())
+                : null;
+    }
+
+    @Nullable
+    private static Object literalValue(RexLiteral literal) {
+        if (literal.isNull()) {
+            return null;
+        }
+        if (SqlTypeFamily.CHARACTER.contains(literal.getType())) {
+            return literal.getValueAs(String.class);
+        }
+        Object value = literal.getValue();
+        return value instanceof Number || value instanceof Boolean ? value : null;
+    }
+
+    /**
+     * A comparison of a column with statistics and a literal or a dynamic
+     * parameter, normalized so that the column is on the left side.
+     */
+    private static final class Comparison {
+        private final SqlKind kind;
+        private final int fieldIndex;
+        private final ColumnStatistics column;
+        // null for a dynamic parameter
+        private final Object value;
+
+        private Comparison(SqlKind kind, int fieldIndex, ColumnStatistics column, Object value) {
+            this.kind = kind;
+            this.fieldIndex = fieldIndex;
+            this.column = column;
+            this.value = value;
+        }
+
+        @Nullable
+        static Comparison of(RexCall call, TableStatistics statistics) {
+            if (!call.isA(SqlKind.COMPARISON) || call.getOperands().size() != 2) {
+                return null;
+            }
+            SqlKind kind = call.getKind();
+            RexNode left = RexUtil.removeCast(call.getOperands().get(0));
+            RexNode right = RexUtil.removeCast(call.getOperands().get(1));
+            if (!(left instanceof RexInputRef)) {
+                RexNode tmp = left;
+                left = right;
+                right = tmp;
+                kind = kind.reverse();
+            }
+            if (!(left instanceof RexInputRef)) {
+                return null;
+            }
+            int fieldIndex = ((RexInputRef) left).getIndex();
+            ColumnStatistics column = statistics.getColumnStatistics(fieldIndex);
+            if (column == null) {
+                return null;
+            }
+            if (right instanceof RexDynamicParam) {
+                return new Comparison(kind, fieldIndex, column, null);
+            }
+            if (right instanceof RexLiteral) {
+                Object value = literalValue((RexLiteral) right);
+                return value != null ? new Comparison(kind, fieldIndex, column, value) : null;
+            }
+            return null;
+        }
+
+        /**
+         * Returns whether the comparison is a range condition with a bound that
+         * can be located in the histogram.
+         */
+        boolean isRange() {
+            boolean rangeKind = kind == SqlKind.LESS_THAN || kind == SqlKind.LESS_THAN_OR_EQUAL
+                    || kind == SqlKind.GREATER_THAN || kind == SqlKind.GREATER_THAN_OR_EQUAL;
+            return rangeKind && value != null && !Double.isNaN(column.lessThanSelectivity(value));
+        }
+
+        double selectivity() {
+            double nonNull = 1d - column.getNullFraction();
+            double equal = column.equalsSelectivity(value);
+            if (kind == SqlKind.EQUALS) {
+                return equal;
+            }
+            if (kind == SqlKind.NOT_EQUALS) {
+                return Math.max(0d, nonNull - equal);
+            }
+            double less = value != null ? column.lessThanSelectivity(value) : Double.NaN;
+            if (Double.isNaN(less)) {
+                return nonNull * UNKNOWN_RANGE_SELECTIVITY;
+            }
+            switch (kind) {
+                case LESS_THAN:
+                    return less;
+                case LESS_THAN_OR_EQUAL:
+                    return Math.min(nonNull, less + equal);
+                case GREATER_THAN:
+                    return Math.max(0d, nonNull - less - equal);
+                case GREATER_THAN_OR_EQUAL:
+                    return Math.max(0d, nonNull - less);
+                default:
+                    throw new AssertionError(kind);
+            }
+        }
+    }
+}
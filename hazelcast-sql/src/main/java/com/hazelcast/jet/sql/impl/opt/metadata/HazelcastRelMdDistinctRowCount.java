@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.metadata;
+
+import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Calc;
+import org.apache.calcite.rel.core.Filter;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Util;
+
+import javax.annotation.Nullable;
+
+/**
+ * Metadata which provides the number of distinct values of columns from the
+ * statistics collected by the {@code ANALYZE} statement. If the table wasn't
+ * analyzed, the default Calcite estimates are used.
+ */
+public final class HazelcastRelMdDistinctRowCount extends RelMdDistinctRowCount {
+    /** Do not change the name (see {@code RelMetadataQueryBase} JavaDoc). */
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+            BuiltInMethod.DISTINCT_ROW_COUNT.method,
+            new HazelcastRelMdDistinctRowCount()
+    );
+
+    private HazelcastRelMdDistinctRowCount() {
+        // No-op.
+    }
+
+    @Override
+    public @Nullable Double getDistinctRowCount(
+            TableScan rel,
+            RelMetadataQuery mq,
+            ImmutableBitSet groupKey,
+            @Nullable RexNode predicate
+    ) {
+        Double result = fromStatistics(rel, mq, groupKey, predicate);
+        return result != null ? result : super.getDistinctRowCount(rel, mq, groupKey, predicate);
+    }
+
+    @SuppressWarnings("unused")
+    public @Nullable Double getDistinctRowCount(
+            Calc rel,
+            RelMetadataQuery mq,
+            ImmutableBitSet groupKey,
+            @Nullable RexNode predicate
+    ) {
+        Double result = fromStatistics(rel, mq, groupKey, predicate);
+        return result != null ? result : super.getDistinctRowCount((RelNode) rel, mq, groupKey, predicate);
+    }
+
+    @Nullable
+    private static Double fromStatistics(
+            RelNode rel,
+            RelMetadataQuery mq,
+            ImmutableBitSet groupKey,
+            @Nullable RexNode predicate
+    ) {
+        if (groupKey.isEmpty() || (predicate != null && !predicate.isAlwaysTrue())) {
+            return null;
+        }
+        double result = 1d;
+        for (int column : groupKey) {
+            ColumnStatistics statistics = columnStatistics(rel, column);
+            if (statistics == null) {
+                return null;
+            }
+            // null is a distinct value for grouping
+            result *= Math.max(1d, statistics.getDistinctCount()) + (statistics.getNullFraction() > 0 ? 1 : 0);
+        }
+        Double rowCount = mq.getRowCount(rel);
+        return rowCount != null ? Math.min(result, rowCount) : result;
+    }
+
+    /**
+     * Returns the statistics of the table column, from which the given output
+     * column of the relation is copied without modification, or {@code null},
+     * if there's no such column or the table wasn't analyzed.
+     */
+    @Nullable
+    static ColumnStatistics columnStatistics(RelNode rel, int column) {
+        if (rel instanceof RelSubset) {
+            RelSubset subset = (RelSubset) rel;
+            return columnStatistics(Util.first(subset.getBest(), subset.getOriginal()), column);
+        }
+        if (rel instanceof TableScan) {
+            HazelcastTable table = rel.getTable().unwrap(HazelcastTable.class);
+            if (table == null || column >= table.getProjects().size()) {
+                return null;
+            }
+            RexNode project = table.getProjects().get(column);
+            return project instanceof RexInputRef
+                    ? table.getTarget().getStatistics().getColumnStatistics(((RexInputRef) project).getIndex())
+                    : null;
+        }
+        if (rel instanceof Calc) {
+            RexProgram program = ((Calc) rel).getProgram();
+            RexNode project = program.expandLocalRef(program.getProjectList().get(column));
+            return project instanceof RexInputRef
+                    ? columnStatistics(((Calc) rel).getInput(), ((RexInputRef) project).getIndex())
+                    : null;
+        }
+        if (rel instanceof Project) {
+            RexNode project = ((Project) rel).getProjects().get(column);
+            return project instanceof RexInputRef
+                    ? columnStatistics(((Project) rel).getInput(), ((RexInputRef) project).getIndex())
+                    : null;
+        }
+        if (rel instanceof Filter) {
+            return columnStatistics(((Filter) rel).getInput(), column);
+        }
+        return null;
+    }
+}
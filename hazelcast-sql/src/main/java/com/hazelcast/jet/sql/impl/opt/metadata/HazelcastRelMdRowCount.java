@@ -16,11 +16,22 @@
 
 package com.hazelcast.jet.sql.impl.opt.metadata;
 
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexUtil;
 import org.apache.calcite.util.BuiltInMethod;
 
+import javax.annotation.Nullable;
+
+import static com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdDistinctRowCount.columnStatistics;
+
 /**
  * Metadata which provides row count estimates.
  */
@@ -33,6 +44,60 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Estimates the row count of an equi-join using the number of distinct
+     * values of the join keys collected by the {@code ANALYZE} statement,
+     * assuming that the values of the side with fewer distinct values are
+     * contained in the other side. If the statistics aren't available for
+     * all keys, the default Calcite estimate is used.
+     */
+    @Override
+    public @Nullable Double getRowCount(Join rel, RelMetadataQuery mq) {
+        Double estimate = estimateEquiJoin(rel, mq);
+        return estimate != null ? estimate : super.getRowCount(rel, mq);
+    }
+
+    @Nullable
+    private static Double estimateEquiJoin(Join rel, RelMetadataQuery mq) {
+        if (!rel.getJoinType().projectsRight()) {
+            return null;
+        }
+        JoinInfo joinInfo = rel.analyzeCondition();
+        if (joinInfo.leftKeys.isEmpty()) {
+            return null;
+        }
+        Double leftRowCount = mq.getRowCount(rel.getLeft());
+        Double rightRowCount = mq.getRowCount(rel.getRight());
+        if (leftRowCount == null || rightRowCount == null) {
+            return null;
+        }
+        double rowCount = leftRowCount * rightRowCount;
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            Double leftDistinct = distinctCount(rel.getLeft(), joinInfo.leftKeys.get(i), leftRowCount);
+            Double rightDistinct = distinctCount(rel.getRight(), joinInfo.rightKeys.get(i), rightRowCount);
+            if (leftDistinct == null || rightDistinct == null) {
+                return null;
+            }
+            rowCount /= Math.max(1d, Math.max(leftDistinct, rightDistinct));
+        }
+        rowCount *= RelMdUtil.guessSelectivity(RexUtil.composeConjunction(
+                rel.getCluster().getRexBuilder(), joinInfo.nonEquiConditions));
+
+        switch (rel.getJoinType()) {
+            case LEFT:
+                return Math.max(rowCount, leftRowCount);
+            case RIGHT:
+                return Math.max(rowCount, rightRowCount);
+            case FULL:
+                return Math.max(rowCount, Math.max(leftRowCount, rightRowCount));
+            default:
+                return rowCount;
+        }
+    }
+
+    @Nullable
+    private static Double distinctCount(RelNode input, int column, double rowCount) {
+        ColumnStatistics statistics = columnStatistics(input, column);
+        return statistics != null ? Math.min(statistics.getDistinctCount(), rowCount) : null;
+    }
 }
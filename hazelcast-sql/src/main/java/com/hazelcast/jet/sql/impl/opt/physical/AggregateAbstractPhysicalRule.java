@@ -23,6 +23,8 @@ import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.impl.execution.init.Contexts;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.jet.sql.impl.aggregate.ApproxCountDistinctSqlAggregation;
+import com.hazelcast.jet.sql.impl.aggregate.ApproxPercentileSqlAggregation;
 import com.hazelcast.jet.sql.impl.aggregate.AvgSqlAggregations;
 import com.hazelcast.jet.sql.impl.aggregate.CountSqlAggregations;
 import com.hazelcast.jet.sql.impl.aggregate.JsonObjectAggAggregation;
@@ -36,6 +38,7 @@ import com.hazelcast.jet.sql.impl.aggregate.ValueSqlAggregation;
 import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastJsonArrayAggFunction;
 import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastJsonObjectAggFunction;
 import com.hazelcast.jet.sql.impl.opt.OptUtils;
+import com.hazelcast.jet.sql.impl.validate.HazelcastSqlOperatorTable;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -141,6 +144,21 @@ public abstract class AggregateAbstractPhysicalRule extends RelRule<Config> {
                     aggregationProviders.add(new AggregateObjectAggSupplier(keyIndex, valueIndex, objAgg.isAbsentOnNull()));
                     valueProviders.add(new RowIdentityFn());
                     break;
+                case OTHER_FUNCTION:
+                    if (aggregateCall.getAggregation() == HazelcastSqlOperatorTable.APPROX_COUNT_DISTINCT) {
+                        int approxCountIndex = aggregateCallArguments.get(0);
+                        aggregationProviders.add(ApproxCountDistinctSqlAggregation::new);
+                        // must deserialize value to hash it consistently
+                        valueProviders.add(new RowGetFn(approxCountIndex));
+                    } else if (aggregateCall.getAggregation() == HazelcastSqlOperatorTable.APPROX_PERCENTILE) {
+                        int percentileValueIndex = aggregateCallArguments.get(0);
+                        int percentileIndex = aggregateCallArguments.get(1);
+                        aggregationProviders.add(new AggregateApproxPercentileSupplier(percentileValueIndex, percentileIndex));
+                        valueProviders.add(new RowIdentityFn());
+                    } else {
+                        throw QueryException.error("Unsupported aggregation function: " + aggregateCall.getAggregation());
+                    }
+                    break;
                 default:
                     throw QueryException.error("Unsupported aggregation function: " + kind);
             }
@@ -346,6 +364,47 @@ public abstract class AggregateAbstractPhysicalRule extends RelRule<Config> {
         }
     }
 
+    public static final class AggregateApproxPercentileSupplier implements IdentifiedDataSerializable,
+            SupplierEx<SqlAggregation> {
+        private int valueIndex;
+        private int percentileIndex;
+
+        public AggregateApproxPercentileSupplier() {
+        }
+
+        public AggregateApproxPercentileSupplier(int valueIndex, int percentileIndex) {
+            this.valueIndex = valueIndex;
+            this.percentileIndex = percentileIndex;
+        }
+
+        @Override
+        public SqlAggregation getEx() {
+            return new ApproxPercentileSqlAggregation(valueIndex, percentileIndex);
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(valueIndex);
+            out.writeInt(percentileIndex);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            valueIndex = in.readInt();
+            percentileIndex = in.readInt();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetSqlSerializerHook.F_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetSqlSerializerHook.AGGREGATE_APPROX_PERCENTILE_SUPPLIER;
+        }
+    }
+
     public static final class AggregateCountSupplier implements IdentifiedDataSerializable,
             SupplierEx<SqlAggregation> {
         private boolean ignoreNulls;
@@ -126,6 +126,11 @@ public abstract class CreateDagVisitorBase<V> implements CreateDagVisitor<V> {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public V onMergeJoin(JoinMergePhysicalRel rel) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public V onStreamToStreamJoin(StreamToStreamJoinPhysicalRel rel) {
         throw new UnsupportedOperationException();
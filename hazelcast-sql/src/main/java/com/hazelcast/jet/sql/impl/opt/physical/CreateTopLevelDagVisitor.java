@@ -47,11 +47,13 @@ import com.hazelcast.jet.sql.impl.connector.SqlConnector;
 import com.hazelcast.jet.sql.impl.connector.SqlConnector.VertexWithInputConfig;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil;
 import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
+import com.hazelcast.jet.sql.impl.expression.compiler.CalcEvaluator;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
 import com.hazelcast.jet.sql.impl.opt.WatermarkThrottlingFrameSizeCalculator;
 import com.hazelcast.jet.sql.impl.processors.LateItemsDropP;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
+import com.hazelcast.jet.sql.impl.processors.SqlMergeJoinP;
 import com.hazelcast.jet.sql.impl.processors.StreamToStreamJoinP.StreamToStreamJoinProcessorSupplier;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -64,6 +66,7 @@ import com.hazelcast.sql.impl.expression.MockExpressionEvalContext;
 import com.hazelcast.sql.impl.optimizer.PlanObjectKey;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.sql.impl.schema.Table;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.SingleRel;
@@ -90,6 +93,8 @@ import static com.hazelcast.jet.core.processor.Processors.sortP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.convenientSourceP;
 import static com.hazelcast.jet.sql.impl.connector.HazelcastRexNode.wrap;
 import static com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil.getJetSqlConnector;
+import static com.hazelcast.jet.sql.impl.connector.map.MapAggregateScanP.AGGREGATION_PUSHDOWN_ENABLED_PROPERTY;
+import static com.hazelcast.jet.sql.impl.expression.compiler.ExpressionCompiler.SQL_EXPRESSION_COMPILATION_ENABLED;
 import static com.hazelcast.jet.sql.impl.processors.RootResultConsumerSink.rootResultConsumerSink;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
@@ -283,18 +288,19 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex;
         boolean projectionsCooperative = projection.stream().allMatch(Expression::isCooperative);
+        boolean compile = nodeEngine.getProperties().getBoolean(SQL_EXPRESSION_COMPILATION_ENABLED);
         if (program.getCondition() != null) {
             Expression<Boolean> filterExpr = dagBuildContext.convertFilter(wrap(rel.filter()));
             assert filterExpr != null;
+            CalcEvaluator evaluator = CalcEvaluator.create(filterExpr, projection, compile);
             vertex = dag.newUniqueVertex("Calc", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.calcFn(projection, filterExpr, ExpressionEvalContext.from(ctx)))
+                    ServiceFactories.nonSharedService(ctx -> evaluator.toFunction(ExpressionEvalContext.from(ctx)))
                             .setCooperative(projectionsCooperative && filterExpr.isCooperative()),
                     (Function<JetSqlRow, JetSqlRow> calcFn, JetSqlRow row) -> calcFn.apply(row)));
         } else {
+            CalcEvaluator evaluator = CalcEvaluator.create(null, projection, compile);
             vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.projectionFn(projection, ExpressionEvalContext.from(ctx)))
+                    ServiceFactories.nonSharedService(ctx -> evaluator.toFunction(ExpressionEvalContext.from(ctx)))
                             .setCooperative(projectionsCooperative),
                     (Function<JetSqlRow, JetSqlRow> projectionFn, JetSqlRow row) -> projectionFn.apply(row)
             ));
@@ -349,6 +355,11 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
     public Vertex onAccumulate(AggregateAccumulatePhysicalRel rel) {
         AggregateOperation<?, JetSqlRow> aggregateOperation = rel.aggrOp();
 
+        Vertex scanVertex = accumulatingScan(rel.getInput(), aggregateOperation, null);
+        if (scanVertex != null) {
+            return scanVertex;
+        }
+
         Vertex vertex = dag.newUniqueVertex(
                 "Accumulate",
                 Processors.accumulateP(aggregateOperation)
@@ -391,6 +402,11 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         FunctionEx<JetSqlRow, ?> groupKeyFn = rel.groupKeyFn();
         AggregateOperation<?, JetSqlRow> aggregateOperation = rel.aggrOp();
 
+        Vertex scanVertex = accumulatingScan(rel.getInput(), aggregateOperation, groupKeyFn);
+        if (scanVertex != null) {
+            return scanVertex;
+        }
+
         Vertex vertex = dag.newUniqueVertex(
                 "AccumulateByKey",
                 Processors.accumulateByKeyP(singletonList(groupKeyFn), aggregateOperation)
@@ -540,6 +556,30 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         return joinVertex;
     }
 
+    @Override
+    public Vertex onMergeJoin(JoinMergePhysicalRel rel) {
+        JetJoinInfo joinInfo = rel.joinInfo(dagBuildContext.getParameterMetadata());
+
+        // the sorted inputs are merged on the local member, like in onSort()
+        Vertex joinVertex = dag.newUniqueVertex(
+                "Merge Join",
+                ProcessorMetaSupplier.forceTotalParallelismOne(
+                        SqlMergeJoinP.supplier(
+                                joinInfo,
+                                rel.leftKeys(),
+                                rel.rightKeys(),
+                                rel.getRight().getRowType().getFieldCount()
+                        ),
+                        localMemberAddress
+                )
+        );
+        Vertex leftInput = ((PhysicalRel) rel.getLeft()).accept(this);
+        Vertex rightInput = ((PhysicalRel) rel.getRight()).accept(this);
+        dag.edge(between(leftInput, joinVertex).distributeTo(localMemberAddress).allToOne(""));
+        dag.edge(from(rightInput).to(joinVertex, 1).distributeTo(localMemberAddress).allToOne(""));
+        return joinVertex;
+    }
+
     @Override
     public Vertex onStreamToStreamJoin(StreamToStreamJoinPhysicalRel rel) {
         JetJoinInfo joinInfo = rel.joinInfo(dagBuildContext.getParameterMetadata());
@@ -790,6 +830,45 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         }
     }
 
+    /**
+     * Returns a vertex accumulating the rows of an IMap scan in the IMap
+     * query engine, if the input of the accumulate vertex is a full scan of
+     * an IMap that can be read this way. Returns {@code null} otherwise.
+     */
+    @Nullable
+    private Vertex accumulatingScan(
+            RelNode inputRel,
+            AggregateOperation<?, JetSqlRow> aggregateOperation,
+            @Nullable FunctionEx<JetSqlRow, ?> groupKeyFn
+    ) {
+        if (!nodeEngine.getProperties().getBoolean(AGGREGATION_PUSHDOWN_ENABLED_PROPERTY)
+                || !(inputRel instanceof FullScanPhysicalRel)) {
+            return null;
+        }
+        FullScanPhysicalRel scan = (FullScanPhysicalRel) inputRel;
+        Table table = scan.getTable().unwrap(HazelcastTable.class).getTarget();
+        if (!(table instanceof PartitionedMapTable) || scan.watermarkedColumnIndex() >= 0) {
+            return null;
+        }
+        // the scans pruned to some partitions read only those partitions
+        if (!((PartitionedMapTable) table).partitioningAttributes().isEmpty()
+                || partitionStrategyCandidates != null && partitionStrategyCandidates.get(table.getSqlName()) != null) {
+            return null;
+        }
+
+        collectObjectKeys(table);
+        dagBuildContext.setTable(table);
+        dagBuildContext.setRel(scan);
+        return SqlConnectorUtil.<IMapSqlConnector>getJetSqlConnector(table)
+                .accumulatingFullScanReader(
+                        dagBuildContext,
+                        wrap(scan.filter()),
+                        wrap(scan.projection()),
+                        aggregateOperation,
+                        groupKeyFn
+                );
+    }
+
     private void collectObjectKeys(Table table) {
         PlanObjectKey objectKey = table.getObjectKey();
         if (objectKey != null) {
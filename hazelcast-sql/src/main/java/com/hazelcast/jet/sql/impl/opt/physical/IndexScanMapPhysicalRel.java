@@ -22,6 +22,7 @@ import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.HazelcastPhysicalScan;
 import com.hazelcast.jet.sql.impl.opt.FieldCollation;
 import com.hazelcast.jet.sql.impl.opt.cost.CostUtils;
+import com.hazelcast.jet.sql.impl.opt.cost.SelectivityEstimator;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.jet.sql.impl.validate.types.HazelcastTypeUtils;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
@@ -41,7 +42,6 @@ import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.TableScan;
-import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 
@@ -157,11 +157,11 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         double rowCount = table.getRowCount();
 
         if (indexExp != null) {
-            rowCount = CostUtils.adjustFilteredRowCount(rowCount, RelMdUtil.guessSelectivity(indexExp));
+            rowCount = CostUtils.adjustFilteredRowCount(rowCount, estimateSelectivity(indexExp));
         }
 
         if (remainderExp != null) {
-            rowCount = CostUtils.adjustFilteredRowCount(rowCount, RelMdUtil.guessSelectivity(remainderExp));
+            rowCount = CostUtils.adjustFilteredRowCount(rowCount, estimateSelectivity(remainderExp));
         }
 
         return rowCount;
@@ -173,7 +173,7 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         double scanRowCount = table.getRowCount();
 
         if (indexExp != null) {
-            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, RelMdUtil.guessSelectivity(indexExp));
+            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, estimateSelectivity(indexExp));
         }
 
         // Get the number of rows that we expect after the remainder filter is applied.
@@ -181,7 +181,7 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         double filterRowCount = scanRowCount;
 
         if (hasFilter) {
-            filterRowCount = CostUtils.adjustFilteredRowCount(filterRowCount, RelMdUtil.guessSelectivity(remainderExp));
+            filterRowCount = CostUtils.adjustFilteredRowCount(filterRowCount, estimateSelectivity(remainderExp));
         }
 
         return computeSelfCost(
@@ -195,6 +195,10 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         );
     }
 
+    private double estimateSelectivity(RexNode condition) {
+        return SelectivityEstimator.estimate(condition, getTableUnwrapped().getTarget().getStatistics());
+    }
+
     private static RelOptCost computeSelfCost(
             RelOptPlanner planner,
             double scanRowCount,
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.physical;
+
+import com.hazelcast.spi.properties.HazelcastProperty;
+import org.apache.calcite.plan.HazelcastRelOptCluster;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Merge join of two inputs sorted by the join keys, typically produced by
+ * sorted index scans. Neither input is fully buffered, the rows are joined
+ * in one pass.
+ * <p>
+ * The inputs must be sorted in ascending order, their collations must start
+ * with the same join key pairs in the same order. The order of the key pairs
+ * is given by {@link #leftKeys()} and {@link #rightKeys()}.
+ * <p>
+ * The sorted inputs are merged on a single processor, see {@link
+ * CreateTopLevelDagVisitor#onMergeJoin}. The cost model can't weigh that
+ * against the distributed hash join or the nested loop join, so {@link
+ * JoinPhysicalRule} offers the merge join only if {@link
+ * #MERGE_JOIN_ENABLED_PROPERTY} is enabled. It then doesn't offer the other
+ * join algorithms for inputs available sorted.
+ */
+public class JoinMergePhysicalRel extends JoinPhysicalRel {
+
+    /**
+     * Whether an equi-join of two bounded inputs that are available sorted by
+     * the join keys, e.g. by sorted index scans, is executed as a merge join.
+     * The merge join reads both inputs fully and joins them on a single
+     * processor, so it's disabled by default.
+     */
+    public static final String MERGE_JOIN_ENABLED_PROPERTY_NAME = "hazelcast.sql.join.merge.enabled";
+    public static final HazelcastProperty MERGE_JOIN_ENABLED_PROPERTY
+            = new HazelcastProperty(MERGE_JOIN_ENABLED_PROPERTY_NAME, false);
+
+    /**
+     * The merge join doesn't build a hash table nor look up the rows of the
+     * right input.
+     */
+    private static final double COST_FACTOR = 0.1;
+
+    private final int[] leftKeys;
+    private final int[] rightKeys;
+
+    JoinMergePhysicalRel(
+            RelOptCluster cluster,
+            RelTraitSet traitSet,
+            RelNode left,
+            RelNode right,
+            RexNode condition,
+            JoinRelType joinType,
+            int[] leftKeys,
+            int[] rightKeys
+    ) {
+        super(cluster, traitSet, left, right, condition, joinType);
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+    }
+
+    /**
+     * Returns the left join keys in the order in which the inputs are sorted.
+     */
+    public int[] leftKeys() {
+        return leftKeys;
+    }
+
+    /**
+     * Returns the right join keys in the order in which the inputs are sorted.
+     */
+    public int[] rightKeys() {
+        return rightKeys;
+    }
+
+    /**
+     * Returns the merge join of the given inputs, or {@code null}, if the
+     * inputs aren't sorted in ascending order by all the equi-join keys.
+     */
+    @Nullable
+    static JoinMergePhysicalRel create(Join logicalJoin, RelNode left, RelNode right, RelTraitSet traitSet) {
+        JoinInfo joinInfo = logicalJoin.analyzeCondition();
+        int keyCount = joinInfo.leftKeys.size();
+        if (keyCount == 0) {
+            return null;
+        }
+        List<RelFieldCollation> leftCollations = collation(left).getFieldCollations();
+        List<RelFieldCollation> rightCollations = collation(right).getFieldCollations();
+        if (leftCollations.size() < keyCount || rightCollations.size() < keyCount) {
+            return null;
+        }
+
+        int[] leftKeys = new int[keyCount];
+        int[] rightKeys = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            RelFieldCollation leftCollation = leftCollations.get(i);
+            RelFieldCollation rightCollation = rightCollations.get(i);
+            if (leftCollation.getDirection() != RelFieldCollation.Direction.ASCENDING
+                    || rightCollation.getDirection() != RelFieldCollation.Direction.ASCENDING) {
+                return null;
+            }
+            int pair = joinInfo.leftKeys.indexOf(leftCollation.getFieldIndex());
+            if (pair < 0 || joinInfo.rightKeys.get(pair) != rightCollation.getFieldIndex()) {
+                return null;
+            }
+            leftKeys[i] = joinInfo.leftKeys.get(pair);
+            rightKeys[i] = joinInfo.rightKeys.get(pair);
+        }
+        for (int i = 0; i < keyCount; i++) {
+            // the keys must be compared as values of the same type
+            if (!left.getRowType().getFieldList().get(leftKeys[i]).getType().getSqlTypeName()
+                    .equals(right.getRowType().getFieldList().get(rightKeys[i]).getType().getSqlTypeName())) {
+                return null;
+            }
+        }
+
+        return new JoinMergePhysicalRel(logicalJoin.getCluster(), traitSet, left, right,
+                logicalJoin.getCondition(), logicalJoin.getJoinType(), leftKeys, rightKeys);
+    }
+
+    /**
+     * Returns whether the merge join is enabled for the query of the given rel.
+     */
+    static boolean isEnabled(RelNode rel) {
+        return ((HazelcastRelOptCluster) rel.getCluster()).isMergeJoinEnabled();
+    }
+
+    private static RelCollation collation(RelNode rel) {
+        return rel.getTraitSet().getCollation();
+    }
+
+    @Override
+    public <V> V accept(CreateDagVisitor<V> visitor) {
+        return visitor.onMergeJoin(this);
+    }
+
+    @Override
+    public Join copy(
+            RelTraitSet traitSet,
+            RexNode conditionExpr,
+            RelNode left,
+            RelNode right,
+            JoinRelType joinType,
+            boolean semiJoinDone
+    ) {
+        return new JoinMergePhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType,
+                leftKeys, rightKeys);
+    }
+
+    @Override
+    @Nullable
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        return super.computeSelfCost(planner, mq).multiplyBy(COST_FACTOR);
+    }
+}
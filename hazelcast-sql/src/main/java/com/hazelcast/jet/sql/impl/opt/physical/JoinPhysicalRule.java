@@ -29,6 +29,9 @@ import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.TableScan;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.hazelcast.jet.sql.impl.opt.Conventions.LOGICAL;
 import static com.hazelcast.jet.sql.impl.opt.Conventions.PHYSICAL;
 
@@ -80,6 +83,29 @@ public final class JoinPhysicalRule extends RelRule<RelRule.Config> {
         RelNode leftInputConverted = RelRule.convert(leftInput, leftInput.getTraitSet().replace(PHYSICAL));
         RelNode rightInputConverted = RelRule.convert(rightInput, rightInput.getTraitSet().replace(PHYSICAL));
 
+        // Merge join of inputs sorted by the join keys, e.g. by sorted index scans. If enabled,
+        // like in SortPhysicalRule, the already sorted inputs are preferred over the other join
+        // algorithms regardless of the cost of the sorted scans.
+        if (JoinMergePhysicalRel.isEnabled(logicalJoin)
+                && OptUtils.isBounded(leftInput) && OptUtils.isBounded(rightInput)) {
+            List<RelNode> mergeJoins = new ArrayList<>(1);
+            for (RelNode leftPhysical : OptUtils.extractPhysicalRelsFromSubset(leftInputConverted)) {
+                for (RelNode rightPhysical : OptUtils.extractPhysicalRelsFromSubset(rightInputConverted)) {
+                    RelNode mergeJoin = JoinMergePhysicalRel.create(logicalJoin, leftPhysical, rightPhysical,
+                            logicalJoin.getTraitSet().replace(PHYSICAL));
+                    if (mergeJoin != null) {
+                        mergeJoins.add(mergeJoin);
+                    }
+                }
+            }
+            if (!mergeJoins.isEmpty()) {
+                for (RelNode mergeJoin : mergeJoins) {
+                    call.transformTo(mergeJoin);
+                }
+                return;
+            }
+        }
+
         // we don't use hash join for unbounded left input because it doesn't refresh the right side
         if (OptUtils.isBounded(leftInput)) {
             RelNode rel = new JoinHashPhysicalRel(
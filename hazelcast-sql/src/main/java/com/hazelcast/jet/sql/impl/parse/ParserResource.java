@@ -85,6 +85,12 @@ public interface ParserResource {
     @BaseMessage("Unknown job option: {0}")
     ExInst<SqlValidatorException> unknownJobOption(String key);
 
+    @BaseMessage("Unknown ANALYZE option: {0}")
+    ExInst<SqlValidatorException> unknownAnalyzeOption(String key);
+
+    @BaseMessage("Invalid value for {0}: {1}, must be a positive integer")
+    ExInst<SqlValidatorException> analyzeOptionNotPositiveInteger(String key, String value);
+
     @BaseMessage("The OR REPLACE option is required for CREATE SNAPSHOT")
     ExInst<SqlValidatorException> createSnapshotWithoutReplace();
 }
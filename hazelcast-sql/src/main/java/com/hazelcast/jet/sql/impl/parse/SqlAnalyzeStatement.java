@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.parse;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.sql.validate.SqlValidatorScope;
+import org.apache.calcite.util.ImmutableNullableList;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.jet.sql.impl.parse.ParserResource.RESOURCE;
+import static com.hazelcast.jet.sql.impl.parse.UnparseUtil.unparseOptions;
+import static com.hazelcast.jet.sql.impl.validate.ValidationUtil.isCatalogObjectNameValid;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The {@code ANALYZE [MAPPING] name [OPTIONS (...)]} statement, collecting
+ * the column statistics of an IMap mapping for the cost-based optimizer.
+ */
+public class SqlAnalyzeStatement extends SqlCall {
+
+    public static final String OPTION_SAMPLE_SIZE = "sampleSize";
+    public static final String OPTION_HISTOGRAM_BUCKETS = "histogramBuckets";
+
+    /** The default maximum number of rows read from the map. */
+    public static final int DEFAULT_SAMPLE_SIZE = 10_000;
+
+    /** The default number of buckets of the histograms. */
+    public static final int DEFAULT_HISTOGRAM_BUCKETS = 32;
+
+    private static final SqlSpecialOperator OPERATOR =
+            new SqlSpecialOperator("ANALYZE", SqlKind.OTHER_DDL);
+
+    private final SqlIdentifier name;
+    private final SqlNodeList options;
+
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private int histogramBuckets = DEFAULT_HISTOGRAM_BUCKETS;
+
+    public SqlAnalyzeStatement(SqlIdentifier name, SqlNodeList options, SqlParserPos pos) {
+        super(pos);
+
+        this.name = requireNonNull(name, "Name should not be null");
+        this.options = requireNonNull(options, "Options should not be null");
+    }
+
+    public String nameWithoutSchema() {
+        return name.names.get(name.names.size() - 1);
+    }
+
+    public int sampleSize() {
+        return sampleSize;
+    }
+
+    public int histogramBuckets() {
+        return histogramBuckets;
+    }
+
+    @Nonnull
+    @Override
+    public SqlOperator getOperator() {
+        return OPERATOR;
+    }
+
+    @Nonnull
+    @Override
+    public List<SqlNode> getOperandList() {
+        return ImmutableNullableList.of(name, options);
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("ANALYZE");
+        name.unparse(writer, leftPrec, rightPrec);
+        unparseOptions(writer, options);
+    }
+
+    @Override
+    public void validate(SqlValidator validator, SqlValidatorScope scope) {
+        if (!isCatalogObjectNameValid(name)) {
+            throw validator.newValidationError(name, RESOURCE.droppedMappingDoesNotExist(name.toString()));
+        }
+
+        Set<String> optionNames = new HashSet<>();
+        for (SqlNode option0 : options) {
+            SqlOption option = (SqlOption) option0;
+            String key = option.keyString();
+
+            if (!optionNames.add(key)) {
+                throw validator.newValidationError(option, RESOURCE.duplicateOption(key));
+            }
+
+            switch (key) {
+                case OPTION_SAMPLE_SIZE:
+                    sampleSize = parsePositiveInt(validator, option);
+                    break;
+                case OPTION_HISTOGRAM_BUCKETS:
+                    histogramBuckets = parsePositiveInt(validator, option);
+                    break;
+                default:
+                    throw validator.newValidationError(option.key(), RESOURCE.unknownAnalyzeOption(key));
+            }
+        }
+    }
+
+    private static int parsePositiveInt(SqlValidator validator, SqlOption option) {
+        int value;
+        try {
+            value = Integer.parseInt(option.valueString());
+        } catch (NumberFormatException e) {
+            value = 0;
+        }
+        if (value <= 0) {
+            throw validator.newValidationError(option.value(),
+                    RESOURCE.analyzeOptionNotPositiveInteger(option.keyString(), option.valueString()));
+        }
+        return value;
+    }
+}
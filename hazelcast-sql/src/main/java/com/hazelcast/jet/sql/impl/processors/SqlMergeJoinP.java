@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Merge join of two inputs sorted in ascending order of the join keys. The
+ * left input is received on ordinal 0, the right input on ordinal 1.
+ * <p>
+ * The processor keeps only the rows which arrived before the matching rows
+ * of the other input, and the rows of the right input having the same key
+ * as the current left row. When both inputs arrive at a similar pace, the
+ * memory use doesn't depend on the size of the inputs.
+ * <p>
+ * The join keys are compared in the order given by {@code leftKeys} and
+ * {@code rightKeys}, which must be the order in which the inputs are sorted.
+ * A {@code null} is lower than any other value, as in the sorted index, but
+ * rows with a {@code null} key never match.
+ */
+public class SqlMergeJoinP extends AbstractProcessor {
+
+    private final JetJoinInfo joinInfo;
+    private final int[] leftKeys;
+    private final int[] rightKeys;
+    private final int rightInputColumnCount;
+
+    private final ArrayDeque<JetSqlRow> leftRows = new ArrayDeque<>();
+    private final ArrayDeque<JetSqlRow> rightRows = new ArrayDeque<>();
+    private final List<JetSqlRow> rightGroup = new ArrayList<>();
+    private boolean leftDone;
+    private boolean rightDone;
+
+    private ExpressionEvalContext evalContext;
+    private long maxBufferedRows;
+    private Traverser<JetSqlRow> pendingOutput;
+
+    public SqlMergeJoinP(JetJoinInfo joinInfo, int[] leftKeys, int[] rightKeys, int rightInputColumnCount) {
+        this.joinInfo = joinInfo;
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.rightInputColumnCount = rightInputColumnCount;
+    }
+
+    @Override
+    public void init(@Nonnull Context context) throws Exception {
+        this.evalContext = ExpressionEvalContext.from(context);
+        this.maxBufferedRows = context.maxProcessorAccumulatedRecords();
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        // Jet doesn't switch to the other input until the inbox is drained,
+        // the rows are buffered until the other input catches up
+        for (Object item; (item = inbox.poll()) != null; ) {
+            (ordinal == 0 ? leftRows : rightRows).add((JetSqlRow) item);
+        }
+        if (leftRows.size() + rightRows.size() + rightGroup.size() > maxBufferedRows) {
+            throw new AccumulationLimitExceededException();
+        }
+        join();
+    }
+
+    @Override
+    public boolean tryProcess() {
+        return join();
+    }
+
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal == 0) {
+            leftDone = true;
+        } else {
+            rightDone = true;
+        }
+        return join();
+    }
+
+    @Override
+    public boolean complete() {
+        // all the inputs are exhausted, even if completeEdge() wasn't called
+        leftDone = true;
+        rightDone = true;
+        return join() && leftRows.isEmpty();
+    }
+
+    /**
+     * Joins the buffered left rows, as long as the matching right rows are
+     * known. Returns {@code false}, if the outbox is full.
+     */
+    private boolean join() {
+        for (;;) {
+            if (pendingOutput != null) {
+                if (!emitFromTraverser(pendingOutput)) {
+                    return false;
+                }
+                pendingOutput = null;
+            }
+            JetSqlRow left = leftRows.peek();
+            if (left == null) {
+                if (leftDone) {
+                    // the remaining right rows don't match
+                    rightRows.clear();
+                    rightGroup.clear();
+                }
+                return true;
+            }
+            if (!advanceRight(left)) {
+                return true;
+            }
+            leftRows.poll();
+            pendingOutput = joinWithGroup(left);
+        }
+    }
+
+    /**
+     * Drops the right rows with a key lower than the key of the given left
+     * row, and collects the right rows with the same key into the {@link
+     * #rightGroup}. Returns {@code false}, if more right rows are needed.
+     */
+    private boolean advanceRight(JetSqlRow left) {
+        if (hasNullKey(left, leftKeys)) {
+            // doesn't match, the group never contains null keys
+            return true;
+        }
+        if (!rightGroup.isEmpty()) {
+            int cmp = compareKeys(left, rightGroup.get(0));
+            if (cmp < 0) {
+                return true;
+            }
+            if (cmp > 0) {
+                rightGroup.clear();
+            }
+        }
+        for (JetSqlRow right; (right = rightRows.peek()) != null; ) {
+            int cmp = compareKeys(left, right);
+            if (cmp < 0) {
+                // a right row with a higher key arrived, the group is complete
+                return true;
+            }
+            rightRows.poll();
+            if (cmp == 0) {
+                rightGroup.add(right);
+            }
+        }
+        return rightDone;
+    }
+
+    private Traverser<JetSqlRow> joinWithGroup(JetSqlRow left) {
+        List<JetSqlRow> output = new ArrayList<>();
+        if (!rightGroup.isEmpty() && compareKeys(left, rightGroup.get(0)) == 0) {
+            for (JetSqlRow right : rightGroup) {
+                JetSqlRow joined = ExpressionUtil.join(left, right, joinInfo.nonEquiCondition(), evalContext);
+                if (joined != null) {
+                    output.add(joined);
+                }
+            }
+        }
+        if (joinInfo.isLeftOuter() && output.isEmpty()) {
+            return Traversers.singleton(left.extendedRow(rightInputColumnCount));
+        }
+        return Traversers.traverseIterable(output);
+    }
+
+    private static boolean hasNullKey(JetSqlRow row, int[] keys) {
+        for (int key : keys) {
+            if (row.get(key) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareKeys(JetSqlRow left, JetSqlRow right) {
+        for (int i = 0; i < leftKeys.length; i++) {
+            Comparable leftValue = (Comparable) left.get(leftKeys[i]);
+            Object rightValue = right.get(rightKeys[i]);
+            int result;
+            if (leftValue == rightValue) {
+                result = 0;
+            } else if (leftValue == null) {
+                result = -1;
+            } else if (rightValue == null) {
+                result = 1;
+            } else {
+                result = leftValue.compareTo(rightValue);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        return true;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return joinInfo.isCooperative();
+    }
+
+    @Override
+    public boolean closeIsCooperative() {
+        return true;
+    }
+
+    public static ProcessorSupplier supplier(
+            JetJoinInfo joinInfo,
+            int[] leftKeys,
+            int[] rightKeys,
+            int rightInputColumnCount
+    ) {
+        return new MergeJoinProcessorSupplier(joinInfo, leftKeys, rightKeys, rightInputColumnCount);
+    }
+
+    private static final class MergeJoinProcessorSupplier implements ProcessorSupplier, DataSerializable {
+        private JetJoinInfo joinInfo;
+        private int[] leftKeys;
+        private int[] rightKeys;
+        private int rightInputColumnCount;
+
+        @SuppressWarnings("unused") // for deserialization
+        private MergeJoinProcessorSupplier() {
+        }
+
+        private MergeJoinProcessorSupplier(
+                JetJoinInfo joinInfo,
+                int[] leftKeys,
+                int[] rightKeys,
+                int rightInputColumnCount
+        ) {
+            this.joinInfo = joinInfo;
+            this.leftKeys = leftKeys;
+            this.rightKeys = rightKeys;
+            this.rightInputColumnCount = rightInputColumnCount;
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<SqlMergeJoinP> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new SqlMergeJoinP(joinInfo, leftKeys, rightKeys, rightInputColumnCount));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(joinInfo);
+            out.writeIntArray(leftKeys);
+            out.writeIntArray(rightKeys);
+            out.writeInt(rightInputColumnCount);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            joinInfo = in.readObject();
+            leftKeys = in.readIntArray();
+            rightKeys = in.readIntArray();
+            rightInputColumnCount = in.readInt();
+        }
+    }
+}
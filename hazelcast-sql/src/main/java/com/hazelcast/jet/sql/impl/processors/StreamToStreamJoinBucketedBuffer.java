@@ -0,0 +1,466 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.google.common.collect.Iterators;
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.impl.state.DiskStateBackend;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * A buffer that groups the rows into buckets by one of the time fields.
+ * When the watermark advances, the buckets in which the time of all rows is
+ * below the limit are dropped at once. Other buckets are checked row by row
+ * only if their minimum time of some time field is below its limit.
+ * <p>
+ * If the equi-join key indices are given, the rows in each bucket are
+ * grouped by the join key, so that a row from the opposite input is matched
+ * only against the rows with an equal key, see {@link #iterator(ObjectArrayKey)}.
+ * <p>
+ * If a {@link DiskStateBackend} is given, when the estimated size of the
+ * rows kept in memory exceeds {@link DiskStateBackend#memtableBytes()}, the
+ * rows of the oldest buckets are written to segment files. A segment keeps
+ * the byte range of each join key in memory, so a lookup reads only the rows
+ * with the requested key. The rows read from a segment are new instances,
+ * therefore spilling must not be used for the buffer of the outer side of an
+ * outer join, where the processor tracks the unmatched rows by identity.
+ */
+class StreamToStreamJoinBucketedBuffer extends StreamToStreamJoinBuffer {
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final int bucketTimeIndex;
+    private final long bucketWidth;
+    private final int[] keyIndices;
+    private final DiskStateBackend spillBackend;
+    private final String name;
+    private final SerializationService serializationService;
+    private final NavigableMap<Long, Bucket> buckets = new TreeMap<>();
+
+    private File spillDirectory;
+    private int segmentCounter;
+    private int size;
+    private long inMemoryBytes;
+
+    /**
+     * @param bucketTimeIndex index of the time extractor used to assign the
+     *      rows to buckets
+     * @param bucketWidth the time range of one bucket
+     * @param keyIndices the indices of the equi-join key fields in the rows
+     *      of this buffer, {@code null}, if the rows shouldn't be indexed
+     * @param spillBackend the backend to spill the rows to, {@code null} to
+     *      keep all rows in memory
+     * @param name the name of the buffer, used in the file names
+     */
+    StreamToStreamJoinBucketedBuffer(
+            List<Map.Entry<Byte, ToLongFunctionEx<JetSqlRow>>> timeExtractors,
+            int bucketTimeIndex,
+            long bucketWidth,
+            @Nullable int[] keyIndices,
+            @Nullable DiskStateBackend spillBackend,
+            @Nonnull String name,
+            @Nonnull SerializationService serializationService
+    ) {
+        super(timeExtractors);
+        assert bucketWidth > 0 : "bucketWidth=" + bucketWidth;
+        this.bucketTimeIndex = bucketTimeIndex;
+        this.bucketWidth = bucketWidth;
+        this.keyIndices = keyIndices;
+        this.spillBackend = spillBackend;
+        this.name = name;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void add(JetSqlRow row) {
+        long[] times = times(row);
+        Bucket bucket = buckets.computeIfAbsent(Math.floorDiv(times[bucketTimeIndex], bucketWidth), b -> new Bucket());
+        long bytes = spillBackend != null ? serializedSize(row) : 0;
+        bucket.add(key(row), row, times, bytes);
+        size++;
+        inMemoryBytes += bytes;
+        if (spillBackend != null && inMemoryBytes > spillBackend.memtableBytes()) {
+            spill(spillBackend.memtableBytes() / 2);
+        }
+    }
+
+    @Override
+    public Iterator<JetSqlRow> iterator() {
+        return rows(null);
+    }
+
+    @Override
+    public Iterator<JetSqlRow> iterator(@Nonnull ObjectArrayKey joinKey) {
+        return keyIndices == null ? rows(null) : rows(joinKey);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    Collection<JetSqlRow> content() {
+        List<JetSqlRow> content = new ArrayList<>(size);
+        iterator().forEachRemaining(content::add);
+        return content;
+    }
+
+    @Override
+    public void clearExpiredItems(long[] limits, @Nullable Consumer<JetSqlRow> clearedRowsConsumer) {
+        // buckets with the time of all rows below the limit
+        Iterator<Bucket> expiredIterator =
+                buckets.headMap(Math.floorDiv(limits[bucketTimeIndex], bucketWidth), false).values().iterator();
+        while (expiredIterator.hasNext()) {
+            Bucket bucket = expiredIterator.next();
+            if (clearedRowsConsumer != null) {
+                bucket.rows(null).forEachRemaining(clearedRowsConsumer);
+            }
+            size -= bucket.size;
+            inMemoryBytes -= bucket.inMemoryBytes;
+            bucket.deleteSegments();
+            expiredIterator.remove();
+        }
+
+        // buckets with some rows below the limit
+        Iterator<Bucket> bucketIterator = buckets.values().iterator();
+        while (bucketIterator.hasNext()) {
+            Bucket bucket = bucketIterator.next();
+            if (isAnyBelow(bucket.minTimes, limits)) {
+                bucket.removeExpired(limits, clearedRowsConsumer);
+                if (bucket.size == 0) {
+                    bucketIterator.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Bucket bucket : buckets.values()) {
+            for (Segment segment : bucket.segments) {
+                IOUtil.closeResource(segment.channel);
+            }
+        }
+        if (spillDirectory != null) {
+            IOUtil.deleteQuietly(spillDirectory);
+        }
+    }
+
+    // for tests
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    // for tests
+    int segmentCount() {
+        return buckets.values().stream().mapToInt(b -> b.segments.size()).sum();
+    }
+
+    /**
+     * Returns the rows with the given key, or all rows, if the key is null.
+     */
+    private Iterator<JetSqlRow> rows(@Nullable ObjectArrayKey key) {
+        return Iterators.concat(Iterators.transform(buckets.values().iterator(), bucket -> bucket.rows(key)));
+    }
+
+    private void spill(long targetBytes) {
+        for (Bucket bucket : buckets.values()) {
+            if (inMemoryBytes <= targetBytes) {
+                break;
+            }
+            inMemoryBytes -= bucket.inMemoryBytes;
+            bucket.spill();
+        }
+    }
+
+    @Nullable
+    private ObjectArrayKey key(JetSqlRow row) {
+        return keyIndices == null ? null : ObjectArrayKey.project(row, keyIndices);
+    }
+
+    private long[] times(JetSqlRow row) {
+        long[] times = new long[timeExtractors.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = timeExtractors.get(i).getValue().applyAsLong(row);
+        }
+        return times;
+    }
+
+    private long serializedSize(JetSqlRow row) {
+        return serializationService.toData(row).totalSize();
+    }
+
+    private static boolean isAnyBelow(long[] times, long[] limits) {
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] < limits[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] newMinTimes(int length) {
+        long[] minTimes = new long[length];
+        Arrays.fill(minTimes, Long.MAX_VALUE);
+        return minTimes;
+    }
+
+    private static void updateMinTimes(long[] minTimes, long[] times) {
+        for (int i = 0; i < minTimes.length; i++) {
+            minTimes[i] = Math.min(minTimes[i], times[i]);
+        }
+    }
+
+    private Segment writeSegment(Map<ObjectArrayKey, List<JetSqlRow>> rowsByKey) {
+        if (spillDirectory == null) {
+            spillDirectory = spillBackend.newStoreDirectory(name);
+        }
+        File file = new File(spillDirectory, "segment-" + segmentCounter++);
+        Map<ObjectArrayKey, long[]> ranges = new HashMap<>();
+        long[] minTimes = newMinTimes(timeExtractors.size());
+        long offset = 0;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE))) {
+            for (Entry<ObjectArrayKey, List<JetSqlRow>> entry : rowsByKey.entrySet()) {
+                long start = offset;
+                for (JetSqlRow row : entry.getValue()) {
+                    byte[] bytes = serializationService.toData(row).toByteArray();
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    offset += Integer.BYTES + bytes.length;
+                    updateMinTimes(minTimes, times(row));
+                }
+                ranges.put(entry.getKey(), new long[]{start, offset - start});
+            }
+            return new Segment(file, ranges, offset, minTimes);
+        } catch (IOException e) {
+            throw new JetException("Failed to write the join buffer to " + file, e);
+        }
+    }
+
+    /**
+     * The rows with the time in one range of the bucket width. The most
+     * recently added rows are in memory, the older rows might be in
+     * segments.
+     */
+    private final class Bucket {
+        private final Map<ObjectArrayKey, List<JetSqlRow>> rowsByKey = new HashMap<>();
+        private final List<Segment> segments = new ArrayList<>();
+        private long[] minTimes = newMinTimes(timeExtractors.size());
+        private int inMemorySize;
+        private int size;
+        private long inMemoryBytes;
+
+        void add(@Nullable ObjectArrayKey key, JetSqlRow row, long[] times, long bytes) {
+            rowsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            updateMinTimes(minTimes, times);
+            inMemorySize++;
+            size++;
+            inMemoryBytes += bytes;
+        }
+
+        Iterator<JetSqlRow> rows(@Nullable ObjectArrayKey key) {
+            Iterator<JetSqlRow> inMemory = key == null
+                    ? Iterators.concat(Iterators.transform(rowsByKey.values().iterator(), List::iterator))
+                    : rowsByKey.getOrDefault(key, Collections.emptyList()).iterator();
+            if (segments.isEmpty()) {
+                return inMemory;
+            }
+            return Iterators.concat(inMemory,
+                    Iterators.concat(Iterators.transform(segments.iterator(), segment -> segment.read(key).iterator())));
+        }
+
+        void spill() {
+            if (inMemorySize == 0) {
+                return;
+            }
+            segments.add(writeSegment(rowsByKey));
+            rowsByKey.clear();
+            inMemorySize = 0;
+            inMemoryBytes = 0;
+        }
+
+        void removeExpired(long[] limits, @Nullable Consumer<JetSqlRow> clearedRowsConsumer) {
+            Consumer<JetSqlRow> onRemoved = row -> {
+                size--;
+                StreamToStreamJoinBucketedBuffer.this.size--;
+                if (clearedRowsConsumer != null) {
+                    clearedRowsConsumer.accept(row);
+                }
+            };
+            removeExpiredInMemory(limits, onRemoved);
+            removeExpiredInSegments(limits, onRemoved);
+            minTimes = newMinTimes(timeExtractors.size());
+            for (List<JetSqlRow> rows : rowsByKey.values()) {
+                for (JetSqlRow row : rows) {
+                    updateMinTimes(minTimes, times(row));
+                }
+            }
+            for (Segment segment : segments) {
+                updateMinTimes(minTimes, segment.minTimes);
+            }
+        }
+
+        private void removeExpiredInMemory(long[] limits, Consumer<JetSqlRow> onRemoved) {
+            Iterator<List<JetSqlRow>> listIterator = rowsByKey.values().iterator();
+            while (listIterator.hasNext()) {
+                List<JetSqlRow> rows = listIterator.next();
+                rows.removeIf(row -> {
+                    if (!isAnyBelow(times(row), limits)) {
+                        return false;
+                    }
+                    if (spillBackend != null) {
+                        long bytes = serializedSize(row);
+                        inMemoryBytes -= bytes;
+                        StreamToStreamJoinBucketedBuffer.this.inMemoryBytes -= bytes;
+                    }
+                    inMemorySize--;
+                    onRemoved.accept(row);
+                    return true;
+                });
+                if (rows.isEmpty()) {
+                    listIterator.remove();
+                }
+            }
+        }
+
+        private void removeExpiredInSegments(long[] limits, Consumer<JetSqlRow> onRemoved) {
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                if (!isAnyBelow(segment.minTimes, limits)) {
+                    continue;
+                }
+                // rewrite the segment without the expired rows
+                Map<ObjectArrayKey, List<JetSqlRow>> retained = new HashMap<>();
+                for (JetSqlRow row : segment.read(null)) {
+                    if (isAnyBelow(times(row), limits)) {
+                        onRemoved.accept(row);
+                    } else {
+                        retained.computeIfAbsent(key(row), k -> new ArrayList<>()).add(row);
+                    }
+                }
+                segment.delete();
+                if (!retained.isEmpty()) {
+                    segments.set(i, writeSegment(retained));
+                } else {
+                    segments.remove(i--);
+                }
+            }
+        }
+
+        void deleteSegments() {
+            for (Segment segment : segments) {
+                segment.delete();
+            }
+            segments.clear();
+        }
+    }
+
+    /**
+     * A file with serialized rows. The rows with the same join key are
+     * stored contiguously, each row is prefixed by its length.
+     */
+    private final class Segment {
+        private final File file;
+        private final FileChannel channel;
+        private final Map<ObjectArrayKey, long[]> ranges;
+        private final long length;
+        private final long[] minTimes;
+
+        Segment(File file, Map<ObjectArrayKey, long[]> ranges, long length, long[] minTimes) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.ranges = ranges;
+            this.length = length;
+            this.minTimes = minTimes;
+        }
+
+        /**
+         * Reads the rows with the given key, or all rows, if the key is null.
+         */
+        List<JetSqlRow> read(@Nullable ObjectArrayKey key) {
+            long[] range = key == null ? new long[]{0, length} : ranges.get(key);
+            if (range == null) {
+                return Collections.emptyList();
+            }
+            try {
+                ByteBuffer buf = ByteBuffer.allocate((int) range[1]);
+                while (buf.hasRemaining()) {
+                    if (channel.read(buf, range[0] + buf.position()) < 0) {
+                        throw new EOFException("Unexpected end of " + file);
+                    }
+                }
+                return deserialize(buf.array());
+            } catch (IOException e) {
+                throw new JetException("Failed to read the join buffer from " + file, e);
+            }
+        }
+
+        private List<JetSqlRow> deserialize(byte[] bytes) {
+            List<JetSqlRow> rows = new ArrayList<>();
+            int pos = 0;
+            while (pos < bytes.length) {
+                int rowLength = Bits.readIntB(bytes, pos);
+                pos += Integer.BYTES;
+                rows.add(serializationService.toObject(new HeapData(Arrays.copyOfRange(bytes, pos, pos + rowLength))));
+                pos += rowLength;
+            }
+            return rows;
+        }
+
+        void delete() {
+            IOUtil.closeResource(channel);
+            IOUtil.deleteQuietly(file);
+        }
+    }
+}
@@ -17,9 +17,11 @@
 package com.hazelcast.jet.sql.impl.processors;
 
 import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +39,16 @@ abstract class StreamToStreamJoinBuffer implements Iterable<JetSqlRow> {
 
     public abstract Iterator<JetSqlRow> iterator();
 
+    /**
+     * Returns an iterator over the rows that might match a row from the
+     * opposite side with the given equi-join key. The join condition must
+     * still be evaluated for the returned rows. The default implementation
+     * returns all rows.
+     */
+    public Iterator<JetSqlRow> iterator(@Nonnull ObjectArrayKey joinKey) {
+        return iterator();
+    }
+
     public abstract int size();
 
     public abstract boolean isEmpty();
@@ -47,6 +59,15 @@ abstract class StreamToStreamJoinBuffer implements Iterable<JetSqlRow> {
      * Clears expired items in current buffer, and returns a new minimums time array.
      *
      * @param limits array of limits for
+     * @param clearedRowsConsumer receives the removed rows, {@code null}, if
+     *      the caller isn't interested in them
      */
-    public abstract void clearExpiredItems(long[] limits, @Nonnull Consumer<JetSqlRow> clearedRowsConsumer);
+    public abstract void clearExpiredItems(long[] limits, @Nullable Consumer<JetSqlRow> clearedRowsConsumer);
+
+    /**
+     * Releases the resources held by the buffer.
+     */
+    public void close() {
+        // nothing to release by default
+    }
 }
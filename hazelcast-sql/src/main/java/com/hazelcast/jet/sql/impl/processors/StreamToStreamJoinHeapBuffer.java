@@ -19,7 +19,7 @@ package com.hazelcast.jet.sql.impl.processors;
 import com.hazelcast.function.ToLongFunctionEx;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 
-import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -66,11 +66,15 @@ class StreamToStreamJoinHeapBuffer extends StreamToStreamJoinBuffer {
     }
 
     @Override
-    public void clearExpiredItems(long[] limits, @Nonnull Consumer<JetSqlRow> clearedRowsConsumer) {
+    public void clearExpiredItems(long[] limits, @Nullable Consumer<JetSqlRow> clearedRowsConsumer) {
         assert limits.length == 1;
 
         for (JetSqlRow row; (row = buffer.peek()) != null && timeExtractor.applyAsLong(row) < limits[0]; ) {
-            clearedRowsConsumer.accept(row);
+            if (clearedRowsConsumer != null) {
+                if (clearedRowsConsumer != null) {
+                    clearedRowsConsumer.accept(row);
+                }
+            }
             buffer.remove();
         }
     }
@@ -24,6 +24,7 @@ import com.hazelcast.internal.util.collection.Object2LongHashMap;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.core.Processor;
@@ -32,6 +33,8 @@ import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.state.DiskStateBackend;
+import com.hazelcast.jet.impl.state.StateBackend;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.ObjectArrayKey;
@@ -43,6 +46,7 @@ import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -74,6 +78,8 @@ import static java.util.function.Function.identity;
  */
 public class StreamToStreamJoinP extends AbstractProcessor {
     private static final long OBJECT_2_LONG_MAP_MIN_VALUE = Long.MIN_VALUE + 1;
+    // the number of buckets of StreamToStreamJoinBucketedBuffer spanning the time bound of a buffer
+    private static final long BUCKETS_PER_TIME_BOUND = 8;
 
     // package-visible for tests
     // tracks the current minimum event time for each watermark
@@ -82,7 +88,7 @@ public class StreamToStreamJoinP extends AbstractProcessor {
     final Object2LongHashMap<Byte> lastEmittedWm = new Object2LongHashMap<>(Long.MIN_VALUE);
 
     // package-visible for tests
-    final StreamToStreamJoinBuffer[] buffer;
+    final StreamToStreamJoinBuffer[] buffer = new StreamToStreamJoinBuffer[2];
 
     private int[] processorPartitionKeys;
     private final JetJoinInfo joinInfo;
@@ -91,6 +97,7 @@ public class StreamToStreamJoinP extends AbstractProcessor {
     private final List<Entry<Byte, ToLongFunctionEx<JetSqlRow>>> rightTimeExtractors;
     private final Map<Byte, Map<Byte, Long>> postponeTimeMap;
     private final Tuple2<Integer, Integer> columnCounts;
+    private final boolean spillToDisk;
     private long maxProcessorAccumulatedRecords;
 
     private ExpressionEvalContext evalContext;
@@ -108,19 +115,36 @@ public class StreamToStreamJoinP extends AbstractProcessor {
 
     private Traverser<Entry<?, ?>> snapshotTraverser;
 
-    @SuppressWarnings("checkstyle:ExecutableStatementCount")
     public StreamToStreamJoinP(
             final JetJoinInfo joinInfo,
             final Map<Byte, ToLongFunctionEx<JetSqlRow>> leftTimeExtractors,
             final Map<Byte, ToLongFunctionEx<JetSqlRow>> rightTimeExtractors,
             final Map<Byte, Map<Byte, Long>> postponeTimeMap,
             final Tuple2<Integer, Integer> columnCounts
+    ) {
+        this(joinInfo, leftTimeExtractors, rightTimeExtractors, postponeTimeMap, columnCounts, false);
+    }
+
+    /**
+     * @param spillToDisk whether the buffered rows may be spilled to the
+     *      disk of the {@link DiskStateBackend} configured for the job. If
+     *      true, the processor is non-cooperative.
+     */
+    @SuppressWarnings("checkstyle:ExecutableStatementCount")
+    public StreamToStreamJoinP(
+            final JetJoinInfo joinInfo,
+            final Map<Byte, ToLongFunctionEx<JetSqlRow>> leftTimeExtractors,
+            final Map<Byte, ToLongFunctionEx<JetSqlRow>> rightTimeExtractors,
+            final Map<Byte, Map<Byte, Long>> postponeTimeMap,
+            final Tuple2<Integer, Integer> columnCounts,
+            final boolean spillToDisk
     ) {
         this.joinInfo = joinInfo;
         this.leftTimeExtractors = new ArrayList<>(leftTimeExtractors.entrySet());
         this.rightTimeExtractors = new ArrayList<>(rightTimeExtractors.entrySet());
         this.postponeTimeMap = postponeTimeMap;
         this.columnCounts = columnCounts;
+        this.spillToDisk = spillToDisk;
 
         switch (joinInfo.getJoinType()) {
             case INNER:
@@ -164,8 +188,6 @@ public class StreamToStreamJoinP extends AbstractProcessor {
         if (!found[0] || !found[1]) {
             throw new IllegalArgumentException("Not enough time bounds in postponeTimeMap");
         }
-
-        this.buffer = createBuffers();
     }
 
     @Override
@@ -177,6 +199,7 @@ public class StreamToStreamJoinP extends AbstractProcessor {
         maxProcessorAccumulatedRecords = context.maxProcessorAccumulatedRecords();
         processingGuarantee = context.processingGuarantee();
         processorIndex = context.globalProcessorIndex();
+        createBuffers(context);
 
         if (!joinInfo.isEquiJoin()) {
             JetServiceBackend jsb = getNodeEngine(context.hazelcastInstance()).getService(JetServiceBackend.SERVICE_NAME);
@@ -229,7 +252,9 @@ public class StreamToStreamJoinP extends AbstractProcessor {
                 buffer[ordinal].add(currItem);
             }
             // we'll emit joined rows from currItem and the buffered rows from the opposite side
-            iterator = buffer[1 - ordinal].iterator();
+            iterator = joinInfo.isEquiJoin()
+                    ? buffer[1 - ordinal].iterator(ObjectArrayKey.project(currItem, equiJoinIndices(ordinal)))
+                    : buffer[1 - ordinal].iterator();
             if (ordinal == outerJoinSide) {
                 unusedEventsTracker.add(currItem);
             }
@@ -414,7 +439,7 @@ public class StreamToStreamJoinP extends AbstractProcessor {
 
     @Override
     public boolean isCooperative() {
-        return joinInfo.isCooperative();
+        return joinInfo.isCooperative() && !spillToDisk;
     }
 
     /**
@@ -463,7 +488,16 @@ public class StreamToStreamJoinP extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return !spillToDisk;
+    }
+
+    @Override
+    public void close() {
+        for (StreamToStreamJoinBuffer b : buffer) {
+            if (b != null) {
+                b.close();
+            }
+        }
     }
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
@@ -506,8 +540,12 @@ public class StreamToStreamJoinP extends AbstractProcessor {
             limits[i] = wmState.getOrDefault(extractors.get(i).getKey(), Long.MIN_VALUE);
         }
 
+        if (outerJoinSide != ordinal) {
+            buffer[ordinal].clearExpiredItems(limits, null);
+            return;
+        }
         buffer[ordinal].clearExpiredItems(limits, row -> {
-            if (outerJoinSide == ordinal && unusedEventsTracker.remove(row)) {
+            if (unusedEventsTracker.remove(row)) {
                 // 5.4: If doing an outer join, emit events removed from the buffer,
                 // with `null`s for the other side, if the event was never joined.
                 JetSqlRow joinedRow = composeRowWithNulls(row, ordinal);
@@ -546,15 +584,74 @@ public class StreamToStreamJoinP extends AbstractProcessor {
         return joinedRow;
     }
 
-    private StreamToStreamJoinBuffer[] createBuffers() {
-        return new StreamToStreamJoinBuffer[]{
-                leftTimeExtractors.size() == 1
-                        ? new StreamToStreamJoinHeapBuffer(leftTimeExtractors)
-                        : new StreamToStreamJoinListBuffer(leftTimeExtractors),
-                rightTimeExtractors.size() == 1
-                        ? new StreamToStreamJoinHeapBuffer(rightTimeExtractors)
-                        : new StreamToStreamJoinListBuffer(rightTimeExtractors)
-        };
+    private int[] equiJoinIndices(int ordinal) {
+        return ordinal == 0 ? joinInfo.leftEquiJoinIndices() : joinInfo.rightEquiJoinIndices();
+    }
+
+    private void createBuffers(Context context) {
+        DiskStateBackend spillBackend = null;
+        if (spillToDisk) {
+            StateBackend stateBackend = StateBackend.forContext(context);
+            if (stateBackend instanceof DiskStateBackend) {
+                spillBackend = (DiskStateBackend) stateBackend;
+            }
+        }
+        for (int ordinal = 0; ordinal < buffer.length; ordinal++) {
+            // rows of the outer side are tracked by identity, they must stay in memory
+            buffer[ordinal] = createBuffer(ordinal, ordinal == outerJoinSide ? null : spillBackend);
+        }
+    }
+
+    /**
+     * Creates a {@link StreamToStreamJoinBucketedBuffer} for an equi-join, to
+     * look up the rows by the join key, or if the buffer spills to disk.
+     * Otherwise a simple on-heap buffer is used.
+     */
+    private StreamToStreamJoinBuffer createBuffer(int ordinal, @Nullable DiskStateBackend spillBackend) {
+        List<Entry<Byte, ToLongFunctionEx<JetSqlRow>>> extractors = timeExtractors(ordinal);
+        if (joinInfo.isEquiJoin() || spillBackend != null) {
+            int bucketTimeIndex = bucketTimeIndex(extractors);
+            return new StreamToStreamJoinBucketedBuffer(
+                    extractors,
+                    bucketTimeIndex,
+                    bucketWidth(extractors.get(bucketTimeIndex).getKey()),
+                    joinInfo.isEquiJoin() ? equiJoinIndices(ordinal) : null,
+                    spillBackend,
+                    "join-buffer-" + ordinal,
+                    evalContext.getSerializationService());
+        }
+        return extractors.size() == 1
+                ? new StreamToStreamJoinHeapBuffer(extractors)
+                : new StreamToStreamJoinListBuffer(extractors);
+    }
+
+    /**
+     * Returns the index of the first time extractor, for which a time bound
+     * exists. Rows are expired by the watermark only by such times.
+     */
+    private int bucketTimeIndex(List<Entry<Byte, ToLongFunctionEx<JetSqlRow>>> extractors) {
+        for (int i = 0; i < extractors.size(); i++) {
+            Byte wmKey = extractors.get(i).getKey();
+            if (postponeTimeMap.values().stream().anyMatch(bounds -> bounds.containsKey(wmKey))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bucket width so that about {@value #BUCKETS_PER_TIME_BOUND}
+     * buckets span the widest time bound for the given watermark key.
+     */
+    private long bucketWidth(Byte wmKey) {
+        long maxPostponeTime = 0;
+        for (Map<Byte, Long> bounds : postponeTimeMap.values()) {
+            Long postponeTime = bounds.get(wmKey);
+            if (postponeTime != null) {
+                maxPostponeTime = Math.max(maxPostponeTime, postponeTime);
+            }
+        }
+        return Math.max(1, maxPostponeTime / BUCKETS_PER_TIME_BOUND);
     }
 
     enum StreamToStreamJoinBroadcastKeys {
@@ -569,6 +666,7 @@ public class StreamToStreamJoinP extends AbstractProcessor {
         private Map<Byte, Map<Byte, Long>> postponeTimeMap;
         private int leftInputColumnCount;
         private int rightInputColumnCount;
+        private transient boolean spillToDisk;
 
         @SuppressWarnings("unused") // for deserialization
         private StreamToStreamJoinProcessorSupplier() {
@@ -590,6 +688,11 @@ public class StreamToStreamJoinP extends AbstractProcessor {
             this.rightInputColumnCount = rightInputColumnCount;
         }
 
+        @Override
+        public void init(@Nonnull Context context) {
+            spillToDisk = context.jobConfig().getStateBackendType() == StateBackendType.DISK;
+        }
+
         @Nonnull
         @Override
         public Collection<? extends Processor> get(int count) {
@@ -601,7 +704,8 @@ public class StreamToStreamJoinP extends AbstractProcessor {
                                 leftTimeExtractors,
                                 rightTimeExtractors,
                                 postponeTimeMap,
-                                Tuple2.tuple2(leftInputColumnCount, rightInputColumnCount)));
+                                Tuple2.tuple2(leftInputColumnCount, rightInputColumnCount),
+                                spillToDisk));
             }
             return processors;
         }
@@ -18,12 +18,15 @@ package com.hazelcast.jet.sql.impl.schema;
 
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.schema.Mapping;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
 import com.hazelcast.sql.impl.schema.type.Type;
 import com.hazelcast.sql.impl.schema.view.View;
 
 import java.util.Collection;
 import java.util.stream.Collectors;
 
+import static com.hazelcast.sql.impl.QueryUtils.wrapStatisticsKey;
+
 public class RelationsStorage extends AbstractSchemaStorage {
 
     public RelationsStorage(NodeEngine nodeEngine) {
@@ -42,6 +45,10 @@ public class RelationsStorage extends AbstractSchemaStorage {
         storage().put(name, type);
     }
 
+    void put(MappingStatistics statistics) {
+        storage().put(wrapStatisticsKey(statistics.mappingName()), statistics);
+    }
+
     boolean putIfAbsent(String name, Mapping mapping) {
         return storage().putIfAbsent(name, mapping) == null;
     }
@@ -54,10 +61,22 @@ public class RelationsStorage extends AbstractSchemaStorage {
         return storage().putIfAbsent(name, type) == null;
     }
 
+    Mapping getMapping(String name) {
+        Object obj = storage().get(name);
+        if (obj instanceof Mapping) {
+            return (Mapping) obj;
+        }
+        return null;
+    }
+
     Mapping removeMapping(String name) {
         return (Mapping) storage().remove(name);
     }
 
+    void removeStatistics(String mappingName) {
+        storage().delete(wrapStatisticsKey(mappingName));
+    }
+
     public Collection<Type> getAllTypes() {
         return storage().values().stream()
                 .filter(o -> o instanceof Type)
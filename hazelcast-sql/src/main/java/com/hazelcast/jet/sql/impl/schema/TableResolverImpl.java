@@ -32,19 +32,24 @@ import com.hazelcast.jet.sql.impl.connector.infoschema.ViewsTable;
 import com.hazelcast.jet.sql.impl.connector.virtual.ViewTable;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.schema.AnalyzedTableStatistics;
 import com.hazelcast.sql.impl.schema.BadTable;
 import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.Mapping;
 import com.hazelcast.sql.impl.schema.MappingField;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableResolver;
 import com.hazelcast.sql.impl.schema.dataconnection.DataConnectionCatalogEntry;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.schema.type.Type;
 import com.hazelcast.sql.impl.schema.view.View;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -136,6 +141,8 @@ public class TableResolverImpl implements TableResolver {
             relationsStorage.putIfAbsent(name, resolved);
         } else if (replace) {
             relationsStorage.put(name, resolved);
+            // the statistics might not match the new definition
+            relationsStorage.removeStatistics(name);
             listeners.forEach(TableListener::onTableChanged);
         } else if (!relationsStorage.putIfAbsent(name, resolved)) {
             throw QueryException.error("Mapping or view already exists: " + name);
@@ -189,6 +196,7 @@ public class TableResolverImpl implements TableResolver {
 
     public void removeMapping(String name, boolean ifExists) {
         if (relationsStorage.removeMapping(name) != null) {
+            relationsStorage.removeStatistics(name);
             listeners.forEach(TableListener::onTableChanged);
         } else if (!ifExists) {
             throw QueryException.error("Mapping does not exist: " + name);
@@ -199,6 +207,38 @@ public class TableResolverImpl implements TableResolver {
     public Collection<String> getMappingNames() {
         return relationsStorage.mappingNames();
     }
+
+    /**
+     * Returns the mapping with the given name, or {@code null} if it doesn't
+     * exist.
+     */
+    @Nullable
+    public Mapping getMapping(String name) {
+        return relationsStorage.getMapping(name);
+    }
+
+    /**
+     * Returns the table for the mapping with the given name, or {@code null}
+     * if the mapping doesn't exist.
+     */
+    @Nullable
+    public Table getMappingTable(String name) {
+        Mapping mapping = relationsStorage.getMapping(name);
+        return mapping == null ? null : toTable(mapping);
+    }
+    // endregion
+
+    // region statistics
+
+    /**
+     * Stores the statistics of a mapping, replacing the previous ones. The
+     * plans using the mapping are invalidated.
+     */
+    public void putStatistics(MappingStatistics statistics) {
+        relationsStorage.put(statistics);
+        listeners.forEach(TableListener::onTableChanged);
+    }
+
     // endregion
 
     // region view
@@ -274,6 +314,7 @@ public class TableResolverImpl implements TableResolver {
         List<Mapping> mappings = lastMappingsSize == 0 ? new ArrayList<>() : new ArrayList<>(lastMappingsSize);
         List<View> views = lastViewsSize == 0 ? new ArrayList<>() : new ArrayList<>(lastViewsSize);
         List<Type> types = lastTypesSize == 0 ? new ArrayList<>() : new ArrayList<>(lastTypesSize);
+        Map<String, MappingStatistics> statistics = new HashMap<>();
 
         for (Object o : objects) {
             if (o instanceof Mapping) {
@@ -288,11 +329,23 @@ public class TableResolverImpl implements TableResolver {
                 // Note: data connection is not a 'table' or 'relation',
                 // It's stored in a separate namespace.
                 continue;
+            } else if (o instanceof MappingStatistics) {
+                statistics.put(((MappingStatistics) o).mappingName(), (MappingStatistics) o);
             } else {
                 throw new RuntimeException("Unexpected: " + o);
             }
         }
 
+        if (!statistics.isEmpty()) {
+            for (Table table : tables) {
+                MappingStatistics tableStatistics = statistics.get(table.getSqlName());
+                if (tableStatistics != null && table instanceof PartitionedMapTable) {
+                    table.setStatistics(new AnalyzedTableStatistics(table.getStatistics(), tableStatistics,
+                            table.getFields()));
+                }
+            }
+        }
+
         ADDITIONAL_TABLE_PRODUCERS.forEach(producer ->
                 tables.add(producer.apply(mappings, views, types, connectorCache, nodeEngine)));
 
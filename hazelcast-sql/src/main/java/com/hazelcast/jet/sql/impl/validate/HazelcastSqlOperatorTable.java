@@ -19,6 +19,8 @@ package com.hazelcast.jet.sql.impl.validate;
 import com.hazelcast.jet.pipeline.file.AvroFileFormat;
 import com.hazelcast.jet.pipeline.file.CsvFileFormat;
 import com.hazelcast.jet.pipeline.file.ParquetFileFormat;
+import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastApproxCountDistinctAggFunction;
+import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastApproxPercentileAggFunction;
 import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastAvgAggFunction;
 import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastCountAggFunction;
 import com.hazelcast.jet.sql.impl.aggregate.function.HazelcastHopTableFunction;
@@ -286,6 +288,8 @@ public final class HazelcastSqlOperatorTable extends ReflectiveSqlOperatorTable
     public static final SqlFunction AVG = new HazelcastAvgAggFunction();
     public static final SqlFunction MIN = new HazelcastMinMaxAggFunction(SqlKind.MIN);
     public static final SqlFunction MAX = new HazelcastMinMaxAggFunction(SqlKind.MAX);
+    public static final SqlFunction APPROX_COUNT_DISTINCT = new HazelcastApproxCountDistinctAggFunction();
+    public static final SqlFunction APPROX_PERCENTILE = new HazelcastApproxPercentileAggFunction();
 
     //#endregion
 
@@ -17,11 +17,14 @@
 package com.hazelcast.jet.sql.impl.validate;
 
 import com.hazelcast.jet.sql.impl.parse.SqlAlterJob;
+import com.hazelcast.jet.sql.impl.parse.SqlAnalyzeStatement;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateDataConnection;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateJob;
+import com.hazelcast.jet.sql.impl.parse.SqlCreateMaterializedView;
 import com.hazelcast.jet.sql.impl.parse.SqlCreateSnapshot;
 import com.hazelcast.jet.sql.impl.parse.SqlDropDataConnection;
 import com.hazelcast.jet.sql.impl.parse.SqlDropJob;
+import com.hazelcast.jet.sql.impl.parse.SqlDropMaterializedView;
 import com.hazelcast.jet.sql.impl.parse.SqlDropSnapshot;
 import com.hazelcast.jet.sql.impl.parse.SqlOption;
 import com.hazelcast.jet.sql.impl.parse.SqlShowStatement;
@@ -243,6 +246,10 @@ public final class UnsupportedOperationVisitor extends SqlBasicVisitor<Void> {
 
         SUPPORTED_OPERATORS.add(HazelcastSqlOperatorTable.WITHIN_GROUP);
 
+        // Approximate aggregations
+        SUPPORTED_OPERATORS.add(HazelcastSqlOperatorTable.APPROX_COUNT_DISTINCT);
+        SUPPORTED_OPERATORS.add(HazelcastSqlOperatorTable.APPROX_PERCENTILE);
+
         // Extensions
         SUPPORTED_OPERATORS.add(SqlOption.OPERATOR);
         SUPPORTED_OPERATORS.add(SqlCreateDataConnection.CREATE_DATA_CONNECTION);
@@ -515,6 +522,9 @@ public final class UnsupportedOperationVisitor extends SqlBasicVisitor<Void> {
                 && !(call instanceof SqlDropSnapshot)
                 && !(call instanceof SqlCreateDataConnection)
                 && !(call instanceof SqlDropDataConnection)
+                && !(call instanceof SqlAnalyzeStatement)
+                && !(call instanceof SqlCreateMaterializedView)
+                && !(call instanceof SqlDropMaterializedView)
         ) {
             throw unsupported(call, "OTHER DDL class (" + call.getClass().getSimpleName() + ")");
         }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl;
+
+import com.hazelcast.sql.SqlPreparedStatement;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.optimizer.PlanKey;
+import com.hazelcast.sql.impl.optimizer.SqlPlan;
+
+/**
+ * A statement prepared by {@link SqlServiceImpl}, which keeps the plan cache
+ * key and the plan of the last execution.
+ * <p>
+ * The plans are generic, they don't depend on the values of the parameters.
+ * The plan is reused until it's removed from the plan cache, which happens
+ * when it's invalidated by a change of the objects it uses, or when it's
+ * evicted. The text of the statement isn't parsed, nor looked up in the plan
+ * cache, while the plan is reused.
+ */
+final class MemberSqlPreparedStatement extends SqlPreparedStatementImpl {
+
+    private final SqlServiceImpl service;
+    private final PlanKey planKey;
+
+    private volatile SqlPlan plan;
+
+    MemberSqlPreparedStatement(SqlServiceImpl service, SqlStatement statement, PlanKey planKey) {
+        super(statement);
+        this.service = service;
+        this.planKey = planKey;
+    }
+
+    MemberSqlPreparedStatement(SqlServiceImpl service, SqlPreparedStatement statement, PlanKey planKey) {
+        super(statement);
+        this.service = service;
+        this.planKey = planKey;
+    }
+
+    /**
+     * @return {@code true} if the statement was prepared by the given service
+     */
+    boolean isPreparedBy(SqlServiceImpl service) {
+        return this.service == service;
+    }
+
+    PlanKey getPlanKey() {
+        return planKey;
+    }
+
+    /**
+     * Returns the plan to reuse, or {@code null}, if the plan must be looked
+     * up in the plan cache, or created.
+     */
+    SqlPlan getPlan() {
+        SqlPlan plan = this.plan;
+
+        return plan == null || plan.isRemovedFromCache() ? null : plan;
+    }
+
+    void setPlan(SqlPlan plan) {
+        // the plans which aren't cached aren't checked for validity, they can't be reused
+        this.plan = plan.isCacheable() ? plan : null;
+    }
+}
@@ -58,6 +58,8 @@ public final class QueryUtils {
 
     // This is an arbitrarily-chosen prefix so that data connection names don't clash with other object names
     private static final String DATA_CONNECTION_KEY_PREFIX = "57ae1d3a-d379-44cb-bb60-86b1d2dcd744-";
+    // An arbitrarily-chosen prefix so that statistics of a mapping don't clash with the mapping itself
+    private static final String STATISTICS_KEY_PREFIX = "4f0c2b9e-65d1-4d0a-9a43-3b5c1f8e7d21-";
 
     private QueryUtils() {
         // No-op.
@@ -71,6 +73,14 @@ public final class QueryUtils {
         return DATA_CONNECTION_KEY_PREFIX + dataConnectionKey;
     }
 
+    /**
+     * Returns the key under which the statistics of the given mapping are
+     * stored in the SQL catalog.
+     */
+    public static String wrapStatisticsKey(String mappingName) {
+        return STATISTICS_KEY_PREFIX + mappingName;
+    }
+
     /**
      * Convert internal column type to a public type.
      *
@@ -24,6 +24,7 @@ import com.hazelcast.jet.sql.impl.CalciteSqlOptimizer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.sql.SqlPreparedStatement;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlStatement;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
@@ -185,32 +186,16 @@ public class SqlServiceImpl implements InternalSqlService {
         }
 
         try {
-            if (nodeEngine.getLocalMember().isLiteMember()) {
-                throw QueryException.error("SQL queries cannot be executed on lite members");
-            }
-
-            Util.checkJetIsEnabled(nodeEngine);
-
-            long timeout = statement.getTimeoutMillis();
-
-            if (timeout == SqlStatement.TIMEOUT_NOT_SET) {
-                timeout = queryTimeout;
-            }
+            checkCanExecute();
 
             if (queryId == null) {
                 queryId = QueryId.create(nodeServiceProvider.getLocalMemberId());
             }
 
-            SqlResult sqlResult = query0(
-                    queryId,
-                    statement.getSchema(),
-                    statement.getSql(),
-                    statement.getParameters(),
-                    timeout,
-                    statement.getCursorBufferSize(),
-                    statement.getExpectedResultType(),
-                    securityContext
-            );
+            MemberSqlPreparedStatement prepared = new MemberSqlPreparedStatement(this, statement,
+                    new PlanKey(prepareSearchPaths(statement.getSchema()), statement.getSql()));
+
+            SqlResult sqlResult = query0(queryId, prepared, statement.getParameters(), securityContext);
             if (!skipStats) {
                 updateSqlStreamingQueriesExecuted(sqlResult);
             }
@@ -222,6 +207,75 @@ public class SqlServiceImpl implements InternalSqlService {
         }
     }
 
+    @Nonnull
+    @Override
+    public SqlPreparedStatement prepare(@Nonnull SqlStatement statement) {
+        Preconditions.checkNotNull(statement, "Query cannot be null");
+
+        try {
+            Util.checkJetIsEnabled(nodeEngine);
+
+            return new MemberSqlPreparedStatement(this, statement,
+                    new PlanKey(prepareSearchPaths(statement.getSchema()), statement.getSql()));
+        } catch (Exception e) {
+            throw CoreQueryUtils.toPublicException(e, nodeServiceProvider.getLocalMemberId());
+        }
+    }
+
+    @Nonnull
+    @Override
+    public SqlResult execute(@Nonnull SqlPreparedStatement statement, Object... arguments) {
+        List<Object> parameters = arguments != null ? asList(arguments) : Collections.emptyList();
+
+        return execute(statement, parameters, NoOpSqlSecurityContext.INSTANCE);
+    }
+
+    /**
+     * Executes the prepared statement with the given parameters. The plan of
+     * the previous execution is reused, if it's still valid.
+     */
+    public SqlResult execute(
+            @Nonnull SqlPreparedStatement statement,
+            @Nonnull List<Object> parameters,
+            SqlSecurityContext securityContext
+    ) {
+        Preconditions.checkNotNull(statement, "Query cannot be null");
+        Preconditions.checkNotNull(parameters, "Parameters cannot be null");
+
+        sqlQueriesSubmitted.inc();
+
+        try {
+            checkCanExecute();
+
+            MemberSqlPreparedStatement prepared;
+            if (statement instanceof MemberSqlPreparedStatement
+                    && ((MemberSqlPreparedStatement) statement).isPreparedBy(this)) {
+                prepared = (MemberSqlPreparedStatement) statement;
+            } else {
+                // prepared by another member, or by a default implementation
+                prepared = new MemberSqlPreparedStatement(this, statement,
+                        new PlanKey(prepareSearchPaths(statement.getSchema()), statement.getSql()));
+            }
+
+            QueryId queryId = QueryId.create(nodeServiceProvider.getLocalMemberId());
+            SqlResult sqlResult = query0(queryId, prepared, parameters, securityContext);
+            updateSqlStreamingQueriesExecuted(sqlResult);
+            return sqlResult;
+        } catch (AccessControlException e) {
+            throw e;
+        } catch (Exception e) {
+            throw CoreQueryUtils.toPublicException(e, nodeServiceProvider.getLocalMemberId());
+        }
+    }
+
+    private void checkCanExecute() {
+        if (nodeEngine.getLocalMember().isLiteMember()) {
+            throw QueryException.error("SQL queries cannot be executed on lite members");
+        }
+
+        Util.checkJetIsEnabled(nodeEngine);
+    }
+
     private void updateSqlStreamingQueriesExecuted(SqlResult sqlResult) {
         if (sqlResult instanceof AbstractSqlResult) {
             if (((AbstractSqlResult) sqlResult).isInfiniteRows()) {
@@ -232,31 +286,45 @@ public class SqlServiceImpl implements InternalSqlService {
 
     private SqlResult query0(
             QueryId queryId,
-            String schema,
-            String sql,
+            MemberSqlPreparedStatement statement,
             List<Object> args,
-            long timeout,
-            int pageSize,
-            SqlExpectedResultType expectedResultType,
             SqlSecurityContext securityContext
     ) {
         // Validate and normalize
+        String sql = statement.getSql();
+
         if (sql == null || sql.isEmpty()) {
             throw QueryException.error("SQL statement cannot be empty.");
         }
 
         List<Object> args0 = new ArrayList<>(args);
 
+        long timeout = statement.getTimeoutMillis();
+
+        if (timeout == SqlStatement.TIMEOUT_NOT_SET) {
+            timeout = queryTimeout;
+        }
+
         if (timeout < 0) {
             throw QueryException.error("Timeout cannot be negative: " + timeout);
         }
 
+        int pageSize = statement.getCursorBufferSize();
+
         if (pageSize <= 0) {
             throw QueryException.error("Page size must be positive: " + pageSize);
         }
 
         // Prepare and execute
-        SqlPlan plan = prepare(schema, sql, args0, expectedResultType, securityContext);
+        SqlPlan plan = statement.getPlan();
+
+        if (plan != null) {
+            plan.onPlanUsed();
+            checkReturnType(plan, statement.getExpectedResultType());
+        } else {
+            plan = prepare(statement.getPlanKey(), sql, args0, statement.getExpectedResultType(), securityContext);
+            statement.setPlan(plan);
+        }
 
         if (securityContext.isSecurityEnabled()) {
             plan.checkPermissions(securityContext);
@@ -272,12 +340,19 @@ public class SqlServiceImpl implements InternalSqlService {
             List<Object> args,
             SqlExpectedResultType expectedResultType,
             SqlSecurityContext ssc) {
-        List<List<String>> searchPaths = prepareSearchPaths(schema);
-        PlanKey planKey = new PlanKey(searchPaths, sql);
+        return prepare(new PlanKey(prepareSearchPaths(schema), sql), sql, args, expectedResultType, ssc);
+    }
+
+    private SqlPlan prepare(
+            PlanKey planKey,
+            String sql,
+            List<Object> args,
+            SqlExpectedResultType expectedResultType,
+            SqlSecurityContext ssc) {
         SqlPlan plan = planCache.get(planKey);
         if (plan == null) {
             SqlCatalog catalog = new SqlCatalog(optimizer.tableResolvers());
-            plan = optimizer.prepare(new OptimizationTask(sql, args, searchPaths, catalog, ssc));
+            plan = optimizer.prepare(new OptimizationTask(sql, args, planKey.getSearchPaths(), catalog, ssc));
             if (plan.isCacheable()) {
                 planCache.put(planKey, plan);
             }
@@ -81,6 +81,18 @@ public class CaseExpression<T> implements Expression<T> {
         return new CaseExpression<>(whenExpressions, thenExpressions, operands[operands.length - 1]);
     }
 
+    public Expression<Boolean>[] getWhenExpressions() {
+        return whenExpressions;
+    }
+
+    public Expression<?>[] getThenExpressions() {
+        return thenExpressions;
+    }
+
+    public Expression<?> getElseExpression() {
+        return elseExpression;
+    }
+
     @Override
     public int getClassId() {
         return JetSqlSerializerHook.EXPRESSION_CASE;
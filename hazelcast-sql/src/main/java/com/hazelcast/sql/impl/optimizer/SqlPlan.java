@@ -33,6 +33,9 @@ public abstract class SqlPlan {
     /** Time when the plan was used for the last time. */
     private volatile long planLastUsed;
 
+    /** Whether the plan was removed from the plan cache, after which its validity isn't checked anymore. */
+    private volatile boolean removedFromCache;
+
     protected SqlPlan(PlanKey planKey) {
         this.planKey = planKey;
     }
@@ -49,6 +52,18 @@ public abstract class SqlPlan {
         return planLastUsed;
     }
 
+    public void onPlanRemovedFromCache() {
+        removedFromCache = true;
+    }
+
+    /**
+     * @return {@code true} if the plan was invalidated or evicted from the plan
+     * cache, and must not be reused without looking it up again
+     */
+    public boolean isRemovedFromCache() {
+        return removedFromCache;
+    }
+
     /**
      * @return {@code true} if the plan is eligible for caching, {@code false} otherwise
      */
@@ -52,7 +52,11 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     public void put(PlanKey key, SqlPlan plan) {
         plan.onPlanUsed();
 
-        plans.put(key, plan);
+        SqlPlan replaced = plans.put(key, plan);
+
+        if (replaced != null && replaced != plan) {
+            replaced.onPlanRemovedFromCache();
+        }
 
         shrinkIfNeeded();
     }
@@ -62,7 +66,10 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     }
 
     public void clear() {
-        plans.clear();
+        plans.values().removeIf(plan -> {
+            plan.onPlanRemovedFromCache();
+            return true;
+        });
     }
 
     public int size() {
@@ -70,7 +77,14 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     }
 
     public void check(PlanCheckContext context) {
-        plans.values().removeIf(plan -> !plan.isPlanValid(context));
+        plans.values().removeIf(plan -> {
+            if (plan.isPlanValid(context)) {
+                return false;
+            }
+
+            plan.onPlanRemovedFromCache();
+            return true;
+        });
     }
 
     private void shrinkIfNeeded() {
@@ -105,7 +119,13 @@ public class PlanCache implements CachedPlanInvalidationCallback {
      * @param plan Plan.
      */
     private boolean remove(SqlPlan plan) {
-        return plans.remove(plan.getPlanKey(), plan);
+        boolean removed = plans.remove(plan.getPlanKey(), plan);
+
+        if (removed) {
+            plan.onPlanRemovedFromCache();
+        }
+
+        return removed;
     }
 
     /**
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Table statistics with the column statistics collected by the {@code
+ * ANALYZE} statement. The row count is taken from the original statistics
+ * because it's cheap to estimate and more up-to-date.
+ */
+public class AnalyzedTableStatistics implements TableStatistics {
+
+    private final long rowCount;
+    private final long analyzedAt;
+    private final ColumnStatistics[] columns;
+
+    public AnalyzedTableStatistics(
+            @Nonnull TableStatistics original,
+            @Nonnull MappingStatistics statistics,
+            @Nonnull List<TableField> fields
+    ) {
+        this.rowCount = original.getRowCount();
+        this.analyzedAt = statistics.analyzedAt();
+        this.columns = new ColumnStatistics[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = statistics.column(fields.get(i).getName());
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Nullable
+    @Override
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return fieldIndex >= 0 && fieldIndex < columns.length ? columns[fieldIndex] : null;
+    }
+
+    @Override
+    public long getAnalyzedAt() {
+        return analyzedAt;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Statistics of a single column, collected by the {@code ANALYZE} statement
+ * from a sample of the rows.
+ * <p>
+ * The histogram is equi-depth: its {@code n + 1} bounds split the non-null
+ * values into {@code n} buckets with about the same number of values. The
+ * first bound is the minimum and the last bound is the maximum. The min,
+ * max and the histogram are present only if the values are comparable with
+ * each other.
+ */
+public class ColumnStatistics implements IdentifiedDataSerializable {
+
+    private static final double UNKNOWN_POSITION = 0.5d;
+
+    private double nullFraction;
+    private double distinctCount;
+    private Object min;
+    private Object max;
+    private Object[] histogram;
+
+    public ColumnStatistics() {
+    }
+
+    public ColumnStatistics(
+            double nullFraction,
+            double distinctCount,
+            @Nullable Object min,
+            @Nullable Object max,
+            @Nullable Object[] histogram
+    ) {
+        this.nullFraction = nullFraction;
+        this.distinctCount = distinctCount;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns the fraction of rows in which the column is NULL.
+     */
+    public double getNullFraction() {
+        return nullFraction;
+    }
+
+    /**
+     * Returns the estimated number of distinct non-null values in the table.
+     */
+    public double getDistinctCount() {
+        return distinctCount;
+    }
+
+    @Nullable
+    public Object getMin() {
+        return min;
+    }
+
+    @Nullable
+    public Object getMax() {
+        return max;
+    }
+
+    @Nullable
+    public Object[] getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the estimated fraction of rows in which the column is equal to
+     * the given value. The non-null values are assumed to be uniformly
+     * distributed, except that a value outside of the min-max range matches
+     * no rows.
+     */
+    public double equalsSelectivity(@Nullable Object value) {
+        if (value != null && min != null && isComparable(value, min)
+                && (compare(value, min) < 0 || compare(value, max) > 0)) {
+            return 0d;
+        }
+        return (1d - nullFraction) / Math.max(1d, distinctCount);
+    }
+
+    /**
+     * Returns the estimated fraction of rows in which the column is less than
+     * the given value, or {@code NaN}, if the value can't be compared with the
+     * values of the column.
+     */
+    public double lessThanSelectivity(@Nonnull Object value) {
+        if (min == null || !isComparable(value, min)) {
+            return Double.NaN;
+        }
+        double fraction = histogram != null && histogram.length > 1
+                ? histogramFraction(value)
+                : interpolate(value, min, max);
+        return fraction * (1d - nullFraction);
+    }
+
+    private double histogramFraction(Object value) {
+        int bucketCount = histogram.length - 1;
+        if (compare(value, histogram[0]) <= 0) {
+            return 0d;
+        }
+        if (compare(value, histogram[bucketCount]) > 0) {
+            return 1d;
+        }
+        // find the last bound less than the value, the value is in the bucket starting with it
+        int low = 0;
+        int high = bucketCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (compare(histogram[mid], value) < 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return (low + interpolate(value, histogram[low], histogram[low + 1])) / bucketCount;
+    }
+
+    /**
+     * Returns the position of the value in the {@code [low, high]} range, from
+     * 0 to 1. Numbers are interpolated linearly, for other types the middle of
+     * the range is assumed.
+     */
+    private static double interpolate(Object value, Object low, Object high) {
+        if (compare(value, low) <= 0) {
+            return 0d;
+        }
+        if (compare(value, high) >= 0) {
+            return 1d;
+        }
+        if (value instanceof Number && low instanceof Number && high instanceof Number) {
+            double lowValue = ((Number) low).doubleValue();
+            double range = ((Number) high).doubleValue() - lowValue;
+            return range > 0 ? (((Number) value).doubleValue() - lowValue) / range : UNKNOWN_POSITION;
+        }
+        return UNKNOWN_POSITION;
+    }
+
+    /**
+     * Returns whether the two values can be compared with {@link #compare}.
+     */
+    public static boolean isComparable(@Nonnull Object a, @Nonnull Object b) {
+        return a instanceof Number && b instanceof Number
+                || a instanceof Comparable && a.getClass() == b.getClass();
+    }
+
+    /**
+     * Compares two values for which {@link #isComparable} returns true.
+     * Numbers of different types are compared as doubles.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compare(@Nonnull Object a, @Nonnull Object b) {
+        if (a.getClass() != b.getClass()) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeDouble(nullFraction);
+        out.writeDouble(distinctCount);
+        out.writeObject(min);
+        out.writeObject(max);
+        if (histogram == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(histogram.length);
+            for (Object bound : histogram) {
+                out.writeObject(bound);
+            }
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        nullFraction = in.readDouble();
+        distinctCount = in.readDouble();
+        min = in.readObject();
+        max = in.readObject();
+        int length = in.readInt();
+        if (length >= 0) {
+            histogram = new Object[length];
+            for (int i = 0; i < length; i++) {
+                histogram[i] = in.readObject();
+            }
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return JetSqlSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return JetSqlSerializerHook.COLUMN_STATISTICS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ColumnStatistics that = (ColumnStatistics) o;
+        return Double.compare(nullFraction, that.nullFraction) == 0
+                && Double.compare(distinctCount, that.distinctCount) == 0
+                && Objects.equals(min, that.min)
+                && Objects.equals(max, that.max)
+                && Arrays.equals(histogram, that.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(nullFraction, distinctCount, min, max);
+        result = 31 * result + Arrays.hashCode(histogram);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStatistics{"
+                + "nullFraction=" + nullFraction
+                + ", distinctCount=" + distinctCount
+                + ", min=" + min
+                + ", max=" + max
+                + ", histogramBuckets=" + (histogram == null ? 0 : histogram.length - 1)
+                + '}';
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The value in the catalog map for the statistics of a mapping, collected
+ * by the {@code ANALYZE} statement.
+ */
+public class MappingStatistics implements IdentifiedDataSerializable {
+
+    private String mappingName;
+    private long analyzedAt;
+    private long rowCount;
+    private int sampleSize;
+    private Map<String, ColumnStatistics> columns;
+
+    public MappingStatistics() {
+    }
+
+    public MappingStatistics(
+            @Nonnull String mappingName,
+            long analyzedAt,
+            long rowCount,
+            int sampleSize,
+            @Nonnull Map<String, ColumnStatistics> columns
+    ) {
+        this.mappingName = mappingName;
+        this.analyzedAt = analyzedAt;
+        this.rowCount = rowCount;
+        this.sampleSize = sampleSize;
+        this.columns = columns;
+    }
+
+    @Nonnull
+    public String mappingName() {
+        return mappingName;
+    }
+
+    /**
+     * Returns the time in milliseconds when the statistics were collected.
+     */
+    public long analyzedAt() {
+        return analyzedAt;
+    }
+
+    /**
+     * Returns the number of rows at the time of analysis.
+     */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of rows from which the column statistics were
+     * computed.
+     */
+    public int sampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Returns the column statistics by column name.
+     */
+    @Nonnull
+    public Map<String, ColumnStatistics> columns() {
+        return columns;
+    }
+
+    @Nullable
+    public ColumnStatistics column(String name) {
+        return columns.get(name);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(mappingName);
+        out.writeLong(analyzedAt);
+        out.writeLong(rowCount);
+        out.writeInt(sampleSize);
+        out.writeInt(columns.size());
+        for (Map.Entry<String, ColumnStatistics> entry : columns.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        mappingName = in.readString();
+        analyzedAt = in.readLong();
+        rowCount = in.readLong();
+        sampleSize = in.readInt();
+        int size = in.readInt();
+        columns = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            columns.put(in.readString(), in.readObject());
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return JetSqlSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return JetSqlSerializerHook.MAPPING_STATISTICS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MappingStatistics that = (MappingStatistics) o;
+        return analyzedAt == that.analyzedAt
+                && rowCount == that.rowCount
+                && sampleSize == that.sampleSize
+                && mappingName.equals(that.mappingName)
+                && columns.equals(that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mappingName, analyzedAt, rowCount, sampleSize, columns);
+    }
+
+    @Override
+    public String toString() {
+        return "MappingStatistics{"
+                + "mappingName=" + mappingName
+                + ", analyzedAt=" + analyzedAt
+                + ", rowCount=" + rowCount
+                + ", sampleSize=" + sampleSize
+                + ", columns=" + columns
+                + '}';
+    }
+}
@@ -31,7 +31,7 @@ public abstract class Table {
     private final String schemaName;
     private final String sqlName;
     private List<TableField> fields;
-    private final TableStatistics statistics;
+    private TableStatistics statistics;
 
     private Set<String> conflictingSchemas;
     private final String objectType;
@@ -100,6 +100,10 @@ public abstract class Table {
         return statistics;
     }
 
+    public void setStatistics(TableStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     public abstract PlanObjectKey getObjectKey();
 
     public Set<String> getConflictingSchemas() {
@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.schema;
 
+import javax.annotation.Nullable;
+
 /**
  * Statistics for the table. Must not invoke any distributed operations.
  */
@@ -28,4 +30,25 @@ public interface TableStatistics {
      * @return Estimated number of rows in the table. Never negative.
      */
     long getRowCount();
+
+    /**
+     * Gets the statistics of the field with the given index, collected by the
+     * {@code ANALYZE} statement.
+     *
+     * @return Column statistics or {@code null}, if not available.
+     */
+    @Nullable
+    default ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return null;
+    }
+
+    /**
+     * Gets the time when the column statistics were collected. Plans depending
+     * on the statistics are invalidated when it changes.
+     *
+     * @return Time in milliseconds or 0, if the table wasn't analyzed.
+     */
+    default long getAnalyzedAt() {
+        return 0;
+    }
 }
@@ -92,7 +92,8 @@ public class PartitionedMapTable extends AbstractMapTable {
                 getIndexes(),
                 isHd(),
                 partitioningAttributes(),
-                supportsPartitionPruning());
+                supportsPartitionPruning(),
+                getStatistics().getAnalyzedAt());
     }
 
     public List<MapTableIndex> getIndexes() {
@@ -164,6 +165,7 @@ public class PartitionedMapTable extends AbstractMapTable {
         private final Set<String> conflictingSchemas;
         private final List<String> partitioningAttributes;
         private final boolean supportsPartitionPruning;
+        private final long analyzedAt;
 
         @SuppressWarnings("checkstyle:ParameterNumber")
         PartitionedMapPlanObjectKey(
@@ -179,7 +181,8 @@ public class PartitionedMapTable extends AbstractMapTable {
                 List<MapTableIndex> indexes,
                 boolean hd,
                 final List<String> partitioningAttributes,
-                final boolean supportsPartitionPruning) {
+                final boolean supportsPartitionPruning,
+                long analyzedAt) {
             this.schemaName = schemaName;
             this.tableName = tableName;
             this.mapName = mapName;
@@ -193,6 +196,7 @@ public class PartitionedMapTable extends AbstractMapTable {
             this.conflictingSchemas = conflictingSchemas;
             this.partitioningAttributes = partitioningAttributes;
             this.supportsPartitionPruning = supportsPartitionPruning;
+            this.analyzedAt = analyzedAt;
         }
 
         @Override
@@ -220,7 +224,8 @@ public class PartitionedMapTable extends AbstractMapTable {
                     && indexes.equals(that.indexes)
                     && conflictingSchemas.equals(that.conflictingSchemas)
                     && partitioningAttributes.equals(that.partitioningAttributes)
-                    && supportsPartitionPruning == that.supportsPartitionPruning;
+                    && supportsPartitionPruning == that.supportsPartitionPruning
+                    && analyzedAt == that.analyzedAt;
         }
 
         @Override
@@ -238,6 +243,7 @@ public class PartitionedMapTable extends AbstractMapTable {
             result = 31 * result + conflictingSchemas.hashCode();
             result = 31 * result + partitioningAttributes.hashCode();
             result = 31 * result + (supportsPartitionPruning ? 1 : 0);
+            result = 31 * result + Long.hashCode(analyzedAt);
             return result;
         }
     }
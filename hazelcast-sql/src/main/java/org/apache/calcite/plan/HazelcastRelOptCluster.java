@@ -43,6 +43,11 @@ public final class HazelcastRelOptCluster extends RelOptCluster {
      */
     private boolean requiresJob;
 
+    /**
+     * Whether the merge join of sorted inputs is preferred over the other joins
+     */
+    private boolean mergeJoinEnabled;
+
     /** SQL security context */
     private final SqlSecurityContext securityContext;
 
@@ -85,6 +90,14 @@ public final class HazelcastRelOptCluster extends RelOptCluster {
         this.requiresJob = requiresJob;
     }
 
+    public boolean isMergeJoinEnabled() {
+        return mergeJoinEnabled;
+    }
+
+    public void setMergeJoinEnabled(boolean mergeJoinEnabled) {
+        this.mergeJoinEnabled = mergeJoinEnabled;
+    }
+
     public SqlSecurityContext getSecurityContext() {
         return securityContext;
     }
@@ -31,8 +31,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.function.ThrowingRunnable;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
@@ -146,6 +148,25 @@ public class SqlClientResultTest extends SqlTestSupport {
         }
     }
 
+    @Test
+    public void when_iteratingMultiplePages_then_allRowsReturned() {
+        String name = randomName();
+        createMapping(name, int.class, int.class);
+        Map<Integer, Integer> map = instance().getMap(name);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        // each page is prefetched while the previous one is consumed
+        Set<Integer> keys = new HashSet<>();
+        try (SqlResult result = execute("SELECT __key FROM " + name)) {
+            for (SqlRow row : result) {
+                assertTrue(keys.add(row.getObject(0)));
+            }
+        }
+        assertEquals(map.keySet(), keys);
+    }
+
     private void checkSqlException(ThrowingRunnable task, int expectedCode, String expectedMessage) {
         HazelcastSqlException err = assertThrows(HazelcastSqlException.class, task);
 
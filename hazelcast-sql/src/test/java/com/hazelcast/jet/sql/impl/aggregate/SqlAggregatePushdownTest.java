@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.aggregate;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.connector.map.model.Person;
+import com.hazelcast.map.IMap;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataTypeUtils.DECIMAL_MATH_CONTEXT;
+import static java.util.Collections.singletonList;
+
+public class SqlAggregatePushdownTest extends SqlTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, null);
+    }
+
+    @Test
+    public void test_aggregate() {
+        String name = createMap();
+
+        long count = 0;
+        long sum = 0;
+        for (int i = 10; i < ENTRY_COUNT; i++) {
+            count++;
+            sum += i;
+        }
+        assertRowsAnyOrder(
+                "SELECT COUNT(*), SUM(__key), MIN(id), MAX(id), AVG(__key) FROM " + name + " WHERE __key >= 10",
+                singletonList(new Row(count, sum, 0, 6,
+                        BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), DECIMAL_MATH_CONTEXT))));
+    }
+
+    @Test
+    public void test_aggregateByKey() {
+        String name = createMap();
+
+        Map<String, long[]> expected = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (i % 7 > 0) {
+                long[] countAndSum = expected.computeIfAbsent("name-" + i % 3, k -> new long[2]);
+                countAndSum[0]++;
+                countAndSum[1] += i % 7;
+            }
+        }
+        List<Row> expectedRows = new ArrayList<>();
+        expected.forEach((key, countAndSum) -> expectedRows.add(new Row(key, countAndSum[0], countAndSum[1])));
+
+        assertRowsAnyOrder(
+                "SELECT name, COUNT(*), SUM(id) FROM " + name + " WHERE id > 0 GROUP BY name",
+                expectedRows);
+    }
+
+    @Test
+    public void test_aggregateEmpty() {
+        String name = randomName();
+        createMapping(name, Integer.class, Person.class);
+
+        assertRowsAnyOrder(
+                "SELECT COUNT(*), SUM(__key) FROM " + name,
+                singletonList(new Row(0L, null)));
+        assertRowsAnyOrder(
+                "SELECT name, COUNT(*) FROM " + name + " GROUP BY name",
+                new ArrayList<>());
+    }
+
+    private static String createMap() {
+        String name = randomName();
+        createMapping(name, Integer.class, Person.class);
+        IMap<Integer, Person> map = instance().getMap(name);
+        Map<Integer, Person> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put(i, new Person(i % 7, "name-" + i % 3));
+        }
+        map.putAll(entries);
+        return name;
+    }
+}
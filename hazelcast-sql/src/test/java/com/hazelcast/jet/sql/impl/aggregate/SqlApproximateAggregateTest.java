@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.aggregate;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.connector.map.model.Person;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class SqlApproximateAggregateTest extends SqlTestSupport {
+
+    private static final int ENTRY_COUNT = 10_000;
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, null);
+    }
+
+    @Test
+    public void test_approxCountDistinct() {
+        String name = createMap();
+
+        List<SqlRow> rows = execute("SELECT APPROX_COUNT_DISTINCT(__key), APPROX_COUNT_DISTINCT(id), "
+                + "APPROX_COUNT_DISTINCT(name) FROM " + name);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).<Long>getObject(0)).isCloseTo(ENTRY_COUNT, within(ENTRY_COUNT / 20L));
+        // null ids are not counted
+        assertThat(rows.get(0).<Long>getObject(1)).isCloseTo(ENTRY_COUNT / 2, within(ENTRY_COUNT / 40L));
+        assertThat(rows.get(0).<Long>getObject(2)).isEqualTo(3L);
+    }
+
+    @Test
+    public void test_approxPercentile() {
+        String name = createMap();
+
+        List<SqlRow> rows = execute("SELECT APPROX_PERCENTILE(__key, 0), APPROX_PERCENTILE(__key, 0.5), "
+                + "APPROX_PERCENTILE(__key, 0.9), APPROX_PERCENTILE(__key, 1), APPROX_PERCENTILE(id, 0.5) FROM " + name);
+
+        assertThat(rows).hasSize(1);
+        SqlRow row = rows.get(0);
+        assertThat(row.<Double>getObject(0)).isEqualTo(0d);
+        assertThat(row.<Double>getObject(1)).isCloseTo(ENTRY_COUNT * 0.5, within(ENTRY_COUNT * 0.5 * 0.01));
+        assertThat(row.<Double>getObject(2)).isCloseTo(ENTRY_COUNT * 0.9, within(ENTRY_COUNT * 0.9 * 0.01));
+        assertThat(row.<Double>getObject(3)).isEqualTo(ENTRY_COUNT - 1d);
+        // null ids are ignored, the median of 0, 2, 4, ... is the same as of all the keys
+        assertThat(row.<Double>getObject(4)).isCloseTo(ENTRY_COUNT * 0.5, within(ENTRY_COUNT * 0.5 * 0.01));
+    }
+
+    @Test
+    public void test_groupBy() {
+        String name = createMap();
+
+        List<SqlRow> rows = execute("SELECT name, APPROX_COUNT_DISTINCT(__key), APPROX_PERCENTILE(__key, 1) "
+                + "FROM " + name + " GROUP BY name");
+
+        assertThat(rows).hasSize(3);
+        for (SqlRow row : rows) {
+            assertThat(row.<Long>getObject(1)).isCloseTo(ENTRY_COUNT / 3, within(ENTRY_COUNT / 60L));
+            assertThat(row.<Double>getObject(2)).isGreaterThanOrEqualTo(ENTRY_COUNT - 3d);
+        }
+    }
+
+    @Test
+    public void test_empty() {
+        String name = randomName();
+        createMapping(name, Integer.class, Person.class);
+
+        assertRowsAnyOrder(
+                "SELECT APPROX_COUNT_DISTINCT(__key), APPROX_PERCENTILE(__key, 0.5) FROM " + name,
+                singletonList(new Row(0L, null)));
+    }
+
+    @Test
+    public void test_invalidPercentile() {
+        String name = randomName();
+        createMapping(name, Integer.class, Person.class);
+
+        assertThatThrownBy(() -> execute("SELECT APPROX_PERCENTILE(__key, 1.5) FROM " + name))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("must be a numeric literal from 0 to 1");
+        assertThatThrownBy(() -> execute("SELECT APPROX_PERCENTILE(__key, id) FROM " + name))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("must be a numeric literal from 0 to 1");
+        assertThatThrownBy(() -> execute("SELECT APPROX_PERCENTILE(name, 0.5) FROM " + name))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("Cannot apply 'APPROX_PERCENTILE' function");
+    }
+
+    private static List<SqlRow> execute(String sql) {
+        List<SqlRow> rows = new ArrayList<>();
+        try (SqlResult result = instance().getSql().execute(sql)) {
+            result.iterator().forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private static String createMap() {
+        String name = randomName();
+        createMapping(name, Integer.class, Person.class);
+        IMap<Integer, Person> map = instance().getMap(name);
+        Map<Integer, Person> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put(i, new Person(i % 2 == 0 ? i : null, "name-" + i % 3));
+        }
+        map.putAll(entries);
+        return name;
+    }
+}
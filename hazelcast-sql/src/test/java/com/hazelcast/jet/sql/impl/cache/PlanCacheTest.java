@@ -28,6 +28,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -129,4 +130,37 @@ public class PlanCacheTest extends PlanCacheTestSupport {
         long timestamp3 = plan.getPlanLastUsed();
         assertTrue(timestamp3 > timestamp2);
     }
+
+    @Test
+    public void testPlanRemovedFromCache() {
+        PlanCache cache = new PlanCache(1);
+
+        PlanKey key = createKey("sql");
+        SqlPlan plan1 = createPlan(key, PART_MAP_1);
+        cache.put(key, plan1);
+        assertFalse(plan1.isRemovedFromCache());
+
+        // Overwritten
+        SqlPlan plan2 = createPlan(key, PART_MAP_2);
+        cache.put(key, plan2);
+        assertTrue(plan1.isRemovedFromCache());
+        assertFalse(plan2.isRemovedFromCache());
+
+        // Evicted
+        advanceTime();
+        PlanKey otherKey = createKey("other");
+        SqlPlan plan3 = createPlan(otherKey, PART_MAP_1);
+        cache.put(otherKey, plan3);
+        assertTrue(plan2.isRemovedFromCache());
+
+        // Invalidated
+        cache.invalidate(plan3);
+        assertTrue(plan3.isRemovedFromCache());
+
+        // Cleared
+        SqlPlan plan4 = createPlan(key, PART_MAP_1);
+        cache.put(key, plan4);
+        cache.clear();
+        assertTrue(plan4.isRemovedFromCache());
+    }
 }
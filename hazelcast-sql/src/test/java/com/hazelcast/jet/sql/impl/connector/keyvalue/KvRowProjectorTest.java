@@ -20,12 +20,20 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContextImpl;
 import com.hazelcast.sql.impl.expression.math.DivideFunction;
 import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
 import com.hazelcast.sql.impl.extract.GenericQueryTarget;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
@@ -40,8 +48,14 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
 import static com.hazelcast.jet.sql.SqlTestSupport.jetRow;
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
 import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
 import static com.hazelcast.sql.impl.type.QueryDataType.INT;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -112,6 +126,90 @@ public class KvRowProjectorTest {
         assertThat(row).isNull();
     }
 
+    @Test
+    public void test_projectBatch() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        Expression<?> key = ColumnExpression.create(0, INT);
+        Expression<?> value = ColumnExpression.create(1, INT);
+        KvRowProjector projector = new KvRowProjector(
+                new QueryPath[]{QueryPath.KEY_PATH, QueryPath.VALUE_PATH},
+                new QueryDataType[]{INT, INT},
+                new GenericQueryTarget(serializationService, null, true),
+                new GenericQueryTarget(serializationService, null, false),
+                AndPredicate.create(
+                        ComparisonPredicate.create(key, ConstantExpression.create(2, INT), ComparisonMode.GREATER_THAN),
+                        // not vectorized, evaluated for each row selected by the vectorized part
+                        ComparisonPredicate.create(
+                                MultiplyFunction.create(value, ConstantExpression.create(2, INT), INT),
+                                ConstantExpression.create(10, INT),
+                                ComparisonMode.LESS_THAN)
+                ),
+                asList(key, value),
+                SqlTestSupport.createExpressionEvalContext()
+        );
+
+        Data[] keys = new Data[10];
+        Data[] values = new Data[10];
+        for (int i = 0; i < 10; i++) {
+            keys[i] = serializationService.toData(i);
+            values[i] = i % 3 == 0 ? null : serializationService.toData(10 - i);
+        }
+        List<JetSqlRow> rows = new ArrayList<>();
+        projector.project(keys, values, 10, rows);
+
+        assertThat(rows).containsExactly(jetRow(7, 3), jetRow(8, 2));
+    }
+
+    @Test
+    public void test_projectBatch_compact() {
+        InternalSerializationService serializationService = createSerializationService();
+
+        Expression<?> key = ColumnExpression.create(0, INT);
+        Expression<?> a = ColumnExpression.create(1, INT);
+        Expression<?> b = ColumnExpression.create(2, BIGINT);
+        Expression<?> c = ColumnExpression.create(3, DOUBLE);
+        KvRowProjector projector = new KvRowProjector(
+                new QueryPath[]{QueryPath.KEY_PATH, new QueryPath("a", false), new QueryPath("b", false),
+                        new QueryPath("c", false)},
+                new QueryDataType[]{INT, INT, BIGINT, DOUBLE},
+                new GenericQueryTarget(serializationService, null, true),
+                new GenericQueryTarget(serializationService, Extractors.newBuilder(serializationService).build(), false),
+                AndPredicate.create(
+                        ComparisonPredicate.create(a, ConstantExpression.create(2, INT), ComparisonMode.GREATER_THAN),
+                        IsNotNullPredicate.create(b),
+                        ComparisonPredicate.create(c, ConstantExpression.create(8.0, DOUBLE), ComparisonMode.LESS_THAN)
+                ),
+                asList(key, a, b, c),
+                new ExpressionEvalContextImpl(emptyList(), serializationService, mock(NodeEngine.class))
+        );
+
+        Data[] keys = new Data[10];
+        Data[] values = new Data[10];
+        for (int i = 0; i < 10; i++) {
+            keys[i] = serializationService.toData(i);
+            values[i] = serializationService.toData(GenericRecordBuilder.compact("type")
+                    .setInt32("a", i)
+                    .setNullableInt64("b", i % 3 == 0 ? null : (long) i)
+                    .setFloat64("c", i)
+                    .build());
+        }
+        List<JetSqlRow> rows = new ArrayList<>();
+        projector.project(keys, values, 10, rows);
+
+        assertThat(rows).containsExactly(jetRow(4, 4, 4L, 4.0), jetRow(5, 5, 5L, 5.0), jetRow(7, 7, 7L, 7.0));
+
+        // a value with another schema, which doesn't have b, is read row by row
+        values[5] = serializationService.toData(GenericRecordBuilder.compact("type")
+                .setInt32("a", 5)
+                .setFloat64("c", 5)
+                .build());
+        rows.clear();
+        projector.project(keys, values, 10, rows);
+
+        assertThat(rows).containsExactly(jetRow(4, 4, 4L, 4.0), jetRow(7, 7, 7L, 7.0));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void test_supplierSerialization() {
@@ -135,6 +135,26 @@ public class JoinByEquiJoinProcessorTest extends SqlTestSupport {
                 asList(jetRow(1, null), jetRow(2, null)));
     }
 
+    @Test
+    public void test_innerJoinBatch() {
+        map.put(1, "value-1");
+        map.put(2, "value-2");
+        map.put(3, "value-3");
+        runTest(INNER, TRUE_PREDICATE, PROJECTION, TRUE_PREDICATE,
+                asList(jetRow(2), jetRow(4), jetRow((Object) null), jetRow(1), jetRow(2)),
+                asList(jetRow(2, "value-2"), jetRow(1, "value-1"), jetRow(2, "value-2")));
+    }
+
+    @Test
+    public void test_outerJoinBatch() {
+        map.put(1, "value-1");
+        map.put(2, "value-2");
+        runTest(LEFT, TRUE_PREDICATE, PROJECTION, TRUE_PREDICATE,
+                asList(jetRow(2), jetRow(4), jetRow((Object) null), jetRow(1), jetRow(2)),
+                asList(jetRow(2, "value-2"), jetRow(4, null), jetRow(null, null), jetRow(1, "value-1"),
+                        jetRow(2, "value-2")));
+    }
+
     private void runTest(
             JoinRelType joinType,
             Expression<Boolean> rowProjectorCondition,
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapStatisticsCollectorTest {
+
+    @Test
+    public void test_columnStatistics_numbers() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            values.add(100 - i);
+        }
+        values.add(null);
+
+        ColumnStatistics statistics = MapStatisticsCollector.columnStatistics(values, values.size(), 4);
+
+        assertEquals(1d / 102, statistics.getNullFraction(), 1e-9);
+        assertEquals(101d, statistics.getDistinctCount(), 0d);
+        assertEquals(0, statistics.getMin());
+        assertEquals(100, statistics.getMax());
+        assertThat(statistics.getHistogram()).containsExactly(0, 25, 50, 75, 100);
+    }
+
+    @Test
+    public void test_columnStatistics_notComparable() {
+        ColumnStatistics statistics = MapStatisticsCollector.columnStatistics(asList(1, "a", 2, "b"), 4, 4);
+
+        assertEquals(0d, statistics.getNullFraction(), 0d);
+        assertEquals(4d, statistics.getDistinctCount(), 0d);
+        assertNull(statistics.getMin());
+        assertNull(statistics.getHistogram());
+    }
+
+    @Test
+    public void test_columnStatistics_onlyNulls() {
+        ColumnStatistics statistics = MapStatisticsCollector.columnStatistics(asList(null, null), 2, 4);
+
+        assertEquals(1d, statistics.getNullFraction(), 0d);
+        assertEquals(0d, statistics.getDistinctCount(), 0d);
+        assertNull(statistics.getMin());
+    }
+
+    @Test
+    public void test_estimateDistinctCount_completeSample() {
+        Map<Object, Integer> frequencies = new HashMap<>();
+        frequencies.put(1, 1);
+        frequencies.put(2, 3);
+
+        assertEquals(2d, MapStatisticsCollector.estimateDistinctCount(4, frequencies, 4), 0d);
+    }
+
+    @Test
+    public void test_estimateDistinctCount_uniqueValues() {
+        Map<Object, Integer> frequencies = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            frequencies.put(i, 1);
+        }
+
+        // all values in the sample are unique, the column is likely unique
+        assertEquals(10_000d, MapStatisticsCollector.estimateDistinctCount(100, frequencies, 10_000), 1e-6);
+    }
+
+    @Test
+    public void test_estimateDistinctCount_repeatedValues() {
+        Map<Object, Integer> frequencies = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            frequencies.put(i, 10);
+        }
+
+        // no value occurs once in the sample, all values were likely seen
+        assertEquals(10d, MapStatisticsCollector.estimateDistinctCount(100, frequencies, 10_000), 0d);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.connector.test.TestBatchSqlConnector;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlService;
+import com.hazelcast.sql.impl.optimizer.SqlPlan;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.jet.impl.JetServiceBackend.SQL_CATALOG_MAP_NAME;
+import static com.hazelcast.sql.impl.QueryUtils.wrapStatisticsKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SqlAnalyzeTest extends SqlTestSupport {
+
+    private static SqlService sqlService;
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, null);
+        sqlService = instance().getSql();
+    }
+
+    @Test
+    public void test_analyze() {
+        String name = randomName();
+        createMapping(name, Integer.class, String.class);
+        Map<Integer, String> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put(i, "value-" + i % 20);
+        }
+        instance().getMap(name).putAll(entries);
+
+        try (SqlResult result = sqlService.execute("ANALYZE " + name)) {
+            assertThat(result.updateCount()).isZero();
+        }
+
+        MappingStatistics statistics = statistics(name);
+        assertThat(statistics).isNotNull();
+        assertThat(statistics.rowCount()).isEqualTo(1000);
+        assertThat(statistics.sampleSize()).isEqualTo(1000);
+        assertThat(statistics.columns()).containsOnlyKeys("__key", "this");
+
+        ColumnStatistics key = statistics.column("__key");
+        assertThat(key.getNullFraction()).isZero();
+        assertThat(key.getDistinctCount()).isEqualTo(1000);
+        assertThat(key.getMin()).isEqualTo(0);
+        assertThat(key.getMax()).isEqualTo(999);
+        assertThat(key.getHistogram()).hasSize(33);
+
+        ColumnStatistics value = statistics.column("this");
+        assertThat(value.getNullFraction()).isZero();
+        assertThat(value.getDistinctCount()).isEqualTo(20);
+        assertThat(value.getMin()).isEqualTo("value-0");
+    }
+
+    @Test
+    public void test_analyzeWithOptions() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+        IMap<Integer, Integer> map = instance().getMap(name);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        sqlService.execute("ANALYZE MAPPING " + name + " OPTIONS ('sampleSize'='100', 'histogramBuckets'='4')");
+
+        MappingStatistics statistics = statistics(name);
+        assertThat(statistics.rowCount()).isEqualTo(1000);
+        assertThat(statistics.sampleSize()).isEqualTo(100);
+        assertThat(statistics.column("this").getHistogram()).hasSize(5);
+        // all values in the sample are unique
+        assertThat(statistics.column("this").getDistinctCount()).isEqualTo(1000);
+    }
+
+    @Test
+    public void test_queriesUseStatistics() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+        IMap<Integer, Integer> map = instance().getMap(name);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i % 10);
+        }
+        sqlService.execute("SELECT * FROM " + name + " WHERE this = 1").close();
+        assertThat(planCache(instance()).size()).isEqualTo(1);
+        SqlPlan plan = planCache(instance()).getPlans().values().iterator().next();
+
+        sqlService.execute("ANALYZE " + name);
+
+        // the plan is replaced after the statistics change
+        assertTrueEventually(() -> {
+            sqlService.execute("SELECT * FROM " + name + " WHERE this = 1").close();
+            assertThat(planCache(instance()).getPlans().values()).hasSize(1).doesNotContain(plan);
+        });
+        assertRowsAnyOrder("SELECT __key FROM " + name + " WHERE this = 1 AND __key < 30",
+                rows(1, 1, 11, 21));
+    }
+
+    @Test
+    public void test_dropMappingRemovesStatistics() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+        sqlService.execute("ANALYZE " + name);
+        assertThat(statistics(name)).isNotNull();
+
+        sqlService.execute("DROP MAPPING " + name);
+
+        assertThat(statistics(name)).isNull();
+    }
+
+    @Test
+    public void test_replaceMappingRemovesStatistics() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+        sqlService.execute("ANALYZE " + name);
+
+        createMapping(name, Integer.class, String.class);
+
+        assertThat(statistics(name)).isNull();
+    }
+
+    @Test
+    public void when_mappingDoesNotExist_then_fail() {
+        assertThatThrownBy(() -> sqlService.execute("ANALYZE non_existing"))
+                .hasMessageContaining("Mapping does not exist: non_existing");
+    }
+
+    @Test
+    public void when_notIMapMapping_then_fail() {
+        String name = randomName();
+        TestBatchSqlConnector.create(sqlService, name, 3);
+
+        assertThatThrownBy(() -> sqlService.execute("ANALYZE " + name))
+                .hasMessageContaining("ANALYZE is supported only for IMap mappings");
+    }
+
+    @Test
+    public void when_unknownOption_then_fail() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+
+        assertThatThrownBy(() -> sqlService.execute("ANALYZE " + name + " OPTIONS ('foo'='1')"))
+                .hasMessageContaining("Unknown ANALYZE option: foo");
+    }
+
+    @Test
+    public void when_invalidSampleSize_then_fail() {
+        String name = randomName();
+        createMapping(name, Integer.class, Integer.class);
+
+        assertThatThrownBy(() -> sqlService.execute("ANALYZE " + name + " OPTIONS ('sampleSize'='0')"))
+                .hasMessageContaining("Invalid value for sampleSize: 0, must be a positive integer");
+    }
+
+    private static MappingStatistics statistics(String name) {
+        return (MappingStatistics) instance().getMap(SQL_CATALOG_MAP_NAME).get(wrapStatisticsKey(name));
+    }
+}
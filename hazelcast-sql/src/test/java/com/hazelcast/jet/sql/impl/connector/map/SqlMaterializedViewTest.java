@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.core.JobStatus;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.connector.map.model.Person;
+import com.hazelcast.map.IMap;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.security.permission.SqlPermission;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.security.SqlSecurityContext;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import javax.security.auth.Subject;
+import java.math.BigDecimal;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.security.permission.ActionConstants.ACTION_CREATE;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_CREATE_VIEW;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_DESTROY;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_DROP_VIEW;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_PUT;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
+import static com.hazelcast.security.permission.ActionConstants.ACTION_REMOVE;
+import static com.hazelcast.sql.impl.type.QueryDataTypeUtils.DECIMAL_MATH_CONTEXT;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SqlMaterializedViewTest extends SqlTestSupport {
+
+    private String sourceName;
+    private String viewName;
+    private IMap<Integer, Person> source;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Config config = smallInstanceConfig();
+        config.addMapConfig(new MapConfig("journaled_*"));
+        config.getMapConfig("journaled_*").getEventJournalConfig().setEnabled(true);
+        initialize(2, config);
+    }
+
+    @Before
+    public void setUp() {
+        sourceName = "journaled_" + randomName();
+        viewName = randomName();
+        createMapping(sourceName, Integer.class, Person.class);
+        source = instance().getMap(sourceName);
+        for (int i = 0; i < 100; i++) {
+            source.put(i, new Person(i, "name-" + i % 3));
+        }
+    }
+
+    @Test
+    public void test_initialResultAndIncrementalChanges() {
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt, SUM(id) AS total, AVG(id) AS average FROM " + sourceName
+                + " WHERE id >= 10 GROUP BY name");
+        String sql = "SELECT name, cnt, total, average FROM " + viewName;
+        assertTrueEventually(() -> assertRowsAnyOrder(sql, asList(
+                new Row("name-0", 30L, 1665L, new BigDecimal("55.5")),
+                new Row("name-1", 30L, 1605L, new BigDecimal("53.5")),
+                new Row("name-2", 30L, 1635L, new BigDecimal("54.5"))
+        )));
+
+        // moved between the groups, filtered out, added and removed
+        source.put(10, new Person(10, "name-2"));
+        source.put(11, new Person(5, "name-2"));
+        source.put(100, new Person(100, "name-3"));
+        for (int i = 12; i < 100; i += 3) {
+            source.remove(i);
+        }
+        assertTrueEventually(() -> assertRowsAnyOrder(sql, asList(
+                new Row("name-1", 29L, 1595L, new BigDecimal(55)),
+                new Row("name-2", 30L, 1634L, BigDecimal.valueOf(1634).divide(BigDecimal.valueOf(30), DECIMAL_MATH_CONTEXT)),
+                new Row("name-3", 1L, 100L, new BigDecimal(100))
+        )));
+    }
+
+    @Test
+    public void test_lookupByKey() {
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT COUNT(id) AS cnt, name FROM " + sourceName + " GROUP BY name");
+
+        assertTrueEventually(() -> assertRowsAnyOrder("SELECT cnt FROM " + viewName + " WHERE name = 'name-1'",
+                asList(new Row(33L))));
+        assertThat(instance().getMap(viewName).containsKey("name-1")).isTrue();
+    }
+
+    @Test
+    public void test_multipleGroupingColumns() {
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, id % 2 AS parity, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name, id % 2");
+
+        assertTrueEventually(() -> assertRowsAnyOrder(
+                "SELECT cnt FROM " + viewName + " WHERE name = 'name-0' AND parity = 0",
+                asList(new Row(17L))));
+    }
+
+    @Test
+    public void test_drop() {
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name");
+        execute("CREATE MATERIALIZED VIEW IF NOT EXISTS " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name");
+        assertThatThrownBy(() -> execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name"))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("Mapping or view already exists: " + viewName);
+
+        execute("DROP MATERIALIZED VIEW " + viewName);
+
+        assertThat(instance().getSql().execute("SHOW MAPPINGS")).noneMatch(row -> viewName.equals(row.getObject(0)));
+        assertThatThrownBy(() -> execute("DROP MATERIALIZED VIEW " + viewName))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("Materialized view does not exist: " + viewName);
+        execute("DROP MATERIALIZED VIEW IF EXISTS " + viewName);
+    }
+
+    @Test
+    public void test_drop_when_jobNotRunning_then_mappingAndMapRemoved() {
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name");
+        assertTrueEventually(() -> assertThat(instance().getMap(viewName).size()).isEqualTo(3));
+        Job job = instance().getJet().getJob(MaterializedView.jobName(viewName));
+        job.cancel();
+        assertJobStatusEventually(job, JobStatus.FAILED);
+
+        execute("DROP MATERIALIZED VIEW " + viewName);
+
+        assertThat(instance().getSql().execute("SHOW MAPPINGS")).noneMatch(row -> viewName.equals(row.getObject(0)));
+        assertThat(instance().getDistributedObjects()).noneMatch(object -> viewName.equals(object.getName()));
+        execute("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name");
+    }
+
+    @Test
+    public void test_drop_when_notView_then_fails() {
+        createMapping(viewName, Integer.class, Person.class);
+
+        assertThatThrownBy(() -> execute("DROP MATERIALIZED VIEW " + viewName))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining("Materialized view does not exist: " + viewName);
+        execute("DROP MATERIALIZED VIEW IF EXISTS " + viewName);
+        assertThat(instance().getSql().execute("SHOW MAPPINGS")).anyMatch(row -> viewName.equals(row.getObject(0)));
+    }
+
+    @Test
+    public void test_permissions() {
+        TestSqlSecurityContext createContext = new TestSqlSecurityContext();
+        sqlServiceImpl(instance()).execute(new SqlStatement("CREATE MATERIALIZED VIEW " + viewName + " AS "
+                + "SELECT name, COUNT(*) AS cnt FROM " + sourceName + " GROUP BY name"), createContext).close();
+        assertThat(createContext.permissions).contains(
+                new SqlPermission(viewName, ACTION_CREATE_VIEW),
+                new SqlPermission(viewName, ACTION_CREATE),
+                new MapPermission(sourceName, ACTION_CREATE, ACTION_READ),
+                new MapPermission(viewName, ACTION_CREATE, ACTION_PUT, ACTION_REMOVE));
+
+        TestSqlSecurityContext dropContext = new TestSqlSecurityContext();
+        sqlServiceImpl(instance()).execute(new SqlStatement("DROP MATERIALIZED VIEW " + viewName), dropContext).close();
+        assertThat(dropContext.permissions).contains(
+                new SqlPermission(viewName, ACTION_DROP_VIEW),
+                new SqlPermission(viewName, ACTION_DESTROY),
+                new MapPermission(viewName, ACTION_DESTROY));
+    }
+
+    @Test
+    public void test_unsupportedQueries() {
+        assertUnsupported("SELECT name, MIN(id) FROM " + sourceName + " GROUP BY name",
+                "Aggregate function not supported in a materialized view: MIN");
+        assertUnsupported("SELECT name, COUNT(DISTINCT id) FROM " + sourceName + " GROUP BY name",
+                "DISTINCT and FILTER are not supported in a materialized view");
+        assertUnsupported("SELECT COUNT(*) FROM " + sourceName,
+                "A materialized view requires GROUP BY");
+        assertUnsupported("SELECT COUNT(*) FROM " + sourceName + " GROUP BY name",
+                "A materialized view must select all the grouping columns");
+        assertUnsupported("SELECT name, COUNT(*) FROM " + sourceName + " GROUP BY name HAVING COUNT(*) > 1",
+                "HAVING is not supported in a materialized view");
+        assertUnsupported("SELECT name, COUNT(*) + 1 FROM " + sourceName + " GROUP BY name",
+                "A materialized view can select only the grouping columns and the aggregate functions");
+        assertUnsupported("SELECT name FROM " + sourceName,
+                "A materialized view must be a grouped aggregation of a single IMap");
+
+        String notJournaled = randomName();
+        createMapping(notJournaled, Integer.class, Person.class);
+        assertUnsupported("SELECT name, COUNT(*) FROM " + notJournaled + " GROUP BY name",
+                "The event journal of the map '" + notJournaled + "' must be enabled");
+    }
+
+    private void assertUnsupported(String query, String message) {
+        assertThatThrownBy(() -> execute("CREATE MATERIALIZED VIEW " + viewName + " AS " + query))
+                .isInstanceOf(HazelcastSqlException.class)
+                .hasMessageContaining(message);
+    }
+
+    private static void execute(String sql) {
+        instance().getSql().execute(sql).close();
+    }
+
+    private static class TestSqlSecurityContext implements SqlSecurityContext {
+
+        private final List<Permission> permissions = new ArrayList<>();
+
+        @Override
+        public boolean isSecurityEnabled() {
+            return true;
+        }
+
+        @Override
+        public void checkPermission(Permission permission) {
+            permissions.add(permission);
+        }
+
+        @Nullable
+        @Override
+        public Subject subject() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.connector.map.model.Person;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.sql.impl.opt.physical.JoinMergePhysicalRel.MERGE_JOIN_ENABLED_PROPERTY_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlMergeJoinTest extends SqlTestSupport {
+
+    private static final int ENTRY_COUNT = 500;
+
+    private String leftName;
+    private String rightName;
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, smallInstanceConfig().setProperty(MERGE_JOIN_ENABLED_PROPERTY_NAME, "true"));
+    }
+
+    @Before
+    public void setUp() {
+        // left ids: 0, 1, 2, ..., right ids: 0, 0, 3, 3, 6, 6, ..., some of them null
+        leftName = randomName();
+        createMapping(leftName, Integer.class, Person.class);
+        IMap<Integer, Person> left = instance().getMap(leftName);
+        left.addIndex(IndexType.SORTED, "id");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            left.put(i, new Person(i % 50 == 0 ? null : i, "left-" + i));
+        }
+
+        rightName = randomName();
+        createMapping(rightName, Integer.class, Person.class);
+        IMap<Integer, Person> right = instance().getMap(rightName);
+        right.addIndex(IndexType.SORTED, "id");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            right.put(i, new Person(i % 40 == 1 ? null : i / 2 * 3, "right-" + i));
+        }
+    }
+
+    @Test
+    public void test_innerJoin() {
+        String sql = "SELECT l.__key, r.__key FROM " + leftName + " l JOIN " + rightName + " r ON l.id = r.id";
+        assertMergeJoin(sql);
+
+        List<Row> expected = new ArrayList<>();
+        for (int l = 0; l < ENTRY_COUNT; l++) {
+            for (int r = 0; r < ENTRY_COUNT; r++) {
+                if (leftId(l) != null && leftId(l).equals(rightId(r))) {
+                    expected.add(new Row(l, r));
+                }
+            }
+        }
+        assertThat(expected).isNotEmpty();
+        assertRowsAnyOrder(sql, expected);
+    }
+
+    @Test
+    public void test_leftJoin_withNonEquiCondition() {
+        String sql = "SELECT l.__key, r.__key FROM " + leftName + " l LEFT JOIN " + rightName + " r "
+                + "ON l.id = r.id AND r.__key % 2 = 0";
+        assertMergeJoin(sql);
+
+        List<Row> expected = new ArrayList<>();
+        for (int l = 0; l < ENTRY_COUNT; l++) {
+            boolean matched = false;
+            for (int r = 0; r < ENTRY_COUNT; r++) {
+                if (leftId(l) != null && leftId(l).equals(rightId(r)) && r % 2 == 0) {
+                    expected.add(new Row(l, r));
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                expected.add(new Row(l, null));
+            }
+        }
+        assertRowsAnyOrder(sql, expected);
+    }
+
+    private static Integer leftId(int key) {
+        return key % 50 == 0 ? null : key;
+    }
+
+    private static Integer rightId(int key) {
+        return key % 40 == 1 ? null : key / 2 * 3;
+    }
+
+    private static void assertMergeJoin(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (SqlResult result = instance().getSql().execute("EXPLAIN " + sql)) {
+            for (SqlRow row : result) {
+                plan.append(row.<String>getObject(0)).append('\n');
+            }
+        }
+        assertThat(plan.toString()).contains("JoinMergePhysicalRel");
+    }
+}
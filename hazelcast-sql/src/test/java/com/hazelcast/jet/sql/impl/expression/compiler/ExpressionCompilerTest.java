@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.compiler;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.CaseExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.math.UnaryMinusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.string.UpperFunction;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilerTest extends SqlTestSupport {
+
+    private static final Object[][] ROWS = {
+            {1, 2L, 1.5d, true, "a"},
+            {-7, Long.MAX_VALUE, -0.0d, false, "b"},
+            {null, 3L, Double.NaN, null, null},
+            {Integer.MAX_VALUE, null, null, true, "c"},
+            {0, Long.MIN_VALUE, 1e300d, false, "d"},
+    };
+
+    private static final Expression<?> INT_COLUMN = ColumnExpression.create(0, INT);
+    private static final Expression<?> BIGINT_COLUMN = ColumnExpression.create(1, BIGINT);
+    private static final Expression<?> DOUBLE_COLUMN = ColumnExpression.create(2, DOUBLE);
+    private static final Expression<?> BOOLEAN_COLUMN = ColumnExpression.create(3, BOOLEAN);
+    private static final Expression<?> VARCHAR_COLUMN = ColumnExpression.create(4, VARCHAR);
+
+    @Test
+    public void test_arithmetic() {
+        assertSameAsInterpreted(null, asList(
+                PlusFunction.create(INT_COLUMN, ConstantExpression.create(1, INT), INT),
+                PlusFunction.create(CastExpression.create(INT_COLUMN, BIGINT), BIGINT_COLUMN, BIGINT),
+                MinusFunction.create(BIGINT_COLUMN, ConstantExpression.create(1L, BIGINT), BIGINT),
+                MultiplyFunction.create(DOUBLE_COLUMN, DOUBLE_COLUMN, DOUBLE),
+                UnaryMinusFunction.create(DOUBLE_COLUMN, DOUBLE)
+        ));
+    }
+
+    @Test
+    public void test_arithmeticOverflow() {
+        // overflows for the second row
+        assertSameAsInterpreted(null, singletonList(
+                PlusFunction.create(BIGINT_COLUMN, ConstantExpression.create(1L, BIGINT), BIGINT)));
+        // overflows for the last row
+        assertSameAsInterpreted(null, singletonList(
+                UnaryMinusFunction.create(BIGINT_COLUMN, BIGINT)));
+    }
+
+    @Test
+    public void test_comparisons() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            assertSameAsInterpreted(null, asList(
+                    ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(0, INT), mode),
+                    ComparisonPredicate.create(DOUBLE_COLUMN, ConstantExpression.create(0d, DOUBLE), mode),
+                    ComparisonPredicate.create(VARCHAR_COLUMN, ConstantExpression.create("b", VARCHAR), mode)
+            ));
+        }
+    }
+
+    @Test
+    public void test_logic() {
+        Expression<?> positive = ComparisonPredicate.create(INT_COLUMN,
+                ConstantExpression.create(0, INT), ComparisonMode.GREATER_THAN);
+        assertSameAsInterpreted(null, asList(
+                AndPredicate.create(positive, BOOLEAN_COLUMN),
+                OrPredicate.create(positive, BOOLEAN_COLUMN),
+                NotPredicate.create(BOOLEAN_COLUMN),
+                IsNullPredicate.create(BIGINT_COLUMN),
+                AndPredicate.create(BOOLEAN_COLUMN, ConstantExpression.NULL)
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test_filter() {
+        Expression<Boolean> filter = (Expression<Boolean>) OrPredicate.create(BOOLEAN_COLUMN,
+                ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(0, INT), ComparisonMode.EQUALS));
+        assertSameAsInterpreted(filter, asList(INT_COLUMN, VARCHAR_COLUMN));
+    }
+
+    @Test
+    public void test_case() {
+        assertSameAsInterpreted(null, singletonList(CaseExpression.create(new Expression<?>[]{
+                BOOLEAN_COLUMN, PlusFunction.create(BIGINT_COLUMN, ConstantExpression.create(1L, BIGINT), BIGINT),
+                IsNullPredicate.create(INT_COLUMN), ConstantExpression.create(-1L, BIGINT),
+                ConstantExpression.create(null, BIGINT)
+        })));
+    }
+
+    @Test
+    public void test_parametersAndInterpretedSubExpressions() {
+        assertSameAsInterpreted(null, asList(
+                ComparisonPredicate.create(UpperFunction.create(VARCHAR_COLUMN),
+                        ParameterExpression.create(0, VARCHAR), ComparisonMode.EQUALS),
+                PlusFunction.create(INT_COLUMN, ParameterExpression.create(1, INT), INT),
+                CastExpression.create(INT_COLUMN, VARCHAR)
+        ), "B", 10);
+    }
+
+    @Test
+    public void when_onlyColumns_then_notCompiled() {
+        assertThat(ExpressionCompiler.compile(null, asList(INT_COLUMN, VARCHAR_COLUMN))).isNull();
+        assertThat(CalcEvaluator.create(null, asList(INT_COLUMN, VARCHAR_COLUMN), true).isCompiled()).isFalse();
+    }
+
+    @Test
+    public void when_compilationDisabled_then_notCompiled() {
+        List<Expression<?>> projection = singletonList(NotPredicate.create(BOOLEAN_COLUMN));
+
+        assertThat(CalcEvaluator.create(null, projection, false).isCompiled()).isFalse();
+        assertThat(CalcEvaluator.create(null, projection, true).isCompiled()).isTrue();
+    }
+
+    @Test
+    public void test_classReusedForDifferentConstants() {
+        CompiledCalc calc1 = ExpressionCompiler.compile(null, singletonList(ComparisonPredicate.create(
+                VARCHAR_COLUMN, ConstantExpression.create("a", VARCHAR), ComparisonMode.EQUALS)));
+        CompiledCalc calc2 = ExpressionCompiler.compile(null, singletonList(ComparisonPredicate.create(
+                VARCHAR_COLUMN, ConstantExpression.create("b", VARCHAR), ComparisonMode.EQUALS)));
+
+        assertThat(calc1).isNotNull();
+        assertThat(calc2).isNotNull();
+        assertThat(calc1).isNotSameAs(calc2);
+        assertThat(calc1.getClass()).isSameAs(calc2.getClass());
+    }
+
+    @Test
+    public void test_classReusedForDifferentNumericConstants() {
+        List<Expression<?>> projection1 = asList(
+                PlusFunction.create(INT_COLUMN, ConstantExpression.create(1, INT), INT),
+                MultiplyFunction.create(DOUBLE_COLUMN, ConstantExpression.create(-0.0d, DOUBLE), DOUBLE),
+                AndPredicate.create(BOOLEAN_COLUMN, ConstantExpression.create(true, BOOLEAN)));
+        List<Expression<?>> projection2 = asList(
+                PlusFunction.create(INT_COLUMN, ConstantExpression.create(2, INT), INT),
+                MultiplyFunction.create(DOUBLE_COLUMN, ConstantExpression.create(2.5d, DOUBLE), DOUBLE),
+                AndPredicate.create(BOOLEAN_COLUMN, ConstantExpression.create(false, BOOLEAN)));
+
+        CompiledCalc calc1 = ExpressionCompiler.compile(null, projection1);
+        CompiledCalc calc2 = ExpressionCompiler.compile(null, projection2);
+
+        assertThat(calc1).isNotNull();
+        assertThat(calc2).isNotNull();
+        assertThat(calc1.getClass()).isSameAs(calc2.getClass());
+        assertSameAsInterpreted(null, projection1);
+        assertSameAsInterpreted(null, projection2);
+    }
+
+    private static void assertSameAsInterpreted(
+            Expression<Boolean> filter,
+            List<Expression<?>> projection,
+            Object... arguments
+    ) {
+        ExpressionEvalContext context = createExpressionEvalContext(arguments);
+        CalcEvaluator evaluator = CalcEvaluator.create(filter, projection, true);
+        assertThat(evaluator.isCompiled()).isTrue();
+        Function<JetSqlRow, JetSqlRow> compiled = evaluator.toFunction(context);
+        Function<JetSqlRow, JetSqlRow> interpreted = filter != null
+                ? ExpressionUtil.calcFn(projection, filter, context)
+                : ExpressionUtil.projectionFn(projection, context);
+
+        for (Object[] values : ROWS) {
+            JetSqlRow row = jetRow(values);
+            Object expected = evaluate(interpreted, row);
+            Object actual = evaluate(compiled, row);
+            assertThat(actual).as("row: %s", asList(values)).isEqualTo(expected);
+        }
+    }
+
+    private static Object evaluate(Function<JetSqlRow, JetSqlRow> fn, JetSqlRow row) {
+        try {
+            JetSqlRow result = fn.apply(row);
+            return result == null ? null : asList(result.getValues());
+        } catch (QueryException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.json;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.jsfr.json.exception.JsonSurfingException;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.sql.impl.expression.json.JsonPathUtil.compile;
+import static com.hazelcast.jet.sql.impl.expression.json.JsonPathUtil.isSimple;
+import static com.hazelcast.jet.sql.impl.expression.json.JsonPathUtil.read;
+import static com.hazelcast.jet.sql.impl.expression.json.JsonPathUtil.readSimple;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class JsonPathUtilTest {
+
+    private static final String JSON = "{\"skipped\":{\"x\":[1,{\"y\":2}]},"
+            + "\"a\":{\"b\":[10,{\"c\":\"foo\"},[true,false]],\"n\":null,\"d\":1.5,\"big\":123456789012345678901234567890},"
+            + "\"arr\":[{\"v\":1},{\"v\":2}]}";
+
+    @Test
+    public void test_isSimple() {
+        assertTrue(isSimple(compile("$.a.b")));
+        assertTrue(isSimple(compile("$.a.b[1].c")));
+        assertTrue(isSimple(compile("$[0]")));
+
+        assertFalse(isSimple(compile("$")));
+        assertFalse(isSimple(compile("$.*")));
+        assertFalse(isSimple(compile("$..c")));
+        assertFalse(isSimple(compile("$.a.b[*]")));
+        assertFalse(isSimple(compile("$.a.b[0,1]")));
+    }
+
+    @Test
+    public void when_simplePath_then_sameResultAsRead() {
+        String[] paths = {"$.a", "$.a.b", "$.a.b[0]", "$.a.b[1].c", "$.a.b[2][1]", "$.a.n", "$.a.d", "$.a.big",
+                "$.arr[1].v", "$.missing", "$.a.b[5]", "$.a.b.c", "$.a.d.e", "$.a[0]", "$.arr[0].v.w"};
+        for (String path : paths) {
+            assertSameResult(JSON, path);
+        }
+        assertSameResult("[1,[2,3]]", "$[1][0]");
+        assertSameResult("42", "$.a");
+        assertSameResult("", "$.a");
+        assertSameResult("{\"a\":1,\"b\":{\"a\":2},\"a\":3}", "$.a");
+        assertSameResult("{\"a\":[1],\"a\":[2]}", "$.a[0]");
+    }
+
+    @Test
+    public void when_laxModeArrayUnwrapping_then_sameResultAsRead() {
+        assertSameResult("{\"a\":[{\"c\":[1,2]},{\"c\":3}]}", "$.a.c");
+        assertSameResult("{\"a\":[{\"c\":[1,2]},{\"c\":3}]}", "$.a[0].c");
+        assertSameResult("{\"a\":[[{\"c\":1}]]}", "$.a.c");
+        assertSameResult("{\"a\":[{\"b\":[[5]]}]}", "$.a.b[0]");
+        assertSameResult("{\"a\":[[5,6],[7]]}", "$.a");
+        assertSameResult("{\"a\":[[5,6],[7]]}", "$.a[1]");
+        assertSameResult("{\"a\":[1,[2,3]]}", "$.a[1][0]");
+        assertSameResult("{\"a\":[]}", "$.a");
+        assertSameResult("[{\"a\":1},{\"a\":2}]", "$.a");
+    }
+
+    @Test
+    public void when_malformedBeforeValue_then_fails() {
+        assertThatThrownBy(() -> readSimple("{\"x\":[1,}, \"a\":1}", compile("$.a")))
+                .isInstanceOf(JsonSurfingException.class)
+                .hasMessage("Failed to parse JSON document");
+    }
+
+    @Test
+    public void when_malformedAfterValue_then_fails() {
+        assertThatThrownBy(() -> readSimple("{\"a\":{\"b\":1},\"c\":[1,", compile("$.a")))
+                .isInstanceOf(JsonSurfingException.class)
+                .hasMessage("Failed to parse JSON document");
+        assertThatThrownBy(() -> readSimple("[1,2,", compile("$[0]")))
+                .isInstanceOf(JsonSurfingException.class)
+                .hasMessage("Failed to parse JSON document");
+    }
+
+    private static void assertSameResult(String json, String path) {
+        List<Object> expected = new ArrayList<>(read(json, compile(path)));
+        List<Object> actual = new ArrayList<>(readSimple(json, compile(path)));
+        assertEquals(path, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            // the objects and arrays are materialized by a different provider
+            if (JsonPathUtil.isArrayOrObject(expected.get(i))) {
+                assertEquals(path, JsonPathUtil.isArray(expected.get(i)), JsonPathUtil.isArray(actual.get(i)));
+                assertEquals(path, JsonPathUtil.isObject(expected.get(i)), JsonPathUtil.isObject(actual.get(i)));
+            } else {
+                assertEquals(path, expected.get(i), actual.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.vector;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.string.UpperFunction;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class VectorizedFilterTest extends SqlTestSupport {
+
+    private static final Object[][] ROWS = {
+            {1, 2, 1.5d, true, "a"},
+            {-7, -7, -0.0d, false, "b"},
+            {null, 3, Double.NaN, null, null},
+            {Integer.MAX_VALUE, null, 0.0d, true, "c"},
+            {0, Integer.MIN_VALUE, null, false, "d"},
+            {5, 5, 1e300d, true, null},
+    };
+
+    private static final Expression<?> INT_COLUMN = ColumnExpression.create(0, INT);
+    private static final Expression<?> INT_COLUMN_2 = ColumnExpression.create(1, INT);
+    private static final Expression<?> DOUBLE_COLUMN = ColumnExpression.create(2, DOUBLE);
+    private static final Expression<?> BOOLEAN_COLUMN = ColumnExpression.create(3, BOOLEAN);
+    private static final Expression<?> VARCHAR_COLUMN = ColumnExpression.create(4, VARCHAR);
+
+    @Test
+    public void test_comparisons() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            assertSameAsInterpreted(ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(0, INT), mode));
+            assertSameAsInterpreted(ComparisonPredicate.create(ConstantExpression.create(0, INT), INT_COLUMN, mode));
+            assertSameAsInterpreted(ComparisonPredicate.create(INT_COLUMN, INT_COLUMN_2, mode));
+            assertSameAsInterpreted(ComparisonPredicate.create(DOUBLE_COLUMN, ConstantExpression.create(0d, DOUBLE), mode));
+            assertSameAsInterpreted(ComparisonPredicate.create(INT_COLUMN, ParameterExpression.create(0, INT), mode), 1);
+            assertSameAsInterpreted(ComparisonPredicate.create(BOOLEAN_COLUMN,
+                    ConstantExpression.create(true, BOOLEAN), mode));
+        }
+    }
+
+    @Test
+    public void test_nullScalar() {
+        assertSameAsInterpreted(ComparisonPredicate.create(INT_COLUMN,
+                ParameterExpression.create(0, INT), ComparisonMode.NOT_EQUALS), (Object) null);
+    }
+
+    @Test
+    public void test_nullsAndBooleans() {
+        assertSameAsInterpreted(IsNullPredicate.create(INT_COLUMN_2));
+        assertSameAsInterpreted(IsNotNullPredicate.create(VARCHAR_COLUMN));
+        assertSameAsInterpreted(BOOLEAN_COLUMN);
+    }
+
+    @Test
+    public void test_andOr() {
+        Expression<?> positive = ComparisonPredicate.create(INT_COLUMN,
+                ConstantExpression.create(0, INT), ComparisonMode.GREATER_THAN);
+        assertSameAsInterpreted(AndPredicate.create(positive, BOOLEAN_COLUMN));
+        assertSameAsInterpreted(OrPredicate.create(positive, BOOLEAN_COLUMN, IsNullPredicate.create(VARCHAR_COLUMN)));
+        assertSameAsInterpreted(AndPredicate.create(OrPredicate.create(positive, IsNullPredicate.create(INT_COLUMN)),
+                IsNotNullPredicate.create(DOUBLE_COLUMN)));
+    }
+
+    @Test
+    public void test_residual() {
+        Expression<?> positive = ComparisonPredicate.create(INT_COLUMN,
+                ConstantExpression.create(0, INT), ComparisonMode.GREATER_THAN);
+        Expression<?> upper = ComparisonPredicate.create(UpperFunction.create(VARCHAR_COLUMN),
+                ConstantExpression.create("A", VARCHAR), ComparisonMode.EQUALS);
+
+        VectorizedFilter filter = VectorizedFilter.create(predicate(AndPredicate.create(positive, upper)));
+        assertThat(filter).isNotNull();
+        assertThat(filter.getResidual()).isSameAs(upper);
+
+        // an OR with a non-vectorizable operand isn't vectorized
+        assertThat(VectorizedFilter.create(predicate(OrPredicate.create(positive, upper)))).isNull();
+        // comparisons of non-primitive columns aren't vectorized
+        assertThat(VectorizedFilter.create(predicate(ComparisonPredicate.create(VARCHAR_COLUMN,
+                ConstantExpression.create("a", VARCHAR), ComparisonMode.EQUALS)))).isNull();
+        assertThat(VectorizedFilter.create(null)).isNull();
+    }
+
+    private static void assertSameAsInterpreted(Expression<?> expression, Object... arguments) {
+        Expression<Boolean> predicate = predicate(expression);
+        ExpressionEvalContext context = createExpressionEvalContext(arguments);
+        VectorizedFilter filter = VectorizedFilter.create(predicate);
+        assertThat(filter).as(expression.toString()).isNotNull();
+        assertThat(filter.getResidual()).isNull();
+
+        ColumnBatch batch = filter.newBatch(ROWS.length);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < ROWS.length; i++) {
+            HeapRow row = new HeapRow(ROWS[i]);
+            batch.add(row);
+            if (Boolean.TRUE.equals(predicate.eval(row, context))) {
+                expected.add(i);
+            }
+        }
+        int[] selection = new int[ROWS.length];
+        int count = filter.filter(batch, context, selection);
+
+        List<Integer> actual = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            actual.add(selection[i]);
+        }
+        assertThat(actual).as(expression.toString()).isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<Boolean> predicate(Expression<?> expression) {
+        return (Expression<Boolean>) expression;
+    }
+}
@@ -88,8 +88,18 @@ public abstract class OptimizerTestSupport extends SqlTestSupport {
     }
 
     protected Result optimizePhysical(String sql, List<QueryDataType> parameterTypes, HazelcastTable... tables) {
+        return optimizePhysical(sql, false, parameterTypes, tables);
+    }
+
+    protected Result optimizePhysical(
+            String sql,
+            boolean mergeJoinEnabled,
+            List<QueryDataType> parameterTypes,
+            HazelcastTable... tables
+    ) {
         HazelcastSchema schema = schema(tables);
         OptimizerContext context = context(schema, parameterTypes.toArray(new QueryDataType[0]));
+        context.setMergeJoinEnabled(mergeJoinEnabled);
         return optimizePhysicalInternal(sql, context);
     }
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.cost;
+
+import com.hazelcast.jet.sql.impl.HazelcastRexBuilder;
+import com.hazelcast.sql.impl.schema.AnalyzedTableStatistics;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
+import com.hazelcast.sql.impl.schema.MappingStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SelectivityEstimatorTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static final RexBuilder BUILDER = HazelcastRexBuilder.INSTANCE;
+    private static final RelDataType INT_TYPE = BUILDER.getTypeFactory().createSqlType(SqlTypeName.INTEGER);
+
+    // 10% of nulls, 100 distinct values uniformly distributed between 0 and 100
+    private static final ColumnStatistics A_STATISTICS =
+            new ColumnStatistics(0.1d, 100d, 0, 100, new Object[]{0, 25, 50, 75, 100});
+
+    private static final TableStatistics STATISTICS = new AnalyzedTableStatistics(
+            new ConstantTableStatistics(1000),
+            new MappingStatistics("m", 1L, 1000, 1000, singletonMap("a", A_STATISTICS)),
+            asList(new TableField("a", QueryDataType.INT, false), new TableField("b", QueryDataType.INT, false))
+    );
+
+    @Test
+    public void test_noFilter() {
+        assertEquals(1d, SelectivityEstimator.estimate(null, STATISTICS), DELTA);
+    }
+
+    @Test
+    public void test_notAnalyzed() {
+        RexNode filter = BUILDER.makeCall(SqlStdOperatorTable.EQUALS, a(), literal(10));
+
+        assertEquals(RelMdUtil.guessSelectivity(filter),
+                SelectivityEstimator.estimate(filter, new ConstantTableStatistics(1000)), DELTA);
+    }
+
+    @Test
+    public void test_equals() {
+        assertEquals(0.009d, estimate(BUILDER.makeCall(SqlStdOperatorTable.EQUALS, a(), literal(10))), DELTA);
+        assertEquals(0.009d, estimate(BUILDER.makeCall(SqlStdOperatorTable.EQUALS, literal(10), a())), DELTA);
+        assertEquals(0.009d, estimate(BUILDER.makeCall(SqlStdOperatorTable.EQUALS, a(),
+                BUILDER.makeDynamicParam(INT_TYPE, 0))), DELTA);
+    }
+
+    @Test
+    public void test_equals_outOfRange_atLeastOneRow() {
+        assertEquals(0.001d, estimate(BUILDER.makeCall(SqlStdOperatorTable.EQUALS, a(), literal(200))), DELTA);
+    }
+
+    @Test
+    public void test_range() {
+        assertEquals(0.45d, estimate(BUILDER.makeCall(SqlStdOperatorTable.LESS_THAN, a(), literal(50))), DELTA);
+        assertEquals(0.45d, estimate(BUILDER.makeCall(SqlStdOperatorTable.GREATER_THAN, literal(50), a())), DELTA);
+        assertEquals(0.45d, estimate(BUILDER.makeCall(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, a(), literal(50))),
+                DELTA);
+    }
+
+    @Test
+    public void test_rangeWithDynamicParameter() {
+        assertEquals(0.3d, estimate(BUILDER.makeCall(SqlStdOperatorTable.LESS_THAN, a(),
+                BUILDER.makeDynamicParam(INT_TYPE, 0))), DELTA);
+    }
+
+    @Test
+    public void test_conjunctionOfRanges() {
+        RexNode filter = BUILDER.makeCall(SqlStdOperatorTable.AND,
+                BUILDER.makeCall(SqlStdOperatorTable.GREATER_THAN, a(), literal(25)),
+                BUILDER.makeCall(SqlStdOperatorTable.LESS_THAN, a(), literal(75)));
+
+        // 0.9 * 0.75 for a < 75, minus 0.9 * 0.25 + 0.009 for a <= 25
+        assertEquals(0.441d, estimate(filter), DELTA);
+    }
+
+    @Test
+    public void test_nulls() {
+        assertEquals(0.1d, estimate(BUILDER.makeCall(SqlStdOperatorTable.IS_NULL, a())), DELTA);
+        assertEquals(0.9d, estimate(BUILDER.makeCall(SqlStdOperatorTable.IS_NOT_NULL, a())), DELTA);
+    }
+
+    @Test
+    public void test_disjunction() {
+        RexNode filter = BUILDER.makeCall(SqlStdOperatorTable.OR,
+                BUILDER.makeCall(SqlStdOperatorTable.LESS_THAN, a(), literal(50)),
+                BUILDER.makeCall(SqlStdOperatorTable.IS_NULL, a()));
+
+        assertEquals(0.45d + 0.1d - 0.045d, estimate(filter), DELTA);
+    }
+
+    @Test
+    public void test_columnWithoutStatistics() {
+        RexNode filter = BUILDER.makeCall(SqlStdOperatorTable.EQUALS, BUILDER.makeInputRef(INT_TYPE, 1), literal(10));
+
+        assertEquals(RelMdUtil.guessSelectivity(filter), estimate(filter), DELTA);
+    }
+
+    private static double estimate(RexNode filter) {
+        return SelectivityEstimator.estimate(filter, STATISTICS);
+    }
+
+    private static RexNode a() {
+        return BUILDER.makeInputRef(INT_TYPE, 0);
+    }
+
+    private static RexNode literal(int value) {
+        return BUILDER.makeExactLiteral(BigDecimal.valueOf(value), INT_TYPE);
+    }
+}
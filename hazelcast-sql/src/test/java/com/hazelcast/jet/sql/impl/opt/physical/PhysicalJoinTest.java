@@ -17,6 +17,7 @@
 package com.hazelcast.jet.sql.impl.opt.physical;
 
 import com.google.common.collect.ImmutableList;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorCache;
 import com.hazelcast.jet.sql.impl.connector.test.TestAbstractSqlConnector;
 import com.hazelcast.jet.sql.impl.connector.test.TestStreamSqlConnector;
@@ -28,6 +29,7 @@ import com.hazelcast.jet.sql.impl.schema.RelationsStorage;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableResolver;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -40,6 +42,7 @@ import static com.hazelcast.sql.impl.type.QueryDataType.INT;
 import static com.hazelcast.sql.impl.type.QueryDataTypeFamily.INTEGER;
 import static com.hazelcast.sql.impl.type.QueryDataTypeFamily.TIMESTAMP;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 
 public class PhysicalJoinTest extends OptimizerTestSupport {
     private TableResolver resolver;
@@ -93,6 +96,46 @@ public class PhysicalJoinTest extends OptimizerTestSupport {
         );
     }
 
+    @Test
+    public void when_bothInputsSortedByJoinKey_then_useMergeJoin() {
+        MapTableIndex leftIndex = new MapTableIndex("l_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT));
+        MapTableIndex rightIndex = new MapTableIndex("r_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT));
+        HazelcastTable tableLeft = partitionedTable("l", asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(leftIndex), 1_000_000);
+        HazelcastTable tableRight = partitionedTable("r", asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(rightIndex), 1_000_000);
+
+        String query = "SELECT * FROM l JOIN r ON l.this = r.this";
+        assertPlan(
+                optimizePhysical(query, true, asList(), tableLeft, tableRight).getPhysical(),
+                plan(
+                        planRow(0, JoinMergePhysicalRel.class),
+                        planRow(1, IndexScanMapPhysicalRel.class),
+                        planRow(1, IndexScanMapPhysicalRel.class)
+                )
+        );
+    }
+
+    @Test
+    public void when_selectiveLeftInputSortedByJoinKey_then_useNestedLoopJoin() {
+        MapTableIndex leftIndex = new MapTableIndex("l_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT));
+        MapTableIndex rightIndex = new MapTableIndex("r_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT));
+        HazelcastTable tableLeft = partitionedTable("l", asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(leftIndex), 1_000_000);
+        HazelcastTable tableRight = partitionedTable("r", asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(rightIndex), 1_000_000);
+
+        String query = "SELECT * FROM l JOIN r ON l.this = r.this WHERE l.__key = 1";
+        assertPlan(
+                optimizePhysical(query, asList(), tableLeft, tableRight).getPhysical(),
+                plan(
+                        planRow(0, JoinNestedLoopPhysicalRel.class),
+                        planRow(1, SelectByKeyMapPhysicalRel.class),
+                        planRow(1, FullScanPhysicalRel.class)
+                )
+        );
+    }
+
     @Ignore("Support streaming tables with watermarks in OptimizerTestSupport")
     @Test
     public void when_bothInputsAreStreamScan_then_useS2SJoin() {
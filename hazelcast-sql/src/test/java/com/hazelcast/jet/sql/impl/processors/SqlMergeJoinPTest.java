@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.impl.JetServiceBackend.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+
+public class SqlMergeJoinPTest extends SqlTestSupport {
+    private static final int PRIORITY = 1;
+
+    private static final Expression<Boolean> TRUE_PREDICATE =
+            (Expression<Boolean>) ConstantExpression.create(true, BOOLEAN);
+
+    private static final Expression<Boolean> LEFT_LT_RIGHT =
+            ComparisonPredicate.create(
+                    ColumnExpression.create(1, INT),
+                    ColumnExpression.create(3, INT),
+                    ComparisonMode.LESS_THAN
+            );
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void test_innerJoin() {
+        runTest(INNER, TRUE_PREDICATE,
+                asList(
+                        jetRow(null, 0),
+                        jetRow(1, 1),
+                        jetRow(2, 2),
+                        jetRow(2, 3),
+                        jetRow(4, 4)
+                ),
+                asList(
+                        jetRow(null, 10),
+                        jetRow(0, 11),
+                        jetRow(2, 12),
+                        jetRow(2, 13),
+                        jetRow(3, 14),
+                        jetRow(4, 15),
+                        jetRow(5, 16)
+                ),
+                asList(
+                        jetRow(2, 2, 2, 12),
+                        jetRow(2, 2, 2, 13),
+                        jetRow(2, 3, 2, 12),
+                        jetRow(2, 3, 2, 13),
+                        jetRow(4, 4, 4, 15)
+                )
+        );
+    }
+
+    @Test
+    public void test_leftJoin() {
+        runTest(LEFT, TRUE_PREDICATE,
+                asList(
+                        jetRow(null, 0),
+                        jetRow(1, 1),
+                        jetRow(2, 2),
+                        jetRow(6, 3)
+                ),
+                asList(
+                        jetRow(null, 10),
+                        jetRow(2, 12),
+                        jetRow(3, 14)
+                ),
+                asList(
+                        jetRow(null, 0, null, null),
+                        jetRow(1, 1, null, null),
+                        jetRow(2, 2, 2, 12),
+                        jetRow(6, 3, null, null)
+                )
+        );
+    }
+
+    @Test
+    public void test_leftJoin_withNonEquiCondition() {
+        runTest(LEFT, LEFT_LT_RIGHT,
+                asList(
+                        jetRow(1, 1),
+                        jetRow(1, 20),
+                        jetRow(2, 2)
+                ),
+                asList(
+                        jetRow(1, 10),
+                        jetRow(1, 11),
+                        jetRow(2, 1)
+                ),
+                asList(
+                        jetRow(1, 1, 1, 10),
+                        jetRow(1, 1, 1, 11),
+                        jetRow(1, 20, null, null),
+                        jetRow(2, 2, null, null)
+                )
+        );
+    }
+
+    @Test
+    public void test_emptyRightInput() {
+        runTest(INNER, TRUE_PREDICATE,
+                asList(
+                        jetRow(1, 1),
+                        jetRow(2, 2)
+                ),
+                emptyList(),
+                emptyList()
+        );
+    }
+
+    private void runTest(
+            JoinRelType joinType,
+            Expression<Boolean> nonEquiCondition,
+            List<JetSqlRow> leftInput,
+            List<JetSqlRow> rightInput,
+            List<JetSqlRow> output
+    ) {
+        int[] leftKeys = {0};
+        int[] rightKeys = {0};
+        ProcessorSupplier processor = SqlMergeJoinP.supplier(
+                new JetJoinInfo(joinType, leftKeys, rightKeys, nonEquiCondition, null),
+                leftKeys,
+                rightKeys,
+                2
+        );
+
+        TestSupport
+                .verifyProcessor(adaptSupplier(processor))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .inputs(asList(leftInput, rightInput), new int[]{PRIORITY, PRIORITY})
+                .hazelcastInstance(instance())
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .disableSnapshots()
+                .expectOutput(output);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.impl.state.DiskStateBackend;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.JetTestSupport.TEST_SS;
+import static com.hazelcast.jet.sql.SqlTestSupport.jetRow;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StreamToStreamJoinBucketedBufferTest {
+
+    private static final ToLongFunctionEx<JetSqlRow> TIME_0 = row -> row.getRow().get(0);
+    private static final ToLongFunctionEx<JetSqlRow> TIME_1 = row -> row.getRow().get(1);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private StreamToStreamJoinBucketedBuffer buffer;
+
+    @After
+    public void after() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    @Test
+    public void when_limitAtBucketBoundary_then_wholeBucketsDropped() {
+        buffer = new StreamToStreamJoinBucketedBuffer(singletonList(entry((byte) 0, TIME_0)), 0, 10, null, null,
+                "test", TEST_SS);
+        for (long time = 0; time < 100; time++) {
+            buffer.add(jetRow(time, time % 3));
+        }
+        assertEquals(10, buffer.bucketCount());
+
+        List<JetSqlRow> cleared = new ArrayList<>();
+        buffer.clearExpiredItems(new long[]{50}, cleared::add);
+
+        assertEquals(50, cleared.size());
+        assertTrue(cleared.stream().allMatch(row -> TIME_0.applyAsLong(row) < 50));
+        assertEquals(50, buffer.size());
+        assertEquals(5, buffer.bucketCount());
+    }
+
+    @Test
+    public void when_limitInsideBucket_then_onlyExpiredRowsRemoved() {
+        buffer = new StreamToStreamJoinBucketedBuffer(singletonList(entry((byte) 0, TIME_0)), 0, 10, null, null,
+                "test", TEST_SS);
+        for (long time = 0; time < 100; time++) {
+            buffer.add(jetRow(time, time % 3));
+        }
+
+        buffer.clearExpiredItems(new long[]{55}, null);
+
+        assertEquals(45, buffer.size());
+        assertEquals(5, buffer.bucketCount());
+        assertThat(buffer.content()).allMatch(row -> TIME_0.applyAsLong(row) >= 55);
+    }
+
+    @Test
+    public void when_indexed_then_lookupReturnsOnlyRowsWithKey() {
+        buffer = new StreamToStreamJoinBucketedBuffer(singletonList(entry((byte) 0, TIME_0)), 0, 10, new int[]{1},
+                null, "test", TEST_SS);
+        for (long time = 0; time < 100; time++) {
+            buffer.add(jetRow(time, time % 3));
+        }
+
+        List<JetSqlRow> found = new ArrayList<>();
+        buffer.iterator(key(1L)).forEachRemaining(found::add);
+
+        assertEquals(33, found.size());
+        assertThat(found).allMatch(row -> row.getRow().<Long>get(1) == 1L);
+        assertFalse(buffer.iterator(key(42L)).hasNext());
+        assertEquals(100, buffer.content().size());
+    }
+
+    @Test
+    public void when_twoTimeFields_then_rowsRemovedByEither() {
+        buffer = new StreamToStreamJoinBucketedBuffer(asList(entry((byte) 0, TIME_0), entry((byte) 1, TIME_1)), 0,
+                10, null, null, "test", TEST_SS);
+        buffer.add(jetRow(5L, 100L));
+        buffer.add(jetRow(15L, 1L));
+        buffer.add(jetRow(25L, 100L));
+
+        List<JetSqlRow> cleared = new ArrayList<>();
+        buffer.clearExpiredItems(new long[]{10, 50}, cleared::add);
+
+        assertThat(cleared).containsExactlyInAnyOrder(jetRow(5L, 100L), jetRow(15L, 1L));
+        assertThat(buffer.content()).containsExactly(jetRow(25L, 100L));
+    }
+
+    @Test
+    public void when_spilled_then_sameRowsReturned() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        // a small memtable so that most rows are spilled
+        DiskStateBackend backend = new DiskStateBackend(directory, "test", 256, TEST_SS);
+        buffer = new StreamToStreamJoinBucketedBuffer(singletonList(entry((byte) 0, TIME_0)), 0, 10, new int[]{1},
+                backend, "test", TEST_SS);
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (long time = 0; time < 100; time++) {
+            JetSqlRow row = jetRow(time, time % 3);
+            buffer.add(row);
+            expected.add(row);
+        }
+        assertTrue(buffer.segmentCount() > 0);
+
+        assertThat(buffer.content()).containsExactlyInAnyOrderElementsOf(expected);
+        List<JetSqlRow> found = new ArrayList<>();
+        buffer.iterator(key(2L)).forEachRemaining(found::add);
+        assertEquals(33, found.size());
+        assertThat(found).allMatch(row -> row.getRow().<Long>get(1) == 2L);
+
+        List<JetSqlRow> cleared = new ArrayList<>();
+        buffer.clearExpiredItems(new long[]{55}, cleared::add);
+
+        assertThat(cleared).containsExactlyInAnyOrderElementsOf(expected.subList(0, 55));
+        assertEquals(45, buffer.size());
+        assertThat(buffer.content()).containsExactlyInAnyOrderElementsOf(expected.subList(55, 100));
+
+        buffer.close();
+        assertThat(directory.listFiles()).isEmpty();
+    }
+
+    private static ObjectArrayKey key(Object value) {
+        return ObjectArrayKey.project(jetRow(0L, value), new int[]{1});
+    }
+}
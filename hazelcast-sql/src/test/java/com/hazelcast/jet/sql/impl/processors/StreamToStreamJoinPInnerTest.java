@@ -19,6 +19,8 @@ package com.hazelcast.jet.sql.impl.processors;
 import com.google.common.collect.ImmutableMap;
 import com.hazelcast.function.SupplierEx;
 import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
@@ -40,10 +42,13 @@ import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -133,6 +138,9 @@ public class StreamToStreamJoinPInnerTest extends SqlTestSupport {
                 return true;
             };
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private Map<Byte, ToLongFunctionEx<JetSqlRow>> leftExtractors = singletonMap((byte) 0, l -> l.getRow().get(0));
     private Map<Byte, ToLongFunctionEx<JetSqlRow>> rightExtractors = singletonMap((byte) 1, r -> r.getRow().get(0));
     private final Map<Byte, Map<Byte, Long>> postponeTimeMap = new HashMap<>();
@@ -378,6 +386,41 @@ public class StreamToStreamJoinPInnerTest extends SqlTestSupport {
                 );
     }
 
+    @Test
+    public void test_equiJoin_spilledToDisk() throws IOException {
+        // l.time=r.time
+        postponeTimeMap.put((byte) 0, singletonMap((byte) 1, 0L));
+        postponeTimeMap.put((byte) 1, singletonMap((byte) 0, 0L));
+        Expression<Boolean> condition = createConditionFromPostponeTimeMap(postponeTimeMap);
+        int[] equiJoinIndices = {0};
+        JetJoinInfo joinInfo = new JetJoinInfo(INNER, equiJoinIndices, equiJoinIndices, condition, condition);
+        SupplierEx<Processor> supplier = () -> new StreamToStreamJoinP(
+                joinInfo, leftExtractors, rightExtractors, postponeTimeMap, Tuple2.tuple2(1, 1), true);
+
+        TestSupport.verifyProcessor(supplier)
+                .hazelcastInstance(instance())
+                .jobConfig(new JobConfig()
+                        .setStateBackendType(StateBackendType.DISK)
+                        .setStateBackendDirectory(temporaryFolder.newFolder().getAbsolutePath())
+                        // spill every row
+                        .setStateBackendMemtableBytes(1L))
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectExactOutput(
+                        in(0, jetRow(1L)),
+                        in(0, jetRow(2L)),
+                        in(0, jetRow(3L)),
+                        processorAssertion((StreamToStreamJoinP p) -> {
+                            assertEquals(3, p.buffer[0].size());
+                            assertTrue(((StreamToStreamJoinBucketedBuffer) p.buffer[0]).segmentCount() > 0);
+                        }),
+                        in(1, jetRow(2L)),
+                        out(jetRow(2L, 2L)),
+                        in(1, jetRow(3L)),
+                        out(jetRow(3L, 3L)),
+                        in(1, jetRow(4L))
+                );
+    }
+
     @Test
     public void test_dropLateItems() {
         // Join condition:
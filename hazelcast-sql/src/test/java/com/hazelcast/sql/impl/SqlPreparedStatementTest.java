@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl;
+
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.sql.SqlPreparedStatement;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlService;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.optimizer.SqlPlan;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlPreparedStatementTest extends SqlTestSupport {
+
+    @BeforeClass
+    public static void setUpClass() {
+        initializeWithClient(2, null, null);
+    }
+
+    @Test
+    public void test_planReusedAcrossExecutions() {
+        String name = randomName();
+        createMapping(name, int.class, String.class);
+        IMap<Integer, String> map = instance().getMap(name);
+        map.put(1, "one");
+        map.put(2, "two");
+
+        SqlService service = instance().getSql();
+        SqlPreparedStatement statement = service.prepare("SELECT this FROM " + name + " WHERE __key = ?");
+        assertThat(statement).isInstanceOf(MemberSqlPreparedStatement.class);
+        assertThat(plan(statement)).isNull();
+
+        assertThat(execute(service, statement, 1)).containsExactly("one");
+        SqlPlan plan = plan(statement);
+        assertThat(plan).isNotNull();
+
+        assertThat(execute(service, statement, 2)).containsExactly("two");
+        assertThat(execute(service, statement, 3)).isEmpty();
+        assertThat(plan(statement)).isSameAs(plan);
+    }
+
+    @Test
+    public void test_planReplacedWhenInvalidated() {
+        String name = randomName();
+        createMapping(name, int.class, String.class);
+        instance().getMap(name).put(1, "one");
+
+        SqlService service = instance().getSql();
+        SqlPreparedStatement statement = service.prepare("SELECT this FROM " + name + " WHERE __key = ?");
+        assertThat(execute(service, statement, 1)).containsExactly("one");
+        SqlPlan plan = plan(statement);
+
+        // the plan depends on the mapping, it's removed from the cache
+        createMapping(name, int.class, int.class);
+        instance().getMap(name).put(1, 1);
+        assertThat(plan.isRemovedFromCache()).isTrue();
+        assertThat(plan(statement)).isNull();
+
+        assertThat(execute(service, statement, 1)).containsExactly(1);
+        assertThat(plan(statement)).isNotNull().isNotSameAs(plan);
+    }
+
+    @Test
+    public void test_expectedResultTypeChecked() {
+        String name = randomName();
+        createMapping(name, int.class, int.class);
+
+        SqlService service = instance().getSql();
+        SqlPreparedStatement statement = service.prepare(
+                new SqlStatement("SELECT * FROM " + name).setExpectedResultType(SqlExpectedResultType.UPDATE_COUNT));
+
+        // the check is done both when the plan is created and when it's reused
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> service.execute(statement))
+                    .isInstanceOf(HazelcastSqlException.class)
+                    .hasMessageContaining("The statement doesn't produce update count");
+        }
+    }
+
+    @Test
+    public void test_originalStatementChanged_then_preparedStatementNotChanged() {
+        String name = randomName();
+        createMapping(name, int.class, String.class);
+        instance().getMap(name).put(1, "one");
+
+        SqlStatement original = new SqlStatement("SELECT this FROM " + name + " WHERE __key = ?");
+        SqlPreparedStatement statement = instance().getSql().prepare(original);
+        original.setSql("SELECT 1");
+
+        assertThat(statement.getSql()).isEqualTo("SELECT this FROM " + name + " WHERE __key = ?");
+        assertThat(execute(instance().getSql(), statement, 1)).containsExactly("one");
+    }
+
+    @Test
+    public void test_preparedOnOtherMember() {
+        String name = randomName();
+        createMapping(name, int.class, String.class);
+        instance().getMap(name).put(1, "one");
+
+        SqlPreparedStatement statement = instances()[1].getSql().prepare("SELECT this FROM " + name + " WHERE __key = ?");
+
+        assertThat(execute(instance().getSql(), statement, 1)).containsExactly("one");
+        // the plan isn't attached to a statement of another member
+        assertThat(plan(statement)).isNull();
+    }
+
+    @Test
+    public void test_client() {
+        String name = randomName();
+        createMapping(name, int.class, String.class);
+        instance().getMap(name).put(1, "one");
+
+        SqlService service = client().getSql();
+        SqlPreparedStatement statement = service.prepare(
+                new SqlStatement("SELECT this FROM " + name + " WHERE __key = ?").addParameter(2));
+
+        // the parameters of the original statement aren't used
+        assertThat(execute(service, statement, 1)).containsExactly("one");
+        assertThat(execute(service, statement, 2)).isEmpty();
+    }
+
+    private static SqlPlan plan(SqlPreparedStatement statement) {
+        return ((MemberSqlPreparedStatement) statement).getPlan();
+    }
+
+    private static List<Object> execute(SqlService service, SqlPreparedStatement statement, Object argument) {
+        List<Object> values = new ArrayList<>();
+        try (SqlResult result = service.execute(statement, argument)) {
+            for (SqlRow row : result) {
+                values.add(row.getObject(0));
+            }
+        }
+        return values;
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.ApproximateDistinctCountAggregator;
+import com.hazelcast.aggregation.impl.ApproximatePercentileAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalAverageAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalSumAggregator;
 import com.hazelcast.aggregation.impl.BigIntegerAverageAggregator;
@@ -40,6 +42,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Set;
 
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
 /**
  * A utility class to create basic {@link com.hazelcast.aggregation.Aggregator} instances.
  * <p>
@@ -113,6 +117,72 @@ public final class Aggregators {
         return new DistinctValuesAggregator<>(attributePath);
     }
 
+    /**
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values
+     * using a HyperLogLog sketch, the typical error is below 1%. Unlike
+     * {@link #distinct()}, it doesn't keep the distinct values.
+     * Ignores null input values.
+     * Aggregation result type Long.
+     * @since 5.4
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount() {
+        return new ApproximateDistinctCountAggregator<>();
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values
+     * extracted from the given attributePath using a HyperLogLog sketch, the
+     * typical error is below 1%. Unlike {@link #distinct(String)}, it doesn't
+     * keep the distinct values.
+     * Ignores null extracted values.
+     * Aggregation result type Long.
+     * @since 5.4
+     */
+    public static <I> Aggregator<I, Long> approximateDistinctCount(String attributePath) {
+        return new ApproximateDistinctCountAggregator<>(attributePath);
+    }
+
+    /**
+     * @param percentile the percentile, from 0 to 1
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the given percentile of the input
+     * values using a mergeable quantile sketch. The estimate differs from the
+     * exact percentile by at most 1% of its value.
+     * Ignores null input values.
+     * Accepts generic Number input values.
+     * Aggregation result type Double, null if there are no values.
+     * @since 5.4
+     */
+    public static <I> Aggregator<I, Double> approximatePercentile(double percentile) {
+        checkPercentile(percentile);
+        return new ApproximatePercentileAggregator<>(percentile);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param percentile the percentile, from 0 to 1
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the given percentile of the input
+     * values extracted from the given attributePath using a mergeable
+     * quantile sketch. The estimate differs from the exact percentile by at
+     * most 1% of its value.
+     * Ignores null extracted values.
+     * Accepts generic Number input values.
+     * Aggregation result type Double, null if there are no values.
+     * @since 5.4
+     */
+    public static <I> Aggregator<I, Double> approximatePercentile(String attributePath, double percentile) {
+        checkPercentile(percentile);
+        return new ApproximatePercentileAggregator<>(attributePath, percentile);
+    }
+
+    private static void checkPercentile(double percentile) {
+        checkTrue(percentile >= 0 && percentile <= 1, "percentile must be in the [0, 1] range");
+    }
+
     // ---------------------------------------------------------------------------------------------------------
     // average aggregators
     // ---------------------------------------------------------------------------------------------------------
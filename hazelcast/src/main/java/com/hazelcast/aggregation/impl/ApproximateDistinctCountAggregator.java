@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_x64_64;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Estimates the number of distinct non-null values with a {@link
+ * HyperLogLog}. Unlike the {@link DistinctValuesAggregator}, the size of the
+ * state doesn't depend on the number of distinct values.
+ */
+public final class ApproximateDistinctCountAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable {
+
+    private HyperLogLog hyperLogLog = new HyperLogLogImpl();
+
+    public ApproximateDistinctCountAggregator() {
+        super();
+    }
+
+    public ApproximateDistinctCountAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Object value) {
+        if (value != null) {
+            hyperLogLog.add(hash64(value));
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateDistinctCountAggregator other = (ApproximateDistinctCountAggregator) aggregator;
+        hyperLogLog.merge(other.hyperLogLog);
+    }
+
+    @Override
+    public Long aggregate() {
+        return hyperLogLog.estimate();
+    }
+
+    /**
+     * Returns the 64-bit hash of the value to add to a {@link HyperLogLog}.
+     * The hash is stable across members, the numbers of different types are
+     * hashed equally, if they are equal in the query engine.
+     */
+    public static long hash64(Object value) {
+        if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(UTF_8);
+            return MurmurHash3_x64_64(bytes, 0, bytes.length);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return MurmurHash3_fmix(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            long longValue = (long) doubleValue;
+            return longValue == doubleValue
+                    ? MurmurHash3_fmix(longValue)
+                    : MurmurHash3_fmix(Double.doubleToLongBits(doubleValue));
+        }
+        return MurmurHash3_fmix((long) value.hashCode());
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_DISTINCT_COUNT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(attributePath);
+        out.writeObject(hyperLogLog);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readString();
+        this.hyperLogLog = in.readObject();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateDistinctCountAggregator<?> that = (ApproximateDistinctCountAggregator<?>) o;
+        return hyperLogLog.estimate() == that.hyperLogLog.estimate();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), hyperLogLog.estimate());
+    }
+}
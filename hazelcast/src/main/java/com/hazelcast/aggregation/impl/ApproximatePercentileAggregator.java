@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Estimates a percentile of the non-null numeric values with a {@link
+ * QuantileSketch}. The result differs from the exact percentile by at most
+ * the {@linkplain QuantileSketch#DEFAULT_RELATIVE_ACCURACY relative accuracy}
+ * of the sketch.
+ */
+public final class ApproximatePercentileAggregator<I> extends AbstractAggregator<I, Number, Double>
+        implements IdentifiedDataSerializable {
+
+    private double percentile;
+    private QuantileSketch sketch = new QuantileSketch();
+
+    public ApproximatePercentileAggregator() {
+        super();
+    }
+
+    public ApproximatePercentileAggregator(double percentile) {
+        super();
+        this.percentile = percentile;
+    }
+
+    public ApproximatePercentileAggregator(String attributePath, double percentile) {
+        super(attributePath);
+        this.percentile = percentile;
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Number value) {
+        if (value != null) {
+            sketch.add(value.doubleValue());
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximatePercentileAggregator other = (ApproximatePercentileAggregator) aggregator;
+        sketch.merge(other.sketch);
+    }
+
+    @Override
+    public Double aggregate() {
+        return sketch.count() == 0 ? null : sketch.quantile(percentile);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_PERCENTILE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(attributePath);
+        out.writeDouble(percentile);
+        out.writeObject(sketch);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readString();
+        this.percentile = in.readDouble();
+        this.sketch = in.readObject();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximatePercentileAggregator<?> that = (ApproximatePercentileAggregator<?>) o;
+        return percentile == that.percentile && sketch.count() == that.sketch.count();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), percentile, sketch.count());
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
+/**
+ * A mergeable sketch estimating the quantiles of a stream of numbers with a
+ * bounded relative error.
+ * <p>
+ * The values are counted in buckets with logarithmically growing bounds:
+ * the bucket {@code i} counts the values {@code v} such that {@code gamma^(i-1)
+ * < |v| <= gamma^i}, where {@code gamma = (1 + accuracy) / (1 - accuracy)}.
+ * The estimated quantile differs from some value having the requested rank by
+ * at most {@code accuracy * |value|}. The size of the sketch depends on the
+ * ratio of the highest and the lowest absolute value, not on the number of
+ * values: with the default accuracy of 1%, the values between 1 and 10^9 use
+ * at most about a thousand buckets.
+ * <p>
+ * Sketches with the same accuracy can be merged, the result is the same as
+ * if all the values were added to a single sketch.
+ */
+public final class QuantileSketch implements IdentifiedDataSerializable {
+
+    /**
+     * The default relative accuracy of the estimated quantiles.
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private double relativeAccuracy;
+    private double logGamma;
+
+    private Buckets positive = new Buckets();
+    private Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        checkTrue(relativeAccuracy > 0 && relativeAccuracy < 1, "relativeAccuracy must be in the (0, 1) range");
+        setRelativeAccuracy(relativeAccuracy);
+    }
+
+    private void setRelativeAccuracy(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the number of values added to the sketch.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Adds a value to the sketch. {@code NaN} is ignored.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        double magnitude = Math.abs(value);
+        if (magnitude < Double.MIN_NORMAL) {
+            zeroCount++;
+        } else if (value > 0) {
+            positive.add(index(magnitude), 1);
+        } else {
+            negative.add(index(magnitude), 1);
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all the values of the other sketch to this sketch.
+     */
+    public void merge(QuantileSketch other) {
+        checkTrue(relativeAccuracy == other.relativeAccuracy, "Can't merge sketches with different accuracy");
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the estimated value of the given quantile, or {@code NaN}, if
+     * the sketch is empty.
+     *
+     * @param quantile the quantile, from 0 to 1
+     */
+    public double quantile(double quantile) {
+        checkTrue(quantile >= 0 && quantile <= 1, "quantile must be in the [0, 1] range");
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        // the extremes are known exactly
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+        double value;
+        if (rank < negative.total) {
+            // the most negative values are in the highest buckets
+            value = -value(negative.indexOfRank(negative.total - 1 - rank));
+        } else if (rank < negative.total + zeroCount) {
+            value = 0;
+        } else {
+            value = value(positive.indexOfRank(rank - negative.total - zeroCount));
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private int index(double magnitude) {
+        // infinity is counted in the bucket of the highest finite value, min/max keep the actual value
+        return (int) Math.ceil(Math.log(Math.min(magnitude, Double.MAX_VALUE)) / logGamma);
+    }
+
+    /**
+     * Returns the value with the lowest relative distance from both bounds
+     * of the bucket.
+     */
+    private double value(int index) {
+        return 2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma));
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.QUANTILE_SKETCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeDouble(relativeAccuracy);
+        out.writeLong(zeroCount);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        positive.writeData(out);
+        negative.writeData(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        setRelativeAccuracy(in.readDouble());
+        zeroCount = in.readLong();
+        min = in.readDouble();
+        max = in.readDouble();
+        positive = Buckets.readData(in);
+        negative = Buckets.readData(in);
+        count = zeroCount + positive.total + negative.total;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch{"
+                + "relativeAccuracy=" + relativeAccuracy
+                + ", count=" + count
+                + ", min=" + min
+                + ", max=" + max
+                + '}';
+    }
+
+    /**
+     * The counts of a contiguous range of bucket indexes, grown as needed.
+     */
+    private static final class Buckets {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] counts;
+        private int offset;
+        private long total;
+
+        void add(int index, long count) {
+            ensureCapacity(index, index);
+            counts[index - offset] += count;
+            total += count;
+        }
+
+        void addAll(Buckets other) {
+            if (other.total == 0) {
+                return;
+            }
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        /**
+         * Returns the index of the bucket containing the value of the given
+         * rank, in the ascending order of the bucket indexes.
+         */
+        int indexOfRank(long rank) {
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative > rank) {
+                    return offset + i;
+                }
+            }
+            throw new IllegalArgumentException("rank out of range: " + rank);
+        }
+
+        private void ensureCapacity(int minIndex, int maxIndex) {
+            if (counts == null) {
+                int capacity = Math.max(INITIAL_CAPACITY, maxIndex - minIndex + 1);
+                counts = new long[capacity];
+                // leave room for growth on both sides
+                offset = minIndex - (capacity - (maxIndex - minIndex + 1)) / 2;
+                return;
+            }
+            int newMin = Math.min(minIndex, offset);
+            int newMax = Math.max(maxIndex, offset + counts.length - 1);
+            if (newMin == offset && newMax == offset + counts.length - 1) {
+                return;
+            }
+            int capacity = Math.max(newMax - newMin + 1, 2 * counts.length);
+            int newOffset = minIndex < offset ? newMax - capacity + 1 : newMin;
+            long[] newCounts = new long[capacity];
+            System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+            counts = newCounts;
+            offset = newOffset;
+        }
+
+        void writeData(ObjectDataOutput out) throws IOException {
+            if (total == 0) {
+                out.writeInt(0);
+                return;
+            }
+            // only the range of non-empty buckets is written
+            int from = 0;
+            while (counts[from] == 0) {
+                from++;
+            }
+            int to = counts.length;
+            while (counts[to - 1] == 0) {
+                to--;
+            }
+            out.writeInt(to - from);
+            out.writeInt(offset + from);
+            for (int i = from; i < to; i++) {
+                out.writeLong(counts[i]);
+            }
+        }
+
+        static Buckets readData(ObjectDataInput in) throws IOException {
+            Buckets buckets = new Buckets();
+            int length = in.readInt();
+            if (length == 0) {
+                return buckets;
+            }
+            buckets.offset = in.readInt();
+            buckets.counts = new long[length];
+            for (int i = 0; i < length; i++) {
+                buckets.counts[i] = in.readLong();
+                buckets.total += buckets.counts[i];
+            }
+            return buckets;
+        }
+
+        @Override
+        public String toString() {
+            return "Buckets{offset=" + offset + ", counts=" + Arrays.toString(counts) + '}';
+        }
+    }
+}
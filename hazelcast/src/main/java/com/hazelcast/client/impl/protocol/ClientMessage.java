@@ -124,9 +124,11 @@ public final class ClientMessage implements OutboundFrame {
 
     //frame length + flags
     public static final int SIZE_OF_FRAME_LENGTH_AND_FLAGS = Bits.INT_SIZE_IN_BYTES + Bits.SHORT_SIZE_IN_BYTES;
-    public static final Frame NULL_FRAME = new Frame(new byte[0], IS_NULL_FLAG);
-    public static final Frame BEGIN_FRAME = new Frame(new byte[0], BEGIN_DATA_STRUCTURE_FLAG);
-    public static final Frame END_FRAME = new Frame(new byte[0], END_DATA_STRUCTURE_FLAG);
+    // the content of the frames without content, it's never written to
+    public static final byte[] EMPTY_CONTENT = new byte[0];
+    public static final Frame NULL_FRAME = new Frame(EMPTY_CONTENT, IS_NULL_FLAG);
+    public static final Frame BEGIN_FRAME = new Frame(EMPTY_CONTENT, BEGIN_DATA_STRUCTURE_FLAG);
+    public static final Frame END_FRAME = new Frame(EMPTY_CONTENT, END_DATA_STRUCTURE_FLAG);
 
     private static final long serialVersionUID = 1L;
 
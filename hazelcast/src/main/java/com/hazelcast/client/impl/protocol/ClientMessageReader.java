@@ -57,9 +57,14 @@ public final class ClientMessageReader {
         return clientMessage;
     }
 
+    /**
+     * Prepares the reader for the next message, so that a single reader can
+     * be used for all the messages of a connection.
+     */
     public void reset() {
         readOffset = -1;
         clientMessage = null;
+        sumUntrustedMessageLength = 0;
     }
 
     private boolean readFrame(ByteBuffer src, boolean trusted) {
@@ -95,7 +100,8 @@ public final class ClientMessageReader {
             upcast(src).position(src.position() + Bits.SHORT_SIZE_IN_BYTES);
 
             int size = frameLength - SIZE_OF_FRAME_LENGTH_AND_FLAGS;
-            byte[] bytes = new byte[size];
+            // the begin, end and null frames are empty, they share the content
+            byte[] bytes = size == 0 ? ClientMessage.EMPTY_CONTENT : new byte[size];
             ClientMessage.Frame frame = new ClientMessage.Frame(bytes, flags);
             if (clientMessage == null) {
                 clientMessage = ClientMessage.createForDecode(frame);
@@ -328,6 +328,17 @@ public final class ClientProperty {
     public static final HazelcastProperty PARTITION_ARGUMENT_CACHE_SIZE
             = new HazelcastProperty("hazelcast.client.sql.partition.argument.cache.size", 1024);
 
+    /**
+     * When enabled, the client requests the next page of an SQL result as soon
+     * as the previous page is received, so that the page is transferred while
+     * the application iterates over the current page. Applies only to the
+     * bounded results, i.e. not to the streaming queries. The client holds at
+     * most one prefetched page per result, at most {@link
+     * com.hazelcast.sql.SqlStatement#getCursorBufferSize()} rows.
+     */
+    public static final HazelcastProperty SQL_FETCH_PREFETCH_ENABLED
+            = new HazelcastProperty("hazelcast.client.sql.fetch.prefetch.enabled", true);
+
     /**
      * Class name implementing {@link com.hazelcast.partition.PartitioningStrategy}, which
      * defines key to partition mapping. Client-side equivalent of member property
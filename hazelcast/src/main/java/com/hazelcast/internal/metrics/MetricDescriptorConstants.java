@@ -252,6 +252,15 @@ public final class MetricDescriptorConstants {
             = "differentialPartitionReplicationRecordsCount";
     public static final String MAP_PREFIX_MAP_STORE_OFFLOADED_OPERATIONS
             = "map.store.offloaded.operations";
+    public static final String MAP_PREFIX_COMPRESSION = "map.compression";
+    public static final String MAP_METRIC_COMPRESSION_COMPRESSED_COUNT = "compressedCount";
+    public static final String MAP_METRIC_COMPRESSION_SKIPPED_COUNT = "skippedCount";
+    public static final String MAP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES = "uncompressedBytes";
+    public static final String MAP_METRIC_COMPRESSION_COMPRESSED_BYTES = "compressedBytes";
+    public static final String MAP_METRIC_COMPRESSION_RATIO = "compressionRatio";
+    public static final String MAP_METRIC_COMPRESSION_TIME = "compressionTime";
+    public static final String MAP_METRIC_COMPRESSION_DECOMPRESSED_COUNT = "decompressedCount";
+    public static final String MAP_METRIC_COMPRESSION_DECOMPRESSION_TIME = "decompressionTime";
     public static final String MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT
             = "waitingToBeProcessedCount";
     public static final String MAP_TAG_HYBRID_LOG_ID = "hybridlogid";
@@ -522,6 +531,13 @@ public final class MetricDescriptorConstants {
     public static final String RUNTIME_FULL_METRIC_UPTIME = "runtime.uptime";
     // ===[/RUNTIME]====================================================
 
+    // ===[SERIALIZATION]===============================================
+    public static final String SERIALIZATION_BUFFER_POOL_PREFIX = "serialization.bufferPool";
+    public static final String SERIALIZATION_BUFFER_POOL_METRIC_HITS = "hits";
+    public static final String SERIALIZATION_BUFFER_POOL_METRIC_MISSES = "misses";
+    public static final String SERIALIZATION_BUFFER_POOL_METRIC_BYTES_RETAINED = "bytesRetained";
+    // ===[/SERIALIZATION]==============================================
+
     // ===[SET]=======================================================
     public static final String SET_PREFIX = "set";
     public static final String SET_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
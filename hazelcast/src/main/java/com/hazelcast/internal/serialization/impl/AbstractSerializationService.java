@@ -28,6 +28,7 @@ import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializerAdapter;
@@ -437,6 +438,14 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return version;
     }
 
+    /**
+     * Returns the pool of large arrays shared by the output buffers of
+     * {@link #toBytes} on all the threads.
+     */
+    public ByteArrayPool getByteArrayPool() {
+        return bufferPoolThreadLocal.getArrayPool();
+    }
+
     public void dispose() {
         active = false;
         for (SerializerAdapter serializer : typeMap.values()) {
@@ -20,13 +20,13 @@ import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.collection.ArrayUtils;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.ByteOrder;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static com.hazelcast.internal.nio.Bits.CHAR_SIZE_IN_BYTES;
@@ -38,6 +38,9 @@ import static com.hazelcast.version.Version.UNKNOWN;
 
 public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput implements BufferObjectDataOutput {
 
+    private static final int UTF8_ONE_BYTE_LIMIT = 0x80;
+    private static final int UTF8_TWO_BYTES_LIMIT = 0x800;
+
     final int initialSize;
 
     final int firstGrowthSize;
@@ -50,6 +53,11 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
 
     private final boolean isBigEndian;
 
+    private ByteArrayPool arrayPool;
+
+    // the buffer replaced by an array taken from the arrayPool, restored on clear()
+    private byte[] retainedBuffer;
+
     ByteArrayObjectDataOutput(int size, InternalSerializationService service, ByteOrder byteOrder) {
         this(size, -1, service, byteOrder);
     }
@@ -283,10 +291,85 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
             return;
         }
 
-        byte[] utf8Bytes = str.getBytes(StandardCharsets.UTF_8);
-        writeInt(utf8Bytes.length);
-        ensureAvailable(utf8Bytes.length);
-        write(utf8Bytes);
+        // the string is encoded directly into the buffer, the length is written
+        // once known; ASCII strings take a single pass with a byte per char
+        int charCount = str.length();
+        ensureAvailable(INT_SIZE_IN_BYTES + charCount);
+        int lengthPos = pos;
+        int p = pos + INT_SIZE_IN_BYTES;
+        int i = 0;
+        for (char c; i < charCount && (c = str.charAt(i)) < UTF8_ONE_BYTE_LIMIT; i++) {
+            buffer[p++] = (byte) c;
+        }
+        if (i < charCount) {
+            pos = p;
+            ensureAvailable(utf8Length(str, i));
+            p = writeUtf8(str, i, buffer, pos);
+        }
+        pos = p;
+        writeInt(lengthPos, p - lengthPos - INT_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 encoding of the string from the
+     * given index, as produced by {@code String.getBytes(UTF_8)}.
+     */
+    private static int utf8Length(String str, int from) {
+        int length = 0;
+        for (int i = from; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < UTF8_ONE_BYTE_LIMIT) {
+                length++;
+            } else if (c < UTF8_TWO_BYTES_LIMIT) {
+                length += 2;
+            } else if (isSurrogatePair(str, i)) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // an unpaired surrogate is replaced by '?'
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the string from the given index, as produced
+     * by {@code String.getBytes(UTF_8)}. Returns the position after the last
+     * byte written.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int writeUtf8(String str, int from, byte[] buffer, int pos) {
+        for (int i = from; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < UTF8_ONE_BYTE_LIMIT) {
+                buffer[pos++] = (byte) c;
+            } else if (c < UTF8_TWO_BYTES_LIMIT) {
+                buffer[pos++] = (byte) (0xC0 | c >> 6);
+                buffer[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (isSurrogatePair(str, i)) {
+                int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                buffer[pos++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buffer[pos++] = '?';
+            } else {
+                buffer[pos++] = (byte) (0xE0 | c >> 12);
+                buffer[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return pos;
+    }
+
+    private static boolean isSurrogatePair(String str, int index) {
+        return Character.isHighSurrogate(str.charAt(index))
+                && index + 1 < str.length()
+                && Character.isLowSurrogate(str.charAt(index + 1));
     }
 
     @Override
@@ -396,13 +479,37 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         if (available() < len) {
             if (buffer != null) {
                 int newCap = Math.max(Math.max(buffer.length << 1, buffer.length + len), firstGrowthSize);
-                buffer = Arrays.copyOf(buffer, newCap);
+                buffer = arrayPool != null && newCap > maxRetainedSize() ? growPooled(newCap) : Arrays.copyOf(buffer, newCap);
             } else {
                 buffer = new byte[len > initialSize / 2 ? len * 2 : initialSize];
             }
         }
     }
 
+    private byte[] growPooled(int newCap) {
+        byte[] newBuffer = arrayPool.take(newCap);
+        System.arraycopy(buffer, 0, newBuffer, 0, buffer.length);
+        if (buffer.length > maxRetainedSize()) {
+            arrayPool.offer(buffer);
+        } else {
+            retainedBuffer = buffer;
+        }
+        return newBuffer;
+    }
+
+    private int maxRetainedSize() {
+        return initialSize * 8;
+    }
+
+    /**
+     * Sets the pool from which the buffer takes the arrays larger than the
+     * size it retains on {@link #clear()}. The arrays are returned to the
+     * pool when the buffer is cleared or closed.
+     */
+    public void setArrayPool(ByteArrayPool arrayPool) {
+        this.arrayPool = arrayPool;
+    }
+
     @Override
     public void writeObject(Object object) throws IOException {
         service.writeObject(this, object);
@@ -459,8 +566,12 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
     @Override
     public void clear() {
         pos = 0;
-        if (buffer != null && buffer.length > initialSize * 8) {
-            buffer = new byte[initialSize * 8];
+        if (buffer != null && buffer.length > maxRetainedSize()) {
+            if (arrayPool != null) {
+                arrayPool.offer(buffer);
+            }
+            buffer = retainedBuffer != null ? retainedBuffer : new byte[maxRetainedSize()];
+            retainedBuffer = null;
         }
         version = UNKNOWN;
         wanProtocolVersion = UNKNOWN;
@@ -469,7 +580,11 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
     @Override
     public void close() {
         pos = 0;
+        if (arrayPool != null && buffer != null && buffer.length > maxRetainedSize()) {
+            arrayPool.offer(buffer);
+        }
         buffer = null;
+        retainedBuffer = null;
     }
 
     @Override
@@ -23,6 +23,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.Arrays;
 
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
 import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 
@@ -43,6 +44,9 @@ public class HeapData implements Data {
 
     protected byte[] payload;
 
+    // the hash of the data, computed on the first use, or 0 if not yet computed
+    private int hash;
+
     public HeapData() {
     }
 
@@ -102,6 +106,7 @@ public class HeapData implements Data {
     public int getHeapCost() {
         return OBJECT_HEADER_SIZE
                 + REFERENCE_COST_IN_BYTES
+                + INT_SIZE_IN_BYTES
                 + (payload != null ? ARRAY_HEADER_SIZE_IN_BYTES + payload.length : 0);
     }
 
@@ -152,7 +157,14 @@ public class HeapData implements Data {
 
     @Override
     public int hashCode() {
-        return HashUtil.MurmurHash3_x86_32(payload, DATA_OFFSET, dataSize());
+        // the key is hashed for the partition routing and again for the lookups
+        // in the storage, a racy cache is fine since the payload doesn't change
+        int h = hash;
+        if (h == 0) {
+            h = HashUtil.MurmurHash3_x86_32(payload, DATA_OFFSET, dataSize());
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -27,4 +27,12 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 public interface BufferPoolFactory {
 
     BufferPool create(InternalSerializationService serializationService);
+
+    /**
+     * Creates a {@link BufferPool} whose output buffers may take their large
+     * arrays from the given pool shared by all the threads.
+     */
+    default BufferPool create(InternalSerializationService serializationService, ByteArrayPool arrayPool) {
+        return create(serializationService);
+    }
 }
@@ -27,4 +27,9 @@ public class BufferPoolFactoryImpl implements BufferPoolFactory {
     public BufferPool create(InternalSerializationService serializationService) {
         return new BufferPoolImpl(serializationService);
     }
+
+    @Override
+    public BufferPool create(InternalSerializationService serializationService, ByteArrayPool arrayPool) {
+        return new BufferPoolImpl(serializationService, arrayPool);
+    }
 }
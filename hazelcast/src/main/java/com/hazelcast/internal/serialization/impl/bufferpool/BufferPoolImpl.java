@@ -20,11 +20,14 @@ import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.ByteArrayObjectDataOutput;
 import com.hazelcast.internal.serialization.impl.HeapData;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+
 /**
  * Default {@link BufferPool} implementation.
  * <p>
@@ -34,13 +37,23 @@ public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
 
     protected final InternalSerializationService serializationService;
+    private final ByteArrayPool arrayPool;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
+        this(serializationService, null);
+    }
+
+    /**
+     * @param arrayPool the pool the output buffers take their large arrays
+     *                  from, or {@code null}, if they allocate them
+     */
+    public BufferPoolImpl(InternalSerializationService serializationService, ByteArrayPool arrayPool) {
         this.serializationService = serializationService;
+        this.arrayPool = arrayPool;
     }
 
     @Override
@@ -48,6 +61,9 @@ public class BufferPoolImpl implements BufferPool {
         BufferObjectDataOutput out = outputQueue.poll();
         if (out == null) {
             out = serializationService.createObjectDataOutput();
+            if (arrayPool != null && out instanceof ByteArrayObjectDataOutput) {
+                ((ByteArrayObjectDataOutput) out).setArrayPool(arrayPool);
+            }
         }
         return out;
     }
@@ -58,9 +74,15 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
+        if (outputQueue.size() == MAX_POOLED_ITEMS) {
+            // the output is dropped: closing it gives a large array back to the arrayPool
+            closeResource(out);
+            return;
+        }
+
         out.clear();
 
-        tryOffer(outputQueue, out);
+        outputQueue.offer(out);
     }
 
     @Override
@@ -82,6 +82,7 @@ public final class BufferPoolThreadLocal {
     private final ThreadLocal<WeakReference<BufferPool>> threadLocal = new ThreadLocal<>();
     private final InternalSerializationService serializationService;
     private final BufferPoolFactory bufferPoolFactory;
+    private final ByteArrayPool arrayPool = new ByteArrayPool();
     private final Map<Thread, BufferPool> strongReferences = new ConcurrentReferenceHashMap<>(WEAK, STRONG);
     private final Supplier<RuntimeException> notActiveExceptionSupplier;
 
@@ -96,7 +97,7 @@ public final class BufferPoolThreadLocal {
     public BufferPool get() {
         WeakReference<BufferPool> ref = threadLocal.get();
         if (ref == null) {
-            BufferPool pool = bufferPoolFactory.create(serializationService);
+            BufferPool pool = bufferPoolFactory.create(serializationService, arrayPool);
             ref = new WeakReference<>(pool);
             strongReferences.put(Thread.currentThread(), pool);
             threadLocal.set(ref);
@@ -110,7 +111,16 @@ public final class BufferPoolThreadLocal {
         }
     }
 
+    /**
+     * Returns the pool of large arrays shared by the buffer pools of all the
+     * threads.
+     */
+    public ByteArrayPool getArrayPool() {
+        return arrayPool;
+    }
+
     public void clear() {
         strongReferences.clear();
+        arrayPool.clear();
     }
 }
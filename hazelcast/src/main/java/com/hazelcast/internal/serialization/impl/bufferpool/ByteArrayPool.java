@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_BUFFER_POOL_METRIC_BYTES_RETAINED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_BUFFER_POOL_METRIC_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_BUFFER_POOL_METRIC_MISSES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A pool of byte arrays shared by all the threads of a serialization service.
+ * <p>
+ * The {@link BufferPool} of each thread keeps its output buffers, but drops
+ * their arrays once they grow past a limit, so serializing large values
+ * repeatedly allocates and grows large arrays. Instead, the outputs take
+ * the large arrays from this pool and return them when cleared.
+ * <p>
+ * The arrays are pooled in size classes of powers of two. The total size of
+ * the retained arrays is bounded, the arrays returned to a full pool, and the
+ * arrays larger than the largest size class, are left to the garbage
+ * collector.
+ */
+public final class ByteArrayPool {
+
+    /**
+     * The default maximum total size of the retained arrays.
+     */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 32 * 1024 * 1024;
+
+    static final int MIN_SIZE_CLASS_SHIFT = 12;
+    static final int MAX_SIZE_CLASS_SHIFT = 24;
+
+    @Probe(name = SERIALIZATION_BUFFER_POOL_METRIC_HITS)
+    private final Counter hits = newMwCounter();
+    @Probe(name = SERIALIZATION_BUFFER_POOL_METRIC_MISSES)
+    private final Counter misses = newMwCounter();
+    @Probe(name = SERIALIZATION_BUFFER_POOL_METRIC_BYTES_RETAINED, unit = BYTES)
+    private final AtomicLong bytesRetained = new AtomicLong();
+
+    private final Queue<byte[]>[] sizeClasses;
+    private final long maxRetainedBytes;
+
+    public ByteArrayPool() {
+        this(DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ByteArrayPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = checkPositive("maxRetainedBytes", maxRetainedBytes);
+        this.sizeClasses = new Queue[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Takes an array of at least the given length from the pool, or allocates
+     * a new one, if there's none.
+     *
+     * @param minLength the minimum length of the array
+     * @return the array, its contents are undefined
+     */
+    public byte[] take(int minLength) {
+        int shift = sizeClassShift(minLength);
+        if (shift > MAX_SIZE_CLASS_SHIFT) {
+            misses.inc();
+            return new byte[minLength];
+        }
+        byte[] array = sizeClasses[shift - MIN_SIZE_CLASS_SHIFT].poll();
+        if (array == null) {
+            misses.inc();
+            return new byte[1 << shift];
+        }
+        hits.inc();
+        bytesRetained.addAndGet(-array.length);
+        return array;
+    }
+
+    /**
+     * Returns an array to the pool. The caller must not use the array after
+     * this call.
+     *
+     * @param array the array, usually taken from this pool
+     */
+    public void offer(byte[] array) {
+        int length = array.length;
+        int shift = sizeClassShift(length);
+        if (length != 1 << shift || shift < MIN_SIZE_CLASS_SHIFT || shift > MAX_SIZE_CLASS_SHIFT) {
+            // not an array of a size class
+            return;
+        }
+        for (;;) {
+            long retained = bytesRetained.get();
+            if (retained + length > maxRetainedBytes) {
+                return;
+            }
+            if (bytesRetained.compareAndSet(retained, retained + length)) {
+                break;
+            }
+        }
+        sizeClasses[shift - MIN_SIZE_CLASS_SHIFT].offer(array);
+    }
+
+    /**
+     * Releases all the retained arrays.
+     */
+    public void clear() {
+        for (Queue<byte[]> sizeClass : sizeClasses) {
+            for (byte[] array; (array = sizeClass.poll()) != null; ) {
+                bytesRetained.addAndGet(-array.length);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBytesRetained() {
+        return bytesRetained.get();
+    }
+
+    /**
+     * Returns the shift of the smallest size class fitting the given length.
+     */
+    private static int sizeClassShift(int length) {
+        if (length <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return MIN_SIZE_CLASS_SHIFT;
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(length - 1);
+    }
+}
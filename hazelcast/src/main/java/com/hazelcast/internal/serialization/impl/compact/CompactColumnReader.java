@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldReader.NULL_POSITION;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
+/**
+ * Reads top-level fields of a primitive or a nullable primitive kind from a
+ * batch of serialized Compact objects into column vectors.
+ * <p>
+ * The objects are decoded in a single pass, without creating a record or a
+ * boxed value for each of them. The {@link CompactFieldReader}s are created
+ * once per schema. A field is read only if its kind in the schema is the
+ * requested kind or its nullable variant, so that the values are the same
+ * as if they were read through a {@link CompactInternalGenericRecord}.
+ * <p>
+ * The reader isn't thread-safe.
+ */
+public final class CompactColumnReader {
+
+    // the supported kinds, mapped to the non-nullable variant
+    private static final Map<FieldKind, FieldKind> BASE_KINDS = new EnumMap<>(FieldKind.class);
+
+    static {
+        addKind(FieldKind.BOOLEAN, FieldKind.NULLABLE_BOOLEAN);
+        addKind(FieldKind.INT8, FieldKind.NULLABLE_INT8);
+        addKind(FieldKind.INT16, FieldKind.NULLABLE_INT16);
+        addKind(FieldKind.INT32, FieldKind.NULLABLE_INT32);
+        addKind(FieldKind.INT64, FieldKind.NULLABLE_INT64);
+        addKind(FieldKind.FLOAT32, FieldKind.NULLABLE_FLOAT32);
+        addKind(FieldKind.FLOAT64, FieldKind.NULLABLE_FLOAT64);
+    }
+
+    private final InternalSerializationService serializationService;
+    private final String[] fieldNames;
+    private final FieldKind[] fieldKinds;
+    private final ByteOrder byteOrder;
+    // null if the fields can't be read from the objects with the schema
+    private final Map<Long, CompactFieldReader[]> readersBySchemaId = new HashMap<>();
+
+    /**
+     * @param fieldNames the names of the top-level fields to read
+     * @param fieldKinds the kinds of the fields, both the nullable and the
+     *                   non-nullable variant of a kind are read
+     */
+    public CompactColumnReader(
+            @Nonnull InternalSerializationService serializationService,
+            @Nonnull String[] fieldNames,
+            @Nonnull FieldKind[] fieldKinds
+    ) {
+        checkTrue(fieldNames.length == fieldKinds.length, "fieldNames.length != fieldKinds.length");
+        this.serializationService = serializationService;
+        this.fieldNames = fieldNames;
+        this.fieldKinds = new FieldKind[fieldKinds.length];
+        for (int i = 0; i < fieldKinds.length; i++) {
+            checkTrue(isSupported(fieldKinds[i]), "Unsupported field kind: " + fieldKinds[i]);
+            this.fieldKinds[i] = BASE_KINDS.get(fieldKinds[i]);
+        }
+        this.byteOrder = serializationService.getByteOrder();
+    }
+
+    /**
+     * Returns {@code true}, if the given kind can be read.
+     */
+    public static boolean isSupported(FieldKind kind) {
+        return BASE_KINDS.containsKey(kind);
+    }
+
+    /**
+     * Returns {@code true}, if the values of the given kind are stored to the
+     * {@code doubles} columns, {@code false}, if to the {@code longs} columns.
+     */
+    public static boolean isFloatingPoint(FieldKind kind) {
+        FieldKind baseKind = BASE_KINDS.get(kind);
+        return baseKind == FieldKind.FLOAT32 || baseKind == FieldKind.FLOAT64;
+    }
+
+    private static void addKind(FieldKind kind, FieldKind nullableKind) {
+        BASE_KINDS.put(kind, kind);
+        BASE_KINDS.put(nullableKind, kind);
+    }
+
+    /**
+     * Reads the fields of the first {@code count} objects. The value of the
+     * field {@code i} of the object {@code j} is stored to {@code
+     * doubles[i][j]}, if the field is {@linkplain #isFloatingPoint
+     * floating-point}, to {@code longs[i][j]} otherwise, booleans are stored
+     * as 0 or 1. {@code nulls[i][j]} is set, if the value is {@code null}.
+     *
+     * @return {@code true}, if all the fields were read, {@code false}, if an
+     * object isn't Compact or it doesn't have a field of the requested kind,
+     * the contents of the columns are undefined then
+     */
+    public boolean read(
+            @Nonnull Data[] values,
+            int count,
+            @Nonnull long[][] longs,
+            @Nonnull double[][] doubles,
+            @Nonnull boolean[][] nulls
+    ) {
+        long lastSchemaId = 0;
+        CompactFieldReader[] readers = null;
+        for (int j = 0; j < count; j++) {
+            Data value = values[j];
+            if (value == null || !value.isCompact()) {
+                return false;
+            }
+            byte[] bytes = value.toByteArray();
+            long schemaId = CompactFieldReader.readSchemaId(bytes, byteOrder);
+            if (readers == null || schemaId != lastSchemaId) {
+                readers = getReaders(value, schemaId);
+                lastSchemaId = schemaId;
+                if (readers == null) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < readers.length; i++) {
+                CompactFieldReader reader = readers[i];
+                int position = reader.position(bytes);
+                nulls[i][j] = position == NULL_POSITION;
+                if (position == NULL_POSITION) {
+                    continue;
+                }
+                if (isFloatingPoint(fieldKinds[i])) {
+                    doubles[i][j] = reader.readDouble(bytes, position);
+                } else {
+                    longs[i][j] = reader.readLong(bytes, position);
+                }
+            }
+        }
+        return true;
+    }
+
+    private CompactFieldReader[] getReaders(Data value, long schemaId) {
+        if (readersBySchemaId.containsKey(schemaId)) {
+            return readersBySchemaId.get(schemaId);
+        }
+        Schema schema;
+        try {
+            schema = serializationService.extractSchemaFromData(value);
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        }
+        CompactFieldReader[] readers = new CompactFieldReader[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            CompactFieldReader reader = CompactFieldReader.of(schema, fieldNames[i], byteOrder);
+            if (!reader.isSupported() || BASE_KINDS.get(reader.getKind()) != fieldKinds[i]) {
+                readers = null;
+                break;
+            }
+            readers[i] = reader;
+        }
+        readersBySchemaId.put(schemaId, readers);
+        return readers;
+    }
+}
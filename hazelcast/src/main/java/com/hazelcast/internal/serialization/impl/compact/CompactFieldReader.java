@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.FieldKind;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteOrder;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+
+/**
+ * Reads a top-level field of a primitive or a nullable primitive kind
+ * directly from the serialized bytes of the Compact objects with a given
+ * schema.
+ * <p>
+ * The position of a fixed-size field is precomputed from the schema, the
+ * position of a nullable field is read from the offset table, encoded as
+ * for the {@link OffsetReader}s. Unlike reading the field through a
+ * {@link CompactInternalGenericRecord}, no input or record is created.
+ */
+public final class CompactFieldReader {
+
+    static final int NULL_POSITION = -1;
+
+    private static final int SCHEMA_ID_POSITION = HeapData.DATA_OFFSET;
+    private static final int DATA_POSITION = SCHEMA_ID_POSITION + LONG_SIZE_IN_BYTES;
+    private static final Set<FieldKind> SUPPORTED_KINDS = EnumSet.of(
+            FieldKind.BOOLEAN, FieldKind.INT8, FieldKind.INT16, FieldKind.INT32, FieldKind.INT64,
+            FieldKind.FLOAT32, FieldKind.FLOAT64,
+            FieldKind.NULLABLE_BOOLEAN, FieldKind.NULLABLE_INT8, FieldKind.NULLABLE_INT16, FieldKind.NULLABLE_INT32,
+            FieldKind.NULLABLE_INT64, FieldKind.NULLABLE_FLOAT32, FieldKind.NULLABLE_FLOAT64);
+
+    private final long schemaId;
+    private final FieldKind kind;
+    private final boolean variableSizeFields;
+    private final int offset;
+    private final int bitOffset;
+    private final int index;
+    private final boolean bigEndian;
+
+    private CompactFieldReader(Schema schema, @Nullable FieldDescriptor field, ByteOrder byteOrder) {
+        this.schemaId = schema.getSchemaId();
+        this.kind = field == null || !SUPPORTED_KINDS.contains(field.getKind()) ? null : field.getKind();
+        this.variableSizeFields = schema.getNumberOfVariableSizeFields() != 0;
+        this.offset = field == null ? -1 : field.getOffset();
+        this.bitOffset = field == null ? -1 : field.getBitOffset();
+        this.index = field == null ? -1 : field.getIndex();
+        this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Creates the reader of the given top-level field. If the schema doesn't
+     * have the field or the field isn't of a primitive or a nullable primitive
+     * kind, the reader isn't {@linkplain #isSupported() supported}.
+     */
+    public static CompactFieldReader of(@Nonnull Schema schema, @Nonnull String fieldName, @Nonnull ByteOrder byteOrder) {
+        return new CompactFieldReader(schema, schema.getField(fieldName), byteOrder);
+    }
+
+    /**
+     * Returns the id of the schema of the given serialized Compact object.
+     */
+    public static long readSchemaId(@Nonnull byte[] bytes, @Nonnull ByteOrder byteOrder) {
+        return Bits.readLong(bytes, SCHEMA_ID_POSITION, byteOrder == ByteOrder.BIG_ENDIAN);
+    }
+
+    public long getSchemaId() {
+        return schemaId;
+    }
+
+    /**
+     * Returns {@code true}, if the field can be read with {@link #read}.
+     */
+    public boolean isSupported() {
+        return kind != null;
+    }
+
+    /**
+     * Returns the kind of the field, or {@code null}, if the reader isn't
+     * {@linkplain #isSupported() supported}.
+     */
+    @Nullable
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Reads the field from the given serialized Compact object, which must
+     * have the schema of this reader. Returns the same boxed value as the
+     * {@link CompactInternalGenericRecord}.
+     */
+    @Nullable
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    public Object read(@Nonnull byte[] bytes) {
+        int position = position(bytes);
+        if (position == NULL_POSITION) {
+            return null;
+        }
+        switch (kind) {
+            case BOOLEAN:
+            case NULLABLE_BOOLEAN:
+                return readLong(bytes, position) != 0;
+            case INT8:
+            case NULLABLE_INT8:
+                return bytes[position];
+            case INT16:
+            case NULLABLE_INT16:
+                return Bits.readShort(bytes, position, bigEndian);
+            case INT32:
+            case NULLABLE_INT32:
+                return Bits.readInt(bytes, position, bigEndian);
+            case INT64:
+            case NULLABLE_INT64:
+                return Bits.readLong(bytes, position, bigEndian);
+            case FLOAT32:
+            case NULLABLE_FLOAT32:
+                return Float.intBitsToFloat(Bits.readInt(bytes, position, bigEndian));
+            default:
+                return readDouble(bytes, position);
+        }
+    }
+
+    /**
+     * Returns the position of the field in the given serialized Compact
+     * object, or {@link #NULL_POSITION}, if the field is {@code null}.
+     */
+    int position(byte[] bytes) {
+        assert isSupported() : "Unsupported field";
+        int dataStart = DATA_POSITION;
+        int dataLength = 0;
+        if (variableSizeFields) {
+            dataLength = Bits.readInt(bytes, dataStart, bigEndian);
+            dataStart += INT_SIZE_IN_BYTES;
+        }
+        if (offset >= 0) {
+            return dataStart + offset;
+        }
+        int variableOffset = readVariableOffset(bytes, dataStart + dataLength, dataLength);
+        return variableOffset == NULL_OFFSET ? NULL_POSITION : dataStart + variableOffset;
+    }
+
+    /**
+     * Reads the value of a boolean or integral field at the given position,
+     * booleans are read as 0 or 1.
+     */
+    long readLong(byte[] bytes, int position) {
+        switch (kind) {
+            case BOOLEAN:
+                return (bytes[position] >>> bitOffset) & 1;
+            case NULLABLE_BOOLEAN:
+                return bytes[position] != 0 ? 1 : 0;
+            case INT8:
+            case NULLABLE_INT8:
+                return bytes[position];
+            case INT16:
+            case NULLABLE_INT16:
+                return Bits.readShort(bytes, position, bigEndian);
+            case INT32:
+            case NULLABLE_INT32:
+                return Bits.readInt(bytes, position, bigEndian);
+            default:
+                return Bits.readLong(bytes, position, bigEndian);
+        }
+    }
+
+    /**
+     * Reads the value of a floating-point field at the given position.
+     */
+    double readDouble(byte[] bytes, int position) {
+        if (kind == FieldKind.FLOAT32 || kind == FieldKind.NULLABLE_FLOAT32) {
+            return Float.intBitsToFloat(Bits.readInt(bytes, position, bigEndian));
+        }
+        return Double.longBitsToDouble(Bits.readLong(bytes, position, bigEndian));
+    }
+
+    private int readVariableOffset(byte[] bytes, int variableOffsetsPosition, int dataLength) {
+        if (dataLength < BYTE_OFFSET_READER_RANGE) {
+            byte variableOffset = bytes[variableOffsetsPosition + index];
+            return variableOffset == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(variableOffset);
+        } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
+            short variableOffset = Bits.readShort(bytes, variableOffsetsPosition + index * SHORT_SIZE_IN_BYTES, bigEndian);
+            return variableOffset == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(variableOffset);
+        } else {
+            return Bits.readInt(bytes, variableOffsetsPosition + index * INT_SIZE_IN_BYTES, bigEndian);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+
+/**
+ * Reads and writes the value of a field of the objects serialized with the
+ * {@link ReflectiveCompactSerializer}.
+ * <p>
+ * When the memory accessor is available, the field is accessed directly at
+ * its offset in the object, which avoids the access checks and the boxing
+ * of {@link Field#get}/{@link Field#set}. Otherwise, and for the volatile
+ * fields and the fields whose offset can't be determined, the accessor
+ * falls back to reflection.
+ */
+final class FieldAccessor {
+
+    private static final long NO_OFFSET = -1;
+
+    private final Field field;
+    private final Class<?> type;
+    private final long offset;
+
+    /**
+     * @param field the field, already made accessible
+     */
+    FieldAccessor(Field field) {
+        this(field, MEM_AVAILABLE);
+    }
+
+    FieldAccessor(Field field, boolean direct) {
+        this.field = field;
+        this.type = field.getType();
+        this.offset = direct ? offsetOf(field) : NO_OFFSET;
+    }
+
+    private static long offsetOf(Field field) {
+        if (Modifier.isVolatile(field.getModifiers())) {
+            // plain reads and writes at the offset don't have the volatile semantics
+            return NO_OFFSET;
+        }
+        try {
+            return MEM.objectFieldOffset(field);
+        } catch (UnsupportedOperationException e) {
+            // e.g. the fields of hidden classes
+            return NO_OFFSET;
+        }
+    }
+
+    /**
+     * Returns {@code true}, if the field is accessed at its offset.
+     */
+    boolean isDirect() {
+        return offset != NO_OFFSET;
+    }
+
+    boolean getBoolean(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getBoolean(o, offset) : field.getBoolean(o);
+    }
+
+    void setBoolean(Object o, boolean value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putBoolean(o, offset, value);
+        } else {
+            field.setBoolean(o, value);
+        }
+    }
+
+    byte getByte(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getByte(o, offset) : field.getByte(o);
+    }
+
+    void setByte(Object o, byte value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putByte(o, offset, value);
+        } else {
+            field.setByte(o, value);
+        }
+    }
+
+    char getChar(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getChar(o, offset) : field.getChar(o);
+    }
+
+    void setChar(Object o, char value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putChar(o, offset, value);
+        } else {
+            field.setChar(o, value);
+        }
+    }
+
+    short getShort(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getShort(o, offset) : field.getShort(o);
+    }
+
+    void setShort(Object o, short value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putShort(o, offset, value);
+        } else {
+            field.setShort(o, value);
+        }
+    }
+
+    int getInt(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getInt(o, offset) : field.getInt(o);
+    }
+
+    void setInt(Object o, int value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putInt(o, offset, value);
+        } else {
+            field.setInt(o, value);
+        }
+    }
+
+    long getLong(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getLong(o, offset) : field.getLong(o);
+    }
+
+    void setLong(Object o, long value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putLong(o, offset, value);
+        } else {
+            field.setLong(o, value);
+        }
+    }
+
+    float getFloat(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getFloat(o, offset) : field.getFloat(o);
+    }
+
+    void setFloat(Object o, float value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putFloat(o, offset, value);
+        } else {
+            field.setFloat(o, value);
+        }
+    }
+
+    double getDouble(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getDouble(o, offset) : field.getDouble(o);
+    }
+
+    void setDouble(Object o, double value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            MEM.putDouble(o, offset, value);
+        } else {
+            field.setDouble(o, value);
+        }
+    }
+
+    /**
+     * Returns the value of a field of a reference type.
+     */
+    Object get(Object o) throws IllegalAccessException {
+        return offset != NO_OFFSET ? MEM.getObject(o, offset) : field.get(o);
+    }
+
+    /**
+     * Sets the value of a field of a reference type.
+     *
+     * @throws ClassCastException if the value isn't assignable to the field
+     */
+    void set(Object o, Object value) throws IllegalAccessException {
+        if (offset != NO_OFFSET) {
+            // unlike Field.set(), the direct write doesn't check the type
+            MEM.putObject(o, offset, type.cast(value));
+        } else {
+            field.set(o, value);
+        }
+    }
+}
@@ -63,6 +63,9 @@ import static java.util.stream.Collectors.toList;
  * For any other class as the field type, it will work recursively and try to de/serialize a sub-class.
  * Thus, if any sub-fields does not have an accessible empty constructor, deserialization fails with
  * HazelcastSerializationException.
+ * <p>
+ * The fields are read and written with {@link FieldAccessor}s, which access
+ * them directly at their offsets when possible.
  */
 public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
 
@@ -176,6 +179,7 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         int index = 0;
         for (Field field : allFields) {
             field.setAccessible(true);
+            FieldAccessor accessor = new FieldAccessor(field);
             Class<?> type = field.getType();
             String name = field.getName();
 
@@ -186,13 +190,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, INT8, NULLABLE_INT8)) {
-                            field.setByte(o, reader.readInt8(name));
+                            accessor.setByte(o, reader.readInt8(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt8(name, field.getByte(o));
+                        writer.writeInt8(name, accessor.getByte(o));
                     }
                 };
             } else if (Character.TYPE.equals(type)) {
@@ -200,13 +204,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, INT16, NULLABLE_INT16)) {
-                            field.setChar(o, (char) reader.readInt16(name));
+                            accessor.setChar(o, (char) reader.readInt16(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt16(name, (short) field.getChar(o));
+                        writer.writeInt16(name, (short) accessor.getChar(o));
                     }
                 };
             } else if (Short.TYPE.equals(type)) {
@@ -214,13 +218,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, INT16, NULLABLE_INT16)) {
-                            field.setShort(o, reader.readInt16(name));
+                            accessor.setShort(o, reader.readInt16(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt16(name, field.getShort(o));
+                        writer.writeInt16(name, accessor.getShort(o));
                     }
                 };
             } else if (Integer.TYPE.equals(type)) {
@@ -228,13 +232,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, INT32, NULLABLE_INT32)) {
-                            field.setInt(o, reader.readInt32(name));
+                            accessor.setInt(o, reader.readInt32(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt32(name, field.getInt(o));
+                        writer.writeInt32(name, accessor.getInt(o));
                     }
                 };
             } else if (Long.TYPE.equals(type)) {
@@ -242,13 +246,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, INT64, NULLABLE_INT64)) {
-                            field.setLong(o, reader.readInt64(name));
+                            accessor.setLong(o, reader.readInt64(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt64(name, field.getLong(o));
+                        writer.writeInt64(name, accessor.getLong(o));
                     }
                 };
             } else if (Float.TYPE.equals(type)) {
@@ -256,13 +260,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, FLOAT32, NULLABLE_FLOAT32)) {
-                            field.setFloat(o, reader.readFloat32(name));
+                            accessor.setFloat(o, reader.readFloat32(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeFloat32(name, field.getFloat(o));
+                        writer.writeFloat32(name, accessor.getFloat(o));
                     }
                 };
             } else if (Double.TYPE.equals(type)) {
@@ -270,13 +274,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, FLOAT64, NULLABLE_FLOAT64)) {
-                            field.setDouble(o, reader.readFloat64(name));
+                            accessor.setDouble(o, reader.readFloat64(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeFloat64(name, field.getDouble(o));
+                        writer.writeFloat64(name, accessor.getDouble(o));
                     }
                 };
             } else if (Boolean.TYPE.equals(type)) {
@@ -284,13 +288,13 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                     @Override
                     public void read(CompactReader reader, Schema schema, Object o) throws Exception {
                         if (isFieldExist(schema, name, BOOLEAN, NULLABLE_BOOLEAN)) {
-                            field.setBoolean(o, reader.readBoolean(name));
+                            accessor.setBoolean(o, reader.readBoolean(name));
                         }
                     }
 
                     @Override
                     public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeBoolean(name, field.getBoolean(o));
+                        writer.writeBoolean(name, accessor.getBoolean(o));
                     }
                 };
             } else {
@@ -298,7 +302,7 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
                 readerWriters[index] = new ReaderWriterAdapter(
                         ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz, type,
                                 field.getGenericType(), name),
-                        field
+                        accessor
                 );
             }
 
@@ -311,22 +315,21 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
     private static final class ReaderWriterAdapter implements ReaderWriter {
 
         private final ValueReaderWriter readerWriter;
-        private final Field field;
-
+        private final FieldAccessor accessor;
 
-        ReaderWriterAdapter(ValueReaderWriter readerWriter, Field field) {
+        ReaderWriterAdapter(ValueReaderWriter readerWriter, FieldAccessor accessor) {
             this.readerWriter = readerWriter;
-            this.field = field;
+            this.accessor = accessor;
         }
 
         @Override
         public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-            field.set(o, readerWriter.read(reader, schema));
+            accessor.set(o, readerWriter.read(reader, schema));
         }
 
         @Override
         public void write(CompactWriter writer, Object o) throws Exception {
-            readerWriter.write(writer, field.get(o));
+            readerWriter.write(writer, accessor.get(o));
         }
     }
 
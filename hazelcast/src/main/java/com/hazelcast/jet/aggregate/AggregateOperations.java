@@ -17,6 +17,10 @@
 package com.hazelcast.jet.aggregate;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.ApproximateDistinctCountAggregator;
+import com.hazelcast.aggregation.impl.QuantileSketch;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
 import com.hazelcast.function.BiConsumerEx;
 import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.function.BinaryOperatorEx;
@@ -62,6 +66,7 @@ import java.util.stream.Collectors;
 
 import static com.hazelcast.function.FunctionEx.identity;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.checkSerializable;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
 
@@ -483,6 +488,77 @@ public final class AggregateOperations {
                 .andExportFinish(LinTrendAccumulator::export);
     }
 
+    /**
+     * Returns an aggregate operation that estimates the number of distinct
+     * items using a HyperLogLog sketch. The typical error of the estimate is
+     * below 1%. Unlike counting the items collected {@link #toSet() to a
+     * set}, the size of the accumulator doesn't depend on the number of
+     * distinct items, it's at most 16 kB.
+     * <p>
+     * The items are hashed by their value: the strings and the numbers are
+     * hashed consistently on all members, other items by their {@code
+     * hashCode()}, which must not depend on the identity of the object.
+     * <p>
+     * This sample estimates the number of distinct visitors of each page:
+     * <pre>{@code
+     * BatchStage<PageVisit> visits = pipeline.readFrom(visitSource);
+     * BatchStage<Entry<String, Long>> visitors = visits
+     *         .groupingKey(PageVisit::page)
+     *         .aggregate(mapping(PageVisit::userId, approximateCountingDistinct()));
+     * }</pre>
+     *
+     * @param <T> type of the input item
+     * @since 5.4
+     */
+    @Nonnull
+    public static <T> AggregateOperation1<T, HyperLogLog, Long> approximateCountingDistinct() {
+        return AggregateOperation
+                .withCreate((SupplierEx<HyperLogLog>) HyperLogLogImpl::new)
+                .<T>andAccumulate((hll, item) -> hll.add(ApproximateDistinctCountAggregator.hash64(item)))
+                .andCombine(HyperLogLog::merge)
+                .andExportFinish(HyperLogLog::estimate);
+    }
+
+    /**
+     * Returns an aggregate operation that estimates the given percentile of
+     * the {@code double} values extracted from the items, using a mergeable
+     * quantile sketch. The estimate differs from a value having the requested
+     * rank by at most 1% of the value. The size of the accumulator depends on
+     * the range of the values, not on their number.
+     * <p>
+     * This sample estimates the 99th percentile of the response time of each
+     * service:
+     * <pre>{@code
+     * BatchStage<Response> responses = pipeline.readFrom(responseSource);
+     * BatchStage<Entry<String, Double>> p99 = responses
+     *         .groupingKey(Response::service)
+     *         .aggregate(approximatePercentile(Response::timeMillis, 0.99));
+     * }</pre>
+     * <p>
+     * If the aggregate operation does not observe any input, its result is
+     * {@link Double#NaN NaN}.
+     *
+     * @param getDoubleValueFn function that extracts the {@code double} value
+     *     from the item. It must be stateless and {@linkplain
+     *     Processor#isCooperative() cooperative}.
+     * @param percentile the percentile, from 0 to 1
+     * @param <T> type of the input item
+     * @since 5.4
+     */
+    @Nonnull
+    public static <T> AggregateOperation1<T, QuantileSketch, Double> approximatePercentile(
+            @Nonnull ToDoubleFunctionEx<? super T> getDoubleValueFn,
+            double percentile
+    ) {
+        checkSerializable(getDoubleValueFn, "getDoubleValueFn");
+        checkTrue(percentile >= 0 && percentile <= 1, "percentile must be in the [0, 1] range");
+        return AggregateOperation
+                .withCreate(QuantileSketch::new)
+                .<T>andAccumulate((sketch, item) -> sketch.add(getDoubleValueFn.applyAsDouble(item)))
+                .andCombine(QuantileSketch::merge)
+                .andExportFinish(sketch -> sketch.quantile(percentile));
+    }
+
     /**
      * Returns an aggregate operation that takes string items and concatenates
      * them into a single string.
@@ -53,8 +53,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 
+import static com.hazelcast.internal.util.Preconditions.checkHasText;
 import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.jet.config.ResourceType.CLASS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -69,6 +71,15 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * @since Jet 3.0
  */
 public class JobConfig implements IdentifiedDataSerializable {
+
+    /**
+     * The default {@link #setStateBackendMemtableBytes(long) memtable size}
+     * of the disk state backend.
+     *
+     * @since 5.4
+     */
+    public static final long DEFAULT_STATE_BACKEND_MEMTABLE_BYTES = 8L << 20;
+
     private static final long SNAPSHOT_INTERVAL_MILLIS_DEFAULT = SECONDS.toMillis(10);
 
     private transient boolean locked;
@@ -76,6 +87,11 @@ public class JobConfig implements IdentifiedDataSerializable {
     private String name;
     private ProcessingGuarantee processingGuarantee = ProcessingGuarantee.NONE;
     private long snapshotIntervalMillis = SNAPSHOT_INTERVAL_MILLIS_DEFAULT;
+    private int maxIncrementalSnapshots;
+    private StateBackendType stateBackendType = StateBackendType.HEAP;
+    private String stateBackendDirectory;
+    private long stateBackendMemtableBytes = DEFAULT_STATE_BACKEND_MEMTABLE_BYTES;
+    private boolean edgeCompressionEnabled;
     private boolean autoScaling = true;
     private boolean suspendOnFailure;
     private boolean splitBrainProtectionEnabled;
@@ -287,6 +303,185 @@ public class JobConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns the configured {@link #setMaxIncrementalSnapshots(int) maximum
+     * number of incremental snapshots}.
+     *
+     * @since 5.4
+     */
+    public int getMaxIncrementalSnapshots() {
+        return maxIncrementalSnapshots;
+    }
+
+    /**
+     * Sets the maximum number of consecutive incremental snapshots taken
+     * after a full snapshot. An incremental snapshot contains only the
+     * snapshot entries that were added, changed or removed since the previous
+     * snapshot. After this many incremental snapshots, a full snapshot is
+     * taken again, which compacts the chain: the state is then restored from
+     * the last full snapshot and the incremental snapshots taken after it.
+     * <p>
+     * Incremental snapshots reduce the amount of data written for jobs with a
+     * large state of which only a small part changes between snapshots. To
+     * detect the changes, each member keeps a fingerprint of every snapshot
+     * entry written by the job on that member. The first snapshot after the
+     * job (re)starts, the first snapshot after a failed one and exported
+     * snapshots are always full. Snapshot keys written by a processor, other
+     * than {@link com.hazelcast.jet.core.BroadcastKey broadcast keys}, must be
+     * unique within a single snapshot.
+     * <p>
+     * The default value is {@code 0}, which disables incremental snapshots.
+     * This setting is only relevant with <i>at-least-once</i> or
+     * <i>exactly-once</i> processing guarantees.
+     *
+     * @return {@code this} instance for fluent API
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    @Beta
+    public JobConfig setMaxIncrementalSnapshots(int maxIncrementalSnapshots) {
+        throwIfLocked();
+        checkNotNegative(maxIncrementalSnapshots, "maxIncrementalSnapshots can't be negative");
+        this.maxIncrementalSnapshots = maxIncrementalSnapshots;
+        return this;
+    }
+
+    /**
+     * Returns the configured {@link #setStateBackendType(StateBackendType)
+     * state backend type}.
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    public StateBackendType getStateBackendType() {
+        return stateBackendType;
+    }
+
+    /**
+     * Sets where the keyed state of the stateful processors is kept. It's
+     * used by the {@code mapStateful()} transforms and by session windows.
+     * The SQL stream-to-stream join spills the buffered rows of the inner
+     * side of the join to the {@linkplain #setStateBackendDirectory(String)
+     * state backend directory}, when they exceed the {@linkplain
+     * #setStateBackendMemtableBytes(long) memtable size}.
+     * <p>
+     * The default value is {@link StateBackendType#HEAP}.
+     *
+     * @return {@code this} instance for fluent API
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    @Beta
+    public JobConfig setStateBackendType(@Nonnull StateBackendType stateBackendType) {
+        throwIfLocked();
+        this.stateBackendType = checkNotNull(stateBackendType, "stateBackendType can't be null");
+        return this;
+    }
+
+    /**
+     * Returns the configured {@link #setStateBackendDirectory(String) state
+     * backend directory}, or {@code null} if not set.
+     *
+     * @since 5.4
+     */
+    @Nullable
+    public String getStateBackendDirectory() {
+        return stateBackendDirectory;
+    }
+
+    /**
+     * Sets the directory on the members, in which the {@link
+     * StateBackendType#DISK disk} state backend keeps its files. If not set,
+     * the {@code java.io.tmpdir} directory is used. The files are deleted
+     * when the job execution completes.
+     *
+     * @return {@code this} instance for fluent API
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    @Beta
+    public JobConfig setStateBackendDirectory(@Nullable String stateBackendDirectory) {
+        throwIfLocked();
+        if (stateBackendDirectory != null) {
+            checkHasText(stateBackendDirectory, "stateBackendDirectory can't be empty");
+        }
+        this.stateBackendDirectory = stateBackendDirectory;
+        return this;
+    }
+
+    /**
+     * Returns the configured {@link #setStateBackendMemtableBytes(long)
+     * memtable size} of the disk state backend.
+     *
+     * @since 5.4
+     */
+    public long getStateBackendMemtableBytes() {
+        return stateBackendMemtableBytes;
+    }
+
+    /**
+     * Sets the maximum size of the in-memory write buffer (memtable) of the
+     * {@link StateBackendType#DISK disk} state backend, in bytes, per
+     * processor. When exceeded, the buffer is written to disk as a sorted
+     * run. Must be positive.
+     * <p>
+     * The default value is {@value #DEFAULT_STATE_BACKEND_MEMTABLE_BYTES}
+     * bytes.
+     *
+     * @return {@code this} instance for fluent API
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    @Beta
+    public JobConfig setStateBackendMemtableBytes(long stateBackendMemtableBytes) {
+        throwIfLocked();
+        checkPositive("stateBackendMemtableBytes", stateBackendMemtableBytes);
+        this.stateBackendMemtableBytes = stateBackendMemtableBytes;
+        return this;
+    }
+
+    /**
+     * Returns whether the {@link #setEdgeCompressionEnabled(boolean)
+     * compression of distributed edges} is enabled.
+     *
+     * @since 5.4
+     */
+    public boolean isEdgeCompressionEnabled() {
+        return edgeCompressionEnabled;
+    }
+
+    /**
+     * Sets whether the data sent over the network on the distributed edges of
+     * the job is compressed.
+     * <p>
+     * If enabled, the items packed into each packet are compressed with the
+     * Deflate codec at the fastest level. A packet is sent uncompressed, if
+     * compression doesn't reduce its size. Larger packets compress better,
+     * see {@link EdgeConfig#setPacketSizeLimit(int)}. The size of the
+     * serialized items is reported in the {@value
+     * com.hazelcast.jet.core.metrics.MetricNames#DISTRIBUTED_BYTES_OUT}
+     * metric, the size actually sent in the {@value
+     * com.hazelcast.jet.core.metrics.MetricNames#DISTRIBUTED_WIRE_BYTES_OUT}
+     * metric.
+     * <p>
+     * It's disabled by default.
+     *
+     * @return {@code this} instance for fluent API
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    @Beta
+    public JobConfig setEdgeCompressionEnabled(boolean edgeCompressionEnabled) {
+        throwIfLocked();
+        this.edgeCompressionEnabled = edgeCompressionEnabled;
+        return this;
+    }
+
     /**
      * Adds the given classes and recursively all their nested (inner & anonymous)
      * classes to the Jet job's classpath. They will be accessible to all the code
@@ -1420,6 +1615,11 @@ public class JobConfig implements IdentifiedDataSerializable {
         out.writeBoolean(storeMetricsAfterJobCompletion);
         out.writeLong(maxProcessorAccumulatedRecords);
         out.writeLong(timeoutMillis);
+        out.writeInt(maxIncrementalSnapshots);
+        out.writeObject(stateBackendType);
+        out.writeString(stateBackendDirectory);
+        out.writeLong(stateBackendMemtableBytes);
+        out.writeBoolean(edgeCompressionEnabled);
     }
 
     @Override
@@ -1440,6 +1640,11 @@ public class JobConfig implements IdentifiedDataSerializable {
         storeMetricsAfterJobCompletion = in.readBoolean();
         maxProcessorAccumulatedRecords = in.readLong();
         timeoutMillis = in.readLong();
+        maxIncrementalSnapshots = in.readInt();
+        stateBackendType = in.readObject();
+        stateBackendDirectory = in.readString();
+        stateBackendMemtableBytes = in.readLong();
+        edgeCompressionEnabled = in.readBoolean();
     }
 
     @Override
@@ -1466,7 +1671,12 @@ public class JobConfig implements IdentifiedDataSerializable {
                 && Objects.equals(classLoaderFactory, jobConfig.classLoaderFactory)
                 && Objects.equals(initialSnapshotName, jobConfig.initialSnapshotName)
                 && maxProcessorAccumulatedRecords == jobConfig.maxProcessorAccumulatedRecords
-                && timeoutMillis == jobConfig.timeoutMillis;
+                && timeoutMillis == jobConfig.timeoutMillis
+                && maxIncrementalSnapshots == jobConfig.maxIncrementalSnapshots
+                && stateBackendType == jobConfig.stateBackendType
+                && Objects.equals(stateBackendDirectory, jobConfig.stateBackendDirectory)
+                && stateBackendMemtableBytes == jobConfig.stateBackendMemtableBytes
+                && edgeCompressionEnabled == jobConfig.edgeCompressionEnabled;
     }
 
     @Override
@@ -1474,7 +1684,8 @@ public class JobConfig implements IdentifiedDataSerializable {
         return Objects.hash(name, processingGuarantee, snapshotIntervalMillis, autoScaling, suspendOnFailure,
                 splitBrainProtectionEnabled, enableMetrics, storeMetricsAfterJobCompletion, resourceConfigs,
                 customClassPaths, serializerConfigs, arguments, classLoaderFactory, initialSnapshotName,
-                maxProcessorAccumulatedRecords, timeoutMillis);
+                maxProcessorAccumulatedRecords, timeoutMillis, maxIncrementalSnapshots, stateBackendType,
+                stateBackendDirectory, stateBackendMemtableBytes, edgeCompressionEnabled);
     }
 
     @Override
@@ -1486,7 +1697,11 @@ public class JobConfig implements IdentifiedDataSerializable {
                 ", resourceConfigs=" + resourceConfigs + ", serializerConfigs=" + serializerConfigs +
                 ", arguments=" + arguments + ", classLoaderFactory=" + classLoaderFactory +
                 ", initialSnapshotName=" + initialSnapshotName + ", maxProcessorAccumulatedRecords=" +
-                maxProcessorAccumulatedRecords + ", timeoutMillis=" + timeoutMillis + "}";
+                maxProcessorAccumulatedRecords + ", timeoutMillis=" + timeoutMillis +
+                ", maxIncrementalSnapshots=" + maxIncrementalSnapshots + ", stateBackendType=" + stateBackendType +
+                ", stateBackendDirectory=" + stateBackendDirectory +
+                ", stateBackendMemtableBytes=" + stateBackendMemtableBytes +
+                ", edgeCompressionEnabled=" + edgeCompressionEnabled + "}";
     }
 
     private void throwIfLocked() {
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.config;
+
+/**
+ * Defines where the keyed state of stateful processors is kept, see {@link
+ * JobConfig#setStateBackendType(StateBackendType)}.
+ *
+ * @since 5.4
+ */
+public enum StateBackendType {
+
+    /**
+     * The keyed state is kept in hash maps on the heap. This is the default.
+     */
+    HEAP,
+
+    /**
+     * The keyed state is kept in an embedded log-structured store on the
+     * member's local disk, so the state can exceed the heap size. Only a
+     * bounded amount of recently written state is kept on the heap, see
+     * {@link JobConfig#setStateBackendMemtableBytes(long)}. The state objects
+     * must be serializable, as they already must be for snapshots.
+     */
+    DISK
+}
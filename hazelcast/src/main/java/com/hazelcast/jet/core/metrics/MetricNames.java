@@ -135,6 +135,16 @@ public final class MetricNames {
      */
     public static final String SNAPSHOT_KEYS = "snapshotKeys";
 
+    /**
+     * Tracks the number of keys that were skipped in the last snapshot by a
+     * particular {@link Vertex}, because it was an incremental snapshot and
+     * their values didn't change since the previous snapshot. The name of the
+     * vertex can be found in the {@link MetricTags#VERTEX} tag of the metric.
+     *
+     * @since 5.4
+     */
+    public static final String SNAPSHOT_UNCHANGED_KEYS = "snapshotUnchangedKeys";
+
     /**
      * Tracks the start time of a given execution of a specific job.
      * The execution and the job can be identified based on the
@@ -193,6 +203,28 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * Tracks the data volume (bytes) actually received over the network for
+     * DISTRIBUTED input {@link Edge}s. Differs from {@link
+     * #DISTRIBUTED_BYTES_IN}, if the edge data is compressed, see {@link
+     * com.hazelcast.jet.config.JobConfig#setEdgeCompressionEnabled(boolean)}. Has
+     * the same tags as {@link #DISTRIBUTED_BYTES_IN}.
+     *
+     * @since 5.4
+     */
+    public static final String DISTRIBUTED_WIRE_BYTES_IN = "distributedWireBytesIn";
+
+    /**
+     * Tracks the data volume (bytes) actually sent over the network for
+     * DISTRIBUTED output {@link Edge}s. Differs from {@link
+     * #DISTRIBUTED_BYTES_OUT}, if the edge data is compressed, see {@link
+     * com.hazelcast.jet.config.JobConfig#setEdgeCompressionEnabled(boolean)}. Has
+     * the same tags as {@link #DISTRIBUTED_BYTES_OUT}.
+     *
+     * @since 5.4
+     */
+    public static final String DISTRIBUTED_WIRE_BYTES_OUT = "distributedWireBytesOut";
+
     /**
      * Number of jobs submitted to the Jet cluster.
      * <p>
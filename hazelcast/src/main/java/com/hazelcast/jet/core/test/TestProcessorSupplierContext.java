@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.ProcessorSupplier;
@@ -44,6 +45,7 @@ public class TestProcessorSupplierContext
     private int memberIndex;
     private ManagedContext managedContext = object -> object;
     private final Map<String, File> attached = new HashMap<>();
+    private InternalSerializationService serializationService;
 
     @Nonnull @Override
     public TestProcessorSupplierContext setLogger(@Nonnull ILogger logger) {
@@ -160,11 +162,22 @@ public class TestProcessorSupplierContext
     }
 
     /**
+     * Returns the serialization service of the {@linkplain #hazelcastInstance()
+     * Hazelcast instance} or, if there's none, a default serialization service.
+     *
      * @since 5.4
      */
     @Nonnull
     @Override
     public InternalSerializationService serializationService() {
-        return (InternalSerializationService) getNodeEngine().getSerializationService();
+        if (hazelcastInstance() != null) {
+            return (InternalSerializationService) getNodeEngine().getSerializationService();
+        }
+        if (serializationService == null) {
+            serializationService = new DefaultSerializationServiceBuilder()
+                    .setManagedContext(managedContext)
+                    .build();
+        }
+        return serializationService;
     }
 }
@@ -33,6 +33,7 @@ import com.hazelcast.jet.core.Processor.Context;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.impl.LoggingServiceImpl;
 import com.hazelcast.spi.impl.SerializationServiceSupport;
@@ -837,7 +838,9 @@ public final class TestSupport {
     }
 
     private Processor newProcessorFromSupplier() {
-        return supplier.get(1).iterator().next();
+        Processor processor = supplier.get(1).iterator().next();
+        StateBackendAware.configure(processor, jobConfig != null ? jobConfig : new JobConfig());
+        return processor;
     }
 
     /**
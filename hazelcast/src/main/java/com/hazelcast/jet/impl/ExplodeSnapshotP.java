@@ -25,29 +25,78 @@ import com.hazelcast.jet.impl.execution.BroadcastEntry;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
+import com.hazelcast.query.Predicate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
+import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static java.util.Collections.emptyMap;
 
 public class ExplodeSnapshotP extends AbstractProcessor {
 
     private final Map<String, FlatMapper<byte[], Object>> vertexToFlatMapper = new HashMap<>();
+    private final Map<String, Integer> vertexToOrdinal;
+    private final long baseSnapshotId;
     private final long expectedSnapshotId;
     private InternalSerializationService serializationService;
 
-    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId) {
+    /**
+     * Entries of the incremental snapshots following the base snapshot, per
+     * vertex and serialized key. They are received first, on the ordinal 0,
+     * and merged. The base snapshot, received on the ordinal 1, is emitted
+     * directly, skipping the keys found here. The merged entries are emitted
+     * in {@link #complete()}, so only the changes since the base snapshot are
+     * kept in memory. Null, if restoring from a full snapshot, which is
+     * emitted directly.
+     */
+    private final Map<String, Map<ByteBuffer, RestoredEntries>> vertexToEntries;
+    private Iterator<Entry<String, Map<ByteBuffer, RestoredEntries>>> vertexIterator;
+    private Traverser<Object> restoredTraverser;
+    private int restoredOrdinal;
+
+    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long baseSnapshotId, long expectedSnapshotId) {
+        assert baseSnapshotId <= expectedSnapshotId
+                : "baseSnapshotId=" + baseSnapshotId + ", expectedSnapshotId=" + expectedSnapshotId;
+        this.vertexToOrdinal = vertexToOrdinal;
+        this.baseSnapshotId = baseSnapshotId;
         this.expectedSnapshotId = expectedSnapshotId;
+        this.vertexToEntries = baseSnapshotId != expectedSnapshotId ? new HashMap<>() : null;
         for (Entry<String, Integer> en : vertexToOrdinal.entrySet()) {
-            Object oldValue = vertexToFlatMapper.put(en.getKey(), flatMapper(en.getValue(), this::traverser));
+            String vertexName = en.getKey();
+            Object oldValue = vertexToFlatMapper.put(vertexName,
+                    flatMapper(en.getValue(), data -> traverser(vertexName, data)));
             assert oldValue == null : "Duplicate ordinal: " + en.getValue();
         }
     }
 
+    /**
+     * Returns a predicate selecting the chunks of the incremental snapshots
+     * following the base snapshot, up to the expected snapshot.
+     */
+    static Predicate<Object, Object> incrementalChunks(long baseSnapshotId, long expectedSnapshotId) {
+        return entry -> {
+            if (!(entry.getKey() instanceof SnapshotDataKey)) {
+                return false;
+            }
+            long snapshotId = ((SnapshotDataKey) entry.getKey()).snapshotId();
+            return snapshotId > baseSnapshotId && snapshotId <= expectedSnapshotId;
+        };
+    }
+
     @Override
     protected void init(@Nonnull Context context) {
         serializationService = ((ProcCtx) context).serializationService();
@@ -58,49 +107,170 @@ public class ExplodeSnapshotP extends AbstractProcessor {
     On the other hand, the returned object doesn't hold any resources, so relying on the GC is sufficient.
     See #19799 */
     @SuppressWarnings("squid:S2095")
-    private Traverser<Object> traverser(byte[] data) {
+    private Traverser<Object> traverser(String vertexName, byte[] data) {
         BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        // the keys of the base snapshot replaced or removed by the incremental snapshots
+        Map<ByteBuffer, RestoredEntries> replaced = vertexToEntries != null
+                ? vertexToEntries.getOrDefault(vertexName, emptyMap())
+                : emptyMap();
 
         return () -> uncheckCall(() -> {
-            Object key = serializationService.readObject(in, true);
-            if (key == SnapshotDataValueTerminator.INSTANCE) {
-                return null;
+            for (;;) {
+                int keyStart = in.position();
+                Object key = serializationService.readObject(in, true);
+                if (key == SnapshotDataValueTerminator.INSTANCE) {
+                    return null;
+                }
+                int keyLength = in.position() - keyStart;
+                Object value = serializationService.readObject(in, true);
+                if (vertexToEntries != null && (key instanceof BroadcastKey
+                        || replaced.containsKey(ByteBuffer.wrap(data, keyStart, keyLength)))) {
+                    continue;
+                }
+                return toRestoredItem(key, value);
             }
-            Object value = serializationService.readObject(in, true);
-            return key instanceof BroadcastKey
-                    ? new BroadcastEntry(key, value)
-                    : entry(key, value);
         });
     }
 
+    private static Object toRestoredItem(Object key, Object value) {
+        return key instanceof BroadcastKey
+                ? new BroadcastEntry(key, value)
+                : entry(key, value);
+    }
+
     @Override
     protected boolean tryProcess0(@Nonnull Object item) {
-        if (((Entry) item).getKey() instanceof SnapshotValidationRecord.SnapshotValidationKey) {
-            // ignore the validation record
+        SnapshotDataKey key = dataKey(item);
+        if (key == null) {
             return true;
         }
-        Entry<SnapshotDataKey, byte[]> castItem = (Entry<SnapshotDataKey, byte[]>) item;
-        String vertexName = castItem.getKey().vertexName();
-        FlatMapper<byte[], Object> flatMapper = vertexToFlatMapper.get(vertexName);
-        if (flatMapper == null) {
+        byte[] data = ((Entry<?, byte[]>) item).getValue();
+        if (vertexToEntries == null) {
+            return vertexToFlatMapper.get(key.vertexName()).tryProcess(data);
+        }
+        uncheckRun(() -> mergeChunk(key.vertexName(), key.snapshotId(), data));
+        return true;
+    }
+
+    /**
+     * Receives the chunks of the base snapshot, after all the chunks of the
+     * incremental snapshots were received on the ordinal 0.
+     */
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        SnapshotDataKey key = dataKey(item);
+        if (key == null || key.snapshotId() != baseSnapshotId) {
+            // the chunks of the incremental snapshots were merged already
+            return true;
+        }
+        return vertexToFlatMapper.get(key.vertexName()).tryProcess(((Entry<?, byte[]>) item).getValue());
+    }
+
+    /**
+     * Returns the key of the snapshot chunk to restore, or {@code null}, if
+     * the item is to be ignored.
+     */
+    @Nullable
+    private SnapshotDataKey dataKey(Object item) {
+        Object key = ((Entry<?, ?>) item).getKey();
+        if (key instanceof SnapshotValidationRecord.SnapshotValidationKey) {
+            // ignore the validation record
+            return null;
+        }
+        SnapshotDataKey dataKey = (SnapshotDataKey) key;
+        String vertexName = dataKey.vertexName();
+        if (vertexToFlatMapper.get(vertexName) == null) {
             if (!vertexToFlatMapper.containsKey(vertexName)) {
                 // log only once
                 vertexToFlatMapper.put(vertexName, null);
                 getLogger().warning("Data for unknown vertex found in the snapshot, ignoring. Vertex=" + vertexName);
             }
-            return true;
+            return null;
         }
-        long snapshotId = castItem.getKey().snapshotId();
-        if (snapshotId != expectedSnapshotId) {
+        long snapshotId = dataKey.snapshotId();
+        if (snapshotId < baseSnapshotId || snapshotId > expectedSnapshotId) {
             getLogger().warning("Data for unexpected snapshot ID encountered, ignoring. Expected="
-                    + expectedSnapshotId + ", found=" + snapshotId);
+                    + (baseSnapshotId == expectedSnapshotId ? expectedSnapshotId
+                            : "from " + baseSnapshotId + " to " + expectedSnapshotId)
+                    + ", found=" + snapshotId);
+            return null;
+        }
+        return dataKey;
+    }
+
+    /**
+     * Merges the entries of a chunk of an incremental snapshot into {@link
+     * #vertexToEntries}. For each key, the entries from the latest
+     * snapshot win, a tombstone removes the key. Broadcast keys are written
+     * to every snapshot and can be saved by multiple processors, so they are
+     * taken only from the last snapshot.
+     */
+    private void mergeChunk(String vertexName, long snapshotId, byte[] data) throws IOException {
+        Map<ByteBuffer, RestoredEntries> entries = vertexToEntries.computeIfAbsent(vertexName, x -> new HashMap<>());
+        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        for (;;) {
+            int keyStart = in.position();
+            Object key = serializationService.readObject(in, true);
+            if (key == SnapshotDataValueTerminator.INSTANCE) {
+                return;
+            }
+            ByteBuffer keyBytes = ByteBuffer.wrap(Arrays.copyOfRange(data, keyStart, in.position()));
+            Object value = serializationService.readObject(in, true);
+            if (key instanceof BroadcastKey && snapshotId != expectedSnapshotId) {
+                continue;
+            }
+            RestoredEntries restored = entries.get(keyBytes);
+            if (restored == null || restored.snapshotId < snapshotId) {
+                restored = new RestoredEntries(snapshotId);
+                entries.put(keyBytes, restored);
+            } else if (restored.snapshotId > snapshotId) {
+                continue;
+            }
+            if (value != SnapshotDataValueTombstone.INSTANCE) {
+                restored.items.add(toRestoredItem(key, value));
+            }
+        }
+    }
+
+    @Override
+    public boolean complete() {
+        if (vertexToEntries == null) {
             return true;
         }
-        return flatMapper.tryProcess(castItem.getValue());
+        if (vertexIterator == null) {
+            vertexIterator = vertexToEntries.entrySet().iterator();
+        }
+        for (;;) {
+            if (restoredTraverser != null && !emitFromTraverser(restoredOrdinal, restoredTraverser)) {
+                return false;
+            }
+            if (!vertexIterator.hasNext()) {
+                return true;
+            }
+            Entry<String, Map<ByteBuffer, RestoredEntries>> vertexEntries = vertexIterator.next();
+            vertexIterator.remove();
+            restoredOrdinal = vertexToOrdinal.get(vertexEntries.getKey());
+            restoredTraverser = traverseIterable(vertexEntries.getValue().values())
+                    .flatMap(restored -> traverseIterable(restored.items));
+        }
     }
 
     @Override
     public boolean closeIsCooperative() {
         return true;
     }
+
+    /**
+     * Entries restored for a key from the latest snapshot containing it. It's
+     * a list because processors can save the same broadcast key multiple
+     * times. Empty, if the key was removed.
+     */
+    private static final class RestoredEntries {
+        final long snapshotId;
+        final List<Object> items = new ArrayList<>(1);
+
+        RestoredEntries(long snapshotId) {
+            this.snapshotId = snapshotId;
+        }
+    }
 }
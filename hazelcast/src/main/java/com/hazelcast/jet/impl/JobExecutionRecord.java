@@ -81,6 +81,14 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
      */
     private transient volatile String ongoingExportedSnapshotName;
 
+    /**
+     * True, if the ongoing snapshot is incremental: it's written to the data
+     * map of the last successful snapshot, on top of it.
+     * <p>
+     * This value is not needed after coordinator restart, so it's transient.
+     */
+    private transient volatile boolean ongoingSnapshotIncremental;
+
     private volatile String exportedSnapshotName;
     @Nullable
     private volatile String lastSnapshotFailure;
@@ -154,10 +162,13 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "all updates to ongoingSnapshotId are synchronized")
-    public void startNewSnapshot(String exportedSnapshotName) {
+    public void startNewSnapshot(String exportedSnapshotName, boolean isIncremental) {
+        assert !isIncremental || exportedSnapshotName == null && this.exportedSnapshotName == null && dataMapIndex >= 0
+                : "incremental snapshot requires a previous automatic snapshot";
         ongoingSnapshotId++;
         ongoingSnapshotStartTime = Clock.currentTimeMillis();
         this.ongoingExportedSnapshotName = exportedSnapshotName;
+        this.ongoingSnapshotIncremental = isIncremental;
     }
 
     public SnapshotStats ongoingSnapshotDone(
@@ -186,6 +197,7 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
             }
         }
         ongoingExportedSnapshotName = null;
+        ongoingSnapshotIncremental = false;
         ongoingSnapshotStartTime = Long.MIN_VALUE;
         return res;
     }
@@ -208,14 +220,16 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
 
     /**
      * Returns the index of the data map into which the new snapshot will be
-     * written.
+     * written. It's the other map than the one of the current successful
+     * snapshot, except for an incremental snapshot, which is written to the
+     * same map.
      */
     int ongoingDataMapIndex() {
         assert dataMapIndex == 0 // we'll return 1
                 || dataMapIndex == 1 // we'll return 0
                 || dataMapIndex == -1 // we'll return 0
                 : "dataMapIndex=" + dataMapIndex;
-        return (dataMapIndex + 1) & 1;
+        return ongoingSnapshotIncremental ? dataMapIndex : (dataMapIndex + 1) & 1;
     }
 
     /**
@@ -55,6 +55,7 @@ import com.hazelcast.jet.impl.util.NonCompletableFuture;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.version.Version;
@@ -90,6 +91,7 @@ import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.Util.idToString;
 import static com.hazelcast.jet.config.ProcessingGuarantee.NONE;
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.core.JobStatus.COMPLETED;
 import static com.hazelcast.jet.core.JobStatus.FAILED;
 import static com.hazelcast.jet.core.JobStatus.NOT_RUNNING;
@@ -100,6 +102,7 @@ import static com.hazelcast.jet.core.JobStatus.SUSPENDED_EXPORTING_SNAPSHOT;
 import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.impl.JobClassLoaderService.JobPhase.COORDINATOR;
+import static com.hazelcast.jet.impl.JobExecutionRecord.NO_SNAPSHOT;
 import static com.hazelcast.jet.impl.JobRepository.exportedSnapshotMapName;
 import static com.hazelcast.jet.impl.SnapshotValidator.validateSnapshot;
 import static com.hazelcast.jet.impl.TerminationMode.ActionAfterTerminate.RESTART;
@@ -485,19 +488,38 @@ public class MasterJobContext {
         // snapshot map is not updated here, so it does not need to be
         // configured with failOnIndeterminateOperationState
         IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(mapName);
-        long resolvedSnapshotId = validateSnapshot(
+        SnapshotValidationRecord validationRecord = validateSnapshot(
                 snapshotId, snapshotMap, mc.jobIdString(), snapshotName);
+        long resolvedSnapshotId = snapshotId != NO_SNAPSHOT ? snapshotId : validationRecord.snapshotId();
+        long baseSnapshotId = validationRecord.baseSnapshotId();
         logger.info(String.format(
-                "About to restore the state of %s from snapshot %d, mapName = %s",
-                mc.jobIdString(), resolvedSnapshotId, mapName));
+                "About to restore the state of %s from snapshot %d%s, mapName = %s",
+                mc.jobIdString(), resolvedSnapshotId,
+                baseSnapshotId != resolvedSnapshotId ? " (incremental, based on snapshot " + baseSnapshotId + ')' : "",
+                mapName));
         List<Vertex> originalVertices = new ArrayList<>();
         dag.iterator().forEachRemaining(originalVertices::add);
 
         Map<String, Integer> vertexToOrdinal = new HashMap<>();
         Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read", readMapP(mapName));
         Vertex explodeVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "explode",
-                () -> new ExplodeSnapshotP(vertexToOrdinal, resolvedSnapshotId));
-        dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
+                () -> new ExplodeSnapshotP(vertexToOrdinal, baseSnapshotId, resolvedSnapshotId));
+        if (baseSnapshotId == resolvedSnapshotId) {
+            dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
+        } else {
+            // The incremental snapshots are read first and merged, then the base snapshot is read
+            // and emitted without buffering. All the versions of a key are in the same partition.
+            // With the same local parallelism, both readers assign the partitions in the same way
+            // and the isolated edges deliver them to the same explode processor.
+            Vertex readIncrementalVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "readIncremental",
+                    readMapP(mapName, ExplodeSnapshotP.incrementalChunks(baseSnapshotId, resolvedSnapshotId),
+                            Projections.identity()));
+            readIncrementalVertex.localParallelism(defaultParallelism);
+            readSnapshotVertex.localParallelism(defaultParallelism);
+            explodeVertex.localParallelism(defaultParallelism);
+            dag.edge(from(readIncrementalVertex).to(explodeVertex, 0).isolated());
+            dag.edge(from(readSnapshotVertex).to(explodeVertex, 1).isolated().priority(1));
+        }
 
         int index = 0;
         // add the edges
@@ -19,6 +19,7 @@ package com.hazelcast.jet.impl;
 import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.internal.cluster.MemberInfo;
 import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.impl.JobExecutionRecord.SnapshotStats;
 import com.hazelcast.jet.impl.exception.ExecutionNotFoundException;
 import com.hazelcast.jet.impl.execution.SnapshotFlags;
@@ -26,6 +27,7 @@ import com.hazelcast.jet.impl.execution.init.ExecutionPlan;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation.SnapshotPhase1Result;
 import com.hazelcast.jet.impl.operation.SnapshotPhase2Operation;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
@@ -70,6 +72,13 @@ class MasterSnapshotContext {
      */
     private boolean snapshotInProgress;
 
+    /**
+     * The number of incremental snapshots taken after the last full automatic
+     * snapshot in the current execution, or -1, if the next automatic snapshot
+     * must be a full one. See {@link JobConfig#setMaxIncrementalSnapshots}.
+     */
+    private int numIncrementalSnapshots = -1;
+
     /**
      * A future (re)created when the job is started and completed when terminal
      * snapshot is completed (successfully or not).
@@ -93,6 +102,11 @@ class MasterSnapshotContext {
          * be null.
          */
         final CompletableFuture<Void> future;
+        /**
+         * If true, the snapshot contains only the changes since the previous
+         * snapshot. It's decided when the snapshot is started.
+         */
+        boolean isIncremental;
 
         SnapshotRequest(@Nullable String snapshotName, boolean isTerminal, @Nullable CompletableFuture<Void> future) {
             this.snapshotName = snapshotName;
@@ -112,7 +126,7 @@ class MasterSnapshotContext {
         }
 
         public int snapshotFlags() {
-            return SnapshotFlags.create(isTerminal, isExport());
+            return SnapshotFlags.create(isTerminal, isExport(), isIncremental);
         }
 
         public String mapName() {
@@ -202,7 +216,10 @@ class MasterSnapshotContext {
                     return;
                 }
                 snapshotInProgress = true;
-                mc.jobExecutionRecord().startNewSnapshot(requestedSnapshot.snapshotName);
+                requestedSnapshot.isIncremental = !requestedSnapshot.isExport()
+                        && numIncrementalSnapshots >= 0
+                        && numIncrementalSnapshots < mc.jobConfig().getMaxIncrementalSnapshots();
+                mc.jobExecutionRecord().startNewSnapshot(requestedSnapshot.snapshotName, requestedSnapshot.isIncremental);
                 localExecutionId = mc.executionId();
             } finally {
                 mc.unlock();
@@ -214,7 +231,10 @@ class MasterSnapshotContext {
 
             try {
                 mc.writeJobExecutionRecordSafe(false);
-                mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                if (!requestedSnapshot.isIncremental) {
+                    // an incremental snapshot is written on top of the previous snapshot in the same map
+                    mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                }
             } catch (Exception e) {
                 logger.warning(String.format("Failed to start snapshot %d for %s",
                         newSnapshotId, jobNameAndExecutionId(mc.jobName(), localExecutionId)),
@@ -330,40 +350,50 @@ class MasterSnapshotContext {
                 // to have failOnIndeterminateOperationState enabled.
                 IMap<Object, Object> snapshotMap = safeImap(mc.nodeEngine().getHazelcastInstance().getMap(mapName));
                 try {
-                    SnapshotValidationRecord validationRecord = new SnapshotValidationRecord(snapshotId,
-                            mergedResult.getNumChunks(), mergedResult.getNumBytes(),
-                            mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
-                            mc.jobRecord().getDagJson());
-
-                    // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
-                    // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
-                    // record is inserted into the cache below.
-                    //
-                    // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
-                    // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
-                    // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
-                    // or ignored when JobExecutionRecord is loaded from IMap.
-                    //
-                    // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
-                    // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
-                    // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
-                    // and the job will not be cancelled but restarted.
-                    Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
-
-                    if (requestedSnapshot.isExport()) {
-                        assert requestedSnapshot.snapshotName != null;
-                        // update also for failed snapshots because the map may have contained different snapshot before
-                        mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
-                    }
-                    if (oldValue != null) {
-                        logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
-                                + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                    // a failed incremental snapshot must not overwrite the record of the previous snapshot
+                    if (!requestedSnapshot.isIncremental || mergedResult.getError() == null) {
+                        SnapshotValidationRecord validationRecord = requestedSnapshot.isIncremental
+                                ? incrementalValidationRecord(snapshotMap, snapshotId, mergedResult)
+                                : new SnapshotValidationRecord(snapshotId, mergedResult.getNumChunks(),
+                                        mergedResult.getNumBytes(), mc.jobExecutionRecord().ongoingSnapshotStartTime(),
+                                        mc.jobId(), mc.jobName(), mc.jobRecord().getDagJson());
+
+                        // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
+                        // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
+                        // record is inserted into the cache below.
+                        //
+                        // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
+                        // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
+                        // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
+                        // or ignored when JobExecutionRecord is loaded from IMap.
+                        //
+                        // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
+                        // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
+                        // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
+                        // and the job will not be cancelled but restarted.
+                        Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
+
+                        if (requestedSnapshot.isExport()) {
+                            assert requestedSnapshot.snapshotName != null;
+                            // update also for failed snapshots because the map may have contained different snapshot before
+                            mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
+                        }
+                        if (oldValue != null && !requestedSnapshot.isIncremental) {
+                            logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
+                                    + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                        }
                     }
                 } catch (Exception e) {
                     mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                 }
 
                 isSuccess = mergedResult.getError() == null;
+                if (!isSuccess) {
+                    numIncrementalSnapshots = -1;
+                } else if (!requestedSnapshot.isExportOnly()) {
+                    numIncrementalSnapshots = requestedSnapshot.isIncremental ? numIncrementalSnapshots + 1
+                            : requestedSnapshot.isExport() ? -1 : 0;
+                }
                 // update snapshot state in memory after success or failure
                 stats = mc.jobExecutionRecord().ongoingSnapshotDone(
                         mergedResult.getNumBytes(), mergedResult.getNumKeys(), mergedResult.getNumChunks(),
@@ -416,8 +446,14 @@ class MasterSnapshotContext {
                     try {
                         // Clear data of failed snapshot (automatic or exported) to decrease memory usage.
                         // This can be done regardless of skipPhase2 because failed snapshot
-                        // can never be used for restore.
-                        snapshotMap.clear();
+                        // can never be used for restore. A failed incremental snapshot shares the map
+                        // with the previous snapshots, only its own chunks are removed.
+                        if (requestedSnapshot.isIncremental) {
+                            snapshotMap.removeAll(e -> e.getKey() instanceof SnapshotDataKey
+                                    && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+                        } else {
+                            snapshotMap.clear();
+                        }
                     } catch (Exception e) {
                         logger.warning(mc.jobIdString() + ": failed to clear snapshot map '" + mapName
                                 + "' after a failure", e);
@@ -426,7 +462,7 @@ class MasterSnapshotContext {
 
                 // Do not clear snapshot data when JobExecutionRecord update was indeterminate.
                 // It may turn out that this will be a correct snapshot after all.
-                if (isSuccess && !skipPhase2 && !requestedSnapshot.isExport()) {
+                if (isSuccess && !skipPhase2 && !requestedSnapshot.isExport() && !requestedSnapshot.isIncremental) {
                     // clear IMap for next automatic snapshot early to decrease memory usage
                     mc.jobRepository().clearSnapshotData(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
                 }
@@ -466,6 +502,29 @@ class MasterSnapshotContext {
         });
     }
 
+    /**
+     * Creates the validation record for an incremental snapshot. It covers
+     * also the base snapshot and the previous incremental snapshots stored in
+     * the same map.
+     */
+    private SnapshotValidationRecord incrementalValidationRecord(
+            IMap<Object, Object> snapshotMap,
+            long snapshotId,
+            SnapshotPhase1Result mergedResult
+    ) {
+        SnapshotValidationRecord previousRecord = (SnapshotValidationRecord) snapshotMap.get(SnapshotValidationRecord.KEY);
+        long previousSnapshotId = mc.jobExecutionRecord().snapshotId();
+        if (previousRecord == null || previousRecord.snapshotId() != previousSnapshotId) {
+            throw new JetException("Snapshot " + previousSnapshotId + " not found in '" + snapshotMap.getName()
+                    + "', found: " + previousRecord);
+        }
+        return new SnapshotValidationRecord(snapshotId, previousRecord.baseSnapshotId(),
+                previousRecord.numChunks() + mergedResult.getNumChunks(),
+                previousRecord.numBytes() + mergedResult.getNumBytes(),
+                mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
+                mc.jobRecord().getDagJson());
+    }
+
     /**
      * @param phase1Error error from the phase-1. Null if phase-1 was successful.
      * @param responses collected responses from the members
@@ -541,6 +600,8 @@ class MasterSnapshotContext {
 
     void onExecutionStarted() {
         snapshotInProgress = false;
+        // the members don't track the changes from the previous execution
+        numIncrementalSnapshots = -1;
         assert snapshotQueue.isEmpty() : "snapshotQueue not empty";
         terminalSnapshotFuture = new CompletableFuture<>();
     }
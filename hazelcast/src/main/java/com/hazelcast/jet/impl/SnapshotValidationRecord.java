@@ -28,6 +28,7 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
     public static final SnapshotValidationKey KEY = SnapshotValidationKey.KEY;
 
     private long snapshotId;
+    private long baseSnapshotId;
     private long numChunks;
     private long numBytes;
 
@@ -41,7 +42,13 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
 
     SnapshotValidationRecord(long snapshotId, long numChunks, long numBytes, long creationTime, long jobId,
                                     @Nonnull String jobName, @Nonnull String dagJsonString) {
+        this(snapshotId, snapshotId, numChunks, numBytes, creationTime, jobId, jobName, dagJsonString);
+    }
+
+    SnapshotValidationRecord(long snapshotId, long baseSnapshotId, long numChunks, long numBytes, long creationTime,
+                             long jobId, @Nonnull String jobName, @Nonnull String dagJsonString) {
         this.snapshotId = snapshotId;
+        this.baseSnapshotId = baseSnapshotId;
         this.numChunks = numChunks;
         this.numBytes = numBytes;
         this.creationTime = creationTime;
@@ -54,6 +61,24 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         return snapshotId;
     }
 
+    /**
+     * Returns the ID of the full snapshot in the map. It's equal to {@link
+     * #snapshotId()}, unless the snapshot is incremental. Then the map
+     * contains the full snapshot followed by all incremental snapshots up to
+     * {@link #snapshotId()}.
+     */
+    public long baseSnapshotId() {
+        return baseSnapshotId;
+    }
+
+    public boolean isIncremental() {
+        return baseSnapshotId != snapshotId;
+    }
+
+    /**
+     * Returns the number of chunks in the map, including the chunks of the
+     * base snapshot and of previous incremental snapshots.
+     */
     public long numChunks() {
         return numChunks;
     }
@@ -97,6 +122,7 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         out.writeLong(jobId);
         out.writeString(jobName);
         out.writeString(dagJsonString);
+        out.writeLong(baseSnapshotId);
     }
 
     @Override
@@ -108,12 +134,14 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         jobId = in.readLong();
         jobName = in.readString();
         dagJsonString = in.readString();
+        baseSnapshotId = in.readLong();
     }
 
     @Override
     public String toString() {
         return "SnapshotValidationRecord{" +
                 "snapshotId=" + snapshotId +
+                ", baseSnapshotId=" + baseSnapshotId +
                 ", numChunks=" + numChunks +
                 ", numBytes=" + numBytes +
                 ", creationTime=" + creationTime +
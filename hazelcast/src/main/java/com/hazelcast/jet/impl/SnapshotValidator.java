@@ -37,9 +37,9 @@ final class SnapshotValidator {
      * @param jobIdString name and ID of the job, for debug output
      * @param snapshotName user-supplied snapshot name for debug output,
      *                     null if it's not an exported snapshot
-     * @return the snapshot ID of the snapshot being validated
+     * @return the validation record of the snapshot map
      */
-    static long validateSnapshot(
+    static SnapshotValidationRecord validateSnapshot(
             long snapshotId, IMap<Object, Object> snapshotMap, String jobIdString, String snapshotName
     ) {
         SnapshotValidationRecord validationRecord =
@@ -50,23 +50,32 @@ final class SnapshotValidator {
                     "snapshot %s in IMap %s (%d entries) is damaged. Unable to restore the state for %s.",
                     nameOrId, snapshotMap.getName(), snapshotMap.size(), jobIdString));
         }
+        if (snapshotId != NO_SNAPSHOT && snapshotId != validationRecord.snapshotId()) {
+            if (snapshotId < validationRecord.baseSnapshotId() || snapshotId > validationRecord.snapshotId()) {
+                throw new JetException(String.format(
+                        "%s: IMap '%s' was supposed to contain snapshotId %d, but it contains snapshotId %d",
+                        jobIdString, snapshotMap.getName(), snapshotId, validationRecord.snapshotId()));
+            }
+            // The map contains a later incremental snapshot, but the JobExecutionRecord wasn't updated
+            // after it. The chunks of the later snapshots are ignored when restoring, the number of
+            // chunks of the requested snapshot isn't known.
+            return validationRecord;
+        }
         if (validationRecord.numChunks() != snapshotMap.size() - 1) {
             // fallback validation that counts using aggregate(), ignoring different snapshot IDs
+            long baseSnapshotId = validationRecord.baseSnapshotId();
+            long lastSnapshotId = validationRecord.snapshotId();
             long filteredCount = snapshotMap.aggregate(
                     Aggregators.count(),
                     e -> e.getKey() instanceof SnapshotDataKey
-                            && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+                            && ((SnapshotDataKey) e.getKey()).snapshotId() >= baseSnapshotId
+                            && ((SnapshotDataKey) e.getKey()).snapshotId() <= lastSnapshotId);
             if (validationRecord.numChunks() != filteredCount) {
                 throw new JetException(String.format(
                         "State for %s in IMap '%s' is corrupted: it should have %,d entries, but has %,d",
                         jobIdString, snapshotMap.getName(), validationRecord.numChunks(), snapshotMap.size() - 1));
             }
         }
-        if (snapshotId != NO_SNAPSHOT && snapshotId != validationRecord.snapshotId()) {
-            throw new JetException(String.format(
-                    "%s: IMap '%s' was supposed to contain snapshotId %d, but it contains snapshotId %d",
-                    jobIdString, snapshotMap.getName(), snapshotId, validationRecord.snapshotId()));
-        }
-        return validationRecord.snapshotId();
+        return validationRecord;
     }
 }
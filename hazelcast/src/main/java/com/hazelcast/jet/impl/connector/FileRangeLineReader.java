@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.connector;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Private API, used by {@link ReadFilesP} to read ranges of large files.
+ * <p>
+ * Reads the lines of a byte range of a file using a memory-mapped view of
+ * the file.
+ * <p>
+ * A line belongs to the range in which its first byte is. Therefore the
+ * reader skips the partial line at the start of the range, unless the
+ * range starts at the beginning of the file or just after a line
+ * terminator, and it reads the last line past the end of the range.
+ * Reading all ranges of a file returns each line of the file exactly once.
+ * <p>
+ * The lines are terminated by {@code \n}, {@code \r} or {@code \r\n},
+ * as in {@link java.io.BufferedReader#readLine()}. The charset must encode
+ * the {@code \n} and {@code \r} as single bytes not occurring in any other
+ * character, see {@link #isSupportedCharset}. Malformed input is reported
+ * with a {@link java.nio.charset.CharacterCodingException}, wrapped in an
+ * {@link UncheckedIOException}.
+ */
+public final class FileRangeLineReader implements Iterator<String>, Closeable {
+
+    // a window larger than 2GB can't be mapped
+    private static final long MAP_WINDOW_SIZE = 1L << 26;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 256;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long end;
+    private final long fileSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private byte[] lineBuffer = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private int lineLength;
+    private String nextLine;
+
+    FileRangeLineReader(@Nonnull Path path, @Nonnull Charset charset, long start, long end) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.decoder = charset.newDecoder()
+                              .onMalformedInput(CodingErrorAction.REPORT)
+                              .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.fileSize = channel.size();
+        this.end = Math.min(end, fileSize);
+        this.position = start;
+        try {
+            if (start > 0 && start < this.end) {
+                skipToLineStart(start);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a stream of the lines of the range. Closing the stream closes
+     * the file.
+     */
+    public static Stream<String> lines(@Nonnull Path path, @Nonnull Charset charset, long start, long end)
+            throws IOException {
+        FileRangeLineReader reader = new FileRangeLineReader(path, charset, start, end);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(reader::close);
+    }
+
+    /**
+     * Returns whether the line terminators can be found in a file encoded with
+     * the charset without decoding it.
+     */
+    public static boolean isSupportedCharset(@Nonnull Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine == null && position < end) {
+            try {
+                readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                nextLine = decoder.decode(ByteBuffer.wrap(lineBuffer, 0, lineLength)).toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        return line;
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Skips the partial line at the start of the range, if the line started
+     * in the previous range.
+     */
+    private void skipToLineStart(long start) throws IOException {
+        byte previous = byteAt(start - 1);
+        if (previous == '\r') {
+            if (byteAt(start) == '\n') {
+                // the range starts inside a \r\n terminator
+                position++;
+            }
+        } else if (previous != '\n') {
+            readLine();
+        }
+    }
+
+    /**
+     * Reads the bytes from the current position up to the next line
+     * terminator or the end of the file to the {@link #lineBuffer}, and moves
+     * the position after the terminator.
+     */
+    private void readLine() throws IOException {
+        lineLength = 0;
+        while (position < fileSize) {
+            mapWindowAt(position);
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            int to = from;
+            byte b = 0;
+            while (to < limit && (b = window.get(to)) != '\n' && b != '\r') {
+                to++;
+            }
+            appendToLine(from, to);
+            position = windowStart + to;
+            if (to < limit) {
+                // skip the terminator
+                position++;
+                if (b == '\r' && position < fileSize && byteAt(position) == '\n') {
+                    position++;
+                }
+                return;
+            }
+        }
+    }
+
+    private void appendToLine(int from, int to) {
+        int length = to - from;
+        if (lineLength + length > lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, lineLength + length));
+        }
+        window.position(from);
+        window.get(lineBuffer, lineLength, length);
+        lineLength += length;
+    }
+
+    private byte byteAt(long offset) throws IOException {
+        mapWindowAt(offset);
+        return window.get((int) (offset - windowStart));
+    }
+
+    private void mapWindowAt(long offset) throws IOException {
+        if (window != null && offset >= windowStart && offset < windowStart + window.limit()) {
+            return;
+        }
+        windowStart = offset;
+        window = channel.map(MapMode.READ_ONLY, offset, Math.min(MAP_WINDOW_SIZE, fileSize - offset));
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
@@ -31,8 +32,10 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.security.permission.ConnectorPermission;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,9 +44,10 @@ import java.security.Permission;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.jet.Traversers.traverseIterator;
 import static com.hazelcast.jet.Traversers.traverseStream;
 import static com.hazelcast.jet.impl.util.Util.checkSerializable;
@@ -58,9 +62,12 @@ import static com.hazelcast.security.permission.ActionConstants.ACTION_READ;
  * should be set according to the performance characteristics of the
  * underlying storage system. Modern high-end devices peak with 4-8 reading
  * threads, so if running a single Jet job with a single file-reading
- * vertex, the optimal value would be in the range of 4-8. Note that any
- * one file is only read by one thread, so extra parallelism won't improve
- * performance if there aren't enough files to read.
+ * vertex, the optimal value would be in the range of 4-8.
+ * <p>
+ * A file is read by one thread, unless a {@code readFileRangeFn} is given
+ * and the file is larger than the {@code splitSize}. Such a file is split
+ * to byte ranges of the {@code splitSize}, which are read by different
+ * processors.
  */
 public final class ReadFilesP<T> extends AbstractProcessor {
 
@@ -71,6 +78,8 @@ public final class ReadFilesP<T> extends AbstractProcessor {
     private final boolean sharedFileSystem;
     private final boolean ignoreFileNotFound;
     private final FunctionEx<? super Path, ? extends Stream<T>> readFileFn;
+    private final ReadFileRangeFn<T> readFileRangeFn;
+    private final long splitSize;
 
     private LocalFileTraverser<T> traverser;
 
@@ -79,13 +88,17 @@ public final class ReadFilesP<T> extends AbstractProcessor {
             @Nonnull String glob,
             boolean sharedFileSystem,
             boolean ignoreFileNotFound,
-            @Nonnull FunctionEx<? super Path, ? extends Stream<T>> readFileFn
+            @Nonnull FunctionEx<? super Path, ? extends Stream<T>> readFileFn,
+            @Nullable ReadFileRangeFn<T> readFileRangeFn,
+            long splitSize
     ) {
         this.directory = directory;
         this.glob = glob;
         this.sharedFileSystem = sharedFileSystem;
         this.ignoreFileNotFound = ignoreFileNotFound;
         this.readFileFn = readFileFn;
+        this.readFileRangeFn = readFileRangeFn;
+        this.splitSize = splitSize;
     }
 
     @Override
@@ -99,14 +112,21 @@ public final class ReadFilesP<T> extends AbstractProcessor {
                 directory,
                 glob,
                 ignoreFileNotFound,
-                path -> shouldProcessEvent(path, parallelism, processorIndex),
-                readFileFn
+                (path, range) -> shouldProcessEvent(path, range, parallelism, processorIndex),
+                readFileFn,
+                readFileRangeFn,
+                splitSize
         );
     }
 
-    private static boolean shouldProcessEvent(Path path, int parallelism, int processorIndex) {
+    /**
+     * Returns whether this processor reads the given range of the file. A
+     * file that isn't split is a single range with index 0. Consecutive
+     * ranges go to consecutive processors.
+     */
+    private static boolean shouldProcessEvent(Path path, long range, int parallelism, int processorIndex) {
         int hashCode = path.hashCode();
-        return ((hashCode & Integer.MAX_VALUE) % parallelism) == processorIndex;
+        return (((hashCode & Integer.MAX_VALUE) + range) % parallelism) == processorIndex;
     }
 
     @Override
@@ -135,11 +155,52 @@ public final class ReadFilesP<T> extends AbstractProcessor {
             boolean sharedFileSystem,
             boolean ignoreFileNotFound,
             @Nonnull FunctionEx<? super Path, ? extends Stream<T>> readFileFn
+    ) {
+        return metaSupplier(directory, glob, sharedFileSystem, ignoreFileNotFound, readFileFn, null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Private API. Returns a meta-supplier that reads the files larger than
+     * the {@code splitSize} in parallel, using the {@code readFileRangeFn}.
+     * If the {@code readFileRangeFn} is {@code null}, each file is read
+     * whole, using the {@code readFileFn}.
+     */
+    public static <T> ProcessorMetaSupplier metaSupplier(
+            @Nonnull String directory,
+            @Nonnull String glob,
+            boolean sharedFileSystem,
+            boolean ignoreFileNotFound,
+            @Nonnull FunctionEx<? super Path, ? extends Stream<T>> readFileFn,
+            @Nullable ReadFileRangeFn<T> readFileRangeFn,
+            long splitSize
     ) {
         checkSerializable(readFileFn, "readFileFn");
+        checkSerializable(readFileRangeFn, "readFileRangeFn");
+        if (splitSize <= 0) {
+            throw new IllegalArgumentException("splitSize must be positive, but is " + splitSize);
+        }
 
         return new MetaSupplier<>(DEFAULT_LOCAL_PARALLELISM, directory, glob, sharedFileSystem,
-                ignoreFileNotFound, readFileFn);
+                ignoreFileNotFound, readFileFn, readFileRangeFn, splitSize);
+    }
+
+    /**
+     * A function that reads the records starting in the byte range {@code
+     * [start, end)} of the file. A record crossing the start of the range
+     * belongs to the previous range, a record crossing the end of the range
+     * belongs to this range.
+     *
+     * @param <T> the type of the records
+     */
+    @FunctionalInterface
+    public interface ReadFileRangeFn<T> extends Serializable {
+
+        /**
+         * Returns the records of the range. The stream is closed after
+         * reading.
+         */
+        @Nonnull
+        Stream<T> read(@Nonnull Path path, long start, long end) throws Exception;
     }
 
     private static final class MetaSupplier<T> implements FileProcessorMetaSupplier<T> {
@@ -154,14 +215,19 @@ public final class ReadFilesP<T> extends AbstractProcessor {
         private final boolean sharedFileSystem;
         private final boolean ignoreFileNotFound;
         private final FunctionEx<? super Path, ? extends Stream<T>> readFileFn;
+        private final ReadFileRangeFn<T> readFileRangeFn;
+        private final long splitSize;
 
+        @SuppressWarnings("checkstyle:ParameterNumber")
         private MetaSupplier(
                 int localParallelism,
                 String directory,
                 String glob,
                 boolean sharedFileSystem,
                 boolean ignoreFileNotFound,
-                FunctionEx<? super Path, ? extends Stream<T>> readFileFn
+                FunctionEx<? super Path, ? extends Stream<T>> readFileFn,
+                ReadFileRangeFn<T> readFileRangeFn,
+                long splitSize
         ) {
             this.localParallelism = localParallelism;
             this.directory = directory;
@@ -169,13 +235,15 @@ public final class ReadFilesP<T> extends AbstractProcessor {
             this.sharedFileSystem = sharedFileSystem;
             this.ignoreFileNotFound = ignoreFileNotFound;
             this.readFileFn = readFileFn;
+            this.readFileRangeFn = readFileRangeFn;
+            this.splitSize = splitSize;
         }
 
         @Nonnull
         @Override
         public Function<? super Address, ? extends ProcessorSupplier> get(@Nonnull List<Address> addresses) {
             return address -> ProcessorSupplier.of(() -> new ReadFilesP<>(directory, glob, sharedFileSystem,
-                    ignoreFileNotFound, readFileFn));
+                    ignoreFileNotFound, readFileFn, readFileRangeFn, splitSize));
         }
 
         @Override
@@ -185,7 +253,8 @@ public final class ReadFilesP<T> extends AbstractProcessor {
 
         @Override
         public FileTraverser<T> traverser() {
-            return new LocalFileTraverser<>(LOGGER, directory, glob, ignoreFileNotFound, path -> true, readFileFn);
+            return new LocalFileTraverser<>(LOGGER, directory, glob, ignoreFileNotFound, (path, range) -> true,
+                    readFileFn, null, Long.MAX_VALUE);
         }
 
         @Override
@@ -216,30 +285,38 @@ public final class ReadFilesP<T> extends AbstractProcessor {
         private final String glob;
         private final boolean ignoreFileNotFound;
         private final FunctionEx<? super Path, ? extends Stream<T>> readFileFn;
+        private final ReadFileRangeFn<T> readFileRangeFn;
+        private final long splitSize;
+        private final RangeFilter rangeFilterFn;
         private final Traverser<T> delegate;
 
         private DirectoryStream<Path> directoryStream;
         private Stream<T> fileStream;
         private boolean hasResults;
 
+        @SuppressWarnings("checkstyle:ParameterNumber")
         private LocalFileTraverser(
                 ILogger logger,
                 String directory,
                 String glob,
                 boolean ignoreFileNotFound,
-                Predicate<Path> pathFilterFn,
-                FunctionEx<? super Path, ? extends Stream<T>> readFileFn
+                RangeFilter rangeFilterFn,
+                FunctionEx<? super Path, ? extends Stream<T>> readFileFn,
+                @Nullable ReadFileRangeFn<T> readFileRangeFn,
+                long splitSize
         ) {
             this.logger = logger;
             this.directory = Paths.get(directory);
             this.glob = glob;
             this.ignoreFileNotFound = ignoreFileNotFound;
+            this.rangeFilterFn = rangeFilterFn;
             this.readFileFn = readFileFn;
+            this.readFileRangeFn = readFileRangeFn;
+            this.splitSize = splitSize;
             this.delegate = traverseIterator(uncheckCall(this::paths))
                     .filter(path -> !Files.isDirectory(path))
                     .peek(path -> hasResults = true)
-                    .filter(path -> pathFilterFn.test(path))
-                    .flatMap(this::processFile);
+                    .flatMap(this::processPath);
         }
 
         private Iterator<Path> paths() throws IOException {
@@ -255,11 +332,37 @@ public final class ReadFilesP<T> extends AbstractProcessor {
             return directoryStream.iterator();
         }
 
+        private Traverser<T> processPath(Path file) {
+            long size = readFileRangeFn == null ? 0 : uncheckCall(() -> Files.size(file));
+            if (size <= splitSize) {
+                return rangeFilterFn.test(file, 0) ? processFile(file) : Traversers.empty();
+            }
+            long rangeCount = (size - 1) / splitSize + 1;
+            return traverseStream(LongStream.range(0, rangeCount)
+                                            .filter(range -> rangeFilterFn.test(file, range))
+                                            .boxed())
+                    .flatMap(range -> processRange(file, range * splitSize, Math.min(size, (range + 1) * splitSize)));
+        }
+
         private Traverser<T> processFile(Path file) {
             logger.finest("Processing file " + file);
+            return traverseFileStream(readFileFn.apply(file));
+        }
 
+        private Traverser<T> processRange(Path file, long start, long end) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Processing range [" + start + ", " + end + ") of file " + file);
+            }
+            try {
+                return traverseFileStream(readFileRangeFn.read(file, start, end));
+            } catch (Exception e) {
+                throw sneakyThrow(e);
+            }
+        }
+
+        private Traverser<T> traverseFileStream(Stream<T> stream) {
             assert fileStream == null : "fileStream != null";
-            fileStream = readFileFn.apply(file);
+            fileStream = stream;
             return traverseStream(fileStream)
                     .onFirstNull(() -> {
                         fileStream.close();
@@ -294,4 +397,9 @@ public final class ReadFilesP<T> extends AbstractProcessor {
             }
         }
     }
+
+    @FunctionalInterface
+    private interface RangeFilter {
+        boolean test(Path path, long range);
+    }
 }
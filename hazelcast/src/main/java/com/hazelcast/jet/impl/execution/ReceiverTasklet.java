@@ -21,11 +21,13 @@ import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeUnit;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.RestartableException;
 import com.hazelcast.jet.config.InstanceConfig;
 import com.hazelcast.jet.core.metrics.MetricNames;
@@ -41,6 +43,8 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
@@ -97,6 +101,8 @@ public class ReceiverTasklet implements Tasklet {
     private final ArrayDeque<ObjWithPtionIdAndSize> inbox = new ArrayDeque<>();
     private final OutboundCollector collector;
     private final InternalSerializationService serializationService;
+    private final Inflater inflater;
+    private byte[] decompressBuffer;
 
     private boolean receptionDone;
 
@@ -106,6 +112,9 @@ public class ReceiverTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_IN, unit = ProbeUnit.BYTES)
     private final Counter bytesInCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_WIRE_BYTES_IN, unit = ProbeUnit.BYTES)
+    private final Counter wireBytesInCounter = SwCounter.newSwCounter();
+
     //                    FLOW-CONTROL STATE
     //            All arrays are indexed by sender ID.
 
@@ -126,6 +135,21 @@ public class ReceiverTasklet implements Tasklet {
             int rwinMultiplier, int flowControlPeriodMs, LoggingService loggingService,
             Address sourceAddress, int ordinal, String destinationVertexName,
             Connection memberConnection, String jobPrefix
+    ) {
+        this(collector, serializationService, rwinMultiplier, flowControlPeriodMs, loggingService, sourceAddress,
+                ordinal, destinationVertexName, memberConnection, jobPrefix, false);
+    }
+
+    /**
+     * @param decompress whether the packets are compressed by the {@link
+     *      SenderTasklet}
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public ReceiverTasklet(
+            OutboundCollector collector, InternalSerializationService serializationService,
+            int rwinMultiplier, int flowControlPeriodMs, LoggingService loggingService,
+            Address sourceAddress, int ordinal, String destinationVertexName,
+            Connection memberConnection, String jobPrefix, boolean decompress
     ) {
         this.collector = collector;
         this.serializationService = serializationService;
@@ -144,6 +168,7 @@ public class ReceiverTasklet implements Tasklet {
                 .toString();
         this.logger = prefixedLogger(loggingService.getLogger(getClass()), prefix);
         this.receiveWindowCompressed = INITIAL_RECEIVE_WINDOW_COMPRESSED;
+        this.inflater = decompress ? new Inflater() : null;
     }
 
     @Override
@@ -300,8 +325,11 @@ public class ReceiverTasklet implements Tasklet {
         try {
             long totalBytes = 0;
             long totalItems = 0;
+            long totalWireBytes = 0;
             for (byte[] payload; (payload = incoming.poll()) != null; ) {
-                BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
+                totalWireBytes += payload.length;
+                BufferObjectDataInput input = serializationService.createObjectDataInput(
+                        inflater != null ? decompress(payload) : payload, PACKET_HEADER_SIZE);
                 final int itemCount = input.readInt();
                 for (int i = 0; i < itemCount; i++) {
                     final int mark = input.position();
@@ -316,11 +344,49 @@ public class ReceiverTasklet implements Tasklet {
             }
             bytesInCounter.inc(totalBytes);
             itemsInCounter.inc(totalItems);
+            wireBytesInCounter.inc(totalWireBytes);
         } catch (IOException e) {
             throw rethrow(e);
         }
     }
 
+    /**
+     * Returns the packet with the payload decompressed, in a buffer reused
+     * for the next packet. The size of the buffer can exceed the packet.
+     */
+    private byte[] decompress(byte[] payload) {
+        int start = PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        int storedLength = Bits.readIntB(payload, PACKET_HEADER_SIZE);
+        // -1 if the sender didn't compress the packet
+        boolean compressed = storedLength >= 0;
+        int rawLength = compressed ? storedLength : payload.length - start;
+        if (decompressBuffer == null || decompressBuffer.length < PACKET_HEADER_SIZE + rawLength) {
+            decompressBuffer = new byte[PACKET_HEADER_SIZE + rawLength];
+        }
+        if (!compressed) {
+            System.arraycopy(payload, start, decompressBuffer, PACKET_HEADER_SIZE, rawLength);
+            return decompressBuffer;
+        }
+        try {
+            inflater.reset();
+            inflater.setInput(payload, start, payload.length - start);
+            int inflated = inflater.inflate(decompressBuffer, PACKET_HEADER_SIZE, rawLength);
+            if (inflated != rawLength || !inflater.finished()) {
+                throw new JetException("Corrupted compressed packet from " + sourceAddressString);
+            }
+        } catch (DataFormatException e) {
+            throw new JetException("Corrupted compressed packet from " + sourceAddressString, e);
+        }
+        return decompressBuffer;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
     public void initIncomingQueue(Queue<byte[]> incomingQueue) {
         incoming = incomingQueue;
     }
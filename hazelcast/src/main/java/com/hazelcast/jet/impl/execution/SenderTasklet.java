@@ -39,8 +39,10 @@ import com.hazelcast.spi.impl.NodeEngine;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 import static com.hazelcast.jet.impl.Networking.createStreamPacketHeader;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
@@ -51,6 +53,12 @@ import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 
 /**
  * The tasklet that sends the data associated with a single edge through network.
+ * <p>
+ * The items are packed into packets of up to {@code packetSizeLimit} bytes.
+ * If compression is enabled, the items in the packet are compressed: the
+ * header is followed by the uncompressed length and the deflated bytes, or
+ * by -1 and the uncompressed bytes, if the compression didn't reduce the
+ * size.
  */
 public class SenderTasklet implements Tasklet {
     private static final int BUFFER_INITIAL_SIZE = 1 << 10;
@@ -63,6 +71,8 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    private final Deflater deflater;
+    private byte[] compressBuffer;
 
     /* Used for metrics */
     private final String destinationAddressString;
@@ -75,6 +85,9 @@ public class SenderTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_OUT, unit = ProbeUnit.BYTES)
     private final Counter bytesOutCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_WIRE_BYTES_OUT, unit = ProbeUnit.BYTES)
+    private final Counter wireBytesOutCounter = SwCounter.newSwCounter();
+
     private boolean instreamExhausted;
     // read and written by Jet thread
     private long sentSeq;
@@ -83,6 +96,7 @@ public class SenderTasklet implements Tasklet {
     private volatile int sendSeqLimitCompressed;
     private final Consumer<Object> addToInboxFunction = inbox::add;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public SenderTasklet(
             InboundEdgeStream inboundEdgeStream,
             NodeEngine nodeEngine,
@@ -90,7 +104,8 @@ public class SenderTasklet implements Tasklet {
             Connection connection,
             int destinationVertexId, int packetSizeLimit, long executionId,
             String sourceVertexName, int sourceOrdinal,
-            InternalSerializationService serializationService
+            InternalSerializationService serializationService,
+            boolean compress
     ) {
         this.inboundEdgeStream = inboundEdgeStream;
         this.destinationAddressString = destinationAddress.toString();
@@ -103,6 +118,7 @@ public class SenderTasklet implements Tasklet {
         uncheckRun(() -> outputBuffer.write(createStreamPacketHeader(nodeEngine,
                 executionId, destinationVertexId, inboundEdgeStream.ordinal())));
         bufPosPastHeader = outputBuffer.position();
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
     }
 
     @Nonnull @Override
@@ -114,7 +130,9 @@ public class SenderTasklet implements Tasklet {
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
-            if (!connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET))) {
+            byte[] packetBytes = deflater != null ? compressedPacket() : outputBuffer.toByteArray();
+            wireBytesOutCounter.inc(packetBytes.length);
+            if (!connection.write(new Packet(packetBytes).setPacketType(Packet.Type.JET))) {
                 throw new RestartableException("Connection write failed in " + toString());
             }
         }
@@ -165,6 +183,37 @@ public class SenderTasklet implements Tasklet {
         }
     }
 
+    private byte[] compressedPacket() {
+        byte[] raw = outputBuffer.toByteArray();
+        int rawLength = raw.length - bufPosPastHeader;
+        if (compressBuffer == null || compressBuffer.length < raw.length + Bits.INT_SIZE_IN_BYTES) {
+            compressBuffer = new byte[raw.length + Bits.INT_SIZE_IN_BYTES];
+        }
+        // header, then the uncompressed length
+        System.arraycopy(raw, 0, compressBuffer, 0, bufPosPastHeader);
+        Bits.writeIntB(compressBuffer, bufPosPastHeader, rawLength);
+        int start = bufPosPastHeader + Bits.INT_SIZE_IN_BYTES;
+        deflater.reset();
+        deflater.setInput(raw, bufPosPastHeader, rawLength);
+        deflater.finish();
+        // we stop if the compressed data doesn't fit into the size of the uncompressed data
+        int compressedLength = deflater.deflate(compressBuffer, start, raw.length - start);
+        if (!deflater.finished()) {
+            // not compressible, send as is
+            Bits.writeIntB(compressBuffer, bufPosPastHeader, -1);
+            System.arraycopy(raw, bufPosPastHeader, compressBuffer, start, rawLength);
+            return Arrays.copyOf(compressBuffer, start + rawLength);
+        }
+        return Arrays.copyOf(compressBuffer, start + compressedLength);
+    }
+
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
     /**
      * Updates the upper limit on {@link #sentSeq}, which constrains how much more data this tasklet can send.
      *
@@ -173,6 +173,18 @@ public class SnapshotContext {
         return SnapshotFlags.isExportOnly(snapshotFlags);
     }
 
+    public boolean isExport() {
+        return SnapshotFlags.isExport(snapshotFlags);
+    }
+
+    /**
+     * Returns whether the current snapshot should contain only the entries
+     * changed since the previous snapshot.
+     */
+    public boolean isIncremental() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
     boolean isLastPhase1Successful() {
         return lastPhase1Successful;
     }
@@ -36,6 +36,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_BYTES;
 import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_KEYS;
+import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_UNCHANGED_KEYS;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.DONE;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.DRAIN;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.FLUSH;
@@ -54,6 +55,7 @@ public class StoreSnapshotTasklet implements Tasklet {
     private final AsyncSnapshotWriter ssWriter;
     private final ProgressTracker progTracker = new ProgressTracker();
     private final AtomicReference<LongLongAccumulator> metrics = new AtomicReference<>(new LongLongAccumulator());
+    private volatile long unchangedKeysMetric;
     private State state = DRAIN;
     private boolean hasReachedBarrier;
     private Entry<Data, Data> pendingEntry;
@@ -135,6 +137,7 @@ public class StoreSnapshotTasklet implements Tasklet {
                 long chunks = ssWriter.getTotalChunks();
                 snapshotContext.phase1DoneForTasklet(bytes, keys, chunks);
                 metrics.set(new LongLongAccumulator(bytes, keys));
+                unchangedKeysMetric = ssWriter.getTotalUnchangedKeys();
                 ssWriter.resetStats();
                 pendingSnapshotId++;
                 hasReachedBarrier = false;
@@ -170,6 +173,7 @@ public class StoreSnapshotTasklet implements Tasklet {
         LongLongAccumulator metricValues = metrics.get();
         context.collect(descriptor, SNAPSHOT_BYTES, ProbeLevel.INFO, ProbeUnit.COUNT, metricValues.get1());
         context.collect(descriptor, SNAPSHOT_KEYS, ProbeLevel.INFO, ProbeUnit.COUNT, metricValues.get2());
+        context.collect(descriptor, SNAPSHOT_UNCHANGED_KEYS, ProbeLevel.INFO, ProbeUnit.COUNT, unchangedKeysMetric);
     }
 
     @Override
@@ -51,6 +51,7 @@ import com.hazelcast.jet.impl.execution.StoreSnapshotTasklet;
 import com.hazelcast.jet.impl.execution.Tasklet;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcSupplierCtx;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl;
 import com.hazelcast.jet.impl.util.ImdgUtil;
 import com.hazelcast.jet.impl.util.ObjectWithPartitionId;
@@ -234,7 +235,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                     StoreSnapshotTasklet ssTasklet = new StoreSnapshotTasklet(snapshotContext,
                             ConcurrentInboundEdgeStream.create(ssConveyor, 0, 0, true, jobPrefix + "/ssFrom", null),
                             new AsyncSnapshotWriterImpl(nodeEngine, snapshotContext, vertex.name(), memberIndex, memberCount,
-                                    jobSerializationService),
+                                    jobSerializationService, jobConfig.getMaxIncrementalSnapshots() > 0),
                             storeSnapshotLogger, vertex.name(), higherPriorityVertices.contains(vertex.vertexId()));
                     tasklets.add(ssTasklet);
                 }
@@ -263,6 +264,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                             subject,
                             processorClassLoader
                     );
+                    StateBackendAware.configure(processor, jobConfig);
 
                     List<OutboundEdgeStream> outboundStreams = createOutboundEdgeStreams(
                             vertex, localProcessorIdx);
@@ -695,7 +697,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
             SenderTasklet t = new SenderTasklet(inboundEdgeStream, nodeEngine, destAddr,
                     memberConnections.get(destAddr),
                     destVertexId, edge.getConfig().getPacketSizeLimit(), executionId,
-                    edge.sourceVertex().name(), edge.sourceOrdinal(), jobSerializationService
+                    edge.sourceVertex().name(), edge.sourceOrdinal(), jobSerializationService,
+                    jobConfig.isEdgeCompressionEnabled()
             );
             senderMap.computeIfAbsent(destVertexId, xx -> new HashMap<>())
                     .computeIfAbsent(edge.destOrdinal(), xx -> new HashMap<>())
@@ -790,7 +793,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                                 edge.getConfig().getReceiveWindowMultiplier(),
                                 getJetConfig().getFlowControlPeriodMs(),
                                 nodeEngine.getLoggingService(), addr, edge.destOrdinal(), edge.destVertex().name(),
-                                memberConnections.get(addr), jobPrefix);
+                                memberConnections.get(addr), jobPrefix, jobConfig.isEdgeCompressionEnabled());
                         addrToTasklet.put(addr, receiverTasklet);
                         tasklets.add(receiverTasklet);
                     }
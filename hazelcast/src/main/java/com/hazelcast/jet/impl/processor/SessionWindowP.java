@@ -25,12 +25,16 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.state.KeyedStateStore;
+import com.hazelcast.jet.impl.state.StateBackend;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -42,7 +46,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
@@ -76,11 +79,11 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * @param <A> type of the accumulator object
  * @param <R> type of the finished result
  */
-public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
+public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor implements StateBackendAware {
     private static final Watermark COMPLETING_WM = new Watermark(Long.MAX_VALUE);
 
     // exposed for testing, to check for memory leaks
-    final Map<K, Windows<A>> keyToWindows = new HashMap<>();
+    KeyedStateStore<K, Windows<A>> keyToWindows;
     final SortedMap<Long, Set<K>> deadlineToKeys = new TreeMap<>();
     long currentWatermark = Long.MIN_VALUE;
 
@@ -115,12 +118,8 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
     private Traverser snapshotTraverser;
     private long minRestoredCurrentWatermark = Long.MAX_VALUE;
     private boolean inComplete;
-
-    // extracted lambdas to reduce GC litter
-    private final Function<K, Windows<A>> newWindowsFunction = k -> {
-        totalKeys.inc();
-        return new Windows<>();
-    };
+    // not cooperative with the disk state backend, which does blocking file I/O
+    private boolean cooperative = true;
 
     @SuppressWarnings("unchecked")
     public SessionWindowP(
@@ -145,9 +144,20 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
         this.windowWatermarkKey = windowWatermarkKey;
     }
 
+    @Override
+    public void setStateBackendType(@Nonnull StateBackendType stateBackendType) {
+        cooperative = stateBackendType == StateBackendType.HEAP;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return cooperative;
+    }
+
     @Override
     protected void init(@Nonnull Context context) {
         processingGuarantee = context.processingGuarantee();
+        keyToWindows = StateBackend.forContext(context).newStore("keyToWindows", HashMap::new);
         lastTimeEarlyResultsEmitted = NANOSECONDS.toMillis(System.nanoTime());
     }
 
@@ -164,7 +174,7 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             return true;
         }
         lastTimeEarlyResultsEmitted = now;
-        earlyWinTraverser = traverseIterable(keyToWindows.entrySet())
+        earlyWinTraverser = traverseIterable(keyToWindows)
                 .flatMap(e -> earlyWindows(e.getKey(), e.getValue()))
                 .onFirstNull(() -> earlyWinTraverser = null);
         return emitFromTraverser(earlyWinTraverser);
@@ -179,9 +189,17 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             return true;
         }
         K key = keyFns.get(ordinal).apply(item);
-        addItem(ordinal,
-                keyToWindows.computeIfAbsent(key, newWindowsFunction),
-                key, timestamp, item);
+        Windows<A> windows = keyToWindows.get(key);
+        boolean isNew = windows == null;
+        if (isNew) {
+            totalKeys.inc();
+            windows = new Windows<>();
+        }
+        addItem(ordinal, windows, key, timestamp, item);
+        if (isNew || !keyToWindows.isOnHeap()) {
+            // an off-heap store doesn't see in-place changes of the windows
+            keyToWindows.put(key, windows);
+        }
         return true;
     }
 
@@ -247,7 +265,7 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             return complete();
         }
         if (snapshotTraverser == null) {
-            snapshotTraverser = Traversers.<Object>traverseIterable(keyToWindows.entrySet())
+            snapshotTraverser = Traversers.<Object>traverseIterable(keyToWindows)
                     .append(entry(broadcastKey(Keys.CURRENT_WATERMARK), currentWatermark))
                     .onFirstNull(() -> snapshotTraverser = null);
         }
@@ -272,7 +290,9 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             return;
         }
 
-        if (keyToWindows.put((K) key, (Windows) value) != null) {
+        long sizeBefore = keyToWindows.size();
+        keyToWindows.put((K) key, (Windows) value);
+        if (keyToWindows.size() == sizeBefore) {
             throw new JetException("Duplicate key in snapshot: " + key);
         }
     }
@@ -281,7 +301,7 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
     public boolean finishSnapshotRestore() {
         assert deadlineToKeys.isEmpty();
         // populate deadlineToKeys
-        for (Entry<K, Windows<A>> entry : keyToWindows.entrySet()) {
+        for (Entry<K, Windows<A>> entry : keyToWindows) {
             for (long end : entry.getValue().ends) {
                 addToDeadlines(entry.getKey(), end);
             }
@@ -294,7 +314,14 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return keyToWindows == null || keyToWindows.isOnHeap();
+    }
+
+    @Override
+    public void close() {
+        if (keyToWindows != null) {
+            keyToWindows.close();
+        }
     }
 
     private void addItem(int ordinal, Windows<A> w, K key, long timestamp, Object item) {
@@ -334,6 +361,9 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
         }
         if (i != w.size) {
             w.removeHead(i);
+            if (!keyToWindows.isOnHeap()) {
+                keyToWindows.put(key, w);
+            }
         } else {
             keyToWindows.remove(key);
             totalKeys.set(keyToWindows.size());
@@ -21,6 +21,7 @@ import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.core.Processor;
@@ -29,13 +30,15 @@ import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.datamodel.TimestampedItem;
 import com.hazelcast.jet.function.TriFunction;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.state.KeyedStateStore;
+import com.hazelcast.jet.impl.state.StateBackend;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.jet.impl.util.Util;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -47,7 +50,7 @@ import static com.hazelcast.jet.impl.util.Util.logLateEvent;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
-public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
+public class TransformStatefulP<T, K, S, R> extends AbstractProcessor implements StateBackendAware {
     private static final int HASH_MAP_INITIAL_CAPACITY = 16;
     private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
     private static final Watermark FLUSHING_WATERMARK = new Watermark(Long.MAX_VALUE);
@@ -62,8 +65,15 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
     private final TriFunction<? super S, ? super K, ? super T, ? extends Traverser<R>> statefulFlatMapFn;
     @Nullable
     private final TriFunction<? super S, ? super K, ? super Long, ? extends Traverser<R>> onEvictFn;
-    private final Map<K, TimestampedItem<S>> keyToState =
-            new LinkedHashMap<>(HASH_MAP_INITIAL_CAPACITY, HASH_MAP_LOAD_FACTOR, true);
+    // not cooperative with the disk state backend, which does blocking file I/O
+    private boolean cooperative = true;
+    private KeyedStateStore<K, TimestampedItem<S>> keyToState;
+    // An on-heap store is ordered by access, so eviction can stop at the
+    // first non-expired entry. Otherwise, we must check all entries.
+    private boolean evictInAccessOrder;
+    // Lower bound of the timestamps in keyToState, used to avoid scanning a
+    // store that isn't ordered by access when nothing can expire
+    private long minTimestamp = Long.MAX_VALUE;
     private final FlatMapper<T, R> flatMapper = flatMapper(this::flatMapEvent);
 
     private final FlatMapper<Watermark, Object> wmFlatMapper = flatMapper(this::flatMapWm);
@@ -92,9 +102,22 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
         this.onEvictFn = onEvictFn;
     }
 
+    @Override
+    public void setStateBackendType(@Nonnull StateBackendType stateBackendType) {
+        cooperative = stateBackendType == StateBackendType.HEAP;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return cooperative;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        keyToState = StateBackend.forContext(context).newStore("keyToState",
+                () -> new LinkedHashMap<>(HASH_MAP_INITIAL_CAPACITY, HASH_MAP_LOAD_FACTOR, true));
+        evictInAccessOrder = keyToState.isOnHeap();
     }
 
     @Override
@@ -112,16 +135,23 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
             return Traversers.empty();
         }
         K key = keyFn.apply(event);
-        TimestampedItem<S> tsAndState = keyToState.computeIfAbsent(key, (k) -> {
+        TimestampedItem<S> tsAndState = keyToState.get(key);
+        boolean isNew = tsAndState == null;
+        if (isNew) {
             if (keyToState.size() == maxEntries) {
                 throw new AccumulationLimitExceededException();
             }
-
-            return createIfAbsentFn.apply(k);
-        });
+            tsAndState = createIfAbsentFn.apply(key);
+            minTimestamp = min(minTimestamp, timestamp);
+        }
         tsAndState.setTimestamp(max(tsAndState.timestamp(), timestamp));
         S state = tsAndState.item();
-        return statefulFlatMapFn.apply(state, key, event);
+        Traverser<R> result = statefulFlatMapFn.apply(state, key, event);
+        if (isNew || !keyToState.isOnHeap()) {
+            // an off-heap store doesn't see in-place changes of the state
+            keyToState.put(key, tsAndState);
+        }
+        return result;
     }
 
     @Override
@@ -145,15 +175,27 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return keyToState == null || keyToState.isOnHeap();
+    }
+
+    @Override
+    public void close() {
+        if (keyToState != null) {
+            keyToState.close();
+        }
     }
 
     private class EvictingTraverser implements Traverser<Traverser<?>> {
         private Iterator<Entry<K, TimestampedItem<S>>> keyToStateIterator;
+        private boolean wmPending;
         private final ResettableSingletonTraverser<Watermark> wmTraverser = new ResettableSingletonTraverser<>();
 
         void reset(Watermark wm) {
-            keyToStateIterator = keyToState.entrySet().iterator();
+            if (evictInAccessOrder || minTimestamp < Util.subtractClamped(currentWm, ttl)) {
+                keyToStateIterator = keyToState.iterator();
+                minTimestamp = Long.MAX_VALUE;
+            }
+            wmPending = true;
             if (wm == FLUSHING_WATERMARK) {
                 // don't forward the flushing watermark
                 return;
@@ -163,21 +205,28 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
 
         @Override
         public Traverser<?> next() {
-            if (keyToStateIterator == null) {
-                return null;
-            }
-            while (keyToStateIterator.hasNext()) {
-                Entry<K, TimestampedItem<S>> entry = keyToStateIterator.next();
-                long lastTouched = entry.getValue().timestamp();
-                if (lastTouched >= Util.subtractClamped(currentWm, ttl)) {
-                    break;
-                }
-                keyToStateIterator.remove();
-                if (onEvictFn != null) {
-                    return onEvictFn.apply(entry.getValue().item(), entry.getKey(), currentWm);
+            if (keyToStateIterator != null) {
+                while (keyToStateIterator.hasNext()) {
+                    Entry<K, TimestampedItem<S>> entry = keyToStateIterator.next();
+                    long lastTouched = entry.getValue().timestamp();
+                    if (lastTouched >= Util.subtractClamped(currentWm, ttl)) {
+                        if (evictInAccessOrder) {
+                            break;
+                        }
+                        minTimestamp = min(minTimestamp, lastTouched);
+                        continue;
+                    }
+                    keyToStateIterator.remove();
+                    if (onEvictFn != null) {
+                        return onEvictFn.apply(entry.getValue().item(), entry.getKey(), currentWm);
+                    }
                 }
+                keyToStateIterator = null;
+            }
+            if (!wmPending) {
+                return null;
             }
-            keyToStateIterator = null;
+            wmPending = false;
             return wmTraverser;
         }
     }
@@ -194,7 +243,7 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
             return complete();
         }
         if (snapshotTraverser == null) {
-            snapshotTraverser = Traversers.<Entry<?, ?>>traverseIterable(keyToState.entrySet())
+            snapshotTraverser = Traversers.<Entry<?, ?>>traverseIterable(keyToState)
                     .append(entry(broadcastKey(SnapshotKeys.WATERMARK), currentWm))
                     .onFirstNull(() -> snapshotTraverser = null);
         }
@@ -209,8 +258,11 @@ public class TransformStatefulP<T, K, S, R> extends AbstractProcessor {
             currentWm = (currentWm == Long.MIN_VALUE) ? wm : min(currentWm, wm);
         } else {
             @SuppressWarnings("unchecked")
-            TimestampedItem<S> old = keyToState.put((K) key, (TimestampedItem<S>) value);
-            assert old == null : "Duplicate key '" + key + '\'';
+            TimestampedItem<S> tsAndState = (TimestampedItem<S>) value;
+            long sizeBefore = keyToState.size();
+            keyToState.put((K) key, tsAndState);
+            assert keyToState.size() > sizeBefore : "Duplicate key '" + key + '\'';
+            minTimestamp = min(minTimestamp, tsAndState.timestamp());
         }
     }
 }
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.impl.state.SortedRun.EntrySource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static com.hazelcast.jet.Util.entry;
+
+/**
+ * A log-structured {@link KeyedStateStore} on the local disk.
+ * <p>
+ * The keys and values are stored serialized. Writes go to an in-memory
+ * sorted memtable. When the memtable exceeds the configured size, it's
+ * written to a new {@link SortedRun} file. A lookup checks the memtable and
+ * then the runs from the newest to the oldest.
+ * <p>
+ * The runs are compacted in tiers: when there are {@value #MERGE_FACTOR} or
+ * more adjacent runs of a similar size, they are merged into a single run,
+ * which drops the overwritten values, and also the removed keys if the
+ * oldest run is merged. Each entry is therefore rewritten about once per
+ * tier, that is a logarithmic number of times in the size of the state.
+ * <p>
+ * The heap usage is bounded by the memtable size plus the sparse index and
+ * the bloom filter of each run. Equal keys must serialize to equal bytes,
+ * the same assumption as for the keys of an {@code IMap}.
+ */
+public final class DiskKeyedStateStore<K, V> implements KeyedStateStore<K, V> {
+
+    /**
+     * The value of a removed key in the memtable and in the runs.
+     */
+    static final byte[] TOMBSTONE = new byte[0];
+
+    /**
+     * The minimum number of adjacent runs of a similar size merged together.
+     */
+    static final int MERGE_FACTOR = 4;
+
+    /**
+     * Runs are of a similar size if the largest of them is at most this
+     * many times larger than the smallest.
+     */
+    private static final int SIMILAR_SIZE_RATIO = 2;
+
+    // estimate of the heap used by a memtable entry, except for the key and value arrays
+    private static final int MEMTABLE_ENTRY_OVERHEAD = 64;
+
+    private final File directory;
+    private final long maxMemtableBytes;
+    private final InternalSerializationService serializationService;
+
+    private SortedMap<byte[], byte[]> memtable = newMemtable();
+    private long memtableBytes;
+    // the newest run is first
+    private final List<SortedRun> runs = new ArrayList<>();
+    private final List<StoreIterator> openIterators = new ArrayList<>();
+    private long size;
+    private int nextRunId;
+    private boolean compactionPending;
+    private long compactionWrittenBytes;
+
+    DiskKeyedStateStore(File directory, long maxMemtableBytes, InternalSerializationService serializationService) {
+        this.directory = directory;
+        this.maxMemtableBytes = maxMemtableBytes;
+        this.serializationService = serializationService;
+    }
+
+    @Nullable @Override
+    public V get(@Nonnull K key) {
+        byte[] value = find(toBytes(key));
+        return value == null || value == TOMBSTONE ? null : toObject(value);
+    }
+
+    @Override
+    public void put(@Nonnull K key, @Nonnull V value) {
+        byte[] keyBytes = toBytes(key);
+        byte[] valueBytes = toBytes(value);
+        byte[] previous = memtable.put(keyBytes, valueBytes);
+        if (previous == null) {
+            memtableBytes += MEMTABLE_ENTRY_OVERHEAD + keyBytes.length + valueBytes.length;
+            byte[] inRuns = findInRuns(keyBytes);
+            if (inRuns == null || inRuns == TOMBSTONE) {
+                size++;
+            }
+        } else {
+            memtableBytes += valueBytes.length - previous.length;
+            if (previous == TOMBSTONE) {
+                size++;
+            }
+        }
+        maybeFlush();
+    }
+
+    @Override
+    public void remove(@Nonnull K key) {
+        byte[] keyBytes = toBytes(key);
+        byte[] value = find(keyBytes);
+        if (value != null && value != TOMBSTONE) {
+            removeExisting(keyBytes);
+        }
+    }
+
+    private void removeExisting(byte[] keyBytes) {
+        size--;
+        byte[] previous;
+        if (runs.isEmpty()) {
+            previous = memtable.remove(keyBytes);
+            memtableBytes -= MEMTABLE_ENTRY_OVERHEAD + keyBytes.length + previous.length;
+        } else {
+            previous = memtable.put(keyBytes, TOMBSTONE);
+            memtableBytes += previous == null
+                    ? MEMTABLE_ENTRY_OVERHEAD + keyBytes.length
+                    : -previous.length;
+            maybeFlush();
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The iterator works on a copy of the memtable and on the runs existing
+     * at the time of the call. Until the iterator is exhausted, the runs
+     * aren't compacted.
+     */
+    @Nonnull @Override
+    public Iterator<Entry<K, V>> iterator() {
+        List<EntrySource> sources = new ArrayList<>(runs.size() + 1);
+        sources.add(new IteratorSource(new ArrayList<>(memtable.entrySet()).iterator()));
+        try {
+            for (SortedRun run : runs) {
+                sources.add(run.open());
+            }
+        } catch (IOException e) {
+            closeQuietly(sources);
+            throw new JetException("Failed to read state from " + directory, e);
+        }
+        StoreIterator iterator = new StoreIterator(new MergingSource(sources));
+        openIterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public boolean isOnHeap() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        for (StoreIterator iterator : openIterators) {
+            closeQuietly(iterator.source);
+        }
+        openIterators.clear();
+        for (SortedRun run : runs) {
+            IOUtil.closeResource(run);
+        }
+        runs.clear();
+        memtable = newMemtable();
+        memtableBytes = 0;
+        IOUtil.deleteQuietly(directory);
+    }
+
+    // for tests
+    int runCount() {
+        return runs.size();
+    }
+
+    // for tests
+    long compactionWrittenBytes() {
+        return compactionWrittenBytes;
+    }
+
+    private byte[] find(byte[] keyBytes) {
+        byte[] value = memtable.get(keyBytes);
+        return value != null ? value : findInRuns(keyBytes);
+    }
+
+    private byte[] findInRuns(byte[] keyBytes) {
+        try {
+            for (SortedRun run : runs) {
+                byte[] value = run.find(keyBytes);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new JetException("Failed to read state from " + directory, e);
+        }
+    }
+
+    private void maybeFlush() {
+        if (memtableBytes <= maxMemtableBytes) {
+            return;
+        }
+        try {
+            SortedRun run = SortedRun.write(nextRunFile(),
+                    new IteratorSource(memtable.entrySet().iterator()), memtable.size(), runs.isEmpty());
+            runs.add(0, run);
+            memtable = newMemtable();
+            memtableBytes = 0;
+            compactionPending = true;
+            maybeCompact();
+        } catch (IOException e) {
+            throw new JetException("Failed to write state to " + directory, e);
+        }
+    }
+
+    private void maybeCompact() throws IOException {
+        if (!compactionPending || !openIterators.isEmpty()) {
+            return;
+        }
+        int from = 0;
+        while (from + MERGE_FACTOR <= runs.size()) {
+            int to = similarRunsEnd(from);
+            if (to - from >= MERGE_FACTOR) {
+                merge(from, to);
+                // the merged run can complete a tier of the older runs
+                from = 0;
+            } else {
+                from++;
+            }
+        }
+        compactionPending = false;
+    }
+
+    /**
+     * Returns the end (exclusive) of the adjacent runs starting at the given
+     * index, whose sizes are similar.
+     */
+    private int similarRunsEnd(int from) {
+        long min = runs.get(from).length();
+        long max = min;
+        int to = from + 1;
+        for (; to < runs.size(); to++) {
+            long length = runs.get(to).length();
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+            if (max > SIMILAR_SIZE_RATIO * min) {
+                break;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Merges the runs in the given range of indexes into one run, which
+     * takes their place.
+     */
+    private void merge(int from, int to) throws IOException {
+        List<SortedRun> merged = runs.subList(from, to);
+        List<EntrySource> sources = new ArrayList<>(merged.size());
+        long maxEntries = 0;
+        for (SortedRun run : merged) {
+            sources.add(run.open());
+            maxEntries += run.entryCount();
+        }
+        // the removed keys can be dropped only if there's no older run
+        boolean dropTombstones = to == runs.size();
+        SortedRun compacted = SortedRun.write(nextRunFile(), new MergingSource(sources), maxEntries, dropTombstones);
+        compactionWrittenBytes += compacted.length();
+        for (SortedRun run : merged) {
+            run.delete();
+        }
+        merged.clear();
+        if (compacted.entryCount() > 0) {
+            runs.add(from, compacted);
+        } else {
+            compacted.delete();
+        }
+    }
+
+    private File nextRunFile() {
+        return new File(directory, "run-" + nextRunId++ + ".dat");
+    }
+
+    private void iteratorDone(StoreIterator iterator) {
+        openIterators.remove(iterator);
+        closeQuietly(iterator.source);
+        try {
+            maybeCompact();
+        } catch (IOException e) {
+            throw new JetException("Failed to compact state in " + directory, e);
+        }
+    }
+
+    private byte[] toBytes(Object object) {
+        return serializationService.toData(object).toByteArray();
+    }
+
+    private <T> T toObject(byte[] bytes) {
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    private static SortedMap<byte[], byte[]> newMemtable() {
+        return new TreeMap<>(Arrays::compareUnsigned);
+    }
+
+    private static void closeQuietly(EntrySource source) {
+        try {
+            source.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void closeQuietly(List<EntrySource> sources) {
+        for (EntrySource source : sources) {
+            closeQuietly(source);
+        }
+    }
+
+    private final class StoreIterator implements Iterator<Entry<K, V>> {
+        private final MergingSource source;
+        private boolean hasNext;
+        private boolean advanced;
+        private byte[] lastKey;
+
+        StoreIterator(MergingSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!advanced) {
+                advanced = true;
+                try {
+                    do {
+                        hasNext = source.advance();
+                    } while (hasNext && source.value() == TOMBSTONE);
+                } catch (IOException e) {
+                    throw new JetException("Failed to read state from " + directory, e);
+                }
+                if (!hasNext) {
+                    iteratorDone(this);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            lastKey = source.key();
+            return entry(toObject(lastKey), toObject(source.value()));
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            byte[] value = find(lastKey);
+            if (value != null && value != TOMBSTONE) {
+                removeExisting(lastKey);
+            }
+            lastKey = null;
+        }
+    }
+
+    /**
+     * Adapts a sorted iterator to an {@link EntrySource}.
+     */
+    private static final class IteratorSource implements EntrySource {
+        private final Iterator<Entry<byte[], byte[]>> iterator;
+        private Entry<byte[], byte[]> current;
+
+        IteratorSource(Iterator<Entry<byte[], byte[]>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean advance() {
+            current = iterator.hasNext() ? iterator.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public byte[] key() {
+            return current.getKey();
+        }
+
+        @Override
+        public byte[] value() {
+            return current.getValue();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Merges sorted sources into a single sorted source. If more sources
+     * contain the same key, the value from the source earlier in the list
+     * wins.
+     */
+    static final class MergingSource implements EntrySource {
+        private final PriorityQueue<IndexedSource> queue;
+        private final List<EntrySource> sources;
+        private byte[] key;
+        private byte[] value;
+        private boolean started;
+
+        MergingSource(List<EntrySource> sources) {
+            this.sources = sources;
+            this.queue = new PriorityQueue<>(Math.max(1, sources.size()),
+                    Comparator.<IndexedSource, byte[]>comparing(s -> s.source.key(), Arrays::compareUnsigned)
+                              .thenComparingInt(s -> s.index));
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (!started) {
+                started = true;
+                for (int i = 0; i < sources.size(); i++) {
+                    offerIfNotEmpty(new IndexedSource(sources.get(i), i));
+                }
+            }
+            IndexedSource head = queue.poll();
+            if (head == null) {
+                key = value = null;
+                return false;
+            }
+            key = head.source.key();
+            value = head.source.value();
+            // skip the older values of the same key
+            while (!queue.isEmpty() && Arrays.equals(queue.peek().source.key(), key)) {
+                offerIfNotEmpty(queue.poll());
+            }
+            offerIfNotEmpty(head);
+            return true;
+        }
+
+        private void offerIfNotEmpty(IndexedSource source) throws IOException {
+            if (source.source.advance()) {
+                queue.add(source);
+            }
+        }
+
+        @Override
+        public byte[] key() {
+            return key;
+        }
+
+        @Override
+        public byte[] value() {
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException error = null;
+            for (EntrySource source : sources) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    private static final class IndexedSource {
+        final EntrySource source;
+        final int index;
+
+        IndexedSource(EntrySource source, int index) {
+            this.source = source;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.JetException;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link StateBackend} that keeps the state in an embedded log-structured
+ * store on the local disk, see {@link DiskKeyedStateStore}. Each store uses
+ * its own subdirectory of the configured directory, deleted when the store
+ * is closed.
+ */
+public final class DiskStateBackend implements StateBackend {
+
+    private final File directory;
+    private final String namePrefix;
+    private final long memtableBytes;
+    private final InternalSerializationService serializationService;
+
+    public DiskStateBackend(
+            @Nonnull File directory,
+            @Nonnull String namePrefix,
+            long memtableBytes,
+            @Nonnull InternalSerializationService serializationService
+    ) {
+        this.directory = directory;
+        this.namePrefix = namePrefix;
+        this.memtableBytes = memtableBytes;
+        this.serializationService = serializationService;
+    }
+
+    @Nonnull @Override
+    public <K, V> KeyedStateStore<K, V> newStore(@Nonnull String name, @Nonnull Supplier<Map<K, V>> heapMapSupplier) {
+        return new DiskKeyedStateStore<>(newStoreDirectory(name), memtableBytes, serializationService);
+    }
+
+    /**
+     * Creates a new empty subdirectory of the configured directory for a
+     * store with the given name. The caller is responsible for deleting it.
+     */
+    @Nonnull
+    public File newStoreDirectory(@Nonnull String name) {
+        try {
+            Files.createDirectories(directory.toPath());
+            Path storeDirectory = Files.createTempDirectory(directory.toPath(),
+                    "jet-state-" + sanitize(namePrefix + '-' + name) + '-');
+            return storeDirectory.toFile();
+        } catch (IOException e) {
+            throw new JetException("Failed to create a state directory in " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes a store keeps in memory before
+     * writing them to the disk.
+     */
+    public long memtableBytes() {
+        return memtableBytes;
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_.-]", "_");
+    }
+}
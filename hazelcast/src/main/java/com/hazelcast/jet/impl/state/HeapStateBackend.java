@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+
+/**
+ * The default {@link StateBackend}, keeps the state in on-heap maps.
+ */
+public final class HeapStateBackend implements StateBackend {
+
+    public static final HeapStateBackend INSTANCE = new HeapStateBackend();
+
+    private HeapStateBackend() {
+    }
+
+    @Nonnull @Override
+    public <K, V> KeyedStateStore<K, V> newStore(@Nonnull String name, @Nonnull Supplier<Map<K, V>> heapMapSupplier) {
+        return new HeapStore<>(heapMapSupplier.get());
+    }
+
+    private static final class HeapStore<K, V> implements KeyedStateStore<K, V> {
+        private final Map<K, V> map;
+
+        HeapStore(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Nullable @Override
+        public V get(@Nonnull K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(@Nonnull K key, @Nonnull V value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public void remove(@Nonnull K key) {
+            map.remove(key);
+        }
+
+        @Override
+        public long size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Nonnull @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return map.entrySet().iterator();
+        }
+
+        @Override
+        public boolean isOnHeap() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release, the map is garbage-collected with the store
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * A key-value store for the keyed state of a single processor, created by a
+ * {@link StateBackend}. Not thread-safe, it's used only from the processor
+ * owning it.
+ * <p>
+ * If the store isn't {@linkplain #isOnHeap() on-heap}, the values returned
+ * from {@link #get} are copies: if the caller mutates a value, it must
+ * {@link #put} it again to retain the change.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface KeyedStateStore<K, V> extends Iterable<Entry<K, V>> {
+
+    /**
+     * Returns the value for the key or {@code null}, if there's none.
+     */
+    @Nullable
+    V get(@Nonnull K key);
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     */
+    void put(@Nonnull K key, @Nonnull V value);
+
+    /**
+     * Removes the value for the key, if any.
+     */
+    void remove(@Nonnull K key);
+
+    /**
+     * Returns the number of keys in the store.
+     */
+    long size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns an iterator over the entries. {@link Iterator#remove()} is
+     * supported. The entries put to the store during the iteration might or
+     * might not be returned.
+     */
+    @Nonnull @Override
+    Iterator<Entry<K, V>> iterator();
+
+    /**
+     * Returns {@code true}, if the values are kept as live objects so that
+     * their in-place mutations are retained without calling {@link #put}.
+     */
+    boolean isOnHeap();
+
+    /**
+     * Releases the resources of the store. The store can't be used after
+     * this call.
+     */
+    void close();
+}
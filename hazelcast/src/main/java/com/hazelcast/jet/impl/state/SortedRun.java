@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.util.HashUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.jet.impl.state.DiskKeyedStateStore.TOMBSTONE;
+
+/**
+ * An immutable file with entries sorted by the serialized key, written
+ * when the memtable of a {@link DiskKeyedStateStore} is full or when runs
+ * are compacted.
+ * <p>
+ * The file is a sequence of entries: {@code int} key length, key bytes,
+ * {@code int} value length and value bytes. A removed key has the value
+ * length of -1 (a tombstone). In memory the run keeps a sparse index of
+ * every {@value #INDEX_INTERVAL}-th key and a bloom filter, so that a
+ * lookup of a missing key rarely reads the file, and a lookup of an
+ * existing key reads a single block.
+ */
+final class SortedRun implements Closeable {
+
+    static final int INDEX_INTERVAL = 32;
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_NUM_HASHES = 4;
+    // log2(Long.SIZE), converts a bit index to the index in the long[]
+    private static final int LONG_INDEX_SHIFT = 6;
+
+    private final File file;
+    private final FileChannel channel;
+    private final byte[][] indexKeys;
+    private final long[] indexOffsets;
+    private final long length;
+    private final int entryCount;
+    private final long[] bloomBits;
+
+    private SortedRun(File file, byte[][] indexKeys, long[] indexOffsets, long length, int entryCount,
+                      long[] bloomBits) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+        this.length = length;
+        this.entryCount = entryCount;
+        this.bloomBits = bloomBits;
+    }
+
+    /**
+     * Writes the entries from the source to a new run file.
+     *
+     * @param source the entries, sorted by key, without duplicate keys
+     * @param maxEntries the upper bound of the entry count, used to size the
+     *      bloom filter
+     * @param dropTombstones whether to skip the removed keys. Possible only if
+     *      there's no older run that might contain them.
+     */
+    static SortedRun write(File file, EntrySource source, long maxEntries, boolean dropTombstones)
+            throws IOException {
+        long[] bloomBits = new long[(int) Math.max(1, (maxEntries * BLOOM_BITS_PER_KEY + Long.SIZE - 1) / Long.SIZE)];
+        List<byte[]> indexKeys = new ArrayList<>();
+        List<Long> indexOffsets = new ArrayList<>();
+        long offset = 0;
+        int count = 0;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE))) {
+            while (source.advance()) {
+                byte[] key = source.key();
+                byte[] value = source.value();
+                if (dropTombstones && value == TOMBSTONE) {
+                    continue;
+                }
+                if (count % INDEX_INTERVAL == 0) {
+                    indexKeys.add(key);
+                    indexOffsets.add(offset);
+                }
+                bloomAdd(bloomBits, key);
+                out.writeInt(key.length);
+                out.write(key);
+                if (value == TOMBSTONE) {
+                    out.writeInt(-1);
+                    offset += 2 * Integer.BYTES + key.length;
+                } else {
+                    out.writeInt(value.length);
+                    out.write(value);
+                    offset += 2 * Integer.BYTES + key.length + value.length;
+                }
+                count++;
+            }
+        } finally {
+            source.close();
+        }
+        return new SortedRun(file, indexKeys.toArray(new byte[0][]),
+                indexOffsets.stream().mapToLong(Long::longValue).toArray(), offset, count, bloomBits);
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * Returns the value for the key, {@link DiskKeyedStateStore#TOMBSTONE},
+     * if the key is removed in this run, or {@code null}, if the run doesn't
+     * contain the key.
+     */
+    @Nullable
+    byte[] find(@Nonnull byte[] key) throws IOException {
+        if (!bloomMightContain(bloomBits, key)) {
+            return null;
+        }
+        int block = floorIndex(key);
+        if (block < 0) {
+            return null;
+        }
+        long blockStart = indexOffsets[block];
+        long blockEnd = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : length;
+        ByteBuffer buf = ByteBuffer.allocate((int) (blockEnd - blockStart));
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, blockStart + buf.position()) < 0) {
+                throw new EOFException("Unexpected end of " + file);
+            }
+        }
+        byte[] bytes = buf.array();
+        int pos = 0;
+        while (pos < bytes.length) {
+            int keyLength = Bits.readIntB(bytes, pos);
+            int keyStart = pos + Integer.BYTES;
+            int cmp = Arrays.compareUnsigned(bytes, keyStart, keyStart + keyLength, key, 0, key.length);
+            pos = keyStart + keyLength;
+            int valueLength = Bits.readIntB(bytes, pos);
+            pos += Integer.BYTES;
+            if (cmp == 0) {
+                return valueLength < 0 ? TOMBSTONE : Arrays.copyOfRange(bytes, pos, pos + valueLength);
+            }
+            if (cmp > 0) {
+                return null;
+            }
+            pos += Math.max(valueLength, 0);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a source reading all entries of this run in key order,
+     * including tombstones.
+     */
+    EntrySource open() throws IOException {
+        return new RunReader(new DataInputStream(new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        if (!file.delete() && file.exists()) {
+            throw new IOException("Failed to delete " + file);
+        }
+    }
+
+    private int floorIndex(byte[] key) {
+        int low = 0;
+        int high = indexKeys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(indexKeys[mid], key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return high;
+    }
+
+    private static void bloomAdd(long[] bits, byte[] key) {
+        long hash = HashUtil.MurmurHash3_x64_64(key, 0, key.length);
+        for (int i = 0; i < BLOOM_NUM_HASHES; i++) {
+            long bit = bloomBit(bits, hash, i);
+            bits[(int) (bit >>> LONG_INDEX_SHIFT)] |= 1L << bit;
+        }
+    }
+
+    private static boolean bloomMightContain(long[] bits, byte[] key) {
+        long hash = HashUtil.MurmurHash3_x64_64(key, 0, key.length);
+        for (int i = 0; i < BLOOM_NUM_HASHES; i++) {
+            long bit = bloomBit(bits, hash, i);
+            if ((bits[(int) (bit >>> LONG_INDEX_SHIFT)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the i-th bit for the hash using double hashing with the two
+     * halves of the 64-bit hash.
+     */
+    private static long bloomBit(long[] bits, long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> Integer.SIZE);
+        return Integer.toUnsignedLong(h1 + i * h2) % ((long) bits.length * Long.SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "SortedRun{file=" + file + ", entryCount=" + entryCount + ", length=" + length + '}';
+    }
+
+    /**
+     * A cursor over entries sorted by key. The value of a removed key is
+     * {@link DiskKeyedStateStore#TOMBSTONE}.
+     */
+    interface EntrySource extends Closeable {
+        /**
+         * Moves to the next entry, returns {@code false}, if there's none.
+         */
+        boolean advance() throws IOException;
+
+        byte[] key();
+
+        byte[] value();
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class RunReader implements EntrySource {
+        private final DataInputStream in;
+        private byte[] key;
+        private byte[] value;
+
+        RunReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            int keyLength;
+            try {
+                keyLength = in.readInt();
+            } catch (EOFException e) {
+                key = value = null;
+                return false;
+            }
+            key = new byte[keyLength];
+            in.readFully(key);
+            int valueLength = in.readInt();
+            if (valueLength < 0) {
+                value = TOMBSTONE;
+            } else {
+                value = new byte[valueLength];
+                in.readFully(value);
+            }
+            return true;
+        }
+
+        @Override
+        public byte[] key() {
+            return key;
+        }
+
+        @Override
+        public byte[] value() {
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
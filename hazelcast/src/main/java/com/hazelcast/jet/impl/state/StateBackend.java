@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.StateBackendType;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Creates the {@link KeyedStateStore stores} for the keyed state of
+ * stateful processors.
+ */
+public interface StateBackend {
+
+    /**
+     * Creates a new store.
+     *
+     * @param name the name of the store, used for diagnostics and in file
+     *      names, must be unique within the processor
+     * @param heapMapSupplier the map to use by an on-heap store, the store
+     *      iterates in the order of this map. Other stores iterate in
+     *      arbitrary order.
+     */
+    @Nonnull
+    <K, V> KeyedStateStore<K, V> newStore(@Nonnull String name, @Nonnull Supplier<Map<K, V>> heapMapSupplier);
+
+    /**
+     * Returns the backend configured for the job of the given processor,
+     * see {@link JobConfig#setStateBackendType(StateBackendType)}.
+     */
+    @Nonnull
+    static StateBackend forContext(@Nonnull Processor.Context context) {
+        JobConfig jobConfig = context.jobConfig();
+        if (jobConfig.getStateBackendType() == StateBackendType.HEAP) {
+            return HeapStateBackend.INSTANCE;
+        }
+        String directory = jobConfig.getStateBackendDirectory();
+        InternalSerializationService serializationService =
+                ((InternalProcSupplierCtx) context).serializationService();
+        return new DiskStateBackend(
+                new File(directory != null ? directory : System.getProperty("java.io.tmpdir")),
+                context.vertexName() + '-' + context.globalProcessorIndex(),
+                jobConfig.getStateBackendMemtableBytes(),
+                serializationService);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.StateBackendType;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.processor.ProcessorWrapper;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A processor that keeps its keyed state in a store created by {@link
+ * StateBackend#forContext}. The disk-based stores do blocking file I/O, so
+ * such a processor can't be cooperative with the {@link
+ * StateBackendType#DISK disk} backend. The backend type is passed to the
+ * processor before it's initialized and asked whether it's cooperative.
+ */
+public interface StateBackendAware {
+
+    /**
+     * Sets the state backend type of the job.
+     */
+    void setStateBackendType(@Nonnull StateBackendType stateBackendType);
+
+    /**
+     * Passes the state backend type of the job to the given processor, or to
+     * the processor it wraps, if it's a {@code StateBackendAware}.
+     */
+    static void configure(@Nonnull Processor processor, @Nonnull JobConfig jobConfig) {
+        Processor unwrapped = processor instanceof ProcessorWrapper
+                ? ((ProcessorWrapper) processor).getWrapped() : processor;
+        if (unwrapped instanceof StateBackendAware) {
+            ((StateBackendAware) unwrapped).setStateBackendType(jobConfig.getStateBackendType());
+        }
+    }
+}
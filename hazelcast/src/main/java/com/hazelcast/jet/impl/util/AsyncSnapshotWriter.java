@@ -43,4 +43,10 @@ public interface AsyncSnapshotWriter {
     long getTotalPayloadBytes();
     long getTotalKeys();
     long getTotalChunks();
+
+    /**
+     * Returns the number of keys skipped in the current incremental snapshot
+     * because their values didn't change since the previous snapshot.
+     */
+    long getTotalUnchangedKeys();
 }
@@ -26,6 +26,7 @@ import com.hazelcast.internal.serialization.impl.SerializationConstants;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.util.SnapshotChangeTracker.DuplicateSnapshotKeyException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
 import com.hazelcast.nio.ObjectDataInput;
@@ -40,6 +41,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -48,6 +50,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
+import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.impl.JobRepository.safeImap;
 
 public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
@@ -75,10 +78,29 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     private final AtomicReference<Throwable> firstError = new AtomicReference<>();
     private final AtomicInteger numActiveFlushes = new AtomicInteger();
 
+    /**
+     * Tracks the written entries for incremental snapshots, null if they're
+     * disabled for the job.
+     */
+    private final SnapshotChangeTracker changeTracker;
+    /**
+     * True, if the current snapshot is incremental: unchanged entries are
+     * skipped and tombstones are written for removed keys.
+     */
+    private boolean isIncremental;
+    /**
+     * True, if the entries of the current snapshot are recorded in {@link
+     * #changeTracker}.
+     */
+    private boolean isTracked;
+    private Iterator<Data> removedKeys;
+    private Data pendingRemovedKey;
+
     // stats
     private long totalKeys;
     private long totalChunks;
     private long totalPayloadBytes;
+    private long totalUnchangedKeys;
 
     private final BiConsumer<Object, Throwable> putResponseConsumer = this::consumePutResponse;
 
@@ -87,8 +109,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
                                    String vertexName,
                                    int memberIndex,
                                    int memberCount,
-                                   InternalSerializationService serializationService) {
-        this(DEFAULT_CHUNK_SIZE, nodeEngine, snapshotContext, vertexName, memberIndex, memberCount, serializationService);
+                                   InternalSerializationService serializationService,
+                                   boolean trackChanges) {
+        this(DEFAULT_CHUNK_SIZE, nodeEngine, snapshotContext, vertexName, memberIndex, memberCount, serializationService,
+                trackChanges);
     }
 
     // for test
@@ -99,6 +123,18 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
                             int memberIndex,
                             int memberCount,
                             InternalSerializationService serializationService) {
+        this(chunkSize, nodeEngine, snapshotContext, vertexName, memberIndex, memberCount, serializationService, false);
+    }
+
+    // for test
+    AsyncSnapshotWriterImpl(int chunkSize,
+                            NodeEngine nodeEngine,
+                            SnapshotContext snapshotContext,
+                            String vertexName,
+                            int memberIndex,
+                            int memberCount,
+                            InternalSerializationService serializationService,
+                            boolean trackChanges) {
         if (Integer.bitCount(chunkSize) != 1) {
             throw new IllegalArgumentException("chunkSize must be a power of two, but is " + chunkSize);
         }
@@ -124,13 +160,18 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
 
         this.numConcurrentAsyncOps = jetServiceBackend.numConcurrentAsyncOps();
 
-        byte[] valueTerminatorWithHeader = serializationService.toData(SnapshotDataValueTerminator.INSTANCE).toByteArray();
-        valueTerminator = Arrays.copyOfRange(valueTerminatorWithHeader, HeapData.TYPE_OFFSET,
-                valueTerminatorWithHeader.length);
+        valueTerminator = serializeWithoutHeader(serializationService, SnapshotDataValueTerminator.INSTANCE);
         usableChunkCapacity = chunkSize - valueTerminator.length - serializedByteArrayHeader.length;
         if (usableChunkCapacity <= 0) {
             throw new IllegalArgumentException("too small chunk size: " + chunkSize);
         }
+
+        changeTracker = trackChanges ? new SnapshotChangeTracker(serializationService) : null;
+    }
+
+    private static byte[] serializeWithoutHeader(InternalSerializationService serializationService, Object object) {
+        byte[] bytesWithHeader = serializationService.toData(object).toByteArray();
+        return Arrays.copyOfRange(bytesWithHeader, HeapData.TYPE_OFFSET, bytesWithHeader.length);
     }
 
     private static CustomByteArrayOutputStream[] createAndInitBuffers(
@@ -163,6 +204,37 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     @Override
     @CheckReturnValue
     public boolean offer(Entry<? extends Data, ? extends Data> entry) {
+        if (changeTracker == null) {
+            return offerInternal(entry);
+        }
+        if (!initCurrentMap()) {
+            return false;
+        }
+        if (isIncremental && !isChanged(entry)) {
+            changeTracker.record(entry.getKey(), entry.getValue());
+            totalUnchangedKeys++;
+            return true;
+        }
+        if (!offerInternal(entry)) {
+            return false;
+        }
+        if (isTracked) {
+            changeTracker.record(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private boolean isChanged(Entry<? extends Data, ? extends Data> entry) {
+        try {
+            return changeTracker.isChanged(entry.getKey(), entry.getValue());
+        } catch (DuplicateSnapshotKeyException e) {
+            // some values for this key might have been skipped, fail the snapshot
+            firstError.compareAndSet(null, e);
+            return true;
+        }
+    }
+
+    private boolean offerInternal(Entry<? extends Data, ? extends Data> entry) {
         int partitionId = partitionService.getPartitionId(entry.getKey());
         int length = entry.getKey().totalSize() + entry.getValue().totalSize() - 2 * HeapData.TYPE_OFFSET;
 
@@ -279,10 +351,40 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             // to have failOnIndeterminateOperationState enabled.
             currentMap = safeImap(nodeEngine.getHazelcastInstance().getMap(mapName));
             this.currentSnapshotId = snapshotContext.currentSnapshotId();
+            if (changeTracker != null) {
+                // exported snapshots are full and don't affect the chain of automatic snapshots
+                isTracked = !snapshotContext.isExport();
+                isIncremental = snapshotContext.isIncremental();
+                if (isTracked) {
+                    changeTracker.startSnapshot(currentSnapshotId, !isIncremental);
+                }
+            }
         }
         return true;
     }
 
+    /**
+     * Offers tombstones for the keys written to the previous snapshot, but not
+     * to the current incremental one.
+     */
+    @CheckReturnValue
+    private boolean offerTombstones() {
+        if (removedKeys == null) {
+            removedKeys = changeTracker.removedKeys();
+        }
+        while (pendingRemovedKey != null || removedKeys.hasNext()) {
+            if (pendingRemovedKey == null) {
+                pendingRemovedKey = removedKeys.next();
+            }
+            if (!offerInternal(entry(pendingRemovedKey, changeTracker.tombstone()))) {
+                return false;
+            }
+            pendingRemovedKey = null;
+        }
+        removedKeys = null;
+        return true;
+    }
+
     /**
      * Flush all partitions and reset current map. No further items can be
      * offered until new snapshot is seen in {@link #snapshotContext}.
@@ -297,6 +399,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             return false;
         }
 
+        if (isIncremental && !offerTombstones()) {
+            return false;
+        }
+
         for (int i = 0; i < buffers.length; i++) {
             if (!flushPartition(i)) {
                 return false;
@@ -305,16 +411,18 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
 
         // we're done
         currentMap = null;
+        isIncremental = false;
+        isTracked = false;
         if (logger.isFineEnabled()) {
-            logger.fine(String.format("Stats for %s: keys=%,d, chunks=%,d, bytes=%,d",
-                    vertexName, totalKeys, totalChunks, totalPayloadBytes));
+            logger.fine(String.format("Stats for %s: keys=%,d, unchangedKeys=%,d, chunks=%,d, bytes=%,d",
+                    vertexName, totalKeys, totalUnchangedKeys, totalChunks, totalPayloadBytes));
         }
         return true;
     }
 
     @Override
     public void resetStats() {
-        totalKeys = totalChunks = totalPayloadBytes = 0;
+        totalKeys = totalChunks = totalPayloadBytes = totalUnchangedKeys = 0;
     }
 
     @Override
@@ -449,6 +557,36 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         }
     }
 
+    /**
+     * Value written to an incremental snapshot for a key that was removed
+     * since the previous snapshot.
+     */
+    public static final class SnapshotDataValueTombstone implements IdentifiedDataSerializable {
+
+        public static final IdentifiedDataSerializable INSTANCE = new SnapshotDataValueTombstone();
+
+        private SnapshotDataValueTombstone() {
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetInitDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetInitDataSerializerHook.ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TOMBSTONE;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+        }
+    }
+
     /**
      * Non-synchronized variant of {@code java.io.ByteArrayOutputStream} with capacity limit.
      */
@@ -524,4 +662,9 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     public long getTotalChunks() {
         return totalChunks;
     }
+
+    @Override
+    public long getTotalUnchangedKeys() {
+        return totalUnchangedKeys;
+    }
 }
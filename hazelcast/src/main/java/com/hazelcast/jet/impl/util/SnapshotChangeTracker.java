@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.jet.impl.serialization.SerializerHookConstants;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * Tracks the entries written by a {@link AsyncSnapshotWriterImpl} to the
+ * automatic snapshots so that an incremental snapshot can contain only the
+ * entries added or changed since the previous snapshot, followed by
+ * tombstones for the removed keys.
+ * <p>
+ * For each key it keeps a 64-bit fingerprint of the serialized value and the
+ * ID of the last snapshot that contained the key. Entries with {@link
+ * com.hazelcast.jet.core.BroadcastKey broadcast keys} aren't tracked, they're
+ * written to every snapshot: different processors can save the same
+ * broadcast key.
+ * <p>
+ * The usage is not thread-safe, it's used only from the tasklet owning the
+ * writer.
+ */
+final class SnapshotChangeTracker {
+
+    private final Map<Data, TrackedValue> trackedValues = new HashMap<>();
+    private final Data tombstone;
+    private long snapshotId = -1;
+    // if set, the incremental snapshots write all entries, until a full
+    // snapshot without duplicate keys is taken
+    private boolean hasDuplicateKeys;
+
+    SnapshotChangeTracker(InternalSerializationService serializationService) {
+        tombstone = serializationService.toData(SnapshotDataValueTombstone.INSTANCE);
+    }
+
+    /**
+     * Returns the value to write to an incremental snapshot for a removed key.
+     */
+    Data tombstone() {
+        return tombstone;
+    }
+
+    /**
+     * Starts tracking a new snapshot. A full snapshot discards all previously
+     * tracked values and the duplicate keys seen so far, the duplicate keys
+     * written to the full snapshot are detected again by {@link #record}.
+     */
+    void startSnapshot(long snapshotId, boolean isFull) {
+        assert snapshotId > this.snapshotId : "snapshotId=" + snapshotId + ", previous=" + this.snapshotId;
+        this.snapshotId = snapshotId;
+        if (isFull) {
+            trackedValues.clear();
+            hasDuplicateKeys = false;
+        }
+    }
+
+    /**
+     * Returns whether the entry differs from the entry with the same key
+     * written to the previous snapshot. It doesn't record the entry, the
+     * caller must call {@link #record} after the entry is accepted.
+     *
+     * @throws DuplicateSnapshotKeyException if the key was already recorded
+     *      in the current snapshot
+     */
+    boolean isChanged(Data key, Data value) {
+        if (isBroadcastKey(key) || hasDuplicateKeys) {
+            return true;
+        }
+        TrackedValue tracked = trackedValues.get(key);
+        if (tracked == null) {
+            return true;
+        }
+        if (tracked.snapshotId == snapshotId) {
+            hasDuplicateKeys = true;
+            throw new DuplicateSnapshotKeyException();
+        }
+        return tracked.fingerprint != fingerprint(value);
+    }
+
+    /**
+     * Records the entry as written to the current snapshot.
+     */
+    void record(Data key, Data value) {
+        if (isBroadcastKey(key)) {
+            return;
+        }
+        TrackedValue tracked = trackedValues.get(key);
+        if (tracked == null) {
+            trackedValues.put(key, new TrackedValue(snapshotId, fingerprint(value)));
+        } else if (tracked.snapshotId == snapshotId) {
+            // possible only in a full snapshot, incremental ones throw from isChanged()
+            hasDuplicateKeys = true;
+        } else {
+            tracked.snapshotId = snapshotId;
+            tracked.fingerprint = fingerprint(value);
+        }
+    }
+
+    /**
+     * Returns an iterator of keys that were written to the previous snapshot
+     * but not to the current one. The keys are forgotten as they are
+     * iterated.
+     */
+    Iterator<Data> removedKeys() {
+        Iterator<Entry<Data, TrackedValue>> iterator = trackedValues.entrySet().iterator();
+        return new Iterator<Data>() {
+            private Data next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && iterator.hasNext()) {
+                    Entry<Data, TrackedValue> entry = iterator.next();
+                    if (entry.getValue().snapshotId != snapshotId) {
+                        iterator.remove();
+                        next = entry.getKey();
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Data next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Data result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    int size() {
+        return trackedValues.size();
+    }
+
+    private static boolean isBroadcastKey(Data key) {
+        return key.getType() == SerializerHookConstants.BROADCAST_KEY;
+    }
+
+    private static long fingerprint(Data value) {
+        byte[] bytes = value.toByteArray();
+        return HashUtil.MurmurHash3_x64_64(bytes, HeapData.TYPE_OFFSET, bytes.length - HeapData.TYPE_OFFSET);
+    }
+
+    private static final class TrackedValue {
+        long snapshotId;
+        long fingerprint;
+
+        TrackedValue(long snapshotId, long fingerprint) {
+            this.snapshotId = snapshotId;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Thrown when a non-broadcast key is written twice to an incremental
+     * snapshot. Such a snapshot can't be restored correctly because some
+     * values for that key might have been skipped as unchanged.
+     */
+    static final class DuplicateSnapshotKeyException extends RuntimeException {
+        DuplicateSnapshotKeyException() {
+            super("The same key was saved to the snapshot more than once, which isn't supported"
+                    + " with incremental snapshots. The next snapshot will be a full one.");
+        }
+    }
+}
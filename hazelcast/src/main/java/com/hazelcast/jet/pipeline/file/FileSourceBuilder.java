@@ -33,7 +33,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.jet.pipeline.file.WildcardMatcher.hasWildcard;
+import static com.hazelcast.jet.pipeline.file.impl.FileSourceConfiguration.DEFAULT_SPLIT_SIZE;
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
@@ -64,6 +66,7 @@ public class FileSourceBuilder<T> {
     private boolean useHadoop;
     private boolean sharedFileSystem;
     private boolean ignoreFileNotFound;
+    private long splitSize = DEFAULT_SPLIT_SIZE;
 
     FileSourceBuilder(@Nonnull String path) {
         this.path = requireNonNull(path, "path must not be null");
@@ -165,6 +168,33 @@ public class FileSourceBuilder<T> {
         return this;
     }
 
+    /**
+     * Sets the size of the byte ranges to which large files are split, so
+     * that a single file is read by multiple processors in parallel. Files
+     * not larger than this size are read whole by one processor.
+     * <p>
+     * This option applies only for the local filesystem when {@linkplain
+     * #useHadoopForLocalFiles(boolean) Hadoop is not used}, and only to the
+     * line-oriented formats: {@link FileFormat#lines() lines} and {@link
+     * FileFormat#json() JSON} with {@linkplain JsonFileFormat#multiline(boolean)
+     * multiline} disabled, in the UTF-8, US-ASCII or ISO-8859-1 charset. The
+     * ranges are read using memory-mapped files. If the file system is
+     * {@linkplain #sharedFileSystem(boolean) shared}, the ranges of a file
+     * are read by all members.
+     * <p>
+     * Default value is 128 MB. Use {@link Long#MAX_VALUE} to never split the
+     * files.
+     *
+     * @param splitSize the range size in bytes, must be positive
+     * @since 5.4
+     */
+    @Nonnull
+    public FileSourceBuilder<T> splitSize(long splitSize) {
+        checkPositive("splitSize", splitSize);
+        this.splitSize = splitSize;
+        return this;
+    }
+
     /**
      * Specifies an arbitrary option for the underlying source. If you are
      * looking for a missing option, check out the {@link FileFormat} class
@@ -206,7 +236,7 @@ public class FileSourceBuilder<T> {
         }
 
         FileSourceConfiguration<T> fsc = new FileSourceConfiguration<>(
-                path, glob, format, sharedFileSystem, ignoreFileNotFound, options
+                path, glob, format, sharedFileSystem, ignoreFileNotFound, splitSize, options
         );
 
         if (shouldUseHadoop()) {
@@ -70,7 +70,8 @@ public class JsonFileFormat<T> implements FileFormat<T> {
      * Set this to false when reading large JSON files using Hadoop
      * connector. Each line in the file must contain exactly one JSON record.
      * <p>
-     * This setting has no effect when Hadoop is not used.
+     * When Hadoop is not used, setting this to false allows reading large
+     * files in parallel, see {@link FileSourceBuilder#splitSize(long)}.
      *
      * @param multiline true, if the JSON parser should accept records
      *                  spanning multiple lines, defaults to true
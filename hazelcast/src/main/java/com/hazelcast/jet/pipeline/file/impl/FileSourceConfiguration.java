@@ -34,6 +34,11 @@ import static java.util.Objects.requireNonNull;
  */
 public class FileSourceConfiguration<T> implements Serializable {
 
+    /**
+     * The default size of the ranges to which large local files are split.
+     */
+    public static final long DEFAULT_SPLIT_SIZE = 128L << 20;
+
     private static final long serialVersionUID = 1L;
 
     private final String path;
@@ -41,6 +46,7 @@ public class FileSourceConfiguration<T> implements Serializable {
     private final FileFormat<T> format;
     private final boolean sharedFileSystem;
     private final boolean ignoreFileNotFound;
+    private final long splitSize;
 
     private final Map<String, String> options;
 
@@ -49,11 +55,22 @@ public class FileSourceConfiguration<T> implements Serializable {
      */
     public FileSourceConfiguration(String path, String glob, FileFormat<T> format,
                                    boolean sharedFileSystem, boolean ignoreFileNotFound, Map<String, String> options) {
+        this(path, glob, format, sharedFileSystem, ignoreFileNotFound, DEFAULT_SPLIT_SIZE, options);
+    }
+
+    /**
+     * Create FileSourceConfiguration instance
+     *
+     * @since 5.4
+     */
+    public FileSourceConfiguration(String path, String glob, FileFormat<T> format, boolean sharedFileSystem,
+                                   boolean ignoreFileNotFound, long splitSize, Map<String, String> options) {
         this.path = requireNonNull(path);
         this.glob = requireNonNull(glob);
         this.format = requireNonNull(format);
         this.sharedFileSystem = sharedFileSystem;
         this.ignoreFileNotFound = ignoreFileNotFound;
+        this.splitSize = splitSize;
         this.options = requireNonNull(options);
     }
 
@@ -92,6 +109,15 @@ public class FileSourceConfiguration<T> implements Serializable {
         return ignoreFileNotFound;
     }
 
+    /**
+     * Returns the size of the ranges to which large local files are split.
+     *
+     * @since 5.4
+     */
+    public long getSplitSize() {
+        return splitSize;
+    }
+
     /**
      * Returns the options configured for the file source.
      */
@@ -107,6 +133,7 @@ public class FileSourceConfiguration<T> implements Serializable {
                 ", format=" + format +
                 ", sharedFileSystem=" + sharedFileSystem +
                 ", ignoreFileNotFound=" + ignoreFileNotFound +
+                ", splitSize=" + splitSize +
                 ", options=" + options +
                 '}';
     }
@@ -19,7 +19,9 @@ package com.hazelcast.jet.pipeline.file.impl;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
-import com.hazelcast.jet.core.processor.SourceProcessors;
+import com.hazelcast.jet.impl.connector.FileRangeLineReader;
+import com.hazelcast.jet.impl.connector.ReadFilesP;
+import com.hazelcast.jet.impl.connector.ReadFilesP.ReadFileRangeFn;
 import com.hazelcast.jet.json.JsonUtil;
 import com.hazelcast.jet.pipeline.file.FileFormat;
 import com.hazelcast.jet.pipeline.file.JsonFileFormat;
@@ -30,11 +32,13 @@ import com.hazelcast.jet.pipeline.file.TextFileFormat;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,6 +46,7 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.stream.Stream;
 
+import static com.hazelcast.jet.impl.util.Util.uncheckCall;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 import static java.util.Objects.requireNonNull;
 
@@ -82,8 +87,9 @@ public class LocalFileSourceFactory implements FileSourceFactory {
                     "Did you provide correct modules on classpath?");
         }
         FunctionEx<Path, Stream<T>> mapFn = readFileFnProvider.createReadFileFn(format);
-        return SourceProcessors.readFilesP(fsc.getPath(), fsc.getGlob(), fsc.isSharedFileSystem(),
-                fsc.isIgnoreFileNotFound(), mapFn);
+        ReadFileRangeFn<T> readRangeFn = readFileFnProvider.createReadFileRangeFn(format);
+        return ReadFilesP.metaSupplier(fsc.getPath(), fsc.getGlob(), fsc.isSharedFileSystem(),
+                fsc.isIgnoreFileNotFound(), mapFn, readRangeFn, fsc.getSplitSize());
     }
 
     @SuppressFBWarnings("OBL_UNSATISFIED_OBLIGATION")
@@ -125,6 +131,23 @@ public class LocalFileSourceFactory implements FileSourceFactory {
             };
         }
 
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ReadFileRangeFn<T> createReadFileRangeFn(@Nonnull FileFormat<T> format) {
+            JsonFileFormat<T> jsonFileFormat = (JsonFileFormat<T>) format;
+            if (jsonFileFormat.isMultiline()) {
+                // a record can span multiple lines, the file can't be split at line boundaries
+                return null;
+            }
+            Class<T> formatClazz = jsonFileFormat.clazz();
+            return (path, start, end) -> FileRangeLineReader.lines(path, StandardCharsets.UTF_8, start, end)
+                    .filter(line -> !line.isBlank())
+                    .map(line -> formatClazz == null
+                            ? (T) uncheckCall(() -> JsonUtil.mapFrom(line))
+                            : uncheckCall(() -> JsonUtil.beanFrom(line, formatClazz)));
+        }
+
         @Nonnull
         @Override
         public String format() {
@@ -145,6 +168,18 @@ public class LocalFileSourceFactory implements FileSourceFactory {
             };
         }
 
+        @Nullable @Override
+        @SuppressWarnings("unchecked")
+        public <T> ReadFileRangeFn<T> createReadFileRangeFn(@Nonnull FileFormat<T> format) {
+            Charset charset = ((LinesTextFileFormat) format).charset();
+            if (!FileRangeLineReader.isSupportedCharset(charset)) {
+                return null;
+            }
+            String thisCharset = charset.name();
+            return (path, start, end) -> (Stream<T>) FileRangeLineReader.lines(path, Charset.forName(thisCharset),
+                    start, end);
+        }
+
         @Nonnull @Override
         public String format() {
             return LinesTextFileFormat.FORMAT_LINES;
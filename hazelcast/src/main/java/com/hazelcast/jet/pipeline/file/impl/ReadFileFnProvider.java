@@ -17,9 +17,11 @@
 package com.hazelcast.jet.pipeline.file.impl;
 
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.impl.connector.ReadFilesP.ReadFileRangeFn;
 import com.hazelcast.jet.pipeline.file.FileFormat;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
@@ -39,6 +41,20 @@ public interface ReadFileFnProvider {
     @Nonnull
     <T> FunctionEx<Path, Stream<T>> createReadFileFn(@Nonnull FileFormat<T> format);
 
+    /**
+     * Takes a {@link FileFormat} and returns a function that reads the items
+     * starting in a byte range of a file on the local filesystem, or {@code
+     * null}, if the files of the format can't be read in ranges. Large files
+     * are split to ranges read in parallel only if this method returns a
+     * function.
+     *
+     * @since 5.4
+     */
+    @Nullable
+    default <T> ReadFileRangeFn<T> createReadFileRangeFn(@Nonnull FileFormat<T> format) {
+        return null;
+    }
+
     /**
      * Returns a string that identifies the {@link FileFormat} supported by
      * this function provider.
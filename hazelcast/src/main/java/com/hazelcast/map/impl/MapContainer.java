@@ -39,6 +39,8 @@ import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.internal.util.RuntimeMemoryInfoAccessor;
 import com.hazelcast.internal.util.ThreadUtil;
+import com.hazelcast.map.impl.compression.ValueCodec;
+import com.hazelcast.map.impl.compression.ValueCompressor;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
@@ -56,10 +58,14 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergePolicyProvider;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.wan.impl.DelegatingWanScheme;
 import com.hazelcast.wan.impl.WanReplicationService;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -68,13 +74,18 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
+import static com.hazelcast.internal.util.StringUtil.splitByComma;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_CODEC;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_MAPS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_THRESHOLD;
 import static java.lang.Boolean.TRUE;
 import static java.lang.System.getProperty;
 
@@ -101,6 +112,7 @@ public class MapContainer {
     protected final InternalSerializationService serializationService;
     protected final Function<Object, Data> toDataFunction = new ObjectToData();
     protected final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
+    protected final ValueCompressor valueCompressor;
 
     /**
      * Holds number of registered {@link InvalidationListener} from clients.
@@ -144,9 +156,43 @@ public class MapContainer {
         this.mapStoreContext = createMapStoreContext(this);
         this.invalidationListenerCounter = mapServiceContext.getEventListenerCounter()
                 .getOrCreateCounter(name);
+        this.valueCompressor = createValueCompressor(config, nodeEngine);
         initWanReplication();
     }
 
+    /**
+     * Returns the compressor of the values, if the map is in the {@code BINARY}
+     * format and listed in the {@link ClusterProperty#MAP_VALUE_COMPRESSION_MAPS},
+     * {@code null} otherwise.
+     */
+    private ValueCompressor createValueCompressor(Config config, NodeEngine nodeEngine) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        String[] compressedMaps = splitByComma(properties.getString(MAP_VALUE_COMPRESSION_MAPS), false);
+        if (mapConfig.getInMemoryFormat() != BINARY || !isListed(config, compressedMaps)) {
+            return null;
+        }
+        try {
+            ValueCodec codec = ClassLoaderUtil.newInstance(nodeEngine.getConfigClassLoader(),
+                    properties.getString(MAP_VALUE_COMPRESSION_CODEC));
+            return new ValueCompressor(codec, properties.getInteger(MAP_VALUE_COMPRESSION_THRESHOLD));
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    private boolean isListed(Config config, String[] patterns) {
+        List<String> patternList = Arrays.asList(patterns);
+        if (patternList.contains(name)) {
+            return true;
+        }
+        try {
+            return config.getConfigPatternMatcher().matches(patternList, name) != null;
+        } catch (InvalidConfigurationException e) {
+            throw new InvalidConfigurationException("The map name '" + name + "' matches more than one pattern in "
+                    + MAP_VALUE_COMPRESSION_MAPS.getName() + ": " + patternList, e);
+        }
+    }
+
     public void init() {
         initEvictor();
         mapStoreContext.start();
@@ -409,6 +455,14 @@ public class MapContainer {
         return evictor;
     }
 
+    /**
+     * Returns the compressor of the values, or {@code null} if the values
+     * aren't compressed.
+     */
+    public ValueCompressor getValueCompressor() {
+        return valueCompressor;
+    }
+
     // only used for testing purposes
     public void setEvictor(Evictor evictor) {
         this.evictor = evictor;
@@ -49,6 +49,7 @@ import com.hazelcast.internal.services.TransactionalService;
 import com.hazelcast.internal.services.WanSupportingService;
 import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.impl.compression.ValueCompressor;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
@@ -76,6 +77,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_DISCRIMINATOR_NAME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_COMPRESSION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_MAP_STORE_OFFLOADED_OPERATIONS;
@@ -364,6 +366,18 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
 
         // mapStore offloaded operations
         setMapStoreOffloadedOperationMetrics(descriptor, context);
+
+        // value compression
+        mapServiceContext.getMapContainers().forEach((mapName, mapContainer) -> {
+            ValueCompressor valueCompressor = mapContainer.getValueCompressor();
+            if (valueCompressor != null) {
+                MetricDescriptor compressionDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_COMPRESSION)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
+                context.collect(compressionDescriptor, valueCompressor);
+            }
+        });
     }
 
     private void setMapStoreOffloadedOperationMetrics(MetricDescriptor descriptor,
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.util.HashUtil;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Data} stored compressed by a {@link ValueCompressor}. The header
+ * with the type and the partition hash is stored as is, followed by the
+ * compressed data.
+ * <p>
+ * The data is decompressed each time the bytes are needed: {@link
+ * #copyTo} decompresses directly into the destination, so writing the value
+ * to an output doesn't allocate a temporary array. The hash of the
+ * uncompressed data is computed once, when compressing, so {@link
+ * #hashCode}, {@link #getPartitionHash} and {@link #equals} with a different
+ * value don't decompress.
+ */
+public final class CompressedData implements Data {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] compressed;
+    private final int totalSize;
+    private final int hash;
+    private final ValueCompressor compressor;
+
+    CompressedData(byte[] compressed, int totalSize, int hash, ValueCompressor compressor) {
+        this.compressed = compressed;
+        this.totalSize = totalSize;
+        this.hash = hash;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] payload = new byte[totalSize];
+        copyTo(payload, 0);
+        return payload;
+    }
+
+    @Override
+    public int getType() {
+        return Bits.readIntB(compressed, TYPE_OFFSET);
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        System.arraycopy(compressed, 0, dest, destPos, DATA_OFFSET);
+        compressor.decompress(compressed, DATA_OFFSET, compressed.length - DATA_OFFSET,
+                dest, destPos + DATA_OFFSET, totalSize - DATA_OFFSET);
+    }
+
+    @Override
+    public int dataSize() {
+        return totalSize - DATA_OFFSET;
+    }
+
+    /**
+     * Returns the size of the compressed value on the heap.
+     */
+    @Override
+    public int getHeapCost() {
+        return OBJECT_HEADER_SIZE
+                + 2 * REFERENCE_COST_IN_BYTES
+                + 2 * INT_SIZE_IN_BYTES
+                + ARRAY_HEADER_SIZE_IN_BYTES + compressed.length;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        return hasPartitionHash() ? Bits.readIntB(compressed, PARTITION_HASH_OFFSET) : hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return Bits.readIntB(compressed, PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(toByteArray(), DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public boolean isJson() {
+        return SerializationConstants.JAVASCRIPT_JSON_SERIALIZATION_TYPE == getType();
+    }
+
+    @Override
+    public boolean isCompact() {
+        return SerializationConstants.TYPE_COMPACT == getType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+        Data data = (Data) o;
+        if (getType() != data.getType() || dataSize() != data.dataSize() || hash != data.hashCode()) {
+            return false;
+        }
+        // the partition hash isn't part of the equality, same as in HeapData
+        if (data instanceof CompressedData && sameCompressedBytes((CompressedData) data)) {
+            return true;
+        }
+        byte[] payload = toByteArray();
+        byte[] otherPayload = data.toByteArray();
+        for (int i = DATA_OFFSET; i < payload.length; i++) {
+            if (payload[i] != otherPayload[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameCompressedBytes(CompressedData other) {
+        // equal codecs always decompress the same bytes to the same data
+        return compressor.hasSameCodec(other.compressor)
+                && Arrays.equals(compressed, DATA_OFFSET, compressed.length,
+                other.compressed, DATA_OFFSET, other.compressed.length);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedData{"
+                + "type=" + getType()
+                + ", totalSize=" + totalSize
+                + ", compressedSize=" + compressed.length
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The default {@link ValueCodec}, compressing with the Deflate algorithm at
+ * its fastest level. The JDK deflaters and inflaters are reused per thread.
+ */
+public final class DeflateValueCodec implements ValueCodec {
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    @Override
+    public byte[] compress(byte[] src, int offset, int length, int leftPadding) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(src, offset, length);
+        deflater.finish();
+        // the compressed bytes are useless if they don't fit into the source length
+        byte[] dest = new byte[leftPadding + length];
+        int position = leftPadding;
+        while (!deflater.finished() && position < dest.length) {
+            position += deflater.deflate(dest, position, dest.length - position);
+        }
+        return deflater.finished() ? Arrays.copyOf(dest, position) : null;
+    }
+
+    @Override
+    public void decompress(byte[] src, int offset, int length, byte[] dest, int destOffset, int destLength) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(src, offset, length);
+        int position = 0;
+        try {
+            while (position < destLength && !inflater.finished()) {
+                int inflated = inflater.inflate(dest, destOffset + position, destLength - position);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                position += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new HazelcastSerializationException("Corrupted compressed value", e);
+        }
+        if (position != destLength) {
+            throw new HazelcastSerializationException("Corrupted compressed value, expected " + destLength
+                    + " bytes, decompressed " + position + " bytes");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        // the codec has no configuration
+        return o instanceof DeflateValueCodec;
+    }
+
+    @Override
+    public int hashCode() {
+        return DeflateValueCodec.class.hashCode();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+/**
+ * Compresses the serialized values of the maps listed in {@link
+ * com.hazelcast.spi.properties.ClusterProperty#MAP_VALUE_COMPRESSION_MAPS}.
+ * The codec is configured with {@link
+ * com.hazelcast.spi.properties.ClusterProperty#MAP_VALUE_COMPRESSION_CODEC}.
+ * <p>
+ * The implementations must be thread-safe and have a public no-arg
+ * constructor. All the members must use the same codec, since the
+ * compressed values aren't sent between the members.
+ * <p>
+ * The compressed values of different maps are compared without decompressing
+ * them only if their codecs are {@linkplain Object#equals equal}. A codec
+ * with a configuration affecting the compressed bytes, such as a dictionary,
+ * must not be equal to a codec with a different configuration. By default,
+ * the codecs are equal only to themselves.
+ */
+public interface ValueCodec {
+
+    /**
+     * Compresses the {@code length} bytes of the {@code src} array from the
+     * {@code offset}.
+     *
+     * @param leftPadding the number of bytes to leave unused at the start of
+     *                    the returned array
+     * @return the compressed bytes after the {@code leftPadding}, or {@code
+     * null} if the compressed bytes aren't shorter than the source bytes
+     */
+    byte[] compress(byte[] src, int offset, int length, int leftPadding);
+
+    /**
+     * Decompresses the {@code length} bytes of the {@code src} array from the
+     * {@code offset}, as returned by {@link #compress}, into exactly the
+     * {@code destLength} bytes of the {@code dest} array from the {@code
+     * destOffset}.
+     */
+    void decompress(byte[] src, int offset, int length, byte[] dest, int destOffset, int destLength);
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.internal.util.counters.Counter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_COMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_COMPRESSED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_DECOMPRESSED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_DECOMPRESSION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_RATIO;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_SKIPPED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Compresses the values of a map with a {@link ValueCodec}, and counts the
+ * compressed and decompressed values.
+ * <p>
+ * The values are compressed into {@link CompressedData}, which decompresses
+ * them each time they are read.
+ */
+public final class ValueCompressor {
+
+    @Probe(name = MAP_METRIC_COMPRESSION_COMPRESSED_COUNT)
+    private final Counter compressedCount = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_SKIPPED_COUNT)
+    private final Counter skippedCount = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES, unit = BYTES)
+    private final Counter uncompressedBytes = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_COMPRESSED_BYTES, unit = BYTES)
+    private final Counter compressedBytes = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_TIME, unit = NS)
+    private final Counter compressionTime = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_DECOMPRESSED_COUNT)
+    private final Counter decompressedCount = newMwCounter();
+    @Probe(name = MAP_METRIC_COMPRESSION_DECOMPRESSION_TIME, unit = NS)
+    private final Counter decompressionTime = newMwCounter();
+
+    private final ValueCodec codec;
+    private final int threshold;
+
+    /**
+     * @param threshold the minimum total size of the compressed values
+     */
+    public ValueCompressor(ValueCodec codec, int threshold) {
+        this.codec = codec;
+        this.threshold = Math.max(threshold, DATA_OFFSET + 1);
+    }
+
+    /**
+     * Returns the compressed value, or the given value, if it's smaller than
+     * the threshold or it doesn't shrink.
+     */
+    public Data compress(Data value) {
+        if (value == null || value instanceof CompressedData || value.totalSize() < threshold) {
+            return value;
+        }
+        long start = System.nanoTime();
+        byte[] payload = value.toByteArray();
+        byte[] compressed = codec.compress(payload, DATA_OFFSET, payload.length - DATA_OFFSET, DATA_OFFSET);
+        compressionTime.inc(System.nanoTime() - start);
+        if (compressed == null) {
+            skippedCount.inc();
+            return value;
+        }
+        // the header with the type and the partition hash is kept uncompressed
+        System.arraycopy(payload, 0, compressed, 0, DATA_OFFSET);
+        compressedCount.inc();
+        uncompressedBytes.inc(payload.length);
+        compressedBytes.inc(compressed.length);
+        int hash = HashUtil.MurmurHash3_x86_32(payload, DATA_OFFSET, payload.length - DATA_OFFSET);
+        return new CompressedData(compressed, payload.length, hash, this);
+    }
+
+    boolean hasSameCodec(ValueCompressor other) {
+        return codec.equals(other.codec);
+    }
+
+    void decompress(byte[] src, int offset, int length, byte[] dest, int destOffset, int destLength) {
+        long start = System.nanoTime();
+        codec.decompress(src, offset, length, dest, destOffset, destLength);
+        decompressionTime.inc(System.nanoTime() - start);
+        decompressedCount.inc();
+    }
+
+    /**
+     * Returns the total size of the compressed values divided by their total
+     * compressed size, or 0 if no value was compressed yet.
+     */
+    @Probe(name = MAP_METRIC_COMPRESSION_RATIO)
+    public double compressionRatio() {
+        long compressed = compressedBytes.get();
+        return compressed == 0 ? 0 : (double) uncompressedBytes.get() / compressed;
+    }
+
+    public long getCompressedCount() {
+        return compressedCount.get();
+    }
+
+    public long getDecompressedCount() {
+        return decompressedCount.get();
+    }
+}
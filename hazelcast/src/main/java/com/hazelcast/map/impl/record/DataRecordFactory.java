@@ -22,6 +22,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.compression.ValueCompressor;
 
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 
@@ -43,6 +44,10 @@ public class DataRecordFactory implements RecordFactory<Data> {
         boolean hasEviction = mapContainer.getEvictor() != NULL_EVICTOR;
 
         Data valueData = ss.toData(value);
+        ValueCompressor valueCompressor = mapContainer.getValueCompressor();
+        if (valueCompressor != null) {
+            valueData = valueCompressor.compress(valueData);
+        }
 
         switch (cacheDeserializedValues) {
             case NEVER:
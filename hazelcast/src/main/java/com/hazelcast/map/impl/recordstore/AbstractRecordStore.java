@@ -175,7 +175,8 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
-        return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
+        return new StorageImpl(memoryFormat, getExpirySystem(), serializationService,
+                mapContainer.getValueCompressor());
     }
 
     @Override
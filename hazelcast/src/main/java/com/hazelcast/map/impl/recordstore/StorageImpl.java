@@ -22,6 +22,7 @@ import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.compression.ValueCompressor;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.record.Record;
@@ -47,14 +48,16 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     private final StorageSCHM<R> records;
     private final SerializationService serializationService;
     private final InMemoryFormat inMemoryFormat;
+    private final ValueCompressor valueCompressor;
 
     // not final for testing purposes.
     private EntryCostEstimator<Data, Record> entryCostEstimator;
 
     StorageImpl(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
-                SerializationService serializationService) {
+                SerializationService serializationService, ValueCompressor valueCompressor) {
         this.entryCostEstimator = createMapSizeEstimator(inMemoryFormat);
         this.inMemoryFormat = inMemoryFormat;
+        this.valueCompressor = valueCompressor;
         this.records = new StorageSCHM<>(serializationService, expirySystem);
         this.serializationService = serializationService;
     }
@@ -88,12 +91,17 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
         updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
 
         record.setValue(inMemoryFormat == BINARY
-                ? serializationService.toData(value) : serializationService.toObject(value));
+                ? toStoredData(value) : serializationService.toObject(value));
 
         updateCostEstimate(entryCostEstimator.calculateValueCost(record));
         return record;
     }
 
+    private Data toStoredData(Object value) {
+        Data data = serializationService.toData(value);
+        return valueCompressor == null ? data : valueCompressor.compress(data);
+    }
+
     @Override
     public R get(Data key) {
         return records.get(key);
@@ -20,17 +20,48 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldReader;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads the attributes of Compact objects.
+ * <p>
+ * The top-level fields of a primitive or a nullable primitive kind are read
+ * directly from the serialized bytes with a {@link CompactFieldReader}, which
+ * is created once per schema and field. The other attributes are read from
+ * an {@link InternalGenericRecord}.
+ */
 public class CompactGetter extends Getter {
+
+    /**
+     * The maximum number of fields, for which the field readers are cached.
+     */
+    static final int MAX_CACHED_FIELDS = 1024;
+
     private final InternalSerializationService serializationService;
+    private final ByteOrder byteOrder;
+    private final ConcurrentMap<String, FieldReaders> fieldReaders = new ConcurrentHashMap<>();
 
     public CompactGetter(InternalSerializationService serializationService) {
         super(null);
         this.serializationService = serializationService;
+        this.byteOrder = serializationService.getByteOrder();
     }
 
     private Object getValueInternal(Object target, String fieldPath, boolean useLazyDeserialization) throws Exception {
+        if (target instanceof Data && isFieldName(fieldPath)) {
+            Data data = (Data) target;
+            byte[] bytes = data.toByteArray();
+            CompactFieldReader fieldReader = getFieldReader(data, bytes, fieldPath);
+            if (fieldReader != null && fieldReader.isSupported()) {
+                return fieldReader.read(bytes);
+            }
+        }
         InternalGenericRecord record;
         if (target instanceof CompactGenericRecord) {
             record = (InternalGenericRecord) target;
@@ -41,6 +72,36 @@ public class CompactGetter extends Getter {
         return reader.read(fieldPath);
     }
 
+    private static boolean isFieldName(String fieldPath) {
+        return fieldPath.indexOf('.') < 0 && fieldPath.indexOf('[') < 0;
+    }
+
+    /**
+     * Returns the reader of the field for the schema of the given data, or
+     * {@code null}, if too many fields are already cached.
+     */
+    private CompactFieldReader getFieldReader(Data data, byte[] bytes, String fieldName) throws IOException {
+        FieldReaders readers = fieldReaders.get(fieldName);
+        if (readers == null) {
+            if (fieldReaders.size() >= MAX_CACHED_FIELDS) {
+                return null;
+            }
+            readers = fieldReaders.computeIfAbsent(fieldName, name -> new FieldReaders());
+        }
+        long schemaId = CompactFieldReader.readSchemaId(bytes, byteOrder);
+        CompactFieldReader reader = readers.last;
+        if (reader != null && reader.getSchemaId() == schemaId) {
+            return reader;
+        }
+        reader = readers.bySchemaId.get(schemaId);
+        if (reader == null) {
+            reader = CompactFieldReader.of(serializationService.extractSchemaFromData(data), fieldName, byteOrder);
+            readers.bySchemaId.put(schemaId, reader);
+        }
+        readers.last = reader;
+        return reader;
+    }
+
     @Override
     public Object getValue(Object target, String fieldPath) throws Exception {
         return getValueInternal(target, fieldPath, false);
@@ -71,4 +132,13 @@ public class CompactGetter extends Getter {
         // for various keys. A singleton should be used instead during getter creation.
         return false;
     }
+
+    /**
+     * The readers of a field, for each schema it was read from.
+     */
+    private static final class FieldReaders {
+        private final ConcurrentMap<Long, CompactFieldReader> bySchemaId = new ConcurrentHashMap<>();
+        // the entries of a map usually have the same schema, it's checked without a lookup
+        private volatile CompactFieldReader last;
+    }
 }
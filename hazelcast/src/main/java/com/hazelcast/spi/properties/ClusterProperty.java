@@ -1281,6 +1281,41 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * The comma-separated names of the maps whose values are stored
+     * compressed. The names can contain wildcards, as in the map configuration.
+     * A map whose name matches more than one pattern equally well can't be
+     * created. Only the maps with the {@link com.hazelcast.config.InMemoryFormat#BINARY}
+     * in-memory format are compressed. Empty by default, no map is compressed.
+     * <p>
+     * The values are compressed when they are stored, and decompressed each
+     * time they are read, which trades CPU time for memory. A value which
+     * doesn't shrink is stored as is.
+     *
+     * @see #MAP_VALUE_COMPRESSION_THRESHOLD
+     * @see #MAP_VALUE_COMPRESSION_CODEC
+     */
+    public static final HazelcastProperty MAP_VALUE_COMPRESSION_MAPS
+            = new HazelcastProperty("hazelcast.map.value.compression.maps", "");
+
+    /**
+     * The minimum serialized size in bytes of the values compressed in the maps
+     * listed in {@link #MAP_VALUE_COMPRESSION_MAPS}. The smaller values are
+     * stored as is.
+     */
+    public static final HazelcastProperty MAP_VALUE_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.map.value.compression.threshold", 512);
+
+    /**
+     * The class name of the {@link com.hazelcast.map.impl.compression.ValueCodec}
+     * compressing the values of the maps listed in {@link #MAP_VALUE_COMPRESSION_MAPS}.
+     * The class must have a public no-arg constructor. By default, the values
+     * are compressed with the Deflate algorithm at its fastest level.
+     */
+    public static final HazelcastProperty MAP_VALUE_COMPRESSION_CODEC
+            = new HazelcastProperty("hazelcast.map.value.compression.codec",
+            "com.hazelcast.map.impl.compression.DeflateValueCodec");
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
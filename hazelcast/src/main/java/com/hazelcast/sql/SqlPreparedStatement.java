@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A handle to an SQL statement prepared with {@link SqlService#prepare(SqlStatement)},
+ * which can be executed many times with different parameter values using
+ * {@link SqlService#execute(SqlPreparedStatement, Object...)}.
+ * <p>
+ * The handle captures the SQL text and the options of the statement at the
+ * time it was prepared. Later changes to the original {@link SqlStatement}
+ * don't affect it.
+ * <p>
+ * On a member, the statement is parsed and optimized on the first execution.
+ * The resulting plan doesn't depend on the parameter values and is kept by the
+ * handle, so that the next executions skip parsing, optimization and the plan
+ * cache lookup. The plan is created again when it becomes invalid, for example
+ * after the mapping it uses is changed. On a client, the handle is executed in
+ * the same way as the {@link SqlStatement} it was prepared from.
+ *
+ * @since 5.4
+ */
+public interface SqlPreparedStatement {
+
+    /**
+     * Gets the SQL string of the statement.
+     */
+    @Nonnull
+    String getSql();
+
+    /**
+     * Gets the schema name, or {@code null} if the default search path is used.
+     *
+     * @see SqlStatement#getSchema()
+     */
+    @Nullable
+    String getSchema();
+
+    /**
+     * Gets the execution timeout in milliseconds.
+     *
+     * @see SqlStatement#getTimeoutMillis()
+     */
+    long getTimeoutMillis();
+
+    /**
+     * Gets the cursor buffer size (measured in the number of rows).
+     *
+     * @see SqlStatement#getCursorBufferSize()
+     */
+    int getCursorBufferSize();
+
+    /**
+     * Gets the expected result type.
+     *
+     * @see SqlStatement#getExpectedResultType()
+     */
+    @Nonnull
+    SqlExpectedResultType getExpectedResultType();
+}
@@ -16,7 +16,11 @@
 
 package com.hazelcast.sql;
 
+import com.hazelcast.sql.impl.SqlPreparedStatementImpl;
+
 import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -133,4 +137,58 @@ public interface SqlService {
      */
     @Nonnull
     SqlResult execute(@Nonnull SqlStatement statement);
+
+    /**
+     * Prepares an SQL statement for repeated execution with {@link
+     * #execute(SqlPreparedStatement, Object...)}.
+     * <p>
+     * The parameters of the statement are ignored, the values are passed to
+     * each execution. See {@link SqlPreparedStatement} for details.
+     *
+     * @param statement statement to be prepared
+     * @return the prepared statement
+     * @throws NullPointerException  if the statement is null
+     * @throws HazelcastSqlException if the statement can't be prepared
+     * @see #execute(SqlPreparedStatement, Object...)
+     * @since 5.4
+     */
+    @Nonnull
+    default SqlPreparedStatement prepare(@Nonnull SqlStatement statement) {
+        return new SqlPreparedStatementImpl(statement);
+    }
+
+    /**
+     * Convenience method to prepare an SQL string for repeated execution with
+     * the default options.
+     *
+     * @param sql SQL string
+     * @return the prepared statement
+     * @throws NullPointerException     if the SQL string is null
+     * @throws IllegalArgumentException if the SQL string is empty
+     * @throws HazelcastSqlException    if the statement can't be prepared
+     * @see #prepare(SqlStatement)
+     * @since 5.4
+     */
+    @Nonnull
+    default SqlPreparedStatement prepare(@Nonnull String sql) {
+        return prepare(new SqlStatement(sql));
+    }
+
+    /**
+     * Executes a prepared statement with the given parameter values.
+     *
+     * @param statement statement prepared with {@link #prepare(SqlStatement)}
+     * @param arguments query parameter values
+     * @return result
+     * @throws NullPointerException  if the statement is null
+     * @throws HazelcastSqlException in case of execution error
+     * @see #prepare(SqlStatement)
+     * @since 5.4
+     */
+    @Nonnull
+    default SqlResult execute(@Nonnull SqlPreparedStatement statement, Object... arguments) {
+        List<Object> parameters = arguments != null ? Arrays.asList(arguments) : Collections.emptyList();
+
+        return execute(SqlPreparedStatementImpl.toStatement(statement, parameters));
+    }
 }
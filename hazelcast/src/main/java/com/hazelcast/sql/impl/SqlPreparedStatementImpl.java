@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl;
+
+import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.sql.SqlPreparedStatement;
+import com.hazelcast.sql.SqlStatement;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * An immutable snapshot of a {@link SqlStatement}, without the parameters.
+ */
+public class SqlPreparedStatementImpl implements SqlPreparedStatement {
+
+    private final String sql;
+    private final String schema;
+    private final long timeoutMillis;
+    private final int cursorBufferSize;
+    private final SqlExpectedResultType expectedResultType;
+
+    public SqlPreparedStatementImpl(@Nonnull SqlStatement statement) {
+        this(statement.getSql(), statement.getSchema(), statement.getTimeoutMillis(), statement.getCursorBufferSize(),
+                statement.getExpectedResultType());
+    }
+
+    public SqlPreparedStatementImpl(@Nonnull SqlPreparedStatement statement) {
+        this(statement.getSql(), statement.getSchema(), statement.getTimeoutMillis(), statement.getCursorBufferSize(),
+                statement.getExpectedResultType());
+    }
+
+    private SqlPreparedStatementImpl(
+            String sql,
+            String schema,
+            long timeoutMillis,
+            int cursorBufferSize,
+            SqlExpectedResultType expectedResultType
+    ) {
+        this.sql = sql;
+        this.schema = schema;
+        this.timeoutMillis = timeoutMillis;
+        this.cursorBufferSize = cursorBufferSize;
+        this.expectedResultType = expectedResultType;
+    }
+
+    @Nonnull
+    @Override
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Override
+    public int getCursorBufferSize() {
+        return cursorBufferSize;
+    }
+
+    @Nonnull
+    @Override
+    public SqlExpectedResultType getExpectedResultType() {
+        return expectedResultType;
+    }
+
+    /**
+     * Creates a {@link SqlStatement} with the text and options of the given
+     * prepared statement and with the given parameter values.
+     */
+    @Nonnull
+    public static SqlStatement toStatement(@Nonnull SqlPreparedStatement statement, @Nonnull List<Object> parameters) {
+        return new SqlStatement(statement.getSql())
+                .setSchema(statement.getSchema())
+                .setTimeoutMillis(statement.getTimeoutMillis())
+                .setCursorBufferSize(statement.getCursorBufferSize())
+                .setExpectedResultType(statement.getExpectedResultType())
+                .setParameters(parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlPreparedStatement{"
+                + "sql=" + sql
+                + ", schema=" + schema
+                + ", timeout=" + timeoutMillis
+                + ", cursorBufferSize=" + cursorBufferSize
+                + ", expectedResultType=" + expectedResultType
+                + '}';
+    }
+}
@@ -47,6 +47,7 @@ public class SqlClientResult implements SqlResult {
     private final int cursorBufferSize;
     private final Function<QueryId, ClientMessage> sqlExecuteMessageSupplier;
     private final boolean selectQuery;
+    private final boolean prefetch;
     private volatile QueryId queryId;
     private ClientConnection connection;
     private int resubmissionCount;
@@ -69,7 +70,10 @@ public class SqlClientResult implements SqlResult {
     /** Whether the result set is unbounded. */
     private volatile Boolean isInfiniteRows;
 
-    /** Fetch descriptor. Available when the fetch operation is in progress. */
+    /**
+     * Fetch descriptor. Available when the fetch operation is in progress, or
+     * when the prefetched page wasn't consumed yet.
+     */
     private SqlFetchResult fetch;
 
     /** Whether the last fetch() invoked resubmission. */
@@ -89,6 +93,7 @@ public class SqlClientResult implements SqlResult {
         this.cursorBufferSize = cursorBufferSize;
         this.sqlExecuteMessageSupplier = sqlExecuteMessageSupplier;
         this.selectQuery = statement.getSql().trim().toLowerCase().startsWith("select");
+        this.prefetch = service.isFetchPrefetchEnabled();
     }
 
     /**
@@ -210,33 +215,40 @@ public class SqlClientResult implements SqlResult {
 
     @Override
     public void close() {
+        ClientConnection connection;
+        QueryId queryId;
+
         synchronized (mux) {
-            try {
-                // Do nothing if the result is already closed.
-                if (closed) {
-                    return;
-                }
+            // Do nothing if the result is already closed.
+            if (closed) {
+                return;
+            }
 
+            try {
                 // If the cancellation is initiated before the first response is received, then throw cancellation errors on
                 // the dependent methods (update count, row metadata, iterator).
                 if (state == null) {
                     onExecuteError(QueryException.cancelledByUser());
                 }
 
-                // Make sure that all subsequent fetches will fail.
-                if (fetch == null) {
+                // Make sure that all subsequent fetches will fail, even if a page was prefetched.
+                if (fetch == null || !fetch.isPending()) {
                     fetch = new SqlFetchResult();
                 }
 
                 onFetchFinished(null, QueryException.cancelledByUser());
-
-                // Send the close request.
-                service.close(connection, queryId);
             } finally {
                 // Set the closed flag to avoid multiple close requests.
                 closed = true;
             }
+
+            connection = this.connection;
+            queryId = this.queryId;
         }
+
+        // Send the close request. Not done under the lock, the response to a prefetch
+        // might be processed by the same thread as the response to the close request.
+        service.close(connection, queryId);
     }
 
     /**
@@ -249,13 +261,26 @@ public class SqlClientResult implements SqlResult {
     }
 
     /**
-     * Fetches the next page.
+     * Starts fetching the next page in the background, unless a fetch is
+     * already in progress. The page is then awaited by {@link #fetch(long)}.
+     */
+    private void prefetch() {
+        synchronized (mux) {
+            if (fetch == null && !closed) {
+                fetch = new SqlFetchResult();
+                service.fetchAsync(connection, queryId, cursorBufferSize, this);
+            }
+        }
+    }
+
+    /**
+     * Fetches the next page, or returns the prefetched one.
      */
     private SqlPage fetch(long timeoutNanos) {
         lastFetchResubmitted = false;
         synchronized (mux) {
             if (fetch != null) {
-                if (fetch.getError() != null) {
+                if (fetch.getError() != null && fetch.isErrorReported()) {
                     // Re-throw previously logged error on successive fetch attempts.
                     throw wrap(fetch.getError());
                 }
@@ -283,6 +308,8 @@ public class SqlClientResult implements SqlResult {
             }
 
             if (fetch.getError() != null) {
+                // The error of a prefetch is reported only when the page is requested.
+                fetch.markErrorReported();
                 SqlResubmissionResult resubmissionResult = service.resubmitIfPossible(this, fetch.getError());
                 if (resubmissionResult == null) {
                     throw wrap(fetch.getError());
@@ -306,6 +333,11 @@ public class SqlClientResult implements SqlResult {
      */
     public void onFetchFinished(SqlPage page, RuntimeException error) {
         synchronized (mux) {
+            if (closed) {
+                // The result was closed while a prefetch was in progress, ignore the response.
+                return;
+            }
+
             assert fetch != null && fetch.isPending();
 
             fetch.onResult(page, error);
@@ -434,6 +466,10 @@ public class SqlClientResult implements SqlResult {
                 this.last = true;
 
                 markClosed();
+            } else if (prefetch && Boolean.FALSE.equals(isInfiniteRows)) {
+                // Transfer the next page while the current one is being consumed. Not done for the
+                // unbounded results, the member would block waiting for rows the client might never need.
+                prefetch();
             }
         }
 
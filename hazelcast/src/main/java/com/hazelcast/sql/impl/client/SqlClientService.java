@@ -55,6 +55,7 @@ import java.util.function.Function;
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_RETRY_PAUSE_MILLIS;
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_TIMEOUT_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.PARTITION_ARGUMENT_CACHE_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.SQL_FETCH_PREFETCH_ENABLED;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -85,6 +86,7 @@ public class SqlClientService implements SqlService {
     private final long resubmissionTimeoutNano;
     private final long resubmissionRetryPauseMillis;
     private final boolean isSmartRouting;
+    private final boolean fetchPrefetchEnabled;
 
     public SqlClientService(HazelcastClientInstanceImpl client) {
         this.client = client;
@@ -95,6 +97,7 @@ public class SqlClientService implements SqlService {
         this.resubmissionRetryPauseMillis = client.getProperties().getPositiveMillisOrDefault(INVOCATION_RETRY_PAUSE_MILLIS);
 
         this.isSmartRouting = !client.getConnectionManager().isUnisocketClient();
+        this.fetchPrefetchEnabled = client.getProperties().getBoolean(SQL_FETCH_PREFETCH_ENABLED);
         final int partitionArgCacheSize = client.getProperties().getInteger(PARTITION_ARGUMENT_CACHE_SIZE);
         final int partitionArgCacheThreshold = partitionArgCacheSize + Math.min(partitionArgCacheSize / 10, 50);
         this.partitionArgumentIndexCache = new ReadOptimizedLruCache<>(partitionArgCacheSize, partitionArgCacheThreshold);
@@ -334,6 +337,14 @@ public class SqlClientService implements SqlService {
                 (message, error) -> handleFetchResponse(connection, res, message, error)), CALLER_RUNS);
     }
 
+    /**
+     * Whether the next page of a result is requested as soon as the previous
+     * page is received.
+     */
+    boolean isFetchPrefetchEnabled() {
+        return fetchPrefetchEnabled;
+    }
+
     private void handleFetchResponse(ClientConnection connection, SqlClientResult res, ClientMessage message, Throwable error) {
         if (error != null) {
             res.onFetchFinished(null, rethrow(error, connection));
@@ -20,6 +20,7 @@ public class SqlFetchResult {
 
     private SqlPage page;
     private RuntimeException error;
+    private boolean errorReported;
 
     public boolean isPending() {
         return page == null && error == null;
@@ -33,6 +34,19 @@ public class SqlFetchResult {
         return error;
     }
 
+    /**
+     * Whether the error was already handled by the consumer, i.e. the
+     * resubmission was attempted. The error is then re-thrown without
+     * attempting it again.
+     */
+    public boolean isErrorReported() {
+        return errorReported;
+    }
+
+    public void markErrorReported() {
+        errorReported = true;
+    }
+
     public void onResult(SqlPage page, RuntimeException error) {
         this.page = page;
         this.error = error;
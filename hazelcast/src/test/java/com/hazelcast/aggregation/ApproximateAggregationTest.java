@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.QuantileSketch;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ApproximateAggregationTest {
+
+    private static final int VALUE_COUNT = 100_000;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount() {
+        Aggregator<Object, Long> left = Aggregators.approximateDistinctCount();
+        Aggregator<Object, Long> right = Aggregators.approximateDistinctCount();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            // the halves overlap, the numbers of different types are the same values
+            left.accumulate(createEntryWithValue(i));
+            right.accumulate(createEntryWithValue((long) i + VALUE_COUNT / 2));
+            right.accumulate(createEntryWithValue(null));
+        }
+
+        Aggregator<Object, Long> result = ss.toObject(ss.toData(left));
+        result.combine(ss.toObject(ss.toData(right)));
+
+        assertThat((double) result.aggregate()).isCloseTo(VALUE_COUNT * 1.5, within(VALUE_COUNT * 1.5 * 0.02));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximateDistinctCount_strings() {
+        Aggregator<Object, Long> aggregator = Aggregators.approximateDistinctCount();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            aggregator.accumulate(createEntryWithValue("value-" + i % 1000));
+        }
+
+        assertThat((double) aggregator.aggregate()).isCloseTo(1000, within(1000 * 0.02));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximatePercentile() {
+        List<Double> values = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values.add(random.nextGaussian() * 1000);
+        }
+        values.add(0d);
+
+        for (double percentile : new double[]{0, 0.01, 0.25, 0.5, 0.9, 0.99, 1}) {
+            Aggregator<Object, Double> left = Aggregators.approximatePercentile(percentile);
+            Aggregator<Object, Double> right = Aggregators.approximatePercentile(percentile);
+            for (int i = 0; i < values.size(); i++) {
+                (i % 2 == 0 ? left : right).accumulate(createEntryWithValue(values.get(i)));
+            }
+            Aggregator<Object, Double> result = ss.toObject(ss.toData(left));
+            result.combine(ss.toObject(ss.toData(right)));
+
+            assertThat(result.aggregate()).isCloseTo(exactPercentile(values, percentile),
+                    within(Math.abs(exactPercentile(values, percentile)) * QuantileSketch.DEFAULT_RELATIVE_ACCURACY));
+        }
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testApproximatePercentile_noValues() {
+        Aggregator<Object, Double> aggregator = Aggregators.approximatePercentile(0.5);
+        aggregator.accumulate(createEntryWithValue(null));
+
+        assertThat(aggregator.aggregate()).isNull();
+    }
+
+    private static double exactPercentile(List<Double> values, double percentile) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) (percentile * (sorted.size() - 1)));
+    }
+}
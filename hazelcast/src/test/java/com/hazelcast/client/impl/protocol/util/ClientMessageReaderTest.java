@@ -32,6 +32,7 @@ import java.util.Random;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -198,6 +199,65 @@ public class ClientMessageReaderTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testReadEmptyFrames() {
+        ClientMessage.Frame frame = createFrameWithRandomBytes(10);
+
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(frame);
+        message.add(ClientMessage.BEGIN_FRAME.copy());
+        message.add(ClientMessage.NULL_FRAME.copy());
+        message.add(ClientMessage.END_FRAME.copy());
+
+        ByteBuffer buffer = writeToBuffer(message);
+
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        assertTrue(reader.readFrom(buffer, true));
+
+        ClientMessage.ForwardFrameIterator iterator = reader.getClientMessage().frameIterator();
+        assertArrayEquals(frame.content, iterator.next().content);
+
+        ClientMessage.Frame frameRead = iterator.next();
+        assertTrue(frameRead.isBeginFrame());
+        assertSame(ClientMessage.EMPTY_CONTENT, frameRead.content);
+
+        frameRead = iterator.next();
+        assertTrue(frameRead.isNullFrame());
+        assertSame(ClientMessage.EMPTY_CONTENT, frameRead.content);
+
+        frameRead = iterator.next();
+        assertTrue(frameRead.isEndFrame());
+        assertSame(ClientMessage.EMPTY_CONTENT, frameRead.content);
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testReadMultipleMessages_whenReset() {
+        ClientMessage.Frame frame1 = createFrameWithRandomBytes(100);
+        ClientMessage.Frame frame2 = createFrameWithRandomBytes(100);
+
+        ClientMessage message1 = ClientMessage.createForEncode();
+        message1.add(frame1);
+        ClientMessage message2 = ClientMessage.createForEncode();
+        message2.add(frame2);
+
+        ByteBuffer buffer = ByteBuffer.allocate(message1.getFrameLength() + message2.getFrameLength());
+        buffer.put(writeToBuffer(message1));
+        buffer.put(writeToBuffer(message2));
+        upcast(buffer).flip();
+
+        // the limit applies to each message, not to their sum
+        ClientMessageReader reader = new ClientMessageReader(150);
+        assertTrue(reader.readFrom(buffer, false));
+        assertArrayEquals(frame1.content, reader.getClientMessage().getStartFrame().content);
+
+        reader.reset();
+        assertTrue(reader.readFrom(buffer, false));
+        assertArrayEquals(frame2.content, reader.getClientMessage().getStartFrame().content);
+        assertFalse(buffer.hasRemaining());
+    }
+
     private ClientMessage.Frame createFrameWithRandomBytes(int contentLength) {
         byte[] content = new byte[contentLength];
         random.nextBytes(content);
@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -31,15 +32,19 @@ import org.junit.runners.Parameterized;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -320,6 +325,37 @@ public class ByteArrayObjectDataOutputTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testWriteString() throws IOException {
+        String[] strings = {
+                "",
+                "ascii",
+                "latin-1 \u00e9\u00ff",
+                "\u0141\u00f3d\u017a",
+                "cjk \u4e2d\u6587 and more ascii",
+                "surrogate pair \ud83d\ude00",
+                "unpaired \ud83d and \ude00 surrogates \ud83d",
+                new String(new char[1000]).replace('\0', 'x') + "\u20ac",
+        };
+        for (String string : strings) {
+            out.clear();
+            out.writeString(string);
+
+            byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+            assertEquals(string, INT_SIZE_IN_BYTES + expected.length, out.position());
+            assertEquals(string, expected.length, Bits.readIntB(out.buffer, 0));
+            assertArrayEquals(string, expected, Arrays.copyOfRange(out.buffer, INT_SIZE_IN_BYTES, out.position()));
+        }
+    }
+
+    @Test
+    public void testWriteString_null() throws IOException {
+        out.writeString(null);
+
+        assertEquals(INT_SIZE_IN_BYTES, out.position());
+        assertEquals(Bits.NULL_ARRAY_LENGTH, Bits.readIntB(out.buffer, 0));
+    }
+
     @Test
     public void testEnsureAvailable() {
         out.buffer = null;
@@ -405,6 +441,49 @@ public class ByteArrayObjectDataOutputTest {
         assertEquals(10 * 8, out.available());
     }
 
+    @Test
+    public void testEnsureAvailable_withArrayPool() {
+        ByteArrayPool arrayPool = new ByteArrayPool();
+        out.setArrayPool(arrayPool);
+        out.write(TEST_DATA, 0, TEST_DATA.length);
+
+        out.ensureAvailable(10 * 10);
+
+        assertTrue(out.available() >= 10 * 10);
+        assertArrayEquals(TEST_DATA, Arrays.copyOf(out.buffer, TEST_DATA.length));
+        assertEquals(1, arrayPool.getMisses());
+    }
+
+    @Test
+    public void testClear_withArrayPool() {
+        ByteArrayPool arrayPool = new ByteArrayPool();
+        out.setArrayPool(arrayPool);
+        byte[] initialBuffer = out.buffer;
+        out.ensureAvailable(10 * 10);
+        byte[] pooledBuffer = out.buffer;
+
+        out.clear();
+
+        assertSame(initialBuffer, out.buffer);
+        assertEquals(pooledBuffer.length, arrayPool.getBytesRetained());
+        out.ensureAvailable(10 * 10);
+        assertSame(pooledBuffer, out.buffer);
+        assertEquals(1, arrayPool.getHits());
+    }
+
+    @Test
+    public void testClose_withArrayPool() {
+        ByteArrayPool arrayPool = new ByteArrayPool();
+        out.setArrayPool(arrayPool);
+        out.ensureAvailable(10 * 10);
+        int pooledLength = out.buffer.length;
+
+        out.close();
+
+        assertNull(out.buffer);
+        assertEquals(pooledLength, arrayPool.getBytesRetained());
+    }
+
     @Test
     public void testClose() {
         out.close();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.serialization.impl;
 
+import com.hazelcast.internal.util.HashUtil;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -56,4 +57,14 @@ public class HeapDataTest {
 
         assertEquals(new String(inputBytes), new String(bytes));
     }
+
+    @Test
+    public void hashCode_whenCalledRepeatedly_thenSameHash() {
+        byte[] payload = "12345678890".getBytes();
+        HeapData heapData = new HeapData(payload);
+        int expected = HashUtil.MurmurHash3_x86_32(payload, HeapData.DATA_OFFSET, payload.length - HeapData.DATA_OFFSET);
+
+        assertEquals(expected, heapData.hashCode());
+        assertEquals(expected, heapData.hashCode());
+    }
 }
@@ -36,6 +36,7 @@ import org.junit.runner.RunWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -91,7 +92,7 @@ public class BufferPoolTest extends HazelcastTestSupport {
     }
 
     @Test
-    public void returnOutputBuffer_whenOverflowing() {
+    public void returnOutputBuffer_whenOverflowing() throws Exception {
         for (int k = 0; k < BufferPoolImpl.MAX_POOLED_ITEMS; k++) {
             bufferPool.returnOutputBuffer(mock(BufferObjectDataOutput.class));
         }
@@ -100,6 +101,29 @@ public class BufferPoolTest extends HazelcastTestSupport {
         bufferPool.returnOutputBuffer(out);
 
         assertEquals(BufferPoolImpl.MAX_POOLED_ITEMS, bufferPool.outputQueue.size());
+        // the dropped output must be closed to release its buffer
+        verify(out, times(1)).close();
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOverflowing_thenLargeArrayReleased() throws Exception {
+        ByteArrayPool arrayPool = new ByteArrayPool();
+        bufferPool = new BufferPoolImpl(serializationService, arrayPool);
+        BufferObjectDataOutput[] outs = new BufferObjectDataOutput[BufferPoolImpl.MAX_POOLED_ITEMS + 1];
+        for (int k = 0; k < outs.length; k++) {
+            outs[k] = bufferPool.takeOutputBuffer();
+            outs[k].write(new byte[100_000]);
+        }
+
+        bufferPool.returnOutputBuffer(outs[0]);
+        long arraySize = arrayPool.getBytesRetained();
+        for (int k = 1; k < outs.length; k++) {
+            bufferPool.returnOutputBuffer(outs[k]);
+        }
+
+        assertTrue(arraySize >= 100_000);
+        assertEquals(BufferPoolImpl.MAX_POOLED_ITEMS, bufferPool.outputQueue.size());
+        assertEquals(outs.length * arraySize, arrayPool.getBytesRetained());
     }
 
     @Test
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.MAX_SIZE_CLASS_SHIFT;
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.MIN_SIZE_CLASS_SHIFT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ByteArrayPoolTest extends HazelcastTestSupport {
+
+    private final ByteArrayPool pool = new ByteArrayPool();
+
+    @Test
+    public void take_whenEmpty_thenAllocatesSizeClass() {
+        byte[] array = pool.take((1 << MIN_SIZE_CLASS_SHIFT) + 1);
+
+        assertEquals(1 << (MIN_SIZE_CLASS_SHIFT + 1), array.length);
+        assertEquals(0, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    public void take_whenSmall_thenAllocatesSmallestSizeClass() {
+        assertEquals(1 << MIN_SIZE_CLASS_SHIFT, pool.take(1).length);
+    }
+
+    @Test
+    public void take_whenOffered_thenReused() {
+        byte[] array = pool.take(100_000);
+        pool.offer(array);
+        assertEquals(array.length, pool.getBytesRetained());
+
+        assertSame(array, pool.take(array.length - 1));
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getBytesRetained());
+    }
+
+    @Test
+    public void take_whenOfferedOtherSizeClass_thenNotReused() {
+        pool.offer(pool.take(100_000));
+
+        assertEquals(1 << MIN_SIZE_CLASS_SHIFT, pool.take(1).length);
+        assertEquals(0, pool.getHits());
+    }
+
+    @Test
+    public void take_whenLargerThanMaxSizeClass_thenExactLength() {
+        int length = (1 << MAX_SIZE_CLASS_SHIFT) + 1;
+        byte[] array = pool.take(length);
+        assertEquals(length, array.length);
+
+        pool.offer(array);
+        assertEquals(0, pool.getBytesRetained());
+    }
+
+    @Test
+    public void offer_whenNotSizeClass_thenDropped() {
+        pool.offer(new byte[100_000]);
+
+        assertEquals(0, pool.getBytesRetained());
+    }
+
+    @Test
+    public void offer_whenMaxRetainedBytesExceeded_thenDropped() {
+        ByteArrayPool pool = new ByteArrayPool(3 << MIN_SIZE_CLASS_SHIFT);
+        byte[] array1 = pool.take(1);
+        byte[] array2 = pool.take(1);
+        byte[] array3 = pool.take(1 << (MIN_SIZE_CLASS_SHIFT + 1));
+
+        pool.offer(array1);
+        pool.offer(array3);
+        pool.offer(array2);
+
+        assertEquals(3 << MIN_SIZE_CLASS_SHIFT, pool.getBytesRetained());
+        assertSame(array1, pool.take(1));
+        assertNotSame(array2, pool.take(1));
+    }
+
+    @Test
+    public void clear() {
+        pool.offer(pool.take(1));
+        pool.offer(pool.take(100_000));
+
+        pool.clear();
+
+        assertEquals(0, pool.getBytesRetained());
+    }
+
+    @Test
+    public void toBytes_whenLargeValue_thenArrayReused() {
+        AbstractSerializationService serializationService =
+                (AbstractSerializationService) new DefaultSerializationServiceBuilder().build();
+        ByteArrayPool pool = serializationService.getByteArrayPool();
+        byte[] value = new byte[1 << 20];
+        value[value.length - 1] = 1;
+
+        byte[] bytes1 = serializationService.toBytes(value);
+        long misses = pool.getMisses();
+        assertTrue(misses > 0);
+        assertTrue(pool.getBytesRetained() > 0);
+        byte[] bytes2 = serializationService.toBytes(value);
+
+        assertArrayEquals(bytes1, bytes2);
+        assertArrayEquals(value, serializationService.toObject(serializationService.toData(value)));
+        assertTrue(pool.getHits() > 0);
+        assertEquals(misses, pool.getMisses());
+    }
+}
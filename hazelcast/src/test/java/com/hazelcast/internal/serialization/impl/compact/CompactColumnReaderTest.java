@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactColumnReaderTest {
+
+    private static final String[] FIELDS = {"bool", "i8", "i16", "i32", "i64", "f32", "f64",
+            "nBool", "nI8", "nI16", "nI32", "nI64", "nF32", "nF64", "sometimesNullI32"};
+    private static final FieldKind[] KINDS = {FieldKind.BOOLEAN, FieldKind.INT8, FieldKind.INT16, FieldKind.INT32,
+            FieldKind.INT64, FieldKind.FLOAT32, FieldKind.FLOAT64,
+            FieldKind.NULLABLE_BOOLEAN, FieldKind.NULLABLE_INT8, FieldKind.NULLABLE_INT16, FieldKind.NULLABLE_INT32,
+            FieldKind.NULLABLE_INT64, FieldKind.NULLABLE_FLOAT32, FieldKind.NULLABLE_FLOAT64, FieldKind.INT32};
+    private static final int COUNT = 5;
+
+    @Parameters(name = "byteOrder:{0}, stringLength:{1}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (ByteOrder byteOrder : asList(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+            // the lengths for the byte, short and int offsets of the nullable fields
+            for (int stringLength : asList(1, 1000, 70000)) {
+                parameters.add(new Object[]{byteOrder, stringLength});
+            }
+        }
+        return parameters;
+    }
+
+    @Parameter
+    public ByteOrder byteOrder;
+
+    @Parameter(1)
+    public int stringLength;
+
+    private InternalSerializationService serializationService;
+
+    private long[][] longs;
+    private double[][] doubles;
+    private boolean[][] nulls;
+
+    @Before
+    public void setUp() {
+        serializationService = createSerializationService(new SerializationConfig().setByteOrder(byteOrder));
+    }
+
+    @Test
+    public void when_allKinds_then_sameAsGenericRecord() throws Exception {
+        Data[] values = new Data[COUNT + 1];
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = serializationService.toData(allKinds("allKinds", i));
+        }
+        CompactColumnReader reader = reader(FIELDS, KINDS);
+
+        for (int i = 0; i < 2; i++) {
+            // the second time with the cached readers
+            assertTrue(reader.read(values, COUNT, longs, doubles, nulls));
+            assertColumns(values, COUNT, FIELDS, KINDS);
+        }
+    }
+
+    @Test
+    public void when_differentSchemas_then_readAccordingToEachSchema() throws Exception {
+        Data[] values = {
+                serializationService.toData(allKinds("allKinds", 1)),
+                serializationService.toData(GenericRecordBuilder.compact("other")
+                        .setInt64("padding", 7)
+                        .setNullableInt32("i32", 1234)
+                        .setNullableInt64("nI64", null)
+                        .build()),
+                serializationService.toData(allKinds("allKinds", 2))
+        };
+        String[] fields = {"i32", "nI64"};
+        FieldKind[] kinds = {FieldKind.NULLABLE_INT32, FieldKind.INT64};
+        CompactColumnReader reader = reader(fields, kinds);
+
+        assertTrue(reader.read(values, values.length, longs, doubles, nulls));
+        assertColumns(values, values.length, fields, kinds);
+    }
+
+    @Test
+    public void when_differentKind_then_notRead() {
+        Data[] values = {serializationService.toData(allKinds("allKinds", 1))};
+        CompactColumnReader reader = reader(new String[]{"i32"}, new FieldKind[]{FieldKind.INT64});
+
+        assertFalse(reader.read(values, values.length, longs, doubles, nulls));
+    }
+
+    @Test
+    public void when_missingField_then_notRead() {
+        Data[] values = {serializationService.toData(allKinds("allKinds", 1))};
+        CompactColumnReader reader = reader(new String[]{"missing"}, new FieldKind[]{FieldKind.INT32});
+
+        assertFalse(reader.read(values, values.length, longs, doubles, nulls));
+    }
+
+    @Test
+    public void when_notCompact_then_notRead() {
+        Data[] values = {serializationService.toData(allKinds("allKinds", 1)), serializationService.toData(42)};
+        CompactColumnReader reader = reader(new String[]{"i32"}, new FieldKind[]{FieldKind.INT32});
+
+        assertFalse(reader.read(values, values.length, longs, doubles, nulls));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_unsupportedKind_then_fail() {
+        reader(new String[]{"str"}, new FieldKind[]{FieldKind.STRING});
+    }
+
+    private CompactColumnReader reader(String[] fields, FieldKind[] kinds) {
+        longs = new long[fields.length][COUNT];
+        doubles = new double[fields.length][COUNT];
+        nulls = new boolean[fields.length][COUNT];
+        return new CompactColumnReader(serializationService, fields, kinds);
+    }
+
+    private void assertColumns(Data[] values, int count, String[] fields, FieldKind[] kinds) throws Exception {
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < count; j++) {
+                Object expected = readFromRecord(values[j], fields[i]);
+                String message = fields[i] + "[" + j + "]";
+                assertEquals(message, expected == null, nulls[i][j]);
+                if (expected == null) {
+                    continue;
+                }
+                if (CompactColumnReader.isFloatingPoint(kinds[i])) {
+                    assertEquals(message, ((Number) expected).doubleValue(), doubles[i][j], 0);
+                } else if (expected instanceof Boolean) {
+                    assertEquals(message, (Boolean) expected ? 1 : 0, longs[i][j]);
+                } else {
+                    assertEquals(message, ((Number) expected).longValue(), longs[i][j]);
+                }
+            }
+        }
+    }
+
+    private GenericRecord allKinds(String typeName, int multiplier) {
+        return GenericRecordBuilder.compact(typeName)
+                .setString("str", String.join("", nCopies(stringLength, "x")))
+                .setBoolean("bool", multiplier % 2 == 0)
+                .setInt8("i8", (byte) (8 * multiplier))
+                .setInt16("i16", (short) (16 * multiplier))
+                .setInt32("i32", 32 * multiplier)
+                .setInt64("i64", 64L * multiplier)
+                .setFloat32("f32", 32.5f * multiplier)
+                .setFloat64("f64", 64.5 * multiplier)
+                .setNullableBoolean("nBool", multiplier % 2 != 0)
+                .setNullableInt8("nI8", (byte) (-8 * multiplier))
+                .setNullableInt16("nI16", (short) (16 * multiplier))
+                .setNullableInt32("nI32", 32 * multiplier)
+                .setNullableInt64("nI64", 64L * multiplier)
+                .setNullableFloat32("nF32", 32.5f * multiplier)
+                .setNullableFloat64("nF64", 64.5 * multiplier)
+                .setNullableInt32("sometimesNullI32", multiplier % 3 == 0 ? null : multiplier)
+                .build();
+    }
+
+    private Object readFromRecord(Data data, String path) throws Exception {
+        return new GenericRecordQueryReader(serializationService.readAsInternalGenericRecord(data)).read(path);
+    }
+}
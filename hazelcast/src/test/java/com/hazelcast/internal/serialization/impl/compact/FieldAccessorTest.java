@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@Parameterized.UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FieldAccessorTest {
+
+    @Parameterized.Parameter
+    public boolean direct;
+
+    @Parameterized.Parameters(name = "direct:{0}")
+    public static Collection<Object> parameters() {
+        return Arrays.asList(true, false);
+    }
+
+    @Test
+    public void testPrimitiveFields() throws Exception {
+        AllTypes o = new AllTypes();
+
+        accessor("booleanField").setBoolean(o, true);
+        accessor("byteField").setByte(o, (byte) 1);
+        accessor("charField").setChar(o, 'c');
+        accessor("shortField").setShort(o, (short) 2);
+        accessor("intField").setInt(o, 3);
+        accessor("longField").setLong(o, 4);
+        accessor("floatField").setFloat(o, 5.5f);
+        accessor("doubleField").setDouble(o, 6.5);
+
+        assertThat(o.booleanField).isTrue();
+        assertThat(o.byteField).isEqualTo((byte) 1);
+        assertThat(o.charField).isEqualTo('c');
+        assertThat(o.shortField).isEqualTo((short) 2);
+        assertThat(o.intField).isEqualTo(3);
+        assertThat(o.longField).isEqualTo(4);
+        assertThat(o.floatField).isEqualTo(5.5f);
+        assertThat(o.doubleField).isEqualTo(6.5);
+
+        assertThat(accessor("booleanField").getBoolean(o)).isTrue();
+        assertThat(accessor("byteField").getByte(o)).isEqualTo((byte) 1);
+        assertThat(accessor("charField").getChar(o)).isEqualTo('c');
+        assertThat(accessor("shortField").getShort(o)).isEqualTo((short) 2);
+        assertThat(accessor("intField").getInt(o)).isEqualTo(3);
+        assertThat(accessor("longField").getLong(o)).isEqualTo(4);
+        assertThat(accessor("floatField").getFloat(o)).isEqualTo(5.5f);
+        assertThat(accessor("doubleField").getDouble(o)).isEqualTo(6.5);
+    }
+
+    @Test
+    public void testReferenceFields() throws Exception {
+        AllTypes o = new AllTypes();
+
+        accessor("stringField").set(o, "s");
+        accessor("finalField").set(o, 42);
+        accessor("inheritedField").set(o, "inherited");
+
+        assertThat(o.stringField).isEqualTo("s");
+        assertThat(o.finalField).isEqualTo(42);
+        assertThat(((Base) o).inheritedField).isEqualTo("inherited");
+        assertThat(accessor("stringField").get(o)).isEqualTo("s");
+        assertThat(accessor("finalField").get(o)).isEqualTo(42);
+        assertThat(accessor("inheritedField").get(o)).isEqualTo("inherited");
+
+        accessor("stringField").set(o, null);
+        assertThat(o.stringField).isNull();
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        AllTypes o = new AllTypes();
+
+        assertThatThrownBy(() -> accessor("stringField").set(o, 1))
+                .isInstanceOfAny(ClassCastException.class, IllegalArgumentException.class);
+        assertThat(o.stringField).isNull();
+    }
+
+    @Test
+    public void testVolatileFieldUsesReflection() throws Exception {
+        assertThat(accessor("volatileField").isDirect()).isFalse();
+
+        AllTypes o = new AllTypes();
+        accessor("volatileField").setInt(o, 7);
+        assertThat(o.volatileField).isEqualTo(7);
+    }
+
+    @Test
+    public void testDirectAccess() throws Exception {
+        assumeTrue(direct && MEM_AVAILABLE);
+
+        assertThat(accessor("intField").isDirect()).isTrue();
+        assertThat(accessor("inheritedField").isDirect()).isTrue();
+    }
+
+    private FieldAccessor accessor(String name) throws Exception {
+        Field field;
+        try {
+            field = AllTypes.class.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            field = Base.class.getDeclaredField(name);
+        }
+        field.setAccessible(true);
+        return new FieldAccessor(field, direct && MEM_AVAILABLE);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Base {
+        private String inheritedField;
+    }
+
+    @SuppressWarnings("unused")
+    private static class AllTypes extends Base {
+        private boolean booleanField;
+        private byte byteField;
+        private char charField;
+        private short shortField;
+        private int intField;
+        private long longField;
+        private float floatField;
+        private double doubleField;
+        private String stringField;
+        private final Integer finalField = null;
+        private volatile int volatileField;
+    }
+}
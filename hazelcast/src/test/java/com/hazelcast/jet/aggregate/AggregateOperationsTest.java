@@ -16,6 +16,8 @@
 
 package com.hazelcast.jet.aggregate;
 
+import com.hazelcast.aggregation.impl.QuantileSketch;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
 import com.hazelcast.function.BiConsumerEx;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -56,6 +58,7 @@ import static com.hazelcast.function.Functions.entryKey;
 import static com.hazelcast.function.Functions.entryValue;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.aggregate.AggregateOperations.allOf;
+import static com.hazelcast.jet.aggregate.AggregateOperations.approximatePercentile;
 import static com.hazelcast.jet.aggregate.AggregateOperations.allOfBuilder;
 import static com.hazelcast.jet.aggregate.AggregateOperations.averagingDouble;
 import static com.hazelcast.jet.aggregate.AggregateOperations.averagingLong;
@@ -185,6 +188,25 @@ public class AggregateOperationsTest {
         aggrOp.accumulateFn().accept(acc, 0.0d);
     }
 
+    @Test
+    public void when_approximateCountingDistinct() {
+        validateOpWithoutDeduct(AggregateOperations.<String>approximateCountingDistinct(), HyperLogLog::estimate,
+                asList("a", "b", "a"), asList("b", "c"), 2L, 3L, 3L);
+    }
+
+    @Test
+    public void when_approximatePercentile() {
+        validateOpWithoutDeduct(approximatePercentile(Double::doubleValue, 1.0), QuantileSketch::count,
+                asList(10.0, 20.0), asList(30.0, 40.0, 50.0), 2L, 5L, 50.0);
+    }
+
+    @Test
+    public void when_approximatePercentile_noInput_then_NaN() {
+        AggregateOperation1<Double, QuantileSketch, Double> aggrOp = approximatePercentile(Double::doubleValue, 0.5);
+
+        assertEquals(Double.NaN, aggrOp.finishFn().apply(aggrOp.createFn().get()), 0.0);
+    }
+
     @Test
     public void when_averagingDouble_noInput_then_NaN() {
         // Given
@@ -47,6 +47,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.util.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -107,6 +109,52 @@ public class JobConfigTest extends JetTestSupport {
         assertEquals(50, config.getSnapshotIntervalMillis());
     }
 
+    @Test
+    public void when_setStateBackend_thenReturnsStateBackend() {
+        // When
+        JobConfig config = new JobConfig();
+        config.setStateBackendType(StateBackendType.DISK)
+              .setStateBackendDirectory("/tmp/state")
+              .setStateBackendMemtableBytes(1024);
+
+        // Then
+        assertEquals(StateBackendType.DISK, config.getStateBackendType());
+        assertEquals("/tmp/state", config.getStateBackendDirectory());
+        assertEquals(1024, config.getStateBackendMemtableBytes());
+    }
+
+    @Test
+    public void when_default_then_heapStateBackend() {
+        JobConfig config = new JobConfig();
+
+        assertEquals(StateBackendType.HEAP, config.getStateBackendType());
+        assertNull(config.getStateBackendDirectory());
+        assertEquals(JobConfig.DEFAULT_STATE_BACKEND_MEMTABLE_BYTES, config.getStateBackendMemtableBytes());
+    }
+
+    @Test
+    public void when_invalidStateBackendSettings_then_fails() {
+        JobConfig config = new JobConfig();
+
+        assertThatThrownBy(() -> config.setStateBackendMemtableBytes(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config.setStateBackendDirectory(""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config.setStateBackendType(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void when_enableEdgeCompression_thenReturnsEnabled() {
+        // When
+        JobConfig config = new JobConfig();
+        assertFalse(config.isEdgeCompressionEnabled());
+        config.setEdgeCompressionEnabled(true);
+
+        // Then
+        assertTrue(config.isEdgeCompressionEnabled());
+    }
+
     @Test
     public void when_losslessRestartEnabled_then_openSourceMemberDoesNotStart() {
         // When
@@ -268,7 +316,11 @@ public class JobConfigTest extends JetTestSupport {
                 () -> jobConfig.setMetricsEnabled(false),
                 () -> jobConfig.setStoreMetricsAfterJobCompletion(false),
                 () -> jobConfig.setMaxProcessorAccumulatedRecords(0L),
-                () -> jobConfig.setTimeoutMillis(0L)
+                () -> jobConfig.setTimeoutMillis(0L),
+                () -> jobConfig.setStateBackendType(StateBackendType.DISK),
+                () -> jobConfig.setStateBackendDirectory(null),
+                () -> jobConfig.setStateBackendMemtableBytes(1L),
+                () -> jobConfig.setEdgeCompressionEnabled(true)
         );
 
         jobConfig.lock();
@@ -51,6 +51,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -100,16 +103,27 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
 
     @Test
     public void when_nodeDown_then_jobRestartsFromSnapshot_singleStage() throws Exception {
-        when_nodeDown_then_jobRestartsFromSnapshot(false);
+        when_nodeDown_then_jobRestartsFromSnapshot(false, 0);
     }
 
     @Test
     public void when_nodeDown_then_jobRestartsFromSnapshot_twoStage() throws Exception {
-        when_nodeDown_then_jobRestartsFromSnapshot(true);
+        when_nodeDown_then_jobRestartsFromSnapshot(true, 0);
+    }
+
+    @Test
+    public void when_nodeDown_then_jobRestartsFromIncrementalSnapshot_singleStage() throws Exception {
+        when_nodeDown_then_jobRestartsFromSnapshot(false, 2);
+    }
+
+    @Test
+    public void when_nodeDown_then_jobRestartsFromIncrementalSnapshot_twoStage() throws Exception {
+        when_nodeDown_then_jobRestartsFromSnapshot(true, 2);
     }
 
     @SuppressWarnings("unchecked")
-    private void when_nodeDown_then_jobRestartsFromSnapshot(boolean twoStage) throws Exception {
+    private void when_nodeDown_then_jobRestartsFromSnapshot(boolean twoStage, int maxIncrementalSnapshots)
+            throws Exception {
         /*
         Design of this test:
 
@@ -200,6 +214,7 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
         JobConfig config = new JobConfig();
         config.setProcessingGuarantee(EXACTLY_ONCE);
         config.setSnapshotIntervalMillis(1200);
+        config.setMaxIncrementalSnapshots(maxIncrementalSnapshots);
         Job job = instance1.getJet().newJob(dag, config);
 
         JobRepository jobRepository = new JobRepository(instance1);
@@ -322,6 +337,35 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
         assertEquals(expected, new HashSet<>(sinkList));
     }
 
+    @Test
+    public void when_jobRestartedFromIncrementalSnapshots_then_stateRestored() {
+        MutatingStateP.reset();
+        DAG dag = new DAG();
+        dag.newVertex("p", MutatingStateP::new).localParallelism(1);
+
+        JobConfig config = new JobConfig();
+        config.setProcessingGuarantee(EXACTLY_ONCE);
+        config.setSnapshotIntervalMillis(200);
+        config.setMaxIncrementalSnapshots(100);
+        Job job = instance1.getJet().newJob(dag, config);
+
+        // wait for a full snapshot and several incremental ones, each changing a
+        // part of the state, which spans many chunks
+        assertTrueEventually(() -> assertTrue(MutatingStateP.COMMITTED_SNAPSHOTS.get() >= 4));
+
+        // When
+        job.restart();
+
+        // Then
+        assertTrueEventually(() -> {
+            Map<Integer, String> expected = new HashMap<>();
+            MutatingStateP.COMMITTED.values().forEach(expected::putAll);
+            assertTrue(expected.size() > MutatingStateP.KEY_COUNT);
+            assertEquals(expected, new HashMap<>(MutatingStateP.RESTORED));
+        });
+        cancelAndJoin(job);
+    }
+
     /**
      * A source, that will generate integer sequences from 0..ELEMENTS_IN_PARTITION,
      * one sequence for each partition.
@@ -476,4 +520,99 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
             }
         }
     }
+
+    /**
+     * A source processor with a keyed state, which it changes a bit after each
+     * snapshot: it updates a quarter of the keys, removes one key and adds a new
+     * one. It records the state of each committed snapshot of the first
+     * execution and the entries restored in the later executions.
+     */
+    private static final class MutatingStateP extends AbstractProcessor {
+        static final int KEY_COUNT = 10_000;
+        static final Map<Integer, Map<Integer, String>> COMMITTED = new ConcurrentHashMap<>();
+        static final Map<Integer, String> RESTORED = new ConcurrentHashMap<>();
+        static final AtomicInteger COMMITTED_SNAPSHOTS = new AtomicInteger();
+        static final AtomicLong FIRST_EXECUTION_ID = new AtomicLong();
+
+        private final Map<Integer, String> state = new HashMap<>();
+        private Map<Integer, String> savedState;
+        private Traverser<Entry<Integer, String>> snapshotTraverser;
+        private boolean firstExecution;
+        private boolean changeState;
+        private int globalIndex;
+        private int round;
+
+        static void reset() {
+            COMMITTED.clear();
+            RESTORED.clear();
+            COMMITTED_SNAPSHOTS.set(0);
+            FIRST_EXECUTION_ID.set(0);
+        }
+
+        @Override
+        protected void init(@Nonnull Context context) {
+            globalIndex = context.globalProcessorIndex();
+            FIRST_EXECUTION_ID.compareAndSet(0, context.executionId());
+            firstExecution = FIRST_EXECUTION_ID.get() == context.executionId();
+            if (firstExecution) {
+                for (int i = 0; i < KEY_COUNT; i++) {
+                    state.put(key(i), value(i));
+                }
+            }
+        }
+
+        @Override
+        public boolean complete() {
+            if (changeState) {
+                changeState = false;
+                round++;
+                for (int i = round % 4; i < KEY_COUNT; i += 4) {
+                    if (state.containsKey(key(i))) {
+                        state.put(key(i), value(i));
+                    }
+                }
+                state.remove(key(round * 7 % KEY_COUNT));
+                state.put(key(KEY_COUNT + round), value(KEY_COUNT + round));
+            }
+            return false;
+        }
+
+        @Override
+        public boolean saveToSnapshot() {
+            if (snapshotTraverser == null) {
+                savedState = new HashMap<>(state);
+                snapshotTraverser = Traversers.traverseIterable(savedState.entrySet())
+                        .map(e -> entry(e.getKey(), e.getValue()))
+                        .onFirstNull(() -> {
+                            snapshotTraverser = null;
+                            changeState = firstExecution;
+                        });
+            }
+            return emitFromTraverserToSnapshot(snapshotTraverser);
+        }
+
+        @Override
+        public boolean snapshotCommitFinish(boolean success) {
+            if (firstExecution && success) {
+                COMMITTED.put(globalIndex, savedState);
+                if (globalIndex == 0) {
+                    COMMITTED_SNAPSHOTS.incrementAndGet();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+            RESTORED.put((Integer) key, (String) value);
+        }
+
+        private int key(int i) {
+            return globalIndex * 1_000_000 + i;
+        }
+
+        private String value(int i) {
+            return "value-" + i + "-" + round;
+        }
+    }
 }
@@ -36,11 +36,15 @@ import java.util.Locale;
 import static com.hazelcast.function.Functions.wholeItem;
 import static com.hazelcast.jet.Traversers.traverseArray;
 import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.metrics.MetricNames.DISTRIBUTED_BYTES_OUT;
+import static com.hazelcast.jet.core.metrics.MetricNames.DISTRIBUTED_WIRE_BYTES_IN;
+import static com.hazelcast.jet.core.metrics.MetricNames.DISTRIBUTED_WIRE_BYTES_OUT;
 import static com.hazelcast.jet.core.metrics.MetricNames.EMITTED_COUNT;
 import static com.hazelcast.jet.core.metrics.MetricNames.RECEIVED_COUNT;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class JobMetrics_BatchTest extends TestInClusterSupport {
@@ -141,6 +145,27 @@ public class JobMetrics_BatchTest extends TestInClusterSupport {
         assertMetrics(job2.getMetrics());
     }
 
+    @Test
+    public void when_edgeCompressionEnabled_then_wireBytesLower() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            text.append("word").append(i).append(' ');
+        }
+        Pipeline p = createPipeline(text.toString());
+
+        Job job = execute(p, new JobConfig()
+                .setStoreMetricsAfterJobCompletion(true)
+                .setEdgeCompressionEnabled(true));
+
+        JobMetrics metrics = job.getMetrics();
+        assertMetrics(metrics, text.toString());
+        long bytesOut = sumValueFor(metrics, GROUP_AND_AGGREGATE_PREPARE_VERTEX, DISTRIBUTED_BYTES_OUT);
+        long wireBytesOut = sumValueFor(metrics, GROUP_AND_AGGREGATE_PREPARE_VERTEX, DISTRIBUTED_WIRE_BYTES_OUT);
+        assertTrue("wireBytesOut=" + wireBytesOut + ", bytesOut=" + bytesOut,
+                wireBytesOut > 0 && wireBytesOut < bytesOut);
+        assertEquals(wireBytesOut, sumValueFor(metrics, GROUP_AND_AGGREGATE_VERTEX, DISTRIBUTED_WIRE_BYTES_IN));
+    }
+
     private Pipeline createPipeline() {
         return createPipeline(COMMON_TEXT);
     }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.connector;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FileRangeLineReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void when_readAllRanges_then_eachLineReadOnce() throws IOException {
+        Path file = write("first\nsecond line\r\n\nžluťoučký kůň\n" + "x".repeat(100) + "\nlast");
+        List<String> expected = Files.readAllLines(file);
+        long size = Files.size(file);
+
+        for (long splitSize = 1; splitSize <= size + 1; splitSize++) {
+            assertEquals("splitSize=" + splitSize, expected, readInRanges(file, size, splitSize));
+        }
+    }
+
+    @Test
+    public void when_loneCarriageReturn_then_lineEnd() throws IOException {
+        Path file = write("a\rb\r\rc\r\nd\n\re\r");
+        List<String> expected = Files.readAllLines(file);
+        long size = Files.size(file);
+
+        assertEquals(asList("a", "b", "", "c", "d", "", "e"), expected);
+        for (long splitSize = 1; splitSize <= size + 1; splitSize++) {
+            assertEquals("splitSize=" + splitSize, expected, readInRanges(file, size, splitSize));
+        }
+    }
+
+    @Test
+    public void when_malformedInput_then_fails() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, new byte[]{'a', '\n', (byte) 0xC3, '\n'});
+
+        try (Stream<String> lines = FileRangeLineReader.lines(file, StandardCharsets.UTF_8, 0, 4)) {
+            assertThatThrownBy(() -> lines.collect(Collectors.toList()))
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasCauseInstanceOf(MalformedInputException.class);
+        }
+    }
+
+    @Test
+    public void when_trailingNewLine_then_noEmptyLastLine() throws IOException {
+        Path file = write("a\nb\n");
+
+        assertEquals(asList("a", "b"), readInRanges(file, Files.size(file), 1));
+        assertEquals(asList("a", "b"), readInRanges(file, Files.size(file), 10));
+    }
+
+    @Test
+    public void when_emptyFile_then_noLines() throws IOException {
+        Path file = write("");
+
+        assertEquals(0, readInRanges(file, 0, 10).size());
+    }
+
+    @Test
+    public void when_rangeInsideLine_then_noLines() throws IOException {
+        Path file = write("abcdefgh\n");
+
+        try (Stream<String> lines = FileRangeLineReader.lines(file, StandardCharsets.UTF_8, 2, 5)) {
+            assertEquals(0, lines.count());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> readInRanges(Path file, long size, long splitSize) throws IOException {
+        List<String> result = new ArrayList<>();
+        for (long start = 0; start < size; start += splitSize) {
+            try (Stream<String> lines = FileRangeLineReader.lines(file, StandardCharsets.UTF_8, start,
+                    start + splitSize)) {
+                result.addAll(lines.collect(Collectors.toList()));
+            }
+        }
+        return result;
+    }
+}
@@ -23,6 +23,8 @@ import com.hazelcast.jet.pipeline.BatchSource;
 import com.hazelcast.jet.pipeline.Pipeline;
 import com.hazelcast.jet.pipeline.Sinks;
 import com.hazelcast.jet.pipeline.Sources;
+import com.hazelcast.jet.pipeline.file.FileFormat;
+import com.hazelcast.jet.pipeline.file.FileSources;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Before;
@@ -35,9 +37,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.hazelcast.jet.Util.entry;
@@ -94,6 +98,52 @@ public class ReadFilesPTest extends SimpleTestInClusterSupport {
         finishDirectory(file1);
     }
 
+    @Test
+    public void when_largeFileSplit_then_eachLineReadOnce() throws Exception {
+        File file1 = new File(directory, randomName());
+        final int listLength = 10000;
+        appendToFile(file1, IntStream.range(0, listLength).mapToObj(String::valueOf).toArray(String[]::new));
+
+        Pipeline p = Pipeline.create();
+        p.readFrom(FileSources.files(directory.getPath())
+                              .format(FileFormat.lines())
+                              .splitSize(1000)
+                              .build())
+         .writeTo(Sinks.list(listJson));
+
+        instance().getJet().newJob(p).join();
+
+        assertEquals(IntStream.range(0, listLength).mapToObj(String::valueOf).collect(Collectors.toSet()),
+                new HashSet<>(listJson));
+        assertEquals(listLength, listJson.size());
+
+        finishDirectory(file1);
+    }
+
+    @Test
+    public void when_largeJsonLinesFileSplit_then_eachRecordReadOnce() throws Exception {
+        File file1 = new File(directory, randomName() + ".json");
+        final int listLength = 1000;
+        appendToFile(file1, IntStream.range(0, listLength)
+                                     .mapToObj(i -> "{\"name\": \"hello" + i + "\", \"age\": " + i + "}")
+                                     .toArray(String[]::new));
+
+        Pipeline p = Pipeline.create();
+        p.readFrom(FileSources.files(directory.getPath())
+                              .format(FileFormat.json(TestPerson.class).multiline(false))
+                              .splitSize(1000)
+                              .build())
+         .writeTo(Sinks.list(listJson));
+
+        instance().getJet().newJob(p).join();
+
+        assertEquals(IntStream.range(0, listLength).boxed().collect(Collectors.toSet()),
+                listJson.stream().map(person -> ((TestPerson) person).age).collect(Collectors.toSet()));
+        assertEquals(listLength, listJson.size());
+
+        finishDirectory(file1);
+    }
+
     @Test
     public void when_glob_the_useGlob() throws Exception {
         Pipeline p = pipeline("file2.*");
@@ -29,6 +29,8 @@ import static com.hazelcast.test.HazelcastTestSupport.randomString;
 public class MockSnapshotContext extends SnapshotContext {
     private String currentMapName = "";
     private long currentSnapshotId = 0L;
+    private boolean isExport;
+    private boolean isIncremental;
 
     public MockSnapshotContext() {
         super(Logger.getLogger(MockSnapshotContext.class), randomString(), 0L, ProcessingGuarantee.NONE);
@@ -54,4 +56,22 @@ public class MockSnapshotContext extends SnapshotContext {
     public void setCurrentSnapshotId(long currentSnapshotId) {
         this.currentSnapshotId = currentSnapshotId;
     }
+
+    @Override
+    public boolean isExport() {
+        return isExport;
+    }
+
+    public void setExport(boolean isExport) {
+        this.isExport = isExport;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return isIncremental;
+    }
+
+    public void setIncremental(boolean isIncremental) {
+        this.isIncremental = isIncremental;
+    }
 }
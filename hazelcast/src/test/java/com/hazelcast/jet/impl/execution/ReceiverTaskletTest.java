@@ -32,6 +32,7 @@ import org.junit.runner.RunWith;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.zip.Deflater;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
@@ -62,6 +63,18 @@ public class ReceiverTaskletTest {
         assertEquals(asList(1, 2), collector.getBuffer());
     }
 
+    @Test
+    public void when_receiveCompressedPacket_then_emitThem() throws IOException {
+        collector = new MockOutboundCollector(3);
+        t = new ReceiverTasklet(collector, serService, 3, 100, mock(LoggingService.class),
+                new Address(), 0, "", null, "", true);
+        t.initIncomingQueue(queue);
+        pushCompressedObjects(true, "a", "b");
+        pushCompressedObjects(false, "c");
+        t.call();
+        assertEquals(asList("a", "b", "c"), collector.getBuffer());
+    }
+
     private void pushObjects(Object... objs) throws IOException {
         final BufferObjectDataOutput out = serService.createObjectDataOutput();
         // packet header
@@ -76,4 +89,38 @@ public class ReceiverTaskletTest {
         }
         queue.add(out.toByteArray());
     }
+
+    /**
+     * Pushes a packet in the format of {@link SenderTasklet} with compression
+     * enabled.
+     */
+    private void pushCompressedObjects(boolean deflate, Object... objs) throws IOException {
+        final BufferObjectDataOutput items = serService.createObjectDataOutput();
+        items.writeInt(objs.length);
+        for (Object obj : objs) {
+            items.writeObject(obj);
+            items.writeInt(Math.abs(obj.hashCode())); // partition id
+        }
+        byte[] raw = items.toByteArray();
+
+        final BufferObjectDataOutput out = serService.createObjectDataOutput();
+        // packet header
+        out.writeLong(0);
+        out.writeInt(0);
+        out.writeInt(0);
+        if (deflate) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] compressed = new byte[raw.length + 64];
+            int length = deflater.deflate(compressed);
+            deflater.end();
+            out.writeInt(raw.length);
+            out.write(compressed, 0, length);
+        } else {
+            out.writeInt(-1);
+            out.write(raw);
+        }
+        queue.add(out.toByteArray());
+    }
 }
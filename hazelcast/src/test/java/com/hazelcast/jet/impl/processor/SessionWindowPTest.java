@@ -18,11 +18,14 @@ package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.SupplierEx;
 import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.test.TestOutbox;
 import com.hazelcast.jet.core.test.TestProcessorContext;
 import com.hazelcast.jet.datamodel.KeyedWindowResult;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -52,6 +55,7 @@ import static java.util.Collections.shuffle;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -61,6 +65,7 @@ public class SessionWindowPTest {
     private static final int SESSION_TIMEOUT = 10;
     private SupplierEx<Processor> supplier;
     private SessionWindowP<String, ?, Long, KeyedWindowResult<String, Long>> lastSuppliedProcessor;
+    private JobConfig jobConfig = new JobConfig();
 
     @Before
     public void before() {
@@ -124,6 +129,31 @@ public class SessionWindowPTest {
         assertCorrectness(events);
     }
 
+    @Test
+    public void when_diskStateBackend_then_notCooperative() {
+        Processor heapProcessor = supplier.get();
+        StateBackendAware.configure(heapProcessor, new JobConfig());
+        assertTrue(heapProcessor.isCooperative());
+
+        jobConfig = new JobConfig().setStateBackendType(StateBackendType.DISK);
+        assertCorrectness(eventsWithKey("a"));
+        assertFalse(lastSuppliedProcessor.isCooperative());
+    }
+
+    @Test
+    public void when_diskStateBackend_then_sameSessions() {
+        jobConfig = new JobConfig()
+                .setStateBackendType(StateBackendType.DISK)
+                // a tiny memtable to exercise the sorted runs and compaction
+                .setStateBackendMemtableBytes(64L);
+        List<Object> events = new ArrayList<>();
+        for (String key : asList("a", "b", "c", "d", "e", "f")) {
+            events.addAll(eventsWithKey(key));
+        }
+        shuffle(events);
+        assertCorrectness(events);
+    }
+
     @Test
     public void when_batchProcessing_then_flushEverything() {
         // Given
@@ -177,6 +207,7 @@ public class SessionWindowPTest {
 
         try {
             verifyProcessor(supplier)
+                    .jobConfig(jobConfig)
                     .outputChecker(SAME_ITEMS_ANY_ORDER)
                     .input(events)
                     .expectOutput(expectedOutput);
@@ -21,12 +21,15 @@ import com.hazelcast.function.SupplierEx;
 import com.hazelcast.function.ToLongFunctionEx;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.StateBackendType;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.processor.Processors;
 import com.hazelcast.jet.core.test.TestSupport;
 import com.hazelcast.jet.function.TriFunction;
 import com.hazelcast.jet.impl.JetEvent;
+import com.hazelcast.jet.impl.state.StateBackendAware;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -48,11 +51,14 @@ import java.util.function.Supplier;
 
 import static com.hazelcast.jet.Traversers.traverseItems;
 import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.config.StateBackendType.DISK;
+import static com.hazelcast.jet.config.StateBackendType.HEAP;
 import static com.hazelcast.jet.core.JetTestSupport.wm;
 import static com.hazelcast.jet.impl.JetEvent.jetEvent;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
 
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -69,9 +75,27 @@ public class TransformStatefulPTest {
     @Parameter
     public boolean flatMap;
 
-    @Parameters(name = "flatMap={0}")
-    public static Collection<Object> parameters() {
-        return asList(true, false);
+    @Parameter(1)
+    public StateBackendType stateBackend;
+
+    @Parameters(name = "flatMap={0}, stateBackend={1}")
+    public static Collection<Object[]> parameters() {
+        return asList(
+                new Object[]{true, HEAP},
+                new Object[]{false, HEAP},
+                new Object[]{true, DISK},
+                new Object[]{false, DISK}
+        );
+    }
+
+    @Test
+    public void when_diskStateBackend_then_notCooperative() {
+        Processor processor = createSupplier(0, Entry::getKey, e -> 0L, () -> new long[1],
+                (long[] s, Object k, Entry<String, Long> e) -> entry(k, s[0]), null, expandEntryFn).get();
+
+        StateBackendAware.configure(processor, new JobConfig().setStateBackendType(stateBackend));
+
+        assertEquals(stateBackend == HEAP, processor.isCooperative());
     }
 
     @Test
@@ -88,7 +112,7 @@ public class TransformStatefulPTest {
                 null,
                 expandEntryFn);
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(asList(
                            entry("a", 1L),
                            entry("b", 2L),
@@ -114,7 +138,7 @@ public class TransformStatefulPTest {
                 null,
                 expandEntryFn);
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(singletonList(entry("a", 1L)))
                    .expectOutput(emptyList());
     }
@@ -134,7 +158,7 @@ public class TransformStatefulPTest {
                 expandJetEventFn
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(asList(
                            jetEvent(0, entry("a", 1L)),
                            jetEvent(1, entry("b", 2L)),
@@ -168,7 +192,7 @@ public class TransformStatefulPTest {
                 expandJetEventFn
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                 .input(asList(
                         jetEvent(1, entry("b", 1L)),
                         wm(2),
@@ -196,7 +220,7 @@ public class TransformStatefulPTest {
                 expandJetEventFn
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                 .input(asList(
                         jetEvent(0, entry("a", 1L)),
                         jetEvent(1, entry("b", 2L)),
@@ -229,7 +253,7 @@ public class TransformStatefulPTest {
                 expandJetEventFn
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(asList(
                            jetEvent(0, entry("a", 1L)),
                            jetEvent(1, entry("b", 2L)),
@@ -283,7 +307,7 @@ public class TransformStatefulPTest {
             input.add(jetEvent(3, entry("k" + i, 3L)));
         }
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(input)
                    .disableLogging()
                    .expectOutput(asExpandedList(expandJetEventFn, input.toArray()));
@@ -303,7 +327,7 @@ public class TransformStatefulPTest {
                 null
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(asList(
                            jetEvent(0, 1L),
                            jetEvent(1, 2L),
@@ -332,7 +356,7 @@ public class TransformStatefulPTest {
                 expandJetEventFn
         );
 
-        TestSupport.verifyProcessor(supplier)
+        verifyProcessor(supplier)
                    .input(asList(
                            jetEvent(-10, entry("a", 1L)),
                            jetEvent(-9, entry("b", 2L)),
@@ -353,6 +377,14 @@ public class TransformStatefulPTest {
                    ));
     }
 
+    private TestSupport verifyProcessor(SupplierEx<Processor> supplier) {
+        JobConfig jobConfig = new JobConfig()
+                .setStateBackendType(stateBackend)
+                // a tiny memtable to exercise the sorted runs and compaction
+                .setStateBackendMemtableBytes(64L);
+        return TestSupport.verifyProcessor(supplier).jobConfig(jobConfig);
+    }
+
     private <OUT> List<Object> asExpandedList(Function<OUT, Traverser<OUT>> expandFn, Object ... items) {
         if (!flatMap) {
             return asList(items);
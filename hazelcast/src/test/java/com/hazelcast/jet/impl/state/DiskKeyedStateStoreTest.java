@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.state;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DiskKeyedStateStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private File directory;
+    private DiskKeyedStateStore<Integer, String> store;
+
+    @Before
+    public void before() throws Exception {
+        directory = temporaryFolder.newFolder();
+        // a small memtable so that the entries are flushed to runs often
+        store = new DiskKeyedStateStore<>(directory, 256, serializationService);
+    }
+
+    @After
+    public void after() {
+        store.close();
+    }
+
+    @Test
+    public void when_putAndGet_then_valueReturned() {
+        store.put(1, "a");
+        store.put(2, "b");
+        store.put(1, "c");
+
+        assertEquals("c", store.get(1));
+        assertEquals("b", store.get(2));
+        assertNull(store.get(3));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void when_manyEntries_then_flushedAndCompacted() {
+        for (int i = 0; i < 1000; i++) {
+            store.put(i, "value-" + i);
+        }
+        assertTrue(store.runCount() > 0);
+        assertTrue(store.compactionWrittenBytes() > 0);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, store.get(i));
+        }
+        assertEquals(1000, store.size());
+    }
+
+    @Test
+    public void when_manyFlushes_then_compactedInTiers() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            store.put(i, "value-" + i);
+        }
+
+        // thousands of flushes: merging all runs each time would rewrite the
+        // state hundreds of times, the tiers rewrite each entry a few times
+        assertTrue(store.compactionWrittenBytes() < 8 * stateBytes());
+        for (int i = 0; i < count; i++) {
+            assertEquals("value-" + i, store.get(i));
+        }
+        assertEquals(count, store.size());
+    }
+
+    @Test
+    public void when_removedAfterFlush_then_notReturned() {
+        for (int i = 0; i < 100; i++) {
+            store.put(i, "value-" + i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            store.remove(i);
+        }
+        store.remove(1000);
+
+        assertEquals(50, store.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : "value-" + i, store.get(i));
+        }
+        int count = 0;
+        for (Entry<Integer, String> entry : store) {
+            assertEquals(1, entry.getKey() % 2);
+            assertEquals("value-" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(50, count);
+    }
+
+    @Test
+    public void when_iteratorRemove_then_removed() {
+        for (int i = 0; i < 100; i++) {
+            store.put(i, "value-" + i);
+        }
+        for (Iterator<Entry<Integer, String>> it = store.iterator(); it.hasNext(); ) {
+            if (it.next().getKey() < 50) {
+                it.remove();
+            }
+        }
+
+        assertEquals(50, store.size());
+        assertNull(store.get(0));
+        assertEquals("value-50", store.get(50));
+    }
+
+    @Test
+    public void when_randomOperations_then_sameAsHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                store.remove(key);
+                expected.remove(key);
+            } else {
+                String value = "v" + random.nextInt();
+                store.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (int key = 0; key < 500; key++) {
+            assertEquals(expected.get(key), store.get(key));
+        }
+        Map<Integer, String> actual = new HashMap<>();
+        for (Entry<Integer, String> entry : store) {
+            assertNull("duplicate key " + entry.getKey(), actual.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void when_closed_then_directoryDeleted() {
+        for (int i = 0; i < 100; i++) {
+            store.put(i, "value-" + i);
+        }
+        assertTrue(store.runCount() > 0);
+
+        store.close();
+
+        assertFalse(directory.exists());
+    }
+
+    private long stateBytes() {
+        long bytes = 0;
+        for (File file : directory.listFiles()) {
+            bytes += file.length();
+        }
+        return bytes;
+    }
+}
@@ -60,6 +60,7 @@ import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -298,6 +299,134 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         snapshotContext.setCurrentMapName("map1");
     }
 
+    @Test
+    public void when_incrementalSnapshot_then_onlyChangesAndTombstonesWritten() {
+        AsyncSnapshotWriterImpl trackingWriter = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex",
+                0, 1, serializationService, true);
+
+        // full snapshot
+        assertTrue(trackingWriter.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k2"), serialize("v2"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k3"), serialize("v3"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertEquals(3, trackingWriter.getTotalKeys());
+        assertEquals(0, trackingWriter.getTotalUnchangedKeys());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        // incremental snapshot: k1 unchanged, k2 changed, k3 removed, k4 added
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setIncremental(true);
+        trackingWriter.resetStats();
+        assertTrue(trackingWriter.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k2"), serialize("v2-changed"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k4"), serialize("v4"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        // k2, k4 and the tombstone for k3
+        assertEquals(3, trackingWriter.getTotalKeys());
+        assertEquals(1, trackingWriter.getTotalUnchangedKeys());
+        assertNull(trackingWriter.getError());
+        snapshotContext.setIncremental(false);
+    }
+
+    @Test
+    public void when_duplicateKeyInIncrementalSnapshot_then_error() {
+        AsyncSnapshotWriterImpl trackingWriter = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex",
+                0, 1, serializationService, true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setIncremental(true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        assertThat(String.valueOf(trackingWriter.getError())).contains("more than once");
+        snapshotContext.setIncremental(false);
+    }
+
+    @Test
+    public void when_fullSnapshotAfterDuplicateKey_then_incrementalAgain() {
+        AsyncSnapshotWriterImpl trackingWriter = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex",
+                0, 1, serializationService, true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        // incremental snapshot failing with a duplicate key
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setIncremental(true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        assertThat(String.valueOf(trackingWriter.getError())).contains("more than once");
+
+        // full snapshot without duplicate keys
+        snapshotContext.setCurrentSnapshotId(3L);
+        snapshotContext.setIncremental(false);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        // the unchanged entry is skipped again
+        snapshotContext.setCurrentSnapshotId(4L);
+        snapshotContext.setIncremental(true);
+        trackingWriter.resetStats();
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        assertEquals(0, trackingWriter.getTotalKeys());
+        assertEquals(1, trackingWriter.getTotalUnchangedKeys());
+        snapshotContext.setIncremental(false);
+    }
+
+    @Test
+    public void when_duplicateKeyInFullSnapshot_then_nextIncrementalWritesAll() {
+        AsyncSnapshotWriterImpl trackingWriter = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex",
+                0, 1, serializationService, true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setIncremental(true);
+        trackingWriter.resetStats();
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        assertEquals(1, trackingWriter.getTotalKeys());
+        assertEquals(0, trackingWriter.getTotalUnchangedKeys());
+        assertNull(trackingWriter.getError());
+        snapshotContext.setIncremental(false);
+    }
+
+    @Test
+    public void when_exportedSnapshot_then_notTracked() {
+        AsyncSnapshotWriterImpl trackingWriter = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex",
+                0, 1, serializationService, true);
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setExport(true);
+        trackingWriter.resetStats();
+        assertTrue(trackingWriter.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(trackingWriter.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(uncheckCall(trackingWriter::hasPendingAsyncOps)));
+
+        assertEquals(1, trackingWriter.getTotalKeys());
+        assertEquals(0, trackingWriter.getTotalUnchangedKeys());
+        snapshotContext.setExport(false);
+    }
+
     private void assertTargetMapEntry(String key, int sequence, int entryLength) {
         int partitionKey = writer.partitionKey(partitionService.getPartitionId(key));
         SnapshotDataKey mapKey = new SnapshotDataKey(partitionKey, 1, "vertex", sequence);
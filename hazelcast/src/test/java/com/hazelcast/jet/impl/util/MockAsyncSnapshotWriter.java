@@ -92,4 +92,9 @@ public class MockAsyncSnapshotWriter implements AsyncSnapshotWriter {
     public long getTotalChunks() {
         return 0;
     }
+
+    @Override
+    public long getTotalUnchangedKeys() {
+        return 0;
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_MAPS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_VALUE_COMPRESSION_THRESHOLD;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapValueCompressionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    @Test
+    public void when_mapListed_then_valuesCompressedAndReadable() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config());
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config());
+
+        IMap<Integer, String> map = instance1.getMap("compressed-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, value(i));
+        }
+        map.put(-1, "small");
+
+        assertEquals(value(1), map.get(1));
+        assertEquals("small", map.get(-1));
+        assertEquals(1, map.values(Predicates.equal("this", value(7))).size());
+        assertTrue(map.replace(2, value(2), value(3)));
+        assertEquals(value(3), map.get(2));
+        assertEquals(value(4), map.executeOnKey(4, entry -> entry.getValue()));
+        assertTrue(map.containsValue(value(5)));
+
+        ValueCompressor compressor = compressor(instance1, "compressed-map");
+        assertNotNull(compressor);
+        assertTrue(compressor.getCompressedCount() > 0);
+        assertTrue(compressor.getDecompressedCount() > 0);
+
+        // the backups are compressed too
+        instance1.shutdown();
+        IMap<Integer, String> map2 = instance2.getMap("compressed-map");
+        for (int i = 3; i < ENTRY_COUNT; i++) {
+            assertEquals(value(i), map2.get(i));
+        }
+        assertTrue(storedCompressedCount(instance2, "compressed-map") > ENTRY_COUNT / 2);
+    }
+
+    @Test
+    public void when_mapNotListed_then_valuesNotCompressed() {
+        HazelcastInstance instance = createHazelcastInstance(config());
+
+        IMap<Integer, String> map = instance.getMap("other");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, value(i));
+        }
+
+        assertNull(compressor(instance, "other"));
+        assertEquals(0, storedCompressedCount(instance, "other"));
+    }
+
+    @Test
+    public void when_objectInMemoryFormat_then_valuesNotCompressed() {
+        Config config = config();
+        config.getMapConfig("compressed-object").setInMemoryFormat(InMemoryFormat.OBJECT);
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        instance.getMap("compressed-object").put(1, value(1));
+
+        assertNull(compressor(instance, "compressed-object"));
+    }
+
+    @Test
+    public void when_mapMatchesMultiplePatterns_then_rejected() {
+        Config config = config().setProperty(MAP_VALUE_COMPRESSION_MAPS.getName(), "compressed-*,*pressed-map");
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        assertThatThrownBy(() -> instance.getMap("compressed-map").put(1, value(1)))
+                .isInstanceOf(InvalidConfigurationException.class)
+                .hasMessageContaining("compressed-map");
+        // a name matching only one of the patterns is compressed
+        instance.getMap("compressed-other").put(1, value(1));
+        assertNotNull(compressor(instance, "compressed-other"));
+    }
+
+    private Config config() {
+        return smallInstanceConfigWithoutJetAndMetrics()
+                .setProperty(MAP_VALUE_COMPRESSION_MAPS.getName(), "compressed-*")
+                .setProperty(MAP_VALUE_COMPRESSION_THRESHOLD.getName(), "64");
+    }
+
+    private static String value(int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < 50; j++) {
+            sb.append("value-").append(i).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static ValueCompressor compressor(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapContainer(mapName).getValueCompressor();
+    }
+
+    private static int storedCompressedCount(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext context = mapService.getMapServiceContext();
+        int count = 0;
+        for (int partitionId = 0; partitionId < getNodeEngineImpl(instance).getPartitionService().getPartitionCount();
+             partitionId++) {
+            RecordStore<Record> recordStore = context.getExistingRecordStore(partitionId, mapName);
+            if (recordStore == null) {
+                continue;
+            }
+            int[] partitionCount = {0};
+            recordStore.forEach((key, record) -> {
+                if (record.getValue() instanceof CompressedData) {
+                    partitionCount[0]++;
+                }
+            }, false);
+            count += partitionCount[0];
+        }
+        return count;
+    }
+}
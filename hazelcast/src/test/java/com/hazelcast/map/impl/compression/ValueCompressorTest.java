@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.compression;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ValueCompressorTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final ValueCompressor compressor = new ValueCompressor(new DeflateValueCodec(), 64);
+
+    @Test
+    public void when_compressibleValue_then_compressed() {
+        Data value = ss.toData(repeat("hazelcast ", 100));
+
+        Data compressed = compressor.compress(value);
+
+        assertTrue(compressed instanceof CompressedData);
+        assertTrue(compressed.getHeapCost() < value.getHeapCost());
+        assertArrayEquals(value.toByteArray(), compressed.toByteArray());
+        assertEquals(value.getType(), compressed.getType());
+        assertEquals(value.totalSize(), compressed.totalSize());
+        assertEquals(value.dataSize(), compressed.dataSize());
+        assertEquals(value.getPartitionHash(), compressed.getPartitionHash());
+        assertEquals(value.hash64(), compressed.hash64());
+        assertEquals(value, compressed);
+        assertEquals(compressed, value);
+        assertEquals(value.hashCode(), compressed.hashCode());
+        assertEquals(ss.<String>toObject(value), ss.toObject(compressed));
+        assertEquals(1, compressor.getCompressedCount());
+        assertTrue(compressor.compressionRatio() > 1);
+    }
+
+    @Test
+    public void when_copyTo_then_decompressedAtPosition() {
+        Data value = ss.toData(repeat("abc", 100));
+        Data compressed = compressor.compress(value);
+
+        byte[] dest = new byte[value.totalSize() + 3];
+        compressed.copyTo(dest, 3);
+
+        byte[] expected = new byte[value.totalSize() + 3];
+        value.copyTo(expected, 3);
+        assertArrayEquals(expected, dest);
+    }
+
+    @Test
+    public void when_smallValue_then_notCompressed() {
+        Data value = ss.toData("small");
+
+        assertSame(value, compressor.compress(value));
+        assertEquals(0, compressor.getCompressedCount());
+    }
+
+    @Test
+    public void when_incompressibleValue_then_notCompressed() {
+        byte[] bytes = new byte[1000];
+        new Random().nextBytes(bytes);
+        Data value = ss.toData(bytes);
+
+        assertSame(value, compressor.compress(value));
+        assertEquals(0, compressor.getCompressedCount());
+    }
+
+    @Test
+    public void when_notEqualValue_then_notEqual() {
+        Data compressed = compressor.compress(ss.toData(repeat("abc", 100)));
+        Data other = new HeapData(ss.toData(repeat("abd", 100)).toByteArray());
+
+        assertNotEquals(compressed, other);
+        assertNotEquals(other, compressed);
+    }
+
+    @Test
+    public void when_hashCodeOrEquals_then_notDecompressed() {
+        Data value = ss.toData(repeat("abc", 100));
+        Data compressed = compressor.compress(value);
+        Data sameCompressed = compressor.compress(ss.toData(repeat("abc", 100)));
+        Data otherCompressed = compressor.compress(ss.toData(repeat("abd", 100)));
+
+        assertEquals(value.hashCode(), compressed.hashCode());
+        assertEquals(value.getPartitionHash(), compressed.getPartitionHash());
+        assertEquals(compressed, sameCompressed);
+        assertNotEquals(compressed, otherCompressed);
+        assertNotEquals(otherCompressed, value);
+        assertEquals(0, compressor.getDecompressedCount());
+    }
+
+    @Test
+    public void when_equalCodecs_then_compressedBytesCompared() {
+        ValueCompressor otherCompressor = new ValueCompressor(new DeflateValueCodec(), 64);
+        Data compressed = compressor.compress(ss.toData(repeat("abc", 100)));
+        Data otherCompressed = otherCompressor.compress(ss.toData(repeat("abc", 100)));
+
+        assertEquals(compressed, otherCompressed);
+        assertEquals(otherCompressed, compressed);
+        assertEquals(0, compressor.getDecompressedCount());
+        assertEquals(0, otherCompressor.getDecompressedCount());
+    }
+
+    @Test
+    public void when_codecsNotEqual_then_decompressedToCompare() {
+        // codecs of the same class, which could use a different configuration
+        ValueCompressor compressor1 = new ValueCompressor(new TestCodec(), 64);
+        ValueCompressor compressor2 = new ValueCompressor(new TestCodec(), 64);
+        Data compressed1 = compressor1.compress(ss.toData(repeat("abc", 100)));
+        Data compressed2 = compressor2.compress(ss.toData(repeat("abc", 100)));
+
+        assertEquals(compressed1, compressed2);
+        assertTrue(compressor1.getDecompressedCount() > 0);
+        assertTrue(compressor2.getDecompressedCount() > 0);
+    }
+
+    private static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    private static final class TestCodec implements ValueCodec {
+        private final ValueCodec delegate = new DeflateValueCodec();
+
+        @Override
+        public byte[] compress(byte[] src, int offset, int length, int leftPadding) {
+            return delegate.compress(src, offset, length, leftPadding);
+        }
+
+        @Override
+        public void decompress(byte[] src, int offset, int length, byte[] dest, int destOffset, int destLength) {
+            delegate.decompress(src, offset, length, dest, destOffset, destLength);
+        }
+    }
+}
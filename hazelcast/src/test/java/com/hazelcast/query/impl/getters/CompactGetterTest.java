@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactGetterTest {
+
+    private static final String[] FIELDS = {"bool", "i8", "i16", "i32", "i64", "f32", "f64",
+            "nBool", "nI8", "nI16", "nI32", "nI64", "nF32", "nF64", "nullI32", "str", "missing"};
+
+    @Parameters(name = "byteOrder:{0}, stringLength:{1}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (ByteOrder byteOrder : asList(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+            // the lengths for the byte, short and int offsets of the nullable fields
+            for (int stringLength : asList(1, 1000, 70000)) {
+                parameters.add(new Object[]{byteOrder, stringLength});
+            }
+        }
+        return parameters;
+    }
+
+    @Parameter
+    public ByteOrder byteOrder;
+
+    @Parameter(1)
+    public int stringLength;
+
+    private InternalSerializationService serializationService;
+    private CompactGetter getter;
+
+    @Before
+    public void setUp() {
+        serializationService = createSerializationService(new SerializationConfig().setByteOrder(byteOrder));
+        getter = new CompactGetter(serializationService);
+    }
+
+    @Test
+    public void when_topLevelFields_then_sameAsGenericRecord() throws Exception {
+        Data data = serializationService.toData(allKinds("allKinds", 1));
+        for (int i = 0; i < 2; i++) {
+            // the second time with the cached readers
+            for (String field : FIELDS) {
+                assertEquals(field, readFromRecord(data, field), getter.getValue(data, field));
+            }
+        }
+    }
+
+    @Test
+    public void when_onlyFixedSizeFields_then_sameAsGenericRecord() throws Exception {
+        GenericRecord record = GenericRecordBuilder.compact("fixedOnly")
+                .setBoolean("b1", false)
+                .setBoolean("b2", true)
+                .setInt32("i32", -42)
+                .setFloat64("f64", 1.5)
+                .build();
+        Data data = serializationService.toData(record);
+        for (String field : asList("b1", "b2", "i32", "f64", "missing")) {
+            assertEquals(field, readFromRecord(data, field), getter.getValue(data, field));
+        }
+    }
+
+    @Test
+    public void when_differentSchemas_then_readAccordingToEachSchema() throws Exception {
+        Data data1 = serializationService.toData(allKinds("allKinds", 1));
+        Data data2 = serializationService.toData(GenericRecordBuilder.compact("other")
+                .setInt64("padding", 7)
+                .setInt32("i32", 1234)
+                .setNullableInt64("nI64", null)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(32, getter.getValue(data1, "i32"));
+            assertEquals(1234, getter.getValue(data2, "i32"));
+            assertEquals(64L, getter.getValue(data1, "nI64"));
+            assertEquals(null, getter.getValue(data2, "nI64"));
+        }
+    }
+
+    @Test
+    public void when_nestedPath_then_readFromGenericRecord() throws Exception {
+        Data data = serializationService.toData(GenericRecordBuilder.compact("outer")
+                .setGenericRecord("inner", allKinds("inner", 2))
+                .build());
+        assertEquals(64, getter.getValue(data, "inner.i32"));
+        assertEquals(readFromRecord(data, "inner"), getter.getValue(data, "inner"));
+    }
+
+    @Test
+    public void isCacheable() {
+        assertFalse(getter.isCacheable());
+    }
+
+    private GenericRecord allKinds(String typeName, int multiplier) {
+        return GenericRecordBuilder.compact(typeName)
+                .setString("str", String.join("", nCopies(stringLength, "x")))
+                .setBoolean("bool", true)
+                .setInt8("i8", (byte) (8 * multiplier))
+                .setInt16("i16", (short) (16 * multiplier))
+                .setInt32("i32", 32 * multiplier)
+                .setInt64("i64", 64L * multiplier)
+                .setFloat32("f32", 32.5f * multiplier)
+                .setFloat64("f64", 64.5 * multiplier)
+                .setNullableBoolean("nBool", true)
+                .setNullableInt8("nI8", (byte) (-8 * multiplier))
+                .setNullableInt16("nI16", (short) (16 * multiplier))
+                .setNullableInt32("nI32", 32 * multiplier)
+                .setNullableInt64("nI64", 64L * multiplier)
+                .setNullableFloat32("nF32", 32.5f * multiplier)
+                .setNullableFloat64("nF64", 64.5 * multiplier)
+                .setNullableInt32("nullI32", null)
+                .build();
+    }
+
+    private Object readFromRecord(Data data, String path) throws Exception {
+        return new GenericRecordQueryReader(serializationService.readAsInternalGenericRecord(data)).read(path);
+    }
+}